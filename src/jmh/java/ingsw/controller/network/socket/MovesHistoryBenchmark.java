@@ -0,0 +1,94 @@
+package ingsw.controller.network.socket;
+
+import ingsw.controller.network.commands.MoveStatusNotification;
+import ingsw.utilities.MoveStatus;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark of the moves history notifications of a full 10 rounds, 4 players match, with the moves the
+ * GameManager records (round and turn starts, draft, a placement and a tool card every other turn, turn ends).
+ * FULL_LIST sends the whole history after every move, as the server used to do, INCREMENTAL sends only the
+ * new move with its sequence number. The counters show the bytes sent to the players during the match with
+ * the binary codec and with Java serialization:
+ * mvn -P benchmark compile exec:exec -Djmh.args="MovesHistoryBenchmark"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class MovesHistoryBenchmark {
+    private static final int NO_OF_ROUNDS = 10;
+    private static final int NO_OF_PLAYERS = 4;
+
+    @Param({"FULL_LIST", "INCREMENTAL"})
+    private String notifications;
+
+    @Param({"true", "false"})
+    private boolean binary;
+
+    private List<MoveStatus> matchMoves;
+
+    /**
+     * Counters reported next to the score
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Traffic {
+        public long bytesPerMatch;
+        public long notificationsPerMatch;
+    }
+
+    @Setup
+    public void playMatch() {
+        matchMoves = new ArrayList<>();
+        for (int round = 1; round <= NO_OF_ROUNDS; round++) {
+            String firstPlayer = "player" + (round - 1) % NO_OF_PLAYERS;
+            matchMoves.add(new MoveStatus(firstPlayer, "starts round " + round));
+            matchMoves.add(new MoveStatus(firstPlayer, "Drafted dice"));
+            for (int turn = 0; turn < 2 * NO_OF_PLAYERS; turn++) {
+                String player = "player" + (round - 1 + (turn < NO_OF_PLAYERS ? turn : 2 * NO_OF_PLAYERS - 1 - turn)) % NO_OF_PLAYERS;
+                matchMoves.add(new MoveStatus(player, "starts turn"));
+                matchMoves.add(new MoveStatus(player, "placed Red" + (turn % 6 + 1) + " in " + turn % 4 + " - " + turn % 5));
+                if (turn % 2 == 0)
+                    matchMoves.add(new MoveStatus(player, "Used toolcard GrozingPliers"));
+                matchMoves.add(new MoveStatus(player, "Ended turn"));
+            }
+            matchMoves.add(new MoveStatus(firstPlayer, "ended round " + round));
+        }
+        matchMoves.add(new MoveStatus("player0", "ended the match"));
+        matchMoves.add(new MoveStatus("player0", "wins the match"));
+        for (int i = 1; i < NO_OF_PLAYERS; i++)
+            matchMoves.add(new MoveStatus("player" + i, "lose the match"));
+    }
+
+    @Benchmark
+    public long sendMatchHistory(Traffic traffic) throws IOException {
+        boolean fullList = "FULL_LIST".equals(notifications);
+        List<MoveStatus> history = new ArrayList<>();
+        long bytes = 0;
+        for (MoveStatus moveStatus : matchMoves) {
+            history.add(moveStatus);
+            MoveStatusNotification notification = fullList
+                    ? new MoveStatusNotification(history)
+                    : new MoveStatusNotification(history.size() - 1, Collections.singletonList(moveStatus));
+            bytes += (long) WireCodec.encode(notification, binary).length * NO_OF_PLAYERS;
+        }
+
+        traffic.bytesPerMatch = bytes;
+        traffic.notificationsPerMatch = (long) matchMoves.size() * NO_OF_PLAYERS;
+        return bytes;
+    }
+}
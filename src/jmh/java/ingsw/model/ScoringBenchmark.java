@@ -0,0 +1,67 @@
+package ingsw.model;
+
+import ingsw.model.cards.patterncard.PatternCard;
+import ingsw.model.cards.patterncard.PatternCardFixtures;
+import ingsw.model.cards.publicoc.*;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark of the end-of-match scoring of the GameManager: points assignment and private objective
+ * cards check (used to break the ties) of a four players match, with every player on a different pattern card.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ScoringBenchmark {
+
+    @Param({"EMPTY", "HALF", "FULL"})
+    private PatternCardFixtures.Occupancy occupancy;
+
+    @Param({"0", "6", "12", "18"})
+    private int firstPatternCard;
+
+    private GameManager gameManager;
+    private List<Player> players;
+
+    @Setup
+    public void setUp() throws ReflectiveOperationException {
+        List<PatternCard> patternCards = PatternCardFixtures.allPatternCards(occupancy);
+        players = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            Player player = new Player(new User("player" + i));
+            player.setPatternCard(patternCards.get(firstPatternCard + i));
+            players.add(player);
+        }
+
+        gameManager = new GameManager(players, 10, null, null);
+
+        List<PublicObjectiveCard> publicObjectiveCards = Arrays.asList(
+                new ColorDiagonals(), new RowShadeVariety(), new ColumnColorVariety());
+        Field board = GameManager.class.getDeclaredField("board");
+        board.setAccessible(true);
+        board.set(gameManager, new Board(publicObjectiveCards, new ArrayList<>()));
+    }
+
+    @Benchmark
+    public int endOfMatchScoring() {
+        gameManager.assignPointsToPlayers();
+        int privateObjectiveCardPoints = 0;
+        for (Player player : players) {
+            privateObjectiveCardPoints += player.getPrivateObjectiveCard().check(player.getPatternCard().getGrid());
+        }
+        return privateObjectiveCardPoints;
+    }
+}
@@ -0,0 +1,79 @@
+package ingsw.model.cards;
+
+import ingsw.model.Color;
+import ingsw.model.cards.patterncard.PatternCard;
+import ingsw.model.cards.patterncard.PatternCardFixtures;
+import ingsw.model.cards.privateoc.PrivateObjectiveCard;
+import ingsw.model.cards.publicoc.*;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of the objective cards checks. Every invocation checks the card against the grids of all
+ * the 24 pattern cards filled with the given occupancy.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ObjectiveCardBenchmark {
+
+    @Param({"ColorDiagonals", "ColorVariety", "ColumnColorVariety", "ColumnShadeVariety", "DeepShades",
+            "LightShades", "MediumShades", "RowColorVariety", "RowShadeVariety", "ShadeVariety"})
+    private String publicObjectiveCardName;
+
+    @Param({"EMPTY", "HALF", "FULL"})
+    private PatternCardFixtures.Occupancy occupancy;
+
+    private PublicObjectiveCard publicObjectiveCard;
+    private List<PrivateObjectiveCard> privateObjectiveCards;
+    private List<PatternCard> patternCards;
+
+    @Setup
+    public void setUp() {
+        patternCards = PatternCardFixtures.allPatternCards(occupancy);
+        privateObjectiveCards = new ArrayList<>();
+        for (Color color : Color.values()) {
+            if (color != Color.BLANK)
+                privateObjectiveCards.add(new PrivateObjectiveCard(color));
+        }
+
+        for (PublicObjectiveCard card : new PublicObjectiveCard[]{new ColorDiagonals(), new ColorVariety(),
+                new ColumnColorVariety(), new ColumnShadeVariety(), new DeepShades(), new LightShades(),
+                new MediumShades(), new RowColorVariety(), new RowShadeVariety(), new ShadeVariety()}) {
+            if (card.getName().equals(publicObjectiveCardName))
+                publicObjectiveCard = card;
+        }
+        if (publicObjectiveCard == null)
+            throw new IllegalArgumentException("Unknown public objective card " + publicObjectiveCardName);
+    }
+
+    @Benchmark
+    public int publicObjectiveCard() {
+        int score = 0;
+        for (PatternCard patternCard : patternCards) {
+            score += publicObjectiveCard.check(patternCard.getGrid());
+        }
+        return score;
+    }
+
+    @Benchmark
+    public int privateObjectiveCards() {
+        int score = 0;
+        for (PatternCard patternCard : patternCards) {
+            for (PrivateObjectiveCard privateObjectiveCard : privateObjectiveCards) {
+                score += privateObjectiveCard.check(patternCard.getGrid());
+            }
+        }
+        return score;
+    }
+}
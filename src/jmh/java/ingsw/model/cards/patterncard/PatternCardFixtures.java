@@ -0,0 +1,121 @@
+package ingsw.model.cards.patterncard;
+
+import ingsw.model.Color;
+import ingsw.model.Dice;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Reproducible fixtures of the 24 pattern cards used by the benchmarks.
+ * Every card is filled with a fixed seed, placing each dice in one of its available positions so that
+ * the grids are the ones a real match would produce. When a dice has no legal position left the
+ * first empty Box is used, so that a full card is always full.
+ */
+public final class PatternCardFixtures {
+    private static final long SEED = 2018L;
+    private static final Color[] DICE_COLORS = {Color.RED, Color.GREEN, Color.PURPLE, Color.BLUE, Color.YELLOW};
+
+    /**
+     * Occupancy of the fixture grids, expressed as number of dice placed.
+     */
+    public enum Occupancy {
+        EMPTY(0),
+        HALF(10),
+        FULL(20);
+
+        private final int noOfDice;
+
+        Occupancy(int noOfDice) {
+            this.noOfDice = noOfDice;
+        }
+
+        public int getNoOfDice() {
+            return noOfDice;
+        }
+    }
+
+    private PatternCardFixtures() {
+    }
+
+    /**
+     * @return A new instance of every pattern card, always in the same order.
+     */
+    public static List<PatternCard> allPatternCards() {
+        return PatternCardCatalog.createAll();
+    }
+
+    /**
+     * Creates the pattern card with the given name filled with the given occupancy.
+     *
+     * @param name Name of the pattern card.
+     * @param occupancy Occupancy of the grid.
+     * @return The filled pattern card.
+     */
+    public static PatternCard patternCard(String name, Occupancy occupancy) {
+        return fill(PatternCardCatalog.create(name), occupancy);
+    }
+
+    /**
+     * @param occupancy Occupancy of the grids.
+     * @return Every pattern card filled with the given occupancy.
+     */
+    public static List<PatternCard> allPatternCards(Occupancy occupancy) {
+        List<PatternCard> patternCards = allPatternCards();
+        for (PatternCard patternCard : patternCards) {
+            fill(patternCard, occupancy);
+        }
+        return patternCards;
+    }
+
+    /**
+     * Fills the pattern card with dice until the given occupancy is reached.
+     *
+     * @param patternCard Pattern card to fill.
+     * @param occupancy Occupancy of the grid.
+     * @return The same pattern card.
+     */
+    public static PatternCard fill(PatternCard patternCard, Occupancy occupancy) {
+        Random random = new Random(SEED + patternCard.getName().hashCode());
+        while (patternCard.getNoOfDice() < occupancy.getNoOfDice()) {
+            Dice dice = new Dice(random.nextInt(6) + 1, DICE_COLORS[random.nextInt(DICE_COLORS.length)]);
+            Map<String, Boolean[][]> availablePositions =
+                    patternCard.computeAvailablePositionsDraftedDice(Collections.singletonList(dice));
+            if (!placeRandomly(patternCard, dice, availablePositions.get(dice.toString()), random)) {
+                placeInFirstEmptyBox(patternCard, dice);
+            }
+        }
+        return patternCard;
+    }
+
+    private static boolean placeRandomly(PatternCard patternCard, Dice dice, Boolean[][] positions, Random random) {
+        List<int[]> available = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            for (int j = 0; j < 5; j++) {
+                if (positions[i][j] && patternCard.getGrid().get(i).get(j).getDice() == null) {
+                    available.add(new int[]{i, j});
+                }
+            }
+        }
+        if (available.isEmpty()) {
+            return false;
+        }
+        int[] position = available.get(random.nextInt(available.size()));
+        patternCard.getGrid().get(position[0]).get(position[1]).insertDice(dice);
+        return true;
+    }
+
+    private static void placeInFirstEmptyBox(PatternCard patternCard, Dice dice) {
+        for (List<Box> row : patternCard.getGrid()) {
+            for (Box box : row) {
+                if (box.getDice() == null) {
+                    box.insertDice(dice);
+                    return;
+                }
+            }
+        }
+    }
+}
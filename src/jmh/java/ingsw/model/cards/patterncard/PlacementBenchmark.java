@@ -0,0 +1,90 @@
+package ingsw.model.cards.patterncard;
+
+import ingsw.model.Color;
+import ingsw.model.Dice;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of the computation of the available positions of a pattern card.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class PlacementBenchmark {
+
+    @Param({"AuroraeMagnificus", "AuroraSagradis", "Batllo", "Bellesguard", "ChromaticSplendor", "Comitas",
+            "Firelight", "Firmitas", "FractalDrops", "FulgorDelCielo", "Gravitas", "Industria",
+            "KaleidoscopicDream", "LuxAstram", "LuxMundi", "LuzCelestial", "RipplesOfLight", "ShadowThief",
+            "SunCatcher", "SunsGlory", "SymphonyOfLight", "ViaLux", "Virtus", "WaterOfLife"})
+    private String patternCardName;
+
+    @Param({"EMPTY", "HALF", "FULL"})
+    private PatternCardFixtures.Occupancy occupancy;
+
+    private PatternCard patternCard;
+    private List<Dice> draftedDice;
+    private Dice tapWheelDice;
+
+    @Setup
+    public void setUp() {
+        patternCard = PatternCardFixtures.patternCard(patternCardName, occupancy);
+        draftedDice = new ArrayList<>();
+        draftedDice.add(new Dice(1, Color.RED));
+        draftedDice.add(new Dice(2, Color.GREEN));
+        draftedDice.add(new Dice(3, Color.PURPLE));
+        draftedDice.add(new Dice(4, Color.BLUE));
+        draftedDice.add(new Dice(5, Color.YELLOW));
+        draftedDice.add(new Dice(6, Color.RED));
+        draftedDice.add(new Dice(3, Color.BLUE));
+        draftedDice.add(new Dice(5, Color.GREEN));
+        draftedDice.add(new Dice(2, Color.YELLOW));
+        tapWheelDice = new Dice(1, Color.BLUE);
+    }
+
+    @Benchmark
+    public Map<String, Boolean[][]> draftedDice() {
+        return patternCard.computeAvailablePositionsDraftedDice(draftedDice);
+    }
+
+    @Benchmark
+    public Map<String, Boolean[][]> noDiceAround() {
+        return patternCard.computeAvailablePositionsNoDiceAround(draftedDice);
+    }
+
+    @Benchmark
+    public Map<String, Boolean[][]> placedDice() {
+        return patternCard.computeAvailablePositions();
+    }
+
+    @Benchmark
+    public Map<String, Boolean[][]> noValue() {
+        return patternCard.computeAvailablePositionsNoValue();
+    }
+
+    @Benchmark
+    public Map<String, Boolean[][]> noColor() {
+        return patternCard.computeAvailablePositionsNoColor();
+    }
+
+    @Benchmark
+    public Map<String, Boolean[][]> lathekin() {
+        return patternCard.computeAvailablePositionsLathekin();
+    }
+
+    @Benchmark
+    public Map<String, Boolean[][]> tapWheel() {
+        return patternCard.computeAvailablePositionsTapWheel(tapWheelDice, false);
+    }
+}
@@ -0,0 +1,122 @@
+package ingsw.utilities;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark of the server threads with 5,000 simulated clients. Every client is a ClientHandler-like loop
+ * blocked on its inbox, as a ClientHandler is blocked on the socket read; an operation sends a request
+ * to every client and waits for all the answers.
+ * The score shows the cost of waking up and parking 5,000 blocked threads, the counters the OS threads
+ * and the heap used while the clients are connected. Run it on a JDK 21 or newer and add
+ * <code>-prof gc</code> for the allocations and, on Linux, <code>-prof perfnorm</code> for the
+ * context switches:
+ * mvn -P benchmark,modern-jdk compile exec:exec -Djmh.args="ServerThreadsBenchmark -prof gc"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class ServerThreadsBenchmark {
+    private static final Object DISCONNECT = new Object();
+
+    @Param({"PLATFORM", "VIRTUAL"})
+    private String threads;
+
+    @Param({"5000"})
+    private int noOfClients;
+
+    private ExecutorService executor;
+    private List<BlockingQueue<Object>> inboxes;
+    private long threadsAfterConnect;
+    private long heapAfterConnect;
+
+    /**
+     * Counters reported next to the score
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Resources {
+        public long osThreads;
+        public long usedHeapKiloBytes;
+    }
+
+    @Setup(Level.Trial)
+    public void connectClients() throws InterruptedException {
+        boolean virtual = "VIRTUAL".equals(threads);
+        if (ServerThreads.setVirtualThreads(virtual) != virtual)
+            throw new IllegalStateException("Virtual threads need a JDK 21 or newer");
+
+        System.gc();
+        long heapBeforeConnect = usedHeap();
+
+        executor = ServerThreads.newPerTaskExecutor("simulated-client");
+        inboxes = new ArrayList<>(noOfClients);
+        CountDownLatch connected = new CountDownLatch(noOfClients);
+        for (int i = 0; i < noOfClients; i++) {
+            BlockingQueue<Object> inbox = new LinkedBlockingQueue<>();
+            inboxes.add(inbox);
+            executor.execute(() -> clientLoop(inbox, connected));
+        }
+        connected.await();
+
+        threadsAfterConnect = ManagementFactory.getThreadMXBean().getThreadCount();
+        heapAfterConnect = usedHeap() - heapBeforeConnect;
+    }
+
+    /**
+     * Loop of a simulated client: waits for a request and answers it
+     */
+    private void clientLoop(BlockingQueue<Object> inbox, CountDownLatch connected) {
+        connected.countDown();
+        try {
+            Object request;
+            while ((request = inbox.take()) != DISCONNECT) {
+                ((CountDownLatch) request).countDown();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void disconnectClients() throws InterruptedException {
+        for (BlockingQueue<Object> inbox : inboxes)
+            inbox.add(DISCONNECT);
+        executor.shutdown();
+        executor.awaitTermination(1, TimeUnit.MINUTES);
+        ServerThreads.setVirtualThreads(false);
+    }
+
+    private static long usedHeap() {
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+
+    @Benchmark
+    public void roundTripToEveryClient(Resources resources) throws InterruptedException {
+        CountDownLatch latch = new CountDownLatch(noOfClients);
+        for (BlockingQueue<Object> inbox : inboxes)
+            inbox.add(latch);
+        latch.await();
+
+        resources.osThreads = threadsAfterConnect;
+        resources.usedHeapKiloBytes = heapAfterConnect / 1024;
+    }
+}
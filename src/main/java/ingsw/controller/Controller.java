@@ -2,30 +2,33 @@ package ingsw.controller;
 
 import ingsw.controller.network.commands.*;
 import ingsw.model.*;
+import ingsw.model.bot.BotPlayer;
 import ingsw.model.cards.patterncard.PatternCard;
 import ingsw.utilities.ControllerTimer;
+import ingsw.utilities.LivenessService;
+import ingsw.utilities.ToolCardType;
 
 import java.rmi.RemoteException;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.atomic.AtomicBoolean;
 
-import static java.lang.Thread.sleep;
-
 /**
  * Class that receives Clients request, elaborate them and modify the model
  */
-public class Controller implements RemoteController {
+public class Controller implements RemoteController, MatchHost {
     private String matchName;
     private boolean hasStarted;
     private SagradaGame sagradaGame;
     private GameManager gameManager;
     private final List<Player> playerList;
-    private List<Player> disconnectedUsers;
-    private AtomicBoolean stop;
+    private final AtomicBoolean stop;
+    private final LivenessService.Listener lobbyListener;
     private int maxTurnSeconds;
     private int maxJoinMatchSeconds;
     private ControllerTimer controllerTimer;
+    private final boolean bots;
+    public static final String BOT_USERNAME_PREFIX = "bot#";
 
     /**
      * Creates a new Controller
@@ -43,15 +46,17 @@ public class Controller implements RemoteController {
         this.maxJoinMatchSeconds = maxJoinMatchSeconds;
         this.maxTurnSeconds = maxTurnSeconds;
         controllerTimer = new ControllerTimer();
-        disconnectedUsers = new ArrayList<>();
         stop = new AtomicBoolean(false);
-        checkPlayerListSize();
+        bots = BotPlayer.isEnabled();
+        lobbyListener = new MatchLobbyListener();
+        LivenessService.get().addListener(lobbyListener);
     }
 
     /**
      * Get the Match name
      * @return Match name
      */
+    @Override
     public String getMatchName() {
         return matchName;
     }
@@ -73,68 +78,47 @@ public class Controller implements RemoteController {
     }
 
     /**
-     * Set the stop boolean for listen the users connection
+     * Stops or resumes listening to the disconnections of the users that joined the match
      * @param stop
      */
     public void setStop(boolean stop) {
-        this.stop.set(stop);
+        if (this.stop.getAndSet(stop) == stop)
+            return;
+
+        if (stop)
+            LivenessService.get().removeListener(lobbyListener);
+        else
+            LivenessService.get().addListener(lobbyListener);
     }
 
     /**
-     * Check every second the player list size:
-     * - >=2    Don't cancel the timer
-     * - <2     Cancel the timer
-     *
-     * If a User disconnect removes it from the playerList
+     * Listener of the disconnections of the users while the match is waiting for its players.
+     * A user that disconnects leaves the match and if less than two players are left the timer that
+     * starts the match is cancelled.
      */
-    private void checkPlayerListSize() {
-        new Thread(() -> {
-            try {
-                do {
-                    // PING every second
-                    sleep(1000);
-
-                    disconnectedUsers.clear();
-
-                    synchronized (playerList) {
-                        checkNumberOfUsers();
-                        playerList.removeAll(disconnectedUsers);
-                    }
-
-                    if (playerList.size() < 2) {
-                        controllerTimer.cancelTimer();
-                    }
+    private class MatchLobbyListener implements LivenessService.Listener {
 
+        @Override
+        public void onConnect(String username) {
+            // a user joins the match with loginUser
+        }
 
-                } while (!stop.get());
-            } catch (InterruptedException e) {
-                Thread.currentThread().interrupt();
-                e.printStackTrace();
-            }
-        }).start();
-    }
+        @Override
+        public void onDisconnect(String username) {
+            synchronized (playerList) {
+                if (hasStarted)
+                    return;
 
-    /**
-     * Check the number of active players. If <code>Remote Exception</code> is thrown the
-     * player is removed from the playerList.
-     */
-    private void checkNumberOfUsers() {
-        for (Player player : playerList) {
-            try {
-                //Check if the user is active
-                player.getUserObserver();
+                playerList.removeIf(player -> player.getPlayerUsername().equals(username)
+                        && !player.getUser().isActive() && !player.hasSubstitute());
 
-            } catch (RemoteException e) {
-                // If a RMI user disconnects, this code will execute
-                System.out.println("RMI User " + player.getPlayerUsername() + " disconnected");
-                player.getUser().setActive(false);
-                player.getUser().setReady(false);
-                disconnectedUsers.add(player);
+                if (playerList.size() < 2) {
+                    controllerTimer.cancelTimer();
+                }
             }
         }
     }
 
-
     /**
      * Wait for new Users who connect and want to enter the match and build the list of the match players
      * When all the players are connected, start the match.
@@ -146,49 +130,54 @@ public class Controller implements RemoteController {
             synchronized (playerList) {
                 playerList.add(new Player(user));
             }
+            if (playerList.size() == 1 && bots) {
+                controllerTimer.delay(this::fillSeatWithBot, maxJoinMatchSeconds * 1000L);
+            }
             if (playerList.size() == 2) {
-                checkPlayerList();
-                hasStarted = false;
                 controllerTimer.startLoginTimer(maxJoinMatchSeconds, this);
             }
 
             if (playerList.size() == 4) {
-                stop.set(true);
                 controllerTimer.cancelTimer();
                 createMatch();
             }
         } else throw new RemoteException("Match has already started");
     }
 
-    private void checkPlayerList() {
-        new Thread(() -> {
-            do {
-                try {
-                    Thread.sleep(1000);
-                } catch (InterruptedException e) {
-                    e.printStackTrace();
-                }
-
-                listenForUsersConnected();
-
-                if (playerList.size() < 2) {
-                    controllerTimer.cancelTimer();
-                }
-
-            } while (!hasStarted);
-        }).start();
-    }
-
-    private void listenForUsersConnected() {
-        List<Player> disconnectedUsers = new ArrayList<>();
-
-        for (Player player : playerList) {
-            if (!player.getUser().isActive()) {
-                disconnectedUsers.add(player);
+    /**
+     * If the first user is still alone when the time to join the match expires, a bot takes the second seat
+     * and the match starts
+     */
+    private void fillSeatWithBot() {
+        synchronized (playerList) {
+            if (hasStarted || playerList.size() != 1)
+                return;
+
+            String username = BOT_USERNAME_PREFIX + 1;
+            for (int i = 2; playerList.get(0).getPlayerUsername().equals(username); i++) {
+                username = BOT_USERNAME_PREFIX + i;
             }
+            User botUser = new User(username);
+            botUser.setActive(false);
+            botUser.setReady(false);
+            Player botPlayer = new Player(botUser);
+            botPlayer.seatBot(BotPlayer.create(username));
+            playerList.add(botPlayer);
         }
-        playerList.removeAll(disconnectedUsers);
+        controllerTimer.cancelTimer();
+        createMatch();
+    }
 
+    /**
+     * Creates the match on the executor of its shard, called when the time to join the match expires
+     */
+    public void launchMatch() {
+        sagradaGame.executeOnShard(matchName, () -> {
+            synchronized (this) {
+                if (!hasStarted)
+                    createMatch();
+            }
+        });
     }
 
     /**
@@ -197,7 +186,13 @@ public class Controller implements RemoteController {
      */
     public void createMatch() {
         hasStarted = true;
+        setStop(true);
         gameManager = new GameManager(playerList, maxTurnSeconds, this, controllerTimer);
+        gameManager.setBotSubstitutes(bots);
+        for (Player player : playerList) {
+            if (player.hasSubstitute())
+                player.getSubstitute().join(gameManager, player);
+        }
         gameManager.waitForEveryPatternCard(gameManager.pickPatternCards());
     }
 
@@ -208,7 +203,30 @@ public class Controller implements RemoteController {
      */
     @Override
     public void endTurn(String currentPlayer) throws RemoteException {
-        gameManager.endTurn(currentPlayer);
+        gameManager.post(() -> gameManager.endTurn(currentPlayer));
+    }
+
+    /**
+     * Method that sends the full view state to a player whose view updates are out of sequence
+     *
+     * @param username player that requested the snapshot
+     * @throws RemoteException
+     */
+    @Override
+    public void requestViewSnapshot(String username) throws RemoteException {
+        gameManager.sendViewSnapshot(username);
+    }
+
+    /**
+     * Method that sends the moves of the history missed by a player
+     *
+     * @param username     player that requested the moves
+     * @param fromSequence sequence number of the first missing move
+     * @throws RemoteException
+     */
+    @Override
+    public void requestMovesHistory(String username, int fromSequence) throws RemoteException {
+        gameManager.sendMovesHistory(username, fromSequence);
     }
 
     /**
@@ -277,7 +295,60 @@ public class Controller implements RemoteController {
      */
     @Override
     public void placeDice(Dice dice, int rowIndex, int columnIndex) throws RemoteException {
-        gameManager.placeDiceForPlayer(dice, rowIndex, columnIndex);
+        gameManager.post(() -> gameManager.placeDiceForPlayer(dice, rowIndex, columnIndex));
+    }
+
+    /**
+     * Checks the placement of a dice against the legal moves of the player, before the match is changed.
+     * If the placement is not legal the player receives its available positions again
+     *
+     * @param username    player that wants to place the dice
+     * @param dice        selected to place from the player
+     * @param rowIndex    the row index where to place the die in the pattern card
+     * @param columnIndex the column index where to place the die in the pattern card
+     * @return true if the placement is legal
+     * @throws RemoteException may occur during the execution of a remote method call
+     */
+    @Override
+    public boolean checkPlacement(String username, Dice dice, int rowIndex, int columnIndex) throws RemoteException {
+        if (gameManager.isLegalMove(username, gameManager.placementCode(dice, rowIndex, columnIndex)))
+            return true;
+
+        gameManager.resendAvailablePositions(username);
+        return false;
+    }
+
+    /**
+     * Checks the start of a tool card against the legal moves of the player, before the match is changed:
+     * the player must be able to pay it and must not have used a tool card in the turn.
+     * If the tool card can't be used the player is told so
+     *
+     * @param username     player that wants to use the tool card
+     * @param toolCardName the tool card's name that the player wants to use
+     * @return true if the tool card can be used
+     * @throws RemoteException may occur during the execution of a remote method call
+     */
+    @Override
+    public boolean checkToolCard(String username, String toolCardName) throws RemoteException {
+        if (gameManager.isLegalMove(username, gameManager.toolCardCode(toolCardName)))
+            return true;
+
+        gameManager.refuseToolCard(username);
+        return false;
+    }
+
+    /**
+     * Checks a step of a tool card before the match is changed: the player must be playing its turn and
+     * the step must belong to the tool card in use. A step that is not legal is ignored
+     *
+     * @param username     player that sent the step
+     * @param toolCardType tool card of the step
+     * @return true if the step is legal
+     * @throws RemoteException may occur during the execution of a remote method call
+     */
+    @Override
+    public boolean checkToolCardMove(String username, ToolCardType toolCardType) throws RemoteException {
+        return gameManager.isLegalMove(username, gameManager.toolCardStepCode(toolCardType));
     }
 
     /**
@@ -298,7 +369,7 @@ public class Controller implements RemoteController {
      */
     @Override
     public void toolCardMove(GrozingPliersRequest grozingPliersRequest) throws RemoteException {
-        gameManager.grozingPliersMove(grozingPliersRequest.selectedDice, grozingPliersRequest.increase);
+        gameManager.post(() -> gameManager.grozingPliersMove(grozingPliersRequest.selectedDice, grozingPliersRequest.increase));
     }
 
     /**
@@ -312,13 +383,13 @@ public class Controller implements RemoteController {
     public void toolCardMove(FluxBrushRequest fluxBrushRequest) throws RemoteException {
         switch (fluxBrushRequest.phase) {
             case 1:
-                gameManager.fluxBrushMove(fluxBrushRequest.selectedDice);
+                gameManager.post(() -> gameManager.fluxBrushMove(fluxBrushRequest.selectedDice));
                 break;
             case 2:
-                gameManager.fluxBrushMove(fluxBrushRequest.selectedDice, fluxBrushRequest.row, fluxBrushRequest.column);
+                gameManager.post(() -> gameManager.fluxBrushMove(fluxBrushRequest.selectedDice, fluxBrushRequest.row, fluxBrushRequest.column));
                 break;
             case 3:
-                gameManager.fluxBrushMove();
+                gameManager.post(() -> gameManager.fluxBrushMove());
                 break;
             default:
                 System.out.println("Not specified");
@@ -337,16 +408,16 @@ public class Controller implements RemoteController {
     public void toolCardMove(FluxRemoverRequest fluxRemoverRequest) throws RemoteException {
         switch (fluxRemoverRequest.phase) {
             case 1:
-                gameManager.fluxRemoverMove(fluxRemoverRequest.selectedDice);
+                gameManager.post(() -> gameManager.fluxRemoverMove(fluxRemoverRequest.selectedDice));
                 break;
             case 2:
-                gameManager.fluxRemoverMove(fluxRemoverRequest.selectedDice, fluxRemoverRequest.chosenValue);
+                gameManager.post(() -> gameManager.fluxRemoverMove(fluxRemoverRequest.selectedDice, fluxRemoverRequest.chosenValue));
                 break;
             case 3:
-                gameManager.fluxRemoverMove(fluxRemoverRequest.selectedDice, fluxRemoverRequest.rowIndex, fluxRemoverRequest.columnIndex);
+                gameManager.post(() -> gameManager.fluxRemoverMove(fluxRemoverRequest.selectedDice, fluxRemoverRequest.rowIndex, fluxRemoverRequest.columnIndex));
                 break;
             case 4:
-                gameManager.fluxRemoverMove();
+                gameManager.post(() -> gameManager.fluxRemoverMove());
                 break;
             default:
                 System.out.println("Not specified");
@@ -362,7 +433,7 @@ public class Controller implements RemoteController {
      */
     @Override
     public void toolCardMove(GrindingStoneRequest grindingStoneRequest) throws RemoteException {
-        gameManager.grindingStoneMove(grindingStoneRequest.selectedDice);
+        gameManager.post(() -> gameManager.grindingStoneMove(grindingStoneRequest.selectedDice));
     }
 
     /**
@@ -373,7 +444,7 @@ public class Controller implements RemoteController {
      */
     @Override
     public void toolCardMove(CopperFoilBurnisherRequest moveToolCardRequest) throws RemoteException {
-        gameManager.copperFoilBurnisherMove(moveToolCardRequest.dicePosition, moveToolCardRequest.position);
+        gameManager.post(() -> gameManager.copperFoilBurnisherMove(moveToolCardRequest.dicePosition, moveToolCardRequest.position));
     }
 
     /**
@@ -384,7 +455,7 @@ public class Controller implements RemoteController {
      */
     @Override
     public void toolCardMove(CorkBackedStraightedgeRequest moveToolCardRequest) throws RemoteException {
-        gameManager.corkBackedStraightedgeMove(moveToolCardRequest.selectedDice, moveToolCardRequest.row, moveToolCardRequest.column);
+        gameManager.post(() -> gameManager.corkBackedStraightedgeMove(moveToolCardRequest.selectedDice, moveToolCardRequest.row, moveToolCardRequest.column));
     }
 
     /**
@@ -395,7 +466,7 @@ public class Controller implements RemoteController {
      */
     @Override
     public void toolCardMove(LensCutterRequest moveToolCardRequest) throws RemoteException {
-        gameManager.lensCutterMove(moveToolCardRequest.roundIndex, moveToolCardRequest.roundTrackDice, moveToolCardRequest.poolDice);
+        gameManager.post(() -> gameManager.lensCutterMove(moveToolCardRequest.roundIndex, moveToolCardRequest.roundTrackDice, moveToolCardRequest.poolDice));
     }
 
     /**
@@ -406,7 +477,7 @@ public class Controller implements RemoteController {
      */
     @Override
     public void toolCardMove(EglomiseBrushRequest moveToolCardRequest) throws RemoteException {
-        gameManager.eglomiseBrushMove(moveToolCardRequest.dicePosition, moveToolCardRequest.position);
+        gameManager.post(() -> gameManager.eglomiseBrushMove(moveToolCardRequest.dicePosition, moveToolCardRequest.position));
     }
 
     /**
@@ -417,7 +488,7 @@ public class Controller implements RemoteController {
      */
     @Override
     public void toolCardMove(LathekinRequest lathekinRequest) throws RemoteException {
-        gameManager.lathekinMove(lathekinRequest.dicePosition, lathekinRequest.position, lathekinRequest.doubleMove);
+        gameManager.post(() -> gameManager.lathekinMove(lathekinRequest.dicePosition, lathekinRequest.position, lathekinRequest.doubleMove));
     }
 
     /**
@@ -428,7 +499,7 @@ public class Controller implements RemoteController {
      */
     @Override
     public void toolCardMove(RunningPliersRequest moveToolCardRequest) throws RemoteException {
-        gameManager.runningPliersMove(moveToolCardRequest.selectedDice, moveToolCardRequest.rowIndex, moveToolCardRequest.ColumnIndex);
+        gameManager.post(() -> gameManager.runningPliersMove(moveToolCardRequest.selectedDice, moveToolCardRequest.rowIndex, moveToolCardRequest.ColumnIndex));
     }
 
     /**
@@ -439,13 +510,40 @@ public class Controller implements RemoteController {
      */
     @Override
     public void toolCardMove(TapWheelRequest moveToolCardRequest) throws RemoteException {
-        gameManager.tapWheelMove(moveToolCardRequest.dice, moveToolCardRequest.phase, moveToolCardRequest.dicePosition, moveToolCardRequest.position, moveToolCardRequest.doubleMove);
+        gameManager.post(() -> gameManager.tapWheelMove(moveToolCardRequest.dice, moveToolCardRequest.phase, moveToolCardRequest.dicePosition, moveToolCardRequest.position, moveToolCardRequest.doubleMove));
     }
 
     /**
-     * Remove the match from SagradaGame
+     * Journal in which the history of the match is written
+     * @return The journal of SagradaGame
      */
+    @Override
+    public MatchJournal getMatchJournal() {
+        return sagradaGame.getMatchJournal();
+    }
+
+    /**
+     * Move the user in the ranking of SagradaGame
+     *
+     * @param user User whose statistics have changed
+     */
+    @Override
+    public void updateRanking(User user) {
+        sagradaGame.updateRanking(user);
+    }
+
+    /**
+     * Remove the match from SagradaGame and save the statistics of its players
+     */
+    @Override
     public void removeMatch() {
+        setStop(true);
         sagradaGame.removeMatch(this);
+        List<User> users = new ArrayList<>();
+        for (Player player : playerList) {
+            if (!player.isBot())
+                users.add(player.getUser());
+        }
+        sagradaGame.writeUsersStats(users);
     }
 }
\ No newline at end of file
@@ -4,6 +4,7 @@ import ingsw.controller.network.commands.*;
 import ingsw.model.Dice;
 import ingsw.model.User;
 import ingsw.model.cards.patterncard.PatternCard;
+import ingsw.utilities.ToolCardType;
 
 import java.rmi.Remote;
 import java.rmi.RemoteException;
@@ -50,6 +51,21 @@ public interface RemoteController extends Remote {
      */
     void endTurn(String currentPlayer) throws RemoteException;
 
+    /**
+     * Sends the full view state to a player that lost some view updates
+     * @param username Player that requested the snapshot
+     * @throws RemoteException
+     */
+    void requestViewSnapshot(String username) throws RemoteException;
+
+    /**
+     * Sends the moves of the history from the given sequence number to a player that missed them
+     * @param username     Player that requested the moves
+     * @param fromSequence Sequence number of the first missing move
+     * @throws RemoteException
+     */
+    void requestMovesHistory(String username, int fromSequence) throws RemoteException;
+
     /**
      * Place a dice
      * @param dice Dice to place
@@ -59,6 +75,36 @@ public interface RemoteController extends Remote {
      */
     void placeDice(Dice dice, int rowIndex, int columnIndex) throws RemoteException;
 
+    /**
+     * Checks the placement of a dice before it is made. If it is not legal the player receives its available
+     * positions again
+     * @param username Player that wants to place the dice
+     * @param dice Dice to place
+     * @param rowIndex Row index
+     * @param columnIndex Column index
+     * @return true if the placement is legal
+     * @throws RemoteException
+     */
+    boolean checkPlacement(String username, Dice dice, int rowIndex, int columnIndex) throws RemoteException;
+
+    /**
+     * Checks the start of a tool card against the legal moves of the player
+     * @param username Player that wants to use the tool card
+     * @param toolCardName Tool card to use
+     * @return true if the tool card can be used
+     * @throws RemoteException
+     */
+    boolean checkToolCard(String username, String toolCardName) throws RemoteException;
+
+    /**
+     * Checks a step of the tool card in use
+     * @param username Player that sent the step
+     * @param toolCardType Tool card of the step
+     * @return true if the step is legal
+     * @throws RemoteException
+     */
+    boolean checkToolCardMove(String username, ToolCardType toolCardType) throws RemoteException;
+
     /**
      * Use a tool card
      * @param toolCardName Tool card to use
@@ -0,0 +1,83 @@
+package ingsw.controller.network;
+
+import ingsw.controller.network.commands.MoveStatusNotification;
+import ingsw.utilities.MoveStatus;
+import ingsw.view.SceneUpdater;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.IntConsumer;
+
+/**
+ * Client copy of the moves history of the match. The server sends only the new moves, numbered with their
+ * index in the history: the moves already received are skipped and, when some moves are missing (lost
+ * notification or player back online), the missing range is requested to the server.
+ * The view still receives the whole history, built here without sending it through the network.
+ */
+public class MovesHistoryApplier {
+    private final IntConsumer rangeRequest;
+    private final List<MoveStatus> moves;
+    private boolean waitingRange;
+
+    /**
+     * Creates an empty history
+     *
+     * @param rangeRequest sends the request of the moves from the given sequence number to the server
+     */
+    public MovesHistoryApplier(IntConsumer rangeRequest) {
+        this.rangeRequest = rangeRequest;
+        this.moves = new ArrayList<>();
+    }
+
+    /**
+     * Adds the new moves to the history and updates the view. If some moves before the notification are
+     * missing the notification is dropped and the missing moves are requested.
+     *
+     * @param moveStatusNotification moves sent by the server
+     * @param sceneUpdater           view to update
+     */
+    public void apply(MoveStatusNotification moveStatusNotification, SceneUpdater sceneUpdater) {
+        int missingFrom = -1;
+        List<MoveStatus> history = null;
+        synchronized (this) {
+            List<MoveStatus> newMoves = moveStatusNotification.moveStatuses;
+            int firstSequence = moveStatusNotification.firstSequence;
+            if (newMoves == null)
+                return;
+
+            if (firstSequence > moves.size()) {
+                if (!waitingRange) {
+                    waitingRange = true;
+                    missingFrom = moves.size();
+                }
+            } else {
+                waitingRange = false;
+                int alreadyReceived = moves.size() - firstSequence;
+                if (alreadyReceived < newMoves.size()) {
+                    moves.addAll(newMoves.subList(alreadyReceived, newMoves.size()));
+                    history = new ArrayList<>(moves);
+                }
+            }
+        }
+
+        if (missingFrom >= 0)
+            rangeRequest.accept(missingFrom);
+        if (history != null)
+            sceneUpdater.updateMovesHistory(new MoveStatusNotification(history));
+    }
+
+    /**
+     * Empties the history when a new match starts
+     */
+    public synchronized void reset() {
+        moves.clear();
+        waitingRange = false;
+    }
+
+    /**
+     * @return the number of moves received
+     */
+    public synchronized int getNoOfMoves() {
+        return moves.size();
+    }
+}
@@ -230,6 +230,22 @@ public interface NetworkType {
      */
     void requestHistory(String matchName);
 
+    /**
+     * Request for the next page of a match history
+     *
+     * @param matchName Name of the match
+     * @param cursor    Next cursor of the last page received
+     */
+    void requestHistory(String matchName, int cursor);
+
+    /**
+     * Request for the state of the board of a finished match after a move of its history
+     *
+     * @param matchName Name of the match
+     * @param moveIndex Index of the move in the history
+     */
+    void requestReplayState(String matchName, int moveIndex);
+
     /**
      * Request data for the lobby
      */
@@ -239,4 +255,14 @@ public interface NetworkType {
      * Request for matches already ended
      */
     void requestFinishedMatches();
+
+    /**
+     * Request for a page of the matches already ended
+     *
+     * @param player Username of a player of the matches, null for every match
+     * @param from   Earliest end time of the matches, 0 for no bound
+     * @param to     Latest end time of the matches, 0 for no bound
+     * @param offset Number of matches to skip
+     */
+    void requestFinishedMatches(String player, long from, long to, int offset);
 }
@@ -0,0 +1,183 @@
+package ingsw.controller.network;
+
+import ingsw.controller.network.commands.UpdateViewResponse;
+import ingsw.controller.network.commands.ViewDeltaNotification;
+import ingsw.controller.network.commands.ViewSnapshotResponse;
+import ingsw.model.Dice;
+import ingsw.model.Player;
+import ingsw.utilities.DeltaType;
+import ingsw.utilities.ViewDelta;
+import ingsw.view.SceneUpdater;
+
+import java.util.*;
+
+/**
+ * Client copy of the players and of the drafted dice, kept up to date with the view deltas sent by the server.
+ * The deltas are numbered: when one of them is missing the copy can't be trusted anymore, so the deltas are
+ * dropped and a full snapshot is requested to the server.
+ */
+public class ViewStateApplier {
+    private static final int NO_SNAPSHOT = -1;
+
+    private final Runnable snapshotRequest;
+    private final Map<String, Player> players;
+    private final List<Dice> draftedDice;
+    private int sequence;
+    private boolean waitingSnapshot;
+
+    /**
+     * Creates an empty view state, the first snapshot is sent by the server when the match starts
+     *
+     * @param snapshotRequest sends the request of a snapshot to the server
+     */
+    public ViewStateApplier(Runnable snapshotRequest) {
+        this.snapshotRequest = snapshotRequest;
+        this.players = new HashMap<>();
+        this.draftedDice = new ArrayList<>();
+        this.sequence = NO_SNAPSHOT;
+    }
+
+    /**
+     * Replaces the view state with the snapshot. If the snapshot has been requested after a lost delta
+     * the whole view is updated, otherwise the view has already been built from the board data.
+     * A snapshot older than the deltas already applied is ignored.
+     *
+     * @param viewSnapshotResponse snapshot sent by the server
+     * @param sceneUpdater         view to update
+     */
+    public synchronized void loadSnapshot(ViewSnapshotResponse viewSnapshotResponse, SceneUpdater sceneUpdater) {
+        if (!waitingSnapshot && viewSnapshotResponse.sequence < sequence)
+            return;
+
+        players.clear();
+        for (Player player : viewSnapshotResponse.players)
+            players.put(player.getPlayerUsername(), player);
+        draftedDice.clear();
+        draftedDice.addAll(viewSnapshotResponse.draftedDice);
+        sequence = viewSnapshotResponse.sequence;
+
+        if (waitingSnapshot) {
+            waitingSnapshot = false;
+            sceneUpdater.setDraftedDice(new ArrayList<>(draftedDice));
+            for (Player player : players.values())
+                sceneUpdater.updateView(createUpdateViewResponse(player));
+        }
+    }
+
+    /**
+     * Applies the deltas to the view state and updates the view. If the notification is not the next one
+     * of the sequence it is dropped and a snapshot is requested.
+     *
+     * @param viewDeltaNotification deltas sent by the server
+     * @param sceneUpdater          view to update
+     */
+    public void apply(ViewDeltaNotification viewDeltaNotification, SceneUpdater sceneUpdater) {
+        boolean requestSnapshot = false;
+        synchronized (this) {
+            if (waitingSnapshot || viewDeltaNotification.sequence <= sequence)
+                return;
+
+            if (sequence == NO_SNAPSHOT || viewDeltaNotification.sequence != sequence + 1) {
+                waitingSnapshot = true;
+                requestSnapshot = true;
+            } else {
+                sequence = viewDeltaNotification.sequence;
+                updateView(viewDeltaNotification.deltas, sceneUpdater);
+            }
+        }
+
+        if (requestSnapshot)
+            snapshotRequest.run();
+    }
+
+    /**
+     * Applies every delta and then notifies the view of the drafted dice and of the players that changed
+     */
+    private void updateView(List<ViewDelta> deltas, SceneUpdater sceneUpdater) {
+        boolean draftedDiceChanged = false;
+        Set<Player> changedPlayers = new LinkedHashSet<>();
+
+        for (ViewDelta delta : deltas) {
+            if (delta.getDeltaType() == DeltaType.DRAFTED_DICE_REMOVED) {
+                removeDraftedDice(delta.getDice());
+                draftedDiceChanged = true;
+            } else {
+                Player player = players.get(delta.getUsername());
+                if (player != null) {
+                    applyToPlayer(player, delta);
+                    changedPlayers.add(player);
+                }
+            }
+        }
+
+        if (draftedDiceChanged)
+            sceneUpdater.setDraftedDice(new ArrayList<>(draftedDice));
+        for (Player player : changedPlayers)
+            sceneUpdater.updateView(createUpdateViewResponse(player));
+    }
+
+    private void applyToPlayer(Player player, ViewDelta delta) {
+        if (delta.getDeltaType() == DeltaType.DICE_PLACED)
+            player.getPatternCard().getGrid().get(delta.getRowIndex()).get(delta.getColumnIndex()).insertDice(delta.getDice());
+        else if (delta.getDeltaType() == DeltaType.FAVOUR_TOKENS_CHANGED)
+            player.decreaseFavorTokens(player.getFavourTokens() - delta.getFavourTokens());
+    }
+
+    /**
+     * Removes from the drafted dice the first one equal to the given dice
+     */
+    private void removeDraftedDice(Dice dice) {
+        for (Iterator<Dice> iterator = draftedDice.iterator(); iterator.hasNext(); ) {
+            if (iterator.next().toString().equals(dice.toString())) {
+                iterator.remove();
+                return;
+            }
+        }
+    }
+
+    private UpdateViewResponse createUpdateViewResponse(Player player) {
+        return new UpdateViewResponse(player, player.getPatternCard().computeAvailablePositionsDraftedDice(draftedDice));
+    }
+
+    /**
+     * Replaces the drafted dice after a draft or a tool card
+     *
+     * @param dice drafted dice sent by the server
+     */
+    public synchronized void setDraftedDice(List<Dice> dice) {
+        draftedDice.clear();
+        draftedDice.addAll(dice);
+    }
+
+    /**
+     * Replaces a player after a tool card changed its pattern card
+     *
+     * @param player player sent by the server
+     */
+    public synchronized void setPlayer(Player player) {
+        if (players.containsKey(player.getPlayerUsername()))
+            players.put(player.getPlayerUsername(), player);
+    }
+
+    /**
+     * @param username player username
+     * @return the copy of the player kept by the view state
+     */
+    public synchronized Player getPlayer(String username) {
+        return players.get(username);
+    }
+
+    /**
+     * @return the copy of the drafted dice kept by the view state
+     */
+    public synchronized List<Dice> getDraftedDice() {
+        return new ArrayList<>(draftedDice);
+    }
+
+    /**
+     * @return the sequence number of the last delta applied
+     */
+    public synchronized int getSequence() {
+        return sequence;
+    }
+}
@@ -1,6 +1,39 @@
 package ingsw.controller.network.commands;
 
+/**
+ * Request of a page of the finished matches, from the last one that ended, optionally filtered by player
+ * and by end time
+ */
 public class FinishedMatchesRequest implements Request {
+    public static final int PAGE_SIZE = 50;
+
+    public String player;
+    public long from;
+    public long to;
+    public int offset;
+    public int limit;
+
+    /**
+     * Requests the first page of every finished match
+     */
+    public FinishedMatchesRequest() {
+        this(null, 0, 0, 0);
+    }
+
+    /**
+     * @param player Username of a player of the matches, null for every match
+     * @param from   Earliest end time of the matches in milliseconds since the epoch, 0 for no bound
+     * @param to     Latest end time of the matches in milliseconds since the epoch, 0 for no bound
+     * @param offset Number of matches to skip
+     */
+    public FinishedMatchesRequest(String player, long from, long to, int offset) {
+        this.player = player;
+        this.from = from;
+        this.to = to;
+        this.offset = offset;
+        this.limit = PAGE_SIZE;
+    }
+
     @Override
     public Response handle(RequestHandler requestHandler) {
         return requestHandler.handle(this);
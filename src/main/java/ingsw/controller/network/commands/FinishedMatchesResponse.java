@@ -1,12 +1,35 @@
 package ingsw.controller.network.commands;
 
+import ingsw.utilities.MatchSummary;
+
+import java.util.ArrayList;
 import java.util.List;
 
 public class FinishedMatchesResponse implements Response {
     public List<String> finishedMatchesList;
+    public List<MatchSummary> matches;
+    public int offset;
+    public int noOfMatches;
 
     public FinishedMatchesResponse(List<String> finishedMatchesList) {
         this.finishedMatchesList = finishedMatchesList;
+        this.matches = new ArrayList<>();
+        this.noOfMatches = finishedMatchesList.size();
+    }
+
+    /**
+     * @param matches     Summaries of the matches of the page
+     * @param offset      Number of matches before the page
+     * @param noOfMatches Number of matches that pass the filters of the request
+     */
+    public FinishedMatchesResponse(List<MatchSummary> matches, int offset, int noOfMatches) {
+        this.finishedMatchesList = new ArrayList<>(matches.size());
+        for (MatchSummary matchSummary : matches) {
+            finishedMatchesList.add(matchSummary.getMatchId());
+        }
+        this.matches = matches;
+        this.offset = offset;
+        this.noOfMatches = noOfMatches;
     }
 
     @Override
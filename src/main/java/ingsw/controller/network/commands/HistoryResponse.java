@@ -4,14 +4,69 @@ import com.google.gson.Gson;
 import com.google.gson.reflect.TypeToken;
 import ingsw.utilities.MoveStatus;
 
+import java.io.*;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
 
+/**
+ * Page of the history of a finished match. The page starts from the move at <code>cursor</code> and
+ * <code>nextCursor</code> is the cursor of the following page, {@link #END} when the page is the last one.
+ * The moves are sent either as a list or, if the client asked for it, compressed with GZIP.
+ */
 public class HistoryResponse implements Response {
+    public static final int END = -1;
+
     public List<MoveStatus> historyJSON;
+    public String matchName;
+    public int cursor;
+    public int nextCursor;
+    public byte[] compressedMoves;
 
     public HistoryResponse(String historyJSON) {
         convertFromJSON(historyJSON);
+        this.nextCursor = END;
+    }
+
+    public HistoryResponse(List<MoveStatus> history) {
+        this.historyJSON = history;
+        this.nextCursor = END;
+    }
+
+    /**
+     * Creates a page of a history
+     *
+     * @param matchName  Name of the match
+     * @param moves      Moves of the page
+     * @param cursor     Index of the first move of the page
+     * @param nextCursor Index of the first move of the next page, END if there are no more moves
+     * @param compress   true if the moves have to be compressed
+     * @throws IOException if the moves can't be compressed
+     */
+    public HistoryResponse(String matchName, List<MoveStatus> moves, int cursor, int nextCursor, boolean compress) throws IOException {
+        this.matchName = matchName;
+        this.cursor = cursor;
+        this.nextCursor = nextCursor;
+        if (compress)
+            this.compressedMoves = compress(moves);
+        else
+            this.historyJSON = moves;
+    }
+
+    /**
+     * @return The moves of the page, decompressed if they were sent compressed
+     */
+    public List<MoveStatus> getMoves() {
+        if (historyJSON == null && compressedMoves != null) {
+            try {
+                historyJSON = decompress(compressedMoves);
+            } catch (IOException e) {
+                e.printStackTrace();
+                historyJSON = new ArrayList<>();
+            }
+        }
+        return historyJSON;
     }
 
     @Override
@@ -23,4 +78,26 @@ public class HistoryResponse implements Response {
         Gson gson = new Gson();
         this.historyJSON = gson.fromJson(historyJSON, new TypeToken<ArrayList<MoveStatus>>(){}.getType());
     }
+
+    private static byte[] compress(List<MoveStatus> moves) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream output = new DataOutputStream(new GZIPOutputStream(bytes))) {
+            output.writeInt(moves.size());
+            for (MoveStatus move : moves) {
+                output.writeUTF(String.valueOf(move.getUsername()));
+                output.writeUTF(String.valueOf(move.getMove()));
+            }
+        }
+        return bytes.toByteArray();
+    }
+
+    private static List<MoveStatus> decompress(byte[] compressedMoves) throws IOException {
+        try (DataInputStream input = new DataInputStream(new GZIPInputStream(new ByteArrayInputStream(compressedMoves)))) {
+            int noOfMoves = input.readInt();
+            List<MoveStatus> moves = new ArrayList<>(noOfMoves);
+            for (int i = 0; i < noOfMoves; i++)
+                moves.add(new MoveStatus(input.readUTF(), input.readUTF()));
+            return moves;
+        }
+    }
 }
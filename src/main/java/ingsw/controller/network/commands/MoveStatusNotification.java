@@ -6,10 +6,16 @@ import ingsw.utilities.NotificationType;
 import java.util.List;
 
 public class MoveStatusNotification extends Notification {
+    public int firstSequence;
     public List<MoveStatus> moveStatuses;
 
     public MoveStatusNotification(List<MoveStatus> moveStatuses) {
+        this(0, moveStatuses);
+    }
+
+    public MoveStatusNotification(int firstSequence, List<MoveStatus> moveStatuses) {
         super(NotificationType.HISTORY_UPDATE);
+        this.firstSequence = firstSequence;
         this.moveStatuses = moveStatuses;
     }
 }
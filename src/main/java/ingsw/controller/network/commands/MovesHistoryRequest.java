@@ -0,0 +1,20 @@
+package ingsw.controller.network.commands;
+
+public class MovesHistoryRequest implements Request {
+    public int fromSequence;
+
+    public MovesHistoryRequest(int fromSequence) {
+        this.fromSequence = fromSequence;
+    }
+
+    /**
+     * Method that returns a Response after the Request has been properly handled
+     *
+     * @param requestHandler class that handles the Request
+     * @return corresponding Response
+     */
+    @Override
+    public Response handle(RequestHandler requestHandler) {
+        return requestHandler.handle(this);
+    }
+}
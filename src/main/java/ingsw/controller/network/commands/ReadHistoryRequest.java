@@ -1,10 +1,31 @@
 package ingsw.controller.network.commands;
 
+/**
+ * Request of a page of the history of a finished match, starting from the move at the cursor
+ */
 public class ReadHistoryRequest implements Request {
     public String matchName;
+    public int cursor;
+    public boolean compressed;
 
+    /**
+     * Requests the first page of the history
+     *
+     * @param matchName Name of the match
+     */
     public ReadHistoryRequest(String matchName) {
+        this(matchName, 0, false);
+    }
+
+    /**
+     * @param matchName  Name of the match
+     * @param cursor     Index of the first move of the page, the next cursor of the previous page
+     * @param compressed true if the moves of the page can be sent compressed
+     */
+    public ReadHistoryRequest(String matchName, int cursor, boolean compressed) {
         this.matchName = matchName;
+        this.cursor = cursor;
+        this.compressed = compressed;
     }
 
     @Override
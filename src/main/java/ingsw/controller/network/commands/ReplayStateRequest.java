@@ -0,0 +1,25 @@
+package ingsw.controller.network.commands;
+
+/**
+ * Request of the state of the board of a match after a move of its history
+ */
+public class ReplayStateRequest implements Request {
+    public String matchName;
+    public int moveIndex;
+
+    public ReplayStateRequest(String matchName, int moveIndex) {
+        this.matchName = matchName;
+        this.moveIndex = moveIndex;
+    }
+
+    /**
+     * Method that returns a Response after the Request has been properly handled
+     *
+     * @param requestHandler class that handles the Request
+     * @return corresponding Response
+     */
+    @Override
+    public Response handle(RequestHandler requestHandler) {
+        return requestHandler.handle(this);
+    }
+}
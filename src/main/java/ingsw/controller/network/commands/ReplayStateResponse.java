@@ -0,0 +1,29 @@
+package ingsw.controller.network.commands;
+
+import ingsw.model.replay.BoardState;
+
+public class ReplayStateResponse implements Response {
+    public String matchName;
+    public int moveIndex;
+    public BoardState boardState;
+
+    /**
+     * @param matchName  Name of the match
+     * @param moveIndex  Index of the move in the history
+     * @param boardState State of the board after the move, null if it was not recorded
+     */
+    public ReplayStateResponse(String matchName, int moveIndex, BoardState boardState) {
+        this.matchName = matchName;
+        this.moveIndex = moveIndex;
+        this.boardState = boardState;
+    }
+
+    /**
+     * Method that declares by which this response should be handled
+     * @param responseHandler class that handles the Request
+     */
+    @Override
+    public void handle(ResponseHandler responseHandler) {
+        responseHandler.handle(this);
+    }
+}
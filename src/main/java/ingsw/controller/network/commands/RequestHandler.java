@@ -121,4 +121,28 @@ public interface RequestHandler {
      */
     Response handle(ChosenPatternCardRequest chosenPatternCardRequest);
 
+    /**
+     * Handle the viewSnapshotRequest
+     *
+     * @param viewSnapshotRequest
+     * @return
+     */
+    Response handle(ViewSnapshotRequest viewSnapshotRequest);
+
+    /**
+     * Handle the movesHistoryRequest
+     *
+     * @param movesHistoryRequest
+     * @return
+     */
+    Response handle(MovesHistoryRequest movesHistoryRequest);
+
+    /**
+     * Handle the replayStateRequest
+     *
+     * @param replayStateRequest
+     * @return
+     */
+    Response handle(ReplayStateRequest replayStateRequest);
+
 }
@@ -37,6 +37,13 @@ public interface ResponseHandler {
      */
     void handle(UpdateViewResponse updateViewResponse);
 
+    /**
+     * The ResponseHandler handle the viewSnapshotResponse
+     *
+     * @param viewSnapshotResponse
+     */
+    void handle(ViewSnapshotResponse viewSnapshotResponse);
+
     /**
      * The ResponseHandler handle the patternCardNotification
      *
@@ -155,4 +162,11 @@ public interface ResponseHandler {
      * @param availablePositionsResponse
      */
     void handle(AvailablePositionsResponse availablePositionsResponse);
+
+    /**
+     * The ResponseHandler handle the replayStateResponse
+     *
+     * @param replayStateResponse
+     */
+    void handle(ReplayStateResponse replayStateResponse);
 }
@@ -0,0 +1,29 @@
+package ingsw.controller.network.commands;
+
+import ingsw.utilities.NotificationType;
+
+import java.util.Map;
+
+/**
+ * Running score of a player, sent every time the grid or the favour tokens of the player change.
+ * The points of the private objective card are known only by its owner, the other players receive -1.
+ */
+public class ScoreNotification extends Notification {
+    public String username;
+    public Map<String, Integer> publicObjectivePoints;
+    public int privateObjectivePoints;
+    public int emptyBoxesPenalty;
+    public int favourTokens;
+    public int total;
+
+    public ScoreNotification(String username, Map<String, Integer> publicObjectivePoints, int privateObjectivePoints,
+                             int emptyBoxesPenalty, int favourTokens, int total) {
+        super(NotificationType.SCORE_UPDATE);
+        this.username = username;
+        this.publicObjectivePoints = publicObjectivePoints;
+        this.privateObjectivePoints = privateObjectivePoints;
+        this.emptyBoxesPenalty = emptyBoxesPenalty;
+        this.favourTokens = favourTokens;
+        this.total = total;
+    }
+}
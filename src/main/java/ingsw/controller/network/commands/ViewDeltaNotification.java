@@ -0,0 +1,17 @@
+package ingsw.controller.network.commands;
+
+import ingsw.utilities.NotificationType;
+import ingsw.utilities.ViewDelta;
+
+import java.util.List;
+
+public class ViewDeltaNotification extends Notification {
+    public int sequence;
+    public List<ViewDelta> deltas;
+
+    public ViewDeltaNotification(int sequence, List<ViewDelta> deltas) {
+        super(NotificationType.VIEW_DELTA);
+        this.sequence = sequence;
+        this.deltas = deltas;
+    }
+}
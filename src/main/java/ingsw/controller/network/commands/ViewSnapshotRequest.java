@@ -0,0 +1,15 @@
+package ingsw.controller.network.commands;
+
+public class ViewSnapshotRequest implements Request {
+
+    /**
+     * Method that returns a Response after the Request has been properly handled
+     *
+     * @param requestHandler class that handles the Request
+     * @return corresponding Response
+     */
+    @Override
+    public Response handle(RequestHandler requestHandler) {
+        return requestHandler.handle(this);
+    }
+}
@@ -0,0 +1,27 @@
+package ingsw.controller.network.commands;
+
+import ingsw.model.Dice;
+import ingsw.model.Player;
+
+import java.util.List;
+
+public class ViewSnapshotResponse implements Response {
+    public int sequence;
+    public List<Player> players;
+    public List<Dice> draftedDice;
+
+    public ViewSnapshotResponse(int sequence, List<Player> players, List<Dice> draftedDice) {
+        this.sequence = sequence;
+        this.players = players;
+        this.draftedDice = draftedDice;
+    }
+
+    /**
+     * Method that declares by which this response should be handled
+     * @param responseHandler class that handles the Request
+     */
+    @Override
+    public void handle(ResponseHandler responseHandler) {
+        responseHandler.handle(this);
+    }
+}
@@ -1,6 +1,8 @@
 package ingsw.controller.network.rmi;
 
 import ingsw.controller.network.NetworkType;
+import ingsw.controller.network.MovesHistoryApplier;
+import ingsw.controller.network.ViewStateApplier;
 import ingsw.controller.network.commands.*;
 import ingsw.model.Dice;
 import ingsw.model.cards.patterncard.PatternCard;
@@ -18,6 +20,8 @@ public class RMIController implements ResponseHandler, NetworkType {
     private RMIUserObserver rmiUserObserver;
     private Response response;
     private SceneUpdater sceneUpdater;
+    private final ViewStateApplier viewStateApplier = new ViewStateApplier(() -> new ViewSnapshotRequest().handle(rmiHandler));
+    private final MovesHistoryApplier movesHistoryApplier = new MovesHistoryApplier(from -> new MovesHistoryRequest(from).handle(rmiHandler));
 
     /**
      * Set the ip address and the RMIUserObserver
@@ -331,7 +335,23 @@ public class RMIController implements ResponseHandler, NetworkType {
      */
     @Override
     public void requestHistory(String matchName) {
-        new ReadHistoryRequest(matchName).handle(rmiHandler);
+        requestHistory(matchName, 0);
+    }
+
+    /**
+     * Method that creates the request for a page of the history
+     */
+    @Override
+    public void requestHistory(String matchName, int cursor) {
+        new ReadHistoryRequest(matchName, cursor, true).handle(rmiHandler);
+    }
+
+    /**
+     * Method that creates the request for the state of the board of a replayed match
+     */
+    @Override
+    public void requestReplayState(String matchName, int moveIndex) {
+        new ReplayStateRequest(matchName, moveIndex).handle(rmiHandler);
     }
 
     /**
@@ -342,6 +362,14 @@ public class RMIController implements ResponseHandler, NetworkType {
         new FinishedMatchesRequest().handle(rmiHandler);
     }
 
+    /**
+     * Method that creates the request for a page of the finished matches
+     */
+    @Override
+    public void requestFinishedMatches(String player, long from, long to, int offset) {
+        new FinishedMatchesRequest(player, from, to, offset).handle(rmiHandler);
+    }
+
     /**
      * Method that creates the request for ending the turn
      *
@@ -455,6 +483,26 @@ public class RMIController implements ResponseHandler, NetworkType {
         sceneUpdater.updateView(updateViewResponse);
     }
 
+    /**
+     * Method that replaces the view state kept by the client with the one sent by the server
+     *
+     * @param viewSnapshotResponse players and drafted dice of the match
+     */
+    @Override
+    public void handle(ViewSnapshotResponse viewSnapshotResponse) {
+        viewStateApplier.loadSnapshot(viewSnapshotResponse, sceneUpdater);
+    }
+
+    /**
+     * Method that passes the state of the board of a replayed match to the View
+     *
+     * @param replayStateResponse state of the board after a move
+     */
+    @Override
+    public void handle(ReplayStateResponse replayStateResponse) {
+        sceneUpdater.showReplayState(replayStateResponse.matchName, replayStateResponse.moveIndex, replayStateResponse.boardState);
+    }
+
     /**
      * Method that passes the four possible pattern cards to the View
      *
@@ -462,6 +510,7 @@ public class RMIController implements ResponseHandler, NetworkType {
      */
     @Override
     public void handle(PatternCardNotification patternCardNotification) {
+        movesHistoryApplier.reset();
         sceneUpdater.launchThirdGui(patternCardNotification);
     }
 
@@ -482,6 +531,7 @@ public class RMIController implements ResponseHandler, NetworkType {
      */
     @Override
     public void handle(DraftedDiceResponse draftedDiceResponse) {
+        viewStateApplier.setDraftedDice(draftedDiceResponse.dice);
         sceneUpdater.setDraftedDice(draftedDiceResponse.dice);
     }
 
@@ -496,9 +546,11 @@ public class RMIController implements ResponseHandler, NetworkType {
     public void handle(UseToolCardResponse useToolCardResponse) {
         switch (useToolCardResponse.toolCardType) {
             case PATTERN_CARD:
+                viewStateApplier.setPlayer(((PatternCardToolCardResponse) useToolCardResponse).player);
                 sceneUpdater.toolCardAction((PatternCardToolCardResponse) useToolCardResponse);
                 break;
             case DRAFT_POOL:
+                viewStateApplier.setDraftedDice(((DraftedDiceToolCardResponse) useToolCardResponse).draftedDice);
                 sceneUpdater.toolCardAction((DraftedDiceToolCardResponse) useToolCardResponse);
                 break;
             case ROUND_TRACK:
@@ -577,7 +629,13 @@ public class RMIController implements ResponseHandler, NetworkType {
                 sceneUpdater.startTurn((StartTurnNotification) notification);
                 break;
             case HISTORY_UPDATE:
-                sceneUpdater.updateMovesHistory((MoveStatusNotification) notification);
+                movesHistoryApplier.apply((MoveStatusNotification) notification, sceneUpdater);
+                break;
+            case VIEW_DELTA:
+                viewStateApplier.apply((ViewDeltaNotification) notification, sceneUpdater);
+                break;
+            case SCORE_UPDATE:
+                sceneUpdater.updateScore((ScoreNotification) notification);
                 break;
         }
     }
@@ -625,11 +683,12 @@ public class RMIController implements ResponseHandler, NetworkType {
     /**
      * Method that handle the finishedMatchesResponse
      *
-     * @param finishedMatchesResponse It contains all the finished matches
+     * @param finishedMatchesResponse It contains a page of the finished matches
      */
     @Override
     public void handle(FinishedMatchesResponse finishedMatchesResponse) {
-        sceneUpdater.showFinishedMatches(finishedMatchesResponse.finishedMatchesList);
+        sceneUpdater.showFinishedMatchesPage(finishedMatchesResponse.finishedMatchesList,
+                                             finishedMatchesResponse.offset, finishedMatchesResponse.noOfMatches);
     }
 
     /**
@@ -639,7 +698,8 @@ public class RMIController implements ResponseHandler, NetworkType {
      */
     @Override
     public void handle(HistoryResponse historyResponse) {
-        sceneUpdater.showSelectedMatchHistory(historyResponse.historyJSON);
+        sceneUpdater.showMatchHistoryPage(historyResponse.matchName, historyResponse.getMoves(),
+                                          historyResponse.cursor, historyResponse.nextCursor);
     }
 
     /**
@@ -149,7 +149,8 @@ public class RMIHandler implements RequestHandler {
     }
 
     /**
-     * Method that filtrates the kind of requests by the ToolCard used in the move
+     * Method that filtrates the kind of requests by the ToolCard used in the move, the move is made only
+     * if it is a step of the tool card in use
      *
      * @param moveToolCardRequest ToolCard move request
      * @return null
@@ -157,6 +158,9 @@ public class RMIHandler implements RequestHandler {
     @Override
     public Response handle(MoveToolCardRequest moveToolCardRequest) {
         try {
+            if (!remoteController.checkToolCardMove(user.getUsername(), moveToolCardRequest.toolCardType))
+                return null;
+
             switch (moveToolCardRequest.toolCardType) {
                 case GROZING_PLIERS:
                     remoteController.toolCardMove(((GrozingPliersRequest) moveToolCardRequest));
@@ -293,7 +297,7 @@ public class RMIHandler implements RequestHandler {
     }
 
     /**
-     * Method that signals the controller a dice placing action
+     * Method that signals the controller a dice placing action, if the placement is legal
      *
      * @param placeDiceRequest request containing the necessary data to make the move
      * @return null
@@ -301,7 +305,8 @@ public class RMIHandler implements RequestHandler {
     @Override
     public Response handle(PlaceDiceRequest placeDiceRequest) {
         try {
-            remoteController.placeDice(placeDiceRequest.dice, placeDiceRequest.rowIndex, placeDiceRequest.columnIndex);
+            if (remoteController.checkPlacement(user.getUsername(), placeDiceRequest.dice, placeDiceRequest.rowIndex, placeDiceRequest.columnIndex))
+                remoteController.placeDice(placeDiceRequest.dice, placeDiceRequest.rowIndex, placeDiceRequest.columnIndex);
         } catch (RemoteException e) {
             e.printStackTrace();
         }
@@ -310,7 +315,7 @@ public class RMIHandler implements RequestHandler {
     }
 
     /**
-     * Method that signals the controller the will to use a ToolCard
+     * Method that signals the controller the will to use a ToolCard, if the player can use it
      *
      * @param useToolCardRequest request containing the necessary data to make the move
      * @return null
@@ -318,7 +323,8 @@ public class RMIHandler implements RequestHandler {
     @Override
     public Response handle(UseToolCardRequest useToolCardRequest) {
         try {
-            remoteController.useToolCard(useToolCardRequest.toolCardName);
+            if (remoteController.checkToolCard(user.getUsername(), useToolCardRequest.toolCardName))
+                remoteController.useToolCard(useToolCardRequest.toolCardName);
         } catch (RemoteException e) {
             e.printStackTrace();
         }
@@ -336,7 +342,8 @@ public class RMIHandler implements RequestHandler {
     public Response handle(FinishedMatchesRequest finishedMatchesRequest) {
 
         try {
-            sagradaGame.sendFinishedMatchesList(user.getUsername());
+            sagradaGame.sendFinishedMatchesList(user.getUsername(), finishedMatchesRequest.player, finishedMatchesRequest.from,
+                                                finishedMatchesRequest.to, finishedMatchesRequest.offset, finishedMatchesRequest.limit);
         } catch (RemoteException e) {
             e.printStackTrace();
         }
@@ -354,7 +361,8 @@ public class RMIHandler implements RequestHandler {
     public Response handle(ReadHistoryRequest readHistoryRequest) {
 
         try {
-            sagradaGame.sendSelectedMatchHistory(user.getUsername(), readHistoryRequest.matchName);
+            sagradaGame.sendSelectedMatchHistory(user.getUsername(), readHistoryRequest.matchName,
+                                                 readHistoryRequest.cursor, readHistoryRequest.compressed);
         } catch (RemoteException e) {
             e.printStackTrace();
         }
@@ -378,4 +386,55 @@ public class RMIHandler implements RequestHandler {
 
         return null;
     }
-}
\ No newline at end of file
+
+    /**
+     * Method that requests the full view state after a missed view update
+     *
+     * @param viewSnapshotRequest request
+     * @return null
+     */
+    @Override
+    public Response handle(ViewSnapshotRequest viewSnapshotRequest) {
+        try {
+            remoteController.requestViewSnapshot(user.getUsername());
+        } catch (RemoteException e) {
+            e.printStackTrace();
+        }
+
+        return null;
+    }
+
+    /**
+     * Method that requests the moves of the history missed by the client
+     *
+     * @param movesHistoryRequest request
+     * @return null
+     */
+    @Override
+    public Response handle(MovesHistoryRequest movesHistoryRequest) {
+        try {
+            remoteController.requestMovesHistory(user.getUsername(), movesHistoryRequest.fromSequence);
+        } catch (RemoteException e) {
+            e.printStackTrace();
+        }
+
+        return null;
+    }
+
+    /**
+     * Method that requests the state of the board of a finished match after a move
+     *
+     * @param replayStateRequest request
+     * @return null
+     */
+    @Override
+    public Response handle(ReplayStateRequest replayStateRequest) {
+        try {
+            sagradaGame.sendReplayState(user.getUsername(), replayStateRequest.matchName, replayStateRequest.moveIndex);
+        } catch (RemoteException e) {
+            e.printStackTrace();
+        }
+
+        return null;
+    }
+}
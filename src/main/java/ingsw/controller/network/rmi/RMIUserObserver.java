@@ -57,11 +57,6 @@ public class RMIUserObserver extends UnicastRemoteObject implements UserObserver
      *
      * @param booleanMapGrid Available positions
      */
-    @Override
-    public void activatePinger() {
-
-    }
-
     @Override
     public void activateTurnNotification(Map<String, Boolean[][]> booleanMapGrid) {
         new StartTurnNotification(booleanMapGrid).handle(rmiController);
@@ -9,36 +9,76 @@ import java.net.Socket;
 
 /**
  * Class the takes the request generated in the ClientController, writes them to the socket stream
- * and then reads the response incoming from the server e passes them to the ClientController
+ * and then reads the response incoming from the server e passes them to the ClientController.
+ * When connecting it detects whether the server is the blocking or the non-blocking one and agrees
+ * with it on the encoding of the commands.
  */
 public class Client {
     private final String host;
     private final int port;
+    private final boolean binaryCodec;
     private Socket connection;
-    private ObjectInputStream objectInputStream;
-    private ObjectOutputStream objectOutputStream;
+    private boolean binary;
+    private DataInputStream dataInputStream;
+    private DataOutputStream dataOutputStream;
 
     /**
-     * Set the socket port and host
+     * Set the socket port and host, the binary encoding will be asked to the server
      *
      * @param host Host
      * @param port Port
      */
     public Client(String host, int port) {
+        this(host, port, true);
+    }
+
+    /**
+     * Set the socket port and host
+     *
+     * @param host Host
+     * @param port Port
+     * @param binaryCodec true to ask the server for the binary encoding, false to use Java serialization
+     */
+    public Client(String host, int port, boolean binaryCodec) {
         this.host = host;
         this.port = port;
+        this.binaryCodec = binaryCodec;
     }
 
     /**
      * Connects to the socket with data given in the constructor and
-     * creates the Stream()
+     * creates the Stream(). The first four bytes sent by the server tell which
+     * server it is: the blocking one is asked to switch to frames. Then the encoding is negotiated.
      *
      * @throws IOException
      */
     public void connect() throws IOException {
         connection = new Socket(host, port);
-        objectOutputStream = new ObjectOutputStream(connection.getOutputStream());
-        objectInputStream = new ObjectInputStream(connection.getInputStream());
+        dataInputStream = new DataInputStream(new BufferedInputStream(connection.getInputStream()));
+        dataOutputStream = new DataOutputStream(new BufferedOutputStream(connection.getOutputStream()));
+
+        if (dataInputStream.readInt() != FrameCodec.MAGIC) {
+            // Object stream header sent by the blocking server
+            dataOutputStream.writeInt(WireCodec.CODEC_MAGIC);
+        }
+
+        FrameCodec.write(dataOutputStream, FrameCodec.encodeHello(binaryCodec ? WireCodec.VERSION : 0));
+        Object hello;
+        try {
+            hello = FrameCodec.read(dataInputStream);
+        } catch (ClassNotFoundException e) {
+            throw new StreamCorruptedException("Wrong handshake");
+        }
+        if (!(hello instanceof WireCodec.Hello))
+            throw new StreamCorruptedException("Wrong handshake");
+        binary = ((WireCodec.Hello) hello).getVersion() >= 1;
+    }
+
+    /**
+     * @return true if the commands are sent with the binary encoding
+     */
+    boolean isBinary() {
+        return binary;
     }
 
     /**
@@ -46,8 +86,8 @@ public class Client {
      */
     void close() {
         try {
-            objectInputStream.close();
-            objectOutputStream.close();
+            dataInputStream.close();
+            dataOutputStream.close();
             connection.close();
         } catch (IOException e) {
             e.printStackTrace();
@@ -61,13 +101,24 @@ public class Client {
      */
     void request(Request request) {
         try {
-            objectOutputStream.writeObject(request);
+            write(request);
         } catch (IOException e) {
             e.printStackTrace();
             System.err.println("Exception on network: " + e.getMessage());
         }
     }
 
+    /**
+     * Writes an object in a frame. The ping acks are written by the listener
+     * thread, so the writes are synchronized.
+     *
+     * @param object Object to write
+     * @throws IOException
+     */
+    private synchronized void write(Serializable object) throws IOException {
+        FrameCodec.write(dataOutputStream, object, binary);
+    }
+
     /**
      * Read the response from the inputStream
      *
@@ -75,7 +126,7 @@ public class Client {
      */
     Response nextResponse() {
         try {
-            return ((Response) objectInputStream.readObject());
+            return ((Response) FrameCodec.read(dataInputStream));
         } catch (StreamCorruptedException e) {
             System.err.println("Closing socket");
         } catch (EOFException e) {
@@ -96,7 +147,7 @@ public class Client {
      */
     void ackPing(Ping ping) {
         try {
-            objectOutputStream.writeObject(ping);
+            write(ping);
         } catch (IOException e) {
             e.printStackTrace();
         }
@@ -6,6 +6,8 @@ import ingsw.model.cards.patterncard.PatternCard;
 import ingsw.utilities.Tuple;
 import ingsw.view.SceneUpdater;
 import ingsw.controller.network.NetworkType;
+import ingsw.controller.network.MovesHistoryApplier;
+import ingsw.controller.network.ViewStateApplier;
 
 /**
  * Class that defines the socket connection of the game
@@ -14,6 +16,8 @@ public class ClientController implements ResponseHandler, NetworkType {
     private Client client;
     private boolean listenerActive = false;
     private SceneUpdater sceneUpdater;
+    private final ViewStateApplier viewStateApplier = new ViewStateApplier(() -> client.request(new ViewSnapshotRequest()));
+    private final MovesHistoryApplier movesHistoryApplier = new MovesHistoryApplier(from -> client.request(new MovesHistoryRequest(from)));
 
     /**
      * Assign a client
@@ -328,6 +332,14 @@ public class ClientController implements ResponseHandler, NetworkType {
         client.request(new FinishedMatchesRequest());
     }
 
+    /**
+     * Method that creates the request for a page of the finished matches
+     */
+    @Override
+    public void requestFinishedMatches(String player, long from, long to, int offset) {
+        client.request(new FinishedMatchesRequest(player, from, to, offset));
+    }
+
     /**
      * Method that creates the request for the history
      *
@@ -335,7 +347,23 @@ public class ClientController implements ResponseHandler, NetworkType {
      */
     @Override
     public void requestHistory(String matchName) {
-        client.request(new ReadHistoryRequest(matchName));
+        requestHistory(matchName, 0);
+    }
+
+    /**
+     * Method that creates the request for a page of the history
+     */
+    @Override
+    public void requestHistory(String matchName, int cursor) {
+        client.request(new ReadHistoryRequest(matchName, cursor, true));
+    }
+
+    /**
+     * Method that creates the request for the state of the board of a replayed match
+     */
+    @Override
+    public void requestReplayState(String matchName, int moveIndex) {
+        client.request(new ReplayStateRequest(matchName, moveIndex));
     }
 
     /**
@@ -441,6 +469,26 @@ public class ClientController implements ResponseHandler, NetworkType {
         sceneUpdater.updateView(updateViewResponse);
     }
 
+    /**
+     * Method that replaces the view state kept by the client with the one sent by the server
+     *
+     * @param viewSnapshotResponse players and drafted dice of the match
+     */
+    @Override
+    public void handle(ViewSnapshotResponse viewSnapshotResponse) {
+        viewStateApplier.loadSnapshot(viewSnapshotResponse, sceneUpdater);
+    }
+
+    /**
+     * Method that passes the state of the board of a replayed match to the View
+     *
+     * @param replayStateResponse state of the board after a move
+     */
+    @Override
+    public void handle(ReplayStateResponse replayStateResponse) {
+        sceneUpdater.showReplayState(replayStateResponse.matchName, replayStateResponse.moveIndex, replayStateResponse.boardState);
+    }
+
     /**
      * Method that passes the four possible pattern cards to the View
      *
@@ -448,6 +496,7 @@ public class ClientController implements ResponseHandler, NetworkType {
      */
     @Override
     public void handle(PatternCardNotification patternCardNotification) {
+        movesHistoryApplier.reset();
         sceneUpdater.launchThirdGui(patternCardNotification);
     }
 
@@ -473,11 +522,17 @@ public class ClientController implements ResponseHandler, NetworkType {
                 sceneUpdater.popUpDraftNotification();
                 break;
             case HISTORY_UPDATE:
-                sceneUpdater.updateMovesHistory((MoveStatusNotification) notification);
+                movesHistoryApplier.apply((MoveStatusNotification) notification, sceneUpdater);
                 break;
             case START_TURN:
                 sceneUpdater.startTurn((StartTurnNotification) notification);
                 break;
+            case VIEW_DELTA:
+                viewStateApplier.apply((ViewDeltaNotification) notification, sceneUpdater);
+                break;
+            case SCORE_UPDATE:
+                sceneUpdater.updateScore((ScoreNotification) notification);
+                break;
         }
     }
 
@@ -488,6 +543,7 @@ public class ClientController implements ResponseHandler, NetworkType {
      */
     @Override
     public void handle(DraftedDiceResponse draftedDiceResponse) {
+        viewStateApplier.setDraftedDice(draftedDiceResponse.dice);
         sceneUpdater.setDraftedDice(draftedDiceResponse.dice);
     }
 
@@ -512,9 +568,11 @@ public class ClientController implements ResponseHandler, NetworkType {
     public void handle(UseToolCardResponse useToolCardResponse) {
         switch (useToolCardResponse.toolCardType) {
             case PATTERN_CARD:
+                viewStateApplier.setPlayer(((PatternCardToolCardResponse) useToolCardResponse).player);
                 sceneUpdater.toolCardAction((PatternCardToolCardResponse) useToolCardResponse);
                 break;
             case DRAFT_POOL:
+                viewStateApplier.setDraftedDice(((DraftedDiceToolCardResponse) useToolCardResponse).draftedDice);
                 sceneUpdater.toolCardAction((DraftedDiceToolCardResponse) useToolCardResponse);
                 break;
             case ROUND_TRACK:
@@ -617,11 +675,12 @@ public class ClientController implements ResponseHandler, NetworkType {
     /**
      * Method that handle the finishedMatchesResponse
      *
-     * @param finishedMatchesResponse It contains all the finished matches
+     * @param finishedMatchesResponse It contains a page of the finished matches
      */
     @Override
     public void handle(FinishedMatchesResponse finishedMatchesResponse) {
-        sceneUpdater.showFinishedMatches(finishedMatchesResponse.finishedMatchesList);
+        sceneUpdater.showFinishedMatchesPage(finishedMatchesResponse.finishedMatchesList,
+                                             finishedMatchesResponse.offset, finishedMatchesResponse.noOfMatches);
     }
 
     /**
@@ -652,7 +711,8 @@ public class ClientController implements ResponseHandler, NetworkType {
      */
     @Override
     public void handle(HistoryResponse historyResponse) {
-        sceneUpdater.showSelectedMatchHistory(historyResponse.historyJSON);
+        sceneUpdater.showMatchHistoryPage(historyResponse.matchName, historyResponse.getMoves(),
+                                          historyResponse.cursor, historyResponse.nextCursor);
     }
 
     /**
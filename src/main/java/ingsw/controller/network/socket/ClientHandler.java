@@ -1,7 +1,7 @@
 package ingsw.controller.network.socket;
 
 import ingsw.controller.network.commands.*;
-import ingsw.utilities.ControllerTimer;
+import ingsw.utilities.LivenessService;
 
 import java.io.*;
 import java.net.Socket;
@@ -11,28 +11,45 @@ import java.util.Map;
 /**
  * Class that reads request sent from the client and writes the server responses via Socket
  */
-public class ClientHandler implements Runnable, UserObserver, Serializable {
+public class ClientHandler implements Runnable, ConnectionHandler, Serializable {
     private static final String ERROR_IN = "Errors in closing - ";
 
     private transient Socket clientSocket;
-    private final transient ObjectInputStream objectInputStream;
+    private transient ObjectInputStream objectInputStream;
     private final transient ObjectOutputStream objectOutputStream;
+    private transient DataInputStream dataInputStream;
+    private transient DataOutputStream dataOutputStream;
+    private transient boolean framed;
+    private transient volatile boolean binary;
     private transient boolean stop = false;
-    private transient ControllerTimer controllerTimer;
+    private transient LivenessService livenessService;
 
     private ServerController serverController;
 
     /**
-     * Creates a new ClientHandler with a given socket, creates the streams and a ServerController
+     * Creates a new ClientHandler with a given socket, creates the streams and a ServerController.
+     * The object stream header is sent first; if the client answers with the codec magic number instead
+     * of its own header, the connection switches to frames encoded by the WireCodec.
      * @param clientSocket ClientSocket
      * @throws IOException
      */
     ClientHandler(Socket clientSocket) throws IOException {
         this.clientSocket = clientSocket;
         this.objectOutputStream = new ObjectOutputStream(clientSocket.getOutputStream());
-        this.objectInputStream = new ObjectInputStream(clientSocket.getInputStream());
+
+        BufferedInputStream inputStream = new BufferedInputStream(clientSocket.getInputStream());
+        inputStream.mark(FrameCodec.HEADER_SIZE);
+        DataInputStream handshake = new DataInputStream(inputStream);
+        this.framed = handshake.readInt() == WireCodec.CODEC_MAGIC;
+        if (framed) {
+            this.dataInputStream = handshake;
+            this.dataOutputStream = new DataOutputStream(new BufferedOutputStream(clientSocket.getOutputStream()));
+        } else {
+            inputStream.reset();
+            this.objectInputStream = new ObjectInputStream(inputStream);
+        }
         this.serverController = new ServerController(this);
-        controllerTimer = new ControllerTimer();
+        livenessService = LivenessService.get();
     }
 
     /**
@@ -56,15 +73,17 @@ public class ClientHandler implements Runnable, UserObserver, Serializable {
      */
     private void readResponse() {
         try {
-            Response response = ((Request) objectInputStream.readObject()).handle(serverController);
-            if (response != null) {
-                if (response instanceof Ping) {
-                    controllerTimer.cancelTimer();
-                    controllerTimer.setPingActive(false);
-                } else
-                    respond(response);
+            Object object = framed ? FrameCodec.read(dataInputStream) : objectInputStream.readObject();
+            livenessService.touch(this);
+            if (object instanceof WireCodec.Hello) {
+                negotiate((WireCodec.Hello) object);
+                return;
             }
 
+            Response response = ((Request) object).handle(serverController);
+            if (response != null && !(response instanceof Ping))
+                respond(response);
+
         } catch (EOFException | SocketException e) {
             if (!stop) {
                 System.out.print("EOF: ");
@@ -75,48 +94,53 @@ public class ClientHandler implements Runnable, UserObserver, Serializable {
         }
     }
 
+    @Override
     public void shutdownClientHandler() {
-        controllerTimer.cancelTimer();
         serverController.deactivateUser();
+        livenessService.close(this);
         close();
     }
 
     /**
-     * Method that serializes objects and sends them to the other end of the connection
+     * Agrees on the encoding with the client: the highest version supported by both is used and sent back
      *
-     * @param response response to send
+     * @param hello Hello sent by the client
      */
-    private void respond(Response response) {
+    private synchronized void negotiate(WireCodec.Hello hello) {
+        int version = Math.min(hello.getVersion(), WireCodec.VERSION);
         try {
-            objectOutputStream.writeObject(response);
-            objectOutputStream.reset();
+            FrameCodec.write(dataOutputStream, FrameCodec.encodeHello(version));
+            binary = version >= 1;
         } catch (IOException e) {
             System.err.println(e.getClass().getSimpleName() + " - " + e.getMessage());
         }
     }
 
-    private void checkConnection() {
-        if (!stop) {
-            respond(new Ping());
-            controllerTimer.startPingReceiveTimer(this);
+    /**
+     * Method that serializes objects and sends them to the other end of the connection
+     *
+     * @param response response to send
+     */
+    private synchronized void respond(Response response) {
+        try {
+            if (framed) {
+                FrameCodec.write(dataOutputStream, response, binary);
+            } else {
+                objectOutputStream.writeObject(response);
+                objectOutputStream.reset();
+            }
+        } catch (IOException e) {
+            System.err.println(e.getClass().getSimpleName() + " - " + e.getMessage());
         }
     }
 
-    private void pingTimer() {
-        new Thread(() -> {
-            do {
-
-                try {
-                    Thread.sleep(3000);
-                } catch (InterruptedException e) {
-                    Thread.currentThread().interrupt();
-                    e.printStackTrace();
-                }
-
-                checkConnection();
-
-            } while (!stop);
-        }).start();
+    /**
+     * Sends a Ping to the client, called by the LivenessService when nothing has been received for a while
+     */
+    @Override
+    public void probe() {
+        if (!stop)
+            respond(new Ping());
     }
 
     private void stop() {
@@ -129,6 +153,14 @@ public class ClientHandler implements Runnable, UserObserver, Serializable {
     public void close() {
         System.out.println("Closing down connection");
         stop();
+        if (dataInputStream != null) {
+            try {
+                dataInputStream.close();
+            } catch (IOException e) {
+                System.err.println(ERROR_IN + e.getMessage());
+            }
+        }
+
         if (objectInputStream != null) {
             try {
                 objectInputStream.close();
@@ -184,14 +216,6 @@ public class ClientHandler implements Runnable, UserObserver, Serializable {
 
     }
 
-    /**
-     * Activate Pinger
-     */
-    @Override
-    public void activatePinger() {
-        pingTimer();
-    }
-
     /**
      * Method that sends a Response through the network
      *
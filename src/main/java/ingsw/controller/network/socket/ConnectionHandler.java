@@ -0,0 +1,25 @@
+package ingsw.controller.network.socket;
+
+import ingsw.utilities.LivenessService;
+
+/**
+ * Server side end of a socket connection. It is implemented by the blocking ClientHandler and by
+ * the NioClientHandler used by the non-blocking server.
+ * The connection is a session of the LivenessService: it is probed with a Ping and every frame
+ * received from the client counts as a sign of life.
+ */
+public interface ConnectionHandler extends UserObserver, LivenessService.Session {
+
+    /**
+     * Deactivates the user bound to the connection and closes it
+     */
+    void shutdownClientHandler();
+
+    /**
+     * The client stopped answering to the Ping
+     */
+    @Override
+    default void expire() {
+        shutdownClientHandler();
+    }
+}
@@ -0,0 +1,114 @@
+package ingsw.controller.network.socket;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+
+/**
+ * Framing of the commands exchanged through the socket.
+ * Every frame is a 4 bytes length followed by the payload produced by the WireCodec, so no state is
+ * shared between two frames.
+ */
+public final class FrameCodec {
+    /**
+     * Bytes sent by the non-blocking server as soon as a connection is accepted. They let the Client
+     * tell it apart from the blocking server, that starts with the object stream header.
+     */
+    static final int MAGIC = 0x53474652;
+    static final int HEADER_SIZE = 4;
+    static final int MAX_FRAME_SIZE = 8 * 1024 * 1024;
+
+    private FrameCodec() {
+    }
+
+    /**
+     * Encodes the object in a frame
+     *
+     * @param object Object to send
+     * @param binary true if the binary encoding has been agreed with the other end
+     * @return The frame, ready to be written
+     * @throws IOException
+     */
+    static ByteBuffer encode(Serializable object, boolean binary) throws IOException {
+        return frame(WireCodec.encode(object, binary));
+    }
+
+    /**
+     * Encodes a Hello in a frame
+     *
+     * @param version Highest codec version supported
+     * @return The frame, ready to be written
+     */
+    static ByteBuffer encodeHello(int version) {
+        return frame(WireCodec.encodeHello(version));
+    }
+
+    private static ByteBuffer frame(byte[] payload) {
+        ByteBuffer frame = ByteBuffer.allocate(HEADER_SIZE + payload.length);
+        frame.putInt(0, payload.length);
+        System.arraycopy(payload, 0, frame.array(), HEADER_SIZE, payload.length);
+        return frame;
+    }
+
+    /**
+     * Decodes the payload of a frame
+     *
+     * @param payload Frame payload, without the length
+     * @return The object sent
+     * @throws IOException
+     * @throws ClassNotFoundException
+     */
+    static Object decode(byte[] payload) throws IOException, ClassNotFoundException {
+        return WireCodec.decode(payload);
+    }
+
+    /**
+     * Checks the length read from a frame header
+     *
+     * @param length Length of the payload
+     * @throws IOException if the length is not valid
+     */
+    static void checkLength(int length) throws IOException {
+        if (length <= 0 || length > MAX_FRAME_SIZE)
+            throw new StreamCorruptedException("Invalid frame length: " + length);
+    }
+
+    /**
+     * Writes an object as a frame on a blocking stream
+     *
+     * @param dataOutputStream Stream
+     * @param object Object to send
+     * @param binary true if the binary encoding has been agreed with the other end
+     * @throws IOException
+     */
+    static void write(DataOutputStream dataOutputStream, Serializable object, boolean binary) throws IOException {
+        write(dataOutputStream, encode(object, binary));
+    }
+
+    /**
+     * Writes a frame on a blocking stream
+     *
+     * @param dataOutputStream Stream
+     * @param frame Frame to write
+     * @throws IOException
+     */
+    static void write(DataOutputStream dataOutputStream, ByteBuffer frame) throws IOException {
+        dataOutputStream.write(frame.array(), 0, frame.limit());
+        dataOutputStream.flush();
+    }
+
+    /**
+     * Reads a frame from a blocking stream
+     *
+     * @param dataInputStream Stream
+     * @return The object sent
+     * @throws IOException
+     * @throws ClassNotFoundException
+     */
+    static Object read(DataInputStream dataInputStream) throws IOException, ClassNotFoundException {
+        int length = dataInputStream.readInt();
+        checkLength(length);
+        byte[] payload = new byte[length];
+        dataInputStream.readFully(payload);
+        return decode(payload);
+    }
+}
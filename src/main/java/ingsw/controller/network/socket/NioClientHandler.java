@@ -0,0 +1,326 @@
+package ingsw.controller.network.socket;
+
+import ingsw.controller.network.commands.*;
+import ingsw.utilities.LivenessService;
+
+import java.io.IOException;
+import java.io.Serializable;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Connection handled by the SagradaNioSocketServer.
+ * The frames are read by the selector thread, while the requests are handled one at a time, in the
+ * order they arrived, by the worker pool of the server. The responses are queued and written by the
+ * selector thread as soon as the channel is writable. A client that doesn't read its responses can keep
+ * at most {@link #MAX_PENDING_BYTES} of them waiting, then the connection is closed.
+ */
+public class NioClientHandler implements ConnectionHandler, Serializable {
+    static final int MAX_PENDING_BYTES = 4 * 1024 * 1024;
+
+    private final transient SocketChannel channel;
+    private final transient SagradaNioSocketServer server;
+    private transient ByteBuffer header;
+    private transient ByteBuffer payload;
+    private final transient Queue<ByteBuffer> outgoingFrames;
+    private final transient Queue<byte[]> incomingFrames;
+    private final transient AtomicBoolean dispatching;
+    private final transient AtomicInteger pendingBytes;
+    private final transient AtomicBoolean overflowed;
+    private transient volatile boolean stop;
+    private transient volatile boolean binary;
+
+    private ServerController serverController;
+
+    /**
+     * Creates a new NioClientHandler for an accepted channel and queues the bytes that identify
+     * the non-blocking server
+     *
+     * @param channel Channel of the connection
+     * @param server Server that accepted the connection
+     */
+    NioClientHandler(SocketChannel channel, SagradaNioSocketServer server) {
+        this.channel = channel;
+        this.server = server;
+        this.header = ByteBuffer.allocate(FrameCodec.HEADER_SIZE);
+        this.outgoingFrames = new ConcurrentLinkedQueue<>();
+        this.incomingFrames = new ConcurrentLinkedQueue<>();
+        this.dispatching = new AtomicBoolean(false);
+        this.pendingBytes = new AtomicInteger(0);
+        this.overflowed = new AtomicBoolean(false);
+        this.serverController = new ServerController(this);
+        enqueue(ByteBuffer.allocate(FrameCodec.HEADER_SIZE).putInt(0, FrameCodec.MAGIC));
+    }
+
+    /**
+     * @return The channel of the connection
+     */
+    SocketChannel getChannel() {
+        return channel;
+    }
+
+    /**
+     * Reads every available byte from the channel. Called only by the selector thread.
+     *
+     * @return false if the end of the stream has been reached
+     * @throws IOException
+     */
+    boolean read() throws IOException {
+        while (true) {
+            if (payload == null) {
+                if (channel.read(header) < 0)
+                    return false;
+                if (header.hasRemaining())
+                    return true;
+                int length = header.getInt(0);
+                FrameCodec.checkLength(length);
+                payload = ByteBuffer.allocate(length);
+                header = ByteBuffer.allocate(FrameCodec.HEADER_SIZE);
+            }
+
+            if (channel.read(payload) < 0)
+                return false;
+            if (payload.hasRemaining())
+                return true;
+
+            incomingFrames.add(payload.array());
+            payload = null;
+            LivenessService.get().touch(this);
+            if (dispatching.compareAndSet(false, true))
+                server.dispatch(this::handleFrames);
+        }
+    }
+
+    /**
+     * Writes the queued frames. Called only by the selector thread.
+     *
+     * @return true if every frame has been written
+     * @throws IOException
+     */
+    boolean write() throws IOException {
+        ByteBuffer frame;
+        while ((frame = outgoingFrames.peek()) != null) {
+            channel.write(frame);
+            if (frame.hasRemaining())
+                return false;
+            outgoingFrames.poll();
+            pendingBytes.addAndGet(-frame.limit());
+        }
+        return true;
+    }
+
+    /**
+     * @return true if there are frames waiting to be written
+     */
+    boolean hasPendingFrames() {
+        return !outgoingFrames.isEmpty();
+    }
+
+    /**
+     * Handles the frames received, in order, until there are no more of them. Executed by a worker thread.
+     */
+    private void handleFrames() {
+        do {
+            byte[] frame;
+            while ((frame = incomingFrames.poll()) != null && !stop) {
+                handleFrame(frame);
+            }
+            dispatching.set(false);
+        } while (!incomingFrames.isEmpty() && !stop && dispatching.compareAndSet(false, true));
+    }
+
+    /**
+     * Passes the request read from a frame to the ServerController and sends back its response
+     *
+     * @param frame Frame payload
+     */
+    private void handleFrame(byte[] frame) {
+        try {
+            Object object = FrameCodec.decode(frame);
+            if (object instanceof WireCodec.Hello) {
+                negotiate((WireCodec.Hello) object);
+                return;
+            }
+
+            Response response = ((Request) object).handle(serverController);
+            if (response != null && !(response instanceof Ping))
+                respond(response);
+        } catch (IOException | ClassNotFoundException | ClassCastException e) {
+            System.err.println(e.getClass().getSimpleName() + " - " + e.getMessage());
+        } catch (RuntimeException e) {
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * Agrees on the encoding with the client: the highest version supported by both is used and sent back
+     *
+     * @param hello Hello sent by the client
+     */
+    private void negotiate(WireCodec.Hello hello) {
+        int version = Math.min(hello.getVersion(), WireCodec.VERSION);
+        if (enqueue(FrameCodec.encodeHello(version)))
+            server.requestWrite(this);
+        binary = version >= 1;
+    }
+
+    /**
+     * Queues a response and asks the server to write it
+     *
+     * @param response response to send
+     */
+    private void respond(Response response) {
+        if (stop)
+            return;
+
+        try {
+            if (enqueue(FrameCodec.encode(response, binary)))
+                server.requestWrite(this);
+        } catch (IOException e) {
+            System.err.println(e.getClass().getSimpleName() + " - " + e.getMessage());
+        }
+    }
+
+    /**
+     * Queues a frame unless the frames waiting to be written would exceed {@link #MAX_PENDING_BYTES}: in that
+     * case the frame is dropped and the connection is closed by a worker thread
+     *
+     * @param frame Frame to write
+     * @return true if the frame has been queued
+     */
+    private boolean enqueue(ByteBuffer frame) {
+        int size = frame.remaining();
+        if (pendingBytes.addAndGet(size) > MAX_PENDING_BYTES) {
+            pendingBytes.addAndGet(-size);
+            if (overflowed.compareAndSet(false, true)) {
+                System.err.println("The client doesn't read its responses, closing the connection");
+                server.dispatch(this::shutdownClientHandler);
+            }
+            return false;
+        }
+        outgoingFrames.add(frame);
+        return true;
+    }
+
+    /**
+     * Queues a Ping for the client, called by the LivenessService when nothing has been received for a while
+     */
+    @Override
+    public void probe() {
+        respond(new Ping());
+    }
+
+    /**
+     * Deactivates the user and closes the connection
+     */
+    @Override
+    public void shutdownClientHandler() {
+        if (stop)
+            return;
+
+        serverController.deactivateUser();
+        LivenessService.get().close(this);
+        close();
+    }
+
+    /**
+     * Method that closes the connection
+     */
+    public void close() {
+        System.out.println("Closing down connection");
+        stop = true;
+        server.remove(this);
+        try {
+            channel.close();
+        } catch (IOException e) {
+            System.err.println("Errors in closing - " + e.getMessage());
+        }
+    }
+
+    /**
+     * Get the ServeController
+     * @return ServerController
+     */
+    public ServerController getServerController() {
+        return serverController;
+    }
+
+    /*
+     *
+     * USER OBSERVER METHODS
+     *
+     */
+
+    /**
+     * Method that sends the number of connected Users to the User
+     *
+     * @param numberOfConnectedUsers number of connected Users to the game
+     */
+    @Override
+    public void onJoin(int numberOfConnectedUsers) {
+        respond(new IntegerResponse(numberOfConnectedUsers));
+    }
+
+    /**
+     * Check if the user is active
+     */
+    @Override
+    public void checkIfActive() {
+
+    }
+
+    /**
+     * Method that sends a Response through the network
+     *
+     * @param response response to be delivered to the Client-side
+     */
+    @Override
+    public void sendResponse(Response response) {
+        respond(response);
+    }
+
+    /**
+     * Method that sends a Notification to the User
+     *
+     * @param notification notification to be sent
+     */
+    @Override
+    public void receiveNotification(Notification notification) {
+        respond(notification);
+    }
+
+    /**
+     * Method that notifies the User that it's his turn to play
+     *
+     * @param booleanMapGrid list of every available position where the die can be placed
+     */
+    @Override
+    public void activateTurnNotification(Map<String, Boolean[][]> booleanMapGrid) {
+        respond(new StartTurnNotification(booleanMapGrid));
+    }
+
+    /**
+     * Send a victory notification with the points of the match
+     * @param score Score
+     *
+     */
+    @Override
+    public void notifyVictory(int score) {
+        respond(new VictoryNotification(score));
+    }
+
+    /**
+     * Send a lost notification with the points of the match
+     * @param score Score
+     *
+     */
+    @Override
+    public void notifyLost(int score) {
+        respond(new LoseNotification(score));
+    }
+}
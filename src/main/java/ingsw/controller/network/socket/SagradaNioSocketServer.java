@@ -0,0 +1,200 @@
+package ingsw.controller.network.socket;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.channels.*;
+import java.util.Iterator;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.*;
+
+/**
+ * Non-blocking socket server. A single selector thread accepts the connections and reads and writes
+ * length-prefixed frames and the requests are handled by a small fixed pool of workers, while the
+ * connections are checked by the LivenessService, so the number of threads does not grow with the number of users.
+ */
+public class SagradaNioSocketServer implements SocketServer {
+    private final Selector selector;
+    private final ServerSocketChannel serverSocketChannel;
+    private final ExecutorService workers;
+    private final Set<NioClientHandler> clientHandlers;
+    private final Queue<NioClientHandler> pendingWrites;
+    private volatile boolean stop;
+
+    /**
+     * Creates a new non-blocking server that listens for connection at <code>port</code>
+     * with a worker for each available processor
+     *
+     * @param port Connection port
+     * @throws IOException
+     */
+    public SagradaNioSocketServer(int port) throws IOException {
+        this(port, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Creates a new non-blocking server that listens for connection at <code>port</code>
+     *
+     * @param port Connection port
+     * @param noOfWorkers Number of threads that handle the requests
+     * @throws IOException
+     */
+    public SagradaNioSocketServer(int port, int noOfWorkers) throws IOException {
+        stop = false;
+        selector = Selector.open();
+        serverSocketChannel = ServerSocketChannel.open();
+        serverSocketChannel.bind(new InetSocketAddress(port));
+        serverSocketChannel.configureBlocking(false);
+        serverSocketChannel.register(selector, SelectionKey.OP_ACCEPT);
+        workers = Executors.newFixedThreadPool(noOfWorkers);
+        clientHandlers = ConcurrentHashMap.newKeySet();
+        pendingWrites = new ConcurrentLinkedQueue<>();
+        System.out.println("Non-blocking server started on port: " + getPort());
+    }
+
+    /**
+     * @return The port the server is listening to
+     */
+    public int getPort() {
+        return serverSocketChannel.socket().getLocalPort();
+    }
+
+    /**
+     * Runs the selector loop until the server is closed
+     */
+    @Override
+    public void run() throws IOException {
+        try {
+            while (!stop) {
+                selector.select();
+                registerPendingWrites();
+
+                Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+                while (keys.hasNext()) {
+                    SelectionKey key = keys.next();
+                    keys.remove();
+                    handleKey(key);
+                }
+            }
+        } catch (ClosedSelectorException e) {
+            if (!stop)
+                throw e;
+        } finally {
+            for (NioClientHandler clientHandler : clientHandlers) {
+                clientHandler.close();
+            }
+            selector.close();
+        }
+    }
+
+    /**
+     * Handles the operation a key is ready for
+     *
+     * @param key Selected key
+     */
+    private void handleKey(SelectionKey key) {
+        if (!key.isValid())
+            return;
+
+        if (key.isAcceptable()) {
+            accept();
+            return;
+        }
+
+        NioClientHandler clientHandler = (NioClientHandler) key.attachment();
+        try {
+            if (key.isReadable() && !clientHandler.read()) {
+                System.out.print("EOF: ");
+                clientHandler.shutdownClientHandler();
+                return;
+            }
+            if (key.isValid() && key.isWritable() && clientHandler.write()) {
+                key.interestOps(SelectionKey.OP_READ);
+            }
+        } catch (IOException | CancelledKeyException e) {
+            System.err.println(e.getClass().getSimpleName() + " - " + e.getMessage());
+            clientHandler.shutdownClientHandler();
+        }
+    }
+
+    /**
+     * Accepts a new connection and registers it to the selector
+     */
+    private void accept() {
+        try {
+            SocketChannel channel = serverSocketChannel.accept();
+            if (channel == null)
+                return;
+
+            System.out.println("New connection from -> " + channel.getRemoteAddress());
+            channel.configureBlocking(false);
+            channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+            NioClientHandler clientHandler = new NioClientHandler(channel, this);
+            clientHandlers.add(clientHandler);
+            channel.register(selector, SelectionKey.OP_READ | SelectionKey.OP_WRITE, clientHandler);
+        } catch (IOException e) {
+            System.err.println(e.getClass().getSimpleName() + " - " + e.getMessage());
+        }
+    }
+
+    /**
+     * Enables the write interest of every connection that queued a frame
+     */
+    private void registerPendingWrites() {
+        NioClientHandler clientHandler;
+        while ((clientHandler = pendingWrites.poll()) != null) {
+            SelectionKey key = clientHandler.getChannel().keyFor(selector);
+            if (key != null && key.isValid() && clientHandler.hasPendingFrames()) {
+                key.interestOps(SelectionKey.OP_READ | SelectionKey.OP_WRITE);
+            }
+        }
+    }
+
+    /**
+     * Asks the selector thread to write the frames queued by a connection
+     *
+     * @param clientHandler Connection with frames to write
+     */
+    void requestWrite(NioClientHandler clientHandler) {
+        pendingWrites.add(clientHandler);
+        selector.wakeup();
+    }
+
+    /**
+     * Submits the handling of the requests of a connection to the workers
+     *
+     * @param task Task to execute
+     */
+    void dispatch(Runnable task) {
+        try {
+            workers.execute(task);
+        } catch (RejectedExecutionException e) {
+            System.err.println("Server is closing, request discarded");
+        }
+    }
+
+    /**
+     * Removes a closed connection
+     *
+     * @param clientHandler Closed connection
+     */
+    void remove(NioClientHandler clientHandler) {
+        clientHandlers.remove(clientHandler);
+    }
+
+    /**
+     * Closes the server, its connections and the thread pools
+     */
+    @Override
+    public void close() {
+        stop = true;
+        workers.shutdown();
+        try {
+            serverSocketChannel.close();
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+        selector.wakeup();
+    }
+}
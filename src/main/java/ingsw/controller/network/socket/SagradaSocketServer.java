@@ -1,16 +1,17 @@
 package ingsw.controller.network.socket;
 
+import ingsw.utilities.ServerThreads;
+
 import java.io.IOException;
 import java.net.ServerSocket;
 import java.net.Socket;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 
 /**
  * Class that listens for socket connection and submit a new ClientHandler
- * to an Executors.newCachedThreadPool()
+ * to a thread per connection executor, see ServerThreads
  */
-public class SagradaSocketServer {
+public class SagradaSocketServer implements SocketServer {
     private final ServerSocket serverSocket;
     private final ExecutorService pool;
     private boolean stop;
@@ -24,7 +25,7 @@ public class SagradaSocketServer {
     public SagradaSocketServer(int port) throws IOException {
         stop = false;
         serverSocket = new ServerSocket(port);
-        pool = Executors.newCachedThreadPool();
+        pool = ServerThreads.newPerTaskExecutor("client-handler");
         System.out.println("Server started on port: " + port);
     }
 
@@ -32,6 +33,7 @@ public class SagradaSocketServer {
      * Creates a new ServerSocket with the <code>port</code> passed as parameter
      * and submit the new ClientHandler to the pool
      */
+    @Override
     public void run() throws IOException {
         do {
             Socket clientSocket = serverSocket.accept();
@@ -43,6 +45,7 @@ public class SagradaSocketServer {
     /**
      * Closes the ServerSocket and the ThreadPool
      */
+    @Override
     public void close() {
         try {
             stop = true;
@@ -13,7 +13,7 @@ import java.rmi.RemoteException;
  * Class that handles the request received from the ClientController and read by the ClientHandler
  */
 public class ServerController implements RequestHandler, Serializable {
-    private transient ClientHandler clientHandler;
+    private transient ConnectionHandler clientHandler;
     private final transient SagradaGame sagradaGame;
     private transient Controller controller;
     private User user;
@@ -22,7 +22,7 @@ public class ServerController implements RequestHandler, Serializable {
      * Creates a new ServerController and set the ClientHandler
      * @param clientHandler ClientHandler
      */
-    ServerController(ClientHandler clientHandler) {
+    ServerController(ConnectionHandler clientHandler) {
         this.clientHandler = clientHandler;
         sagradaGame = SagradaGame.get();
     }
@@ -171,7 +171,7 @@ public class ServerController implements RequestHandler, Serializable {
     }
 
     /**
-     * Method that handle every moveToolCardRequest
+     * Method that handle every moveToolCardRequest, the move is made only if it is a step of the tool card in use
      *
      * @param moveToolCardRequest Request
      * @return Nothing
@@ -179,6 +179,9 @@ public class ServerController implements RequestHandler, Serializable {
     @Override
     public Response handle(MoveToolCardRequest moveToolCardRequest) {
         try {
+            if (!controller.checkToolCardMove(user.getUsername(), moveToolCardRequest.toolCardType))
+                return null;
+
             switch (moveToolCardRequest.toolCardType) {
                 case GROZING_PLIERS:
                     controller.toolCardMove(((GrozingPliersRequest) moveToolCardRequest));
@@ -241,7 +244,7 @@ public class ServerController implements RequestHandler, Serializable {
 
 
     /**
-     * Method that handle placeDiceRequest
+     * Method that handle placeDiceRequest, the dice is placed only if the placement is legal
      *
      * @param placeDiceRequest Request
      * @return Nothing
@@ -249,7 +252,8 @@ public class ServerController implements RequestHandler, Serializable {
     @Override
     public Response handle(PlaceDiceRequest placeDiceRequest) {
         try {
-            controller.placeDice(placeDiceRequest.dice, placeDiceRequest.rowIndex, placeDiceRequest.columnIndex);
+            if (controller.checkPlacement(user.getUsername(), placeDiceRequest.dice, placeDiceRequest.rowIndex, placeDiceRequest.columnIndex))
+                controller.placeDice(placeDiceRequest.dice, placeDiceRequest.rowIndex, placeDiceRequest.columnIndex);
         } catch (RemoteException e) {
             e.printStackTrace();
         }
@@ -258,7 +262,7 @@ public class ServerController implements RequestHandler, Serializable {
     }
 
     /**
-     * Method that handle useToolCardRequest
+     * Method that handle useToolCardRequest, the tool card is used only if the player can use it
      *
      * @param useToolCardRequest Request
      * @return Nothing
@@ -266,7 +270,8 @@ public class ServerController implements RequestHandler, Serializable {
     @Override
     public Response handle(UseToolCardRequest useToolCardRequest) {
         try {
-            controller.useToolCard(useToolCardRequest.toolCardName);
+            if (controller.checkToolCard(user.getUsername(), useToolCardRequest.toolCardName))
+                controller.useToolCard(useToolCardRequest.toolCardName);
         } catch (RemoteException e) {
             e.printStackTrace();
         }
@@ -301,7 +306,8 @@ public class ServerController implements RequestHandler, Serializable {
     public Response handle(FinishedMatchesRequest finishedMatchesRequest) {
 
         try {
-            sagradaGame.sendFinishedMatchesList(user.getUsername());
+            sagradaGame.sendFinishedMatchesList(user.getUsername(), finishedMatchesRequest.player, finishedMatchesRequest.from,
+                                                finishedMatchesRequest.to, finishedMatchesRequest.offset, finishedMatchesRequest.limit);
         } catch (RemoteException e) {
             e.printStackTrace();
         }
@@ -318,7 +324,8 @@ public class ServerController implements RequestHandler, Serializable {
     public Response handle(ReadHistoryRequest readHistoryRequest) {
 
         try {
-            sagradaGame.sendSelectedMatchHistory(user.getUsername(), readHistoryRequest.matchName);
+            sagradaGame.sendSelectedMatchHistory(user.getUsername(), readHistoryRequest.matchName,
+                                                 readHistoryRequest.cursor, readHistoryRequest.compressed);
         } catch (RemoteException e) {
             e.printStackTrace();
         }
@@ -331,10 +338,64 @@ public class ServerController implements RequestHandler, Serializable {
      * Sagrada and the match's Controller
      */
     public void deactivateUser() {
+        if (user == null)
+            return;
+
         try {
             sagradaGame.deactivateUser(user.getUsername());
         } catch (RemoteException e) {
             System.err.println("User already disconnected");
         }
     }
+
+    /**
+     * Method that handle viewSnapshotRequest
+     *
+     * @param viewSnapshotRequest Request
+     * @return Nothing
+     */
+    @Override
+    public Response handle(ViewSnapshotRequest viewSnapshotRequest) {
+        try {
+            controller.requestViewSnapshot(user.getUsername());
+        } catch (RemoteException e) {
+            e.printStackTrace();
+        }
+
+        return null;
+    }
+
+    /**
+     * Method that handle movesHistoryRequest
+     *
+     * @param movesHistoryRequest Request
+     * @return Nothing
+     */
+    @Override
+    public Response handle(MovesHistoryRequest movesHistoryRequest) {
+        try {
+            controller.requestMovesHistory(user.getUsername(), movesHistoryRequest.fromSequence);
+        } catch (RemoteException e) {
+            e.printStackTrace();
+        }
+
+        return null;
+    }
+
+    /**
+     * Method that requests the state of the board of a finished match after a move
+     *
+     * @param replayStateRequest request
+     * @return null
+     */
+    @Override
+    public Response handle(ReplayStateRequest replayStateRequest) {
+        try {
+            sagradaGame.sendReplayState(user.getUsername(), replayStateRequest.matchName, replayStateRequest.moveIndex);
+        } catch (RemoteException e) {
+            e.printStackTrace();
+        }
+
+        return null;
+    }
 }
@@ -0,0 +1,21 @@
+package ingsw.controller.network.socket;
+
+import java.io.IOException;
+
+/**
+ * Server that accepts the socket connections of the clients
+ */
+public interface SocketServer {
+
+    /**
+     * Accepts the incoming connections until the server is closed
+     *
+     * @throws IOException
+     */
+    void run() throws IOException;
+
+    /**
+     * Closes the server and every resource it uses
+     */
+    void close();
+}
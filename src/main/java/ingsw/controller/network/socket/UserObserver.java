@@ -37,8 +37,6 @@ public interface UserObserver extends Remote {
      *
      * @throws RemoteException
      */
-    void activatePinger() throws RemoteException;
-
     void sendResponse(Response response) throws RemoteException;
 
     /**
@@ -0,0 +1,574 @@
+package ingsw.controller.network.socket;
+
+import ingsw.controller.network.commands.*;
+import ingsw.model.Color;
+import ingsw.model.Dice;
+import ingsw.model.Player;
+import ingsw.model.User;
+import ingsw.model.cards.patterncard.Box;
+import ingsw.model.cards.patterncard.PatternCard;
+import ingsw.model.cards.patterncard.PatternCardCatalog;
+import ingsw.model.cards.privateoc.PrivateObjectiveCard;
+import ingsw.utilities.MoveStatus;
+import ingsw.utilities.DeltaType;
+import ingsw.utilities.NotificationType;
+import ingsw.utilities.ViewDelta;
+
+import java.io.*;
+import java.util.*;
+
+/**
+ * Binary encoding of the commands exchanged through the socket.
+ * Every payload starts with a tag: the commands registered here are written field by field after their
+ * type id, using varints for the numbers, a byte for each dice and a 20 bits mask for each grid of
+ * available positions, while every other command falls back to Java serialization. The pattern cards
+ * travel as their name plus the dice placed, since the Boxes of a card never change.
+ * The binary encoding is used only after the client and the server agreed on it with a Hello.
+ */
+public final class WireCodec {
+    /**
+     * Version of the binary encoding. Version 0 means Java serialization only.
+     */
+    static final int VERSION = 1;
+
+    /**
+     * Sent by the client to the blocking server, instead of the object stream header, to ask for frames
+     */
+    static final int CODEC_MAGIC = 0x53474243;
+
+    private static final byte SERIALIZED = 0;
+    private static final byte BINARY = 1;
+    private static final byte HELLO = 2;
+
+    private static final int ROWS = 4;
+    private static final int COLUMNS = 5;
+    private static final Color[] COLORS = Color.values();
+    private static final NotificationType[] NOTIFICATION_TYPES = NotificationType.values();
+    private static final DeltaType[] DELTA_TYPES = DeltaType.values();
+
+    private static final Map<Class<?>, Codec<?>> CODECS_BY_CLASS = new HashMap<>();
+    private static final Map<Integer, Codec<?>> CODECS_BY_ID = new HashMap<>();
+
+    static {
+        register(1, Ping.class, (command, out) -> { }, in -> new Ping());
+        register(2, Ack.class, (command, out) -> { }, in -> new Ack());
+        register(3, IntegerResponse.class,
+                (command, out) -> writeSignedVarint(out, command.number),
+                in -> new IntegerResponse(readSignedVarint(in)));
+        register(4, Notification.class,
+                (command, out) -> writeNotificationType(out, command.notificationType),
+                in -> new Notification(readNotificationType(in)));
+        register(5, StartTurnNotification.class,
+                (command, out) -> writeAvailablePositions(out, command.booleanMapGrid),
+                in -> new StartTurnNotification(readAvailablePositions(in)));
+        register(6, UpdateViewResponse.class,
+                (command, out) -> {
+                    writePlayer(out, command.player);
+                    writeAvailablePositions(out, command.availablePositions);
+                },
+                in -> new UpdateViewResponse(readPlayer(in), readAvailablePositions(in)));
+        register(7, AvailablePositionsResponse.class,
+                (command, out) -> writeAvailablePositions(out, command.availablePositions),
+                in -> new AvailablePositionsResponse(readAvailablePositions(in)));
+        register(8, DraftedDiceResponse.class,
+                (command, out) -> writeDiceList(out, command.dice),
+                in -> new DraftedDiceResponse(readDiceList(in)));
+        register(9, RoundTrackNotification.class,
+                (command, out) -> writeDiceList(out, command.roundTrack),
+                in -> new RoundTrackNotification(readDiceList(in)));
+        register(10, MoveStatusNotification.class,
+                (command, out) -> {
+                    writeVarint(out, command.firstSequence);
+                    writeMoveStatuses(out, command.moveStatuses);
+                },
+                in -> new MoveStatusNotification(readVarint(in), readMoveStatuses(in)));
+        register(11, PlaceDiceRequest.class,
+                (command, out) -> {
+                    writeDice(out, command.dice);
+                    writeVarint(out, command.rowIndex * COLUMNS + command.columnIndex);
+                },
+                in -> {
+                    Dice dice = readDice(in);
+                    int position = readVarint(in);
+                    return new PlaceDiceRequest(dice, position % COLUMNS, position / COLUMNS);
+                });
+        register(12, DraftDiceRequest.class, (command, out) -> { }, in -> new DraftDiceRequest());
+        register(13, EndTurnRequest.class,
+                (command, out) -> writeString(out, command.player),
+                in -> new EndTurnRequest(readString(in)));
+        register(14, EndTurnResponse.class, (command, out) -> { }, in -> new EndTurnResponse());
+        register(15, UseToolCardRequest.class,
+                (command, out) -> writeString(out, command.toolCardName),
+                in -> new UseToolCardRequest(readString(in)));
+        register(16, VictoryNotification.class,
+                (command, out) -> writeSignedVarint(out, command.totalScore),
+                in -> new VictoryNotification(readSignedVarint(in)));
+        register(17, LoseNotification.class,
+                (command, out) -> writeSignedVarint(out, command.totalScore),
+                in -> new LoseNotification(readSignedVarint(in)));
+        register(18, ViewDeltaNotification.class,
+                (command, out) -> {
+                    writeVarint(out, command.sequence);
+                    writeViewDeltas(out, command.deltas);
+                },
+                in -> new ViewDeltaNotification(readVarint(in), readViewDeltas(in)));
+    }
+
+    private WireCodec() {
+    }
+
+    /**
+     * Writes the fields of a command
+     */
+    @FunctionalInterface
+    interface Encoder<T> {
+        void encode(T command, DataOutputStream out) throws IOException;
+    }
+
+    /**
+     * Reads the fields of a command and creates it
+     */
+    @FunctionalInterface
+    interface Decoder<T> {
+        T decode(DataInputStream in) throws IOException;
+    }
+
+    /**
+     * Type id, encoder and decoder of a command
+     */
+    private static final class Codec<T> {
+        private final int id;
+        private final Encoder<T> encoder;
+        private final Decoder<T> decoder;
+
+        private Codec(int id, Encoder<T> encoder, Decoder<T> decoder) {
+            this.id = id;
+            this.encoder = encoder;
+            this.decoder = decoder;
+        }
+    }
+
+    /**
+     * Message exchanged at connect time to agree on the encoding
+     */
+    static final class Hello {
+        private final int version;
+
+        Hello(int version) {
+            this.version = version;
+        }
+
+        int getVersion() {
+            return version;
+        }
+    }
+
+    /**
+     * Thrown by an encoder when a command can't be written in binary, so that it is serialized instead
+     */
+    private static final class NotEncodableException extends IOException {
+        private NotEncodableException(String message) {
+            super(message);
+        }
+    }
+
+    private static <T> void register(int id, Class<T> commandClass, Encoder<T> encoder, Decoder<T> decoder) {
+        Codec<T> codec = new Codec<>(id, encoder, decoder);
+        CODECS_BY_CLASS.put(commandClass, codec);
+        CODECS_BY_ID.put(id, codec);
+    }
+
+    /**
+     * @param commandClass Class of a command
+     * @return true if the command has a binary encoding
+     */
+    static boolean isRegistered(Class<?> commandClass) {
+        return CODECS_BY_CLASS.containsKey(commandClass);
+    }
+
+    /**
+     * Encodes a command
+     *
+     * @param command Command to encode
+     * @param binary true if the binary encoding has been agreed with the other end
+     * @return The payload
+     * @throws IOException
+     */
+    static byte[] encode(Serializable command, boolean binary) throws IOException {
+        if (binary) {
+            Codec<?> codec = CODECS_BY_CLASS.get(command.getClass());
+            if (codec != null) {
+                try {
+                    return encodeBinary(codec, command);
+                } catch (NotEncodableException e) {
+                    // Serialized below
+                }
+            }
+        }
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(512);
+        bytes.write(SERIALIZED);
+        try (ObjectOutputStream objectOutputStream = new ObjectOutputStream(bytes)) {
+            objectOutputStream.writeObject(command);
+        }
+        return bytes.toByteArray();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> byte[] encodeBinary(Codec<T> codec, Object command) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(64);
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeByte(BINARY);
+        writeVarint(out, codec.id);
+        codec.encoder.encode((T) command, out);
+        out.flush();
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Encodes a Hello
+     *
+     * @param version Highest version supported
+     * @return The payload
+     */
+    static byte[] encodeHello(int version) {
+        return new byte[]{HELLO, (byte) version};
+    }
+
+    /**
+     * Decodes a payload
+     *
+     * @param payload Payload to decode
+     * @return The command or a Hello
+     * @throws IOException
+     * @throws ClassNotFoundException
+     */
+    static Object decode(byte[] payload) throws IOException, ClassNotFoundException {
+        if (payload.length == 0)
+            throw new StreamCorruptedException("Empty payload");
+
+        switch (payload[0]) {
+            case SERIALIZED:
+                try (ObjectInputStream objectInputStream = new ObjectInputStream(new ByteArrayInputStream(payload, 1, payload.length - 1))) {
+                    return objectInputStream.readObject();
+                }
+            case BINARY:
+                DataInputStream in = new DataInputStream(new ByteArrayInputStream(payload, 1, payload.length - 1));
+                int id = readVarint(in);
+                Codec<?> codec = CODECS_BY_ID.get(id);
+                if (codec == null)
+                    throw new StreamCorruptedException("Unknown command type: " + id);
+                return codec.decoder.decode(in);
+            case HELLO:
+                if (payload.length < 2)
+                    throw new StreamCorruptedException("Invalid hello");
+                return new Hello(payload[1]);
+            default:
+                throw new StreamCorruptedException("Unknown encoding: " + payload[0]);
+        }
+    }
+
+    /*
+     *
+     * PRIMITIVES
+     *
+     */
+
+    static void writeVarint(DataOutputStream out, int value) throws IOException {
+        while ((value & ~0x7F) != 0) {
+            out.writeByte((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.writeByte(value);
+    }
+
+    static int readVarint(DataInputStream in) throws IOException {
+        int value = 0;
+        for (int shift = 0; shift < 35; shift += 7) {
+            int b = in.readUnsignedByte();
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0)
+                return value;
+        }
+        throw new StreamCorruptedException("Malformed varint");
+    }
+
+    private static void writeSignedVarint(DataOutputStream out, int value) throws IOException {
+        writeVarint(out, (value << 1) ^ (value >> 31));
+    }
+
+    private static int readSignedVarint(DataInputStream in) throws IOException {
+        int value = readVarint(in);
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    private static void writeString(DataOutputStream out, String string) throws IOException {
+        out.writeBoolean(string != null);
+        if (string != null)
+            out.writeUTF(string);
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+
+    private static void writeNotificationType(DataOutputStream out, NotificationType notificationType) throws IOException {
+        out.writeByte(notificationType == null ? 0 : notificationType.ordinal() + 1);
+    }
+
+    private static NotificationType readNotificationType(DataInputStream in) throws IOException {
+        int ordinal = in.readUnsignedByte();
+        return ordinal == 0 ? null : NOTIFICATION_TYPES[ordinal - 1];
+    }
+
+    /*
+     *
+     * GAME OBJECTS
+     *
+     */
+
+    /**
+     * A dice is a single byte: 0 if null, otherwise 1 + color * 8 + face up value
+     */
+    private static void writeDice(DataOutputStream out, Dice dice) throws IOException {
+        out.writeByte(dice == null ? 0 : 1 + dice.getDiceColor().ordinal() * 8 + dice.getFaceUpValue());
+    }
+
+    private static Dice readDice(DataInputStream in) throws IOException {
+        int value = in.readUnsignedByte();
+        if (value == 0)
+            return null;
+        return new Dice((value - 1) % 8, COLORS[(value - 1) / 8]);
+    }
+
+    private static void writeDiceList(DataOutputStream out, List<Dice> diceList) throws IOException {
+        writeVarint(out, diceList == null ? 0 : diceList.size() + 1);
+        if (diceList != null) {
+            for (Dice dice : diceList) {
+                writeDice(out, dice);
+            }
+        }
+    }
+
+    private static List<Dice> readDiceList(DataInputStream in) throws IOException {
+        int size = readVarint(in) - 1;
+        if (size < 0)
+            return null;
+        List<Dice> diceList = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            diceList.add(readDice(in));
+        }
+        return diceList;
+    }
+
+    private static void writeMoveStatuses(DataOutputStream out, List<MoveStatus> moveStatuses) throws IOException {
+        writeVarint(out, moveStatuses == null ? 0 : moveStatuses.size() + 1);
+        if (moveStatuses != null) {
+            for (MoveStatus moveStatus : moveStatuses) {
+                writeString(out, moveStatus.getUsername());
+                writeString(out, moveStatus.getMove());
+            }
+        }
+    }
+
+    private static List<MoveStatus> readMoveStatuses(DataInputStream in) throws IOException {
+        int size = readVarint(in) - 1;
+        if (size < 0)
+            return null;
+        List<MoveStatus> moveStatuses = new LinkedList<>();
+        for (int i = 0; i < size; i++) {
+            moveStatuses.add(new MoveStatus(readString(in), readString(in)));
+        }
+        return moveStatuses;
+    }
+
+    /**
+     * Each delta is its type followed only by the fields it uses, the position of a placed dice is a single
+     * varint.
+     */
+    private static void writeViewDeltas(DataOutputStream out, List<ViewDelta> deltas) throws IOException {
+        writeVarint(out, deltas == null ? 0 : deltas.size() + 1);
+        if (deltas == null)
+            return;
+        for (ViewDelta delta : deltas) {
+            out.writeByte(delta.getDeltaType().ordinal());
+            switch (delta.getDeltaType()) {
+                case DICE_PLACED:
+                    writeString(out, delta.getUsername());
+                    writeDice(out, delta.getDice());
+                    writeVarint(out, delta.getRowIndex() * COLUMNS + delta.getColumnIndex());
+                    break;
+                case DRAFTED_DICE_REMOVED:
+                    writeDice(out, delta.getDice());
+                    break;
+                case FAVOUR_TOKENS_CHANGED:
+                    writeString(out, delta.getUsername());
+                    writeSignedVarint(out, delta.getFavourTokens());
+                    break;
+            }
+        }
+    }
+
+    private static List<ViewDelta> readViewDeltas(DataInputStream in) throws IOException {
+        int size = readVarint(in) - 1;
+        if (size < 0)
+            return null;
+        List<ViewDelta> deltas = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            int type = in.readUnsignedByte();
+            if (type >= DELTA_TYPES.length)
+                throw new StreamCorruptedException("Unknown delta type: " + type);
+            switch (DELTA_TYPES[type]) {
+                case DICE_PLACED:
+                    String username = readString(in);
+                    Dice dice = readDice(in);
+                    int position = readVarint(in);
+                    deltas.add(ViewDelta.dicePlaced(username, dice, position / COLUMNS, position % COLUMNS));
+                    break;
+                case DRAFTED_DICE_REMOVED:
+                    deltas.add(ViewDelta.draftedDiceRemoved(readDice(in)));
+                    break;
+                case FAVOUR_TOKENS_CHANGED:
+                    deltas.add(ViewDelta.favourTokensChanged(readString(in), readSignedVarint(in)));
+                    break;
+            }
+        }
+        return deltas;
+    }
+
+    /**
+     * Each grid of available positions is a varint with a bit for each Box, increased by one so that
+     * 0 stands for null.
+     */
+    private static void writeAvailablePositions(DataOutputStream out, Map<String, Boolean[][]> availablePositions) throws IOException {
+        writeVarint(out, availablePositions == null ? 0 : availablePositions.size() + 1);
+        if (availablePositions == null)
+            return;
+
+        for (Map.Entry<String, Boolean[][]> entry : availablePositions.entrySet()) {
+            out.writeUTF(entry.getKey());
+            Boolean[][] grid = entry.getValue();
+            if (grid == null) {
+                writeVarint(out, 0);
+                continue;
+            }
+            if (grid.length != ROWS)
+                throw new NotEncodableException("Unexpected grid size");
+            int mask = 0;
+            for (int i = 0; i < ROWS; i++) {
+                if (grid[i].length != COLUMNS)
+                    throw new NotEncodableException("Unexpected grid size");
+                for (int j = 0; j < COLUMNS; j++) {
+                    if (Boolean.TRUE.equals(grid[i][j]))
+                        mask |= 1 << (i * COLUMNS + j);
+                }
+            }
+            writeVarint(out, mask + 1);
+        }
+    }
+
+    private static Map<String, Boolean[][]> readAvailablePositions(DataInputStream in) throws IOException {
+        int size = readVarint(in) - 1;
+        if (size < 0)
+            return null;
+
+        Map<String, Boolean[][]> availablePositions = new HashMap<>();
+        for (int k = 0; k < size; k++) {
+            String key = in.readUTF();
+            int mask = readVarint(in) - 1;
+            Boolean[][] grid = null;
+            if (mask >= 0) {
+                grid = new Boolean[ROWS][COLUMNS];
+                for (int i = 0; i < ROWS; i++) {
+                    for (int j = 0; j < COLUMNS; j++) {
+                        grid[i][j] = (mask & (1 << (i * COLUMNS + j))) != 0;
+                    }
+                }
+            }
+            availablePositions.put(key, grid);
+        }
+        return availablePositions;
+    }
+
+    /**
+     * A pattern card is its name, the mask of the Boxes with a dice and a byte for each of those dice
+     */
+    private static void writePatternCard(DataOutputStream out, PatternCard patternCard) throws IOException {
+        out.writeBoolean(patternCard != null);
+        if (patternCard == null)
+            return;
+
+        if (!PatternCardCatalog.getNames().contains(patternCard.getName()))
+            throw new NotEncodableException("Unknown pattern card: " + patternCard.getName());
+
+        out.writeUTF(patternCard.getName());
+        List<List<Box>> grid = patternCard.getGrid();
+        int mask = 0;
+        for (int i = 0; i < ROWS; i++) {
+            for (int j = 0; j < COLUMNS; j++) {
+                if (grid.get(i).get(j).getDice() != null)
+                    mask |= 1 << (i * COLUMNS + j);
+            }
+        }
+        writeVarint(out, mask);
+        for (int i = 0; i < ROWS; i++) {
+            for (int j = 0; j < COLUMNS; j++) {
+                if ((mask & (1 << (i * COLUMNS + j))) != 0)
+                    writeDice(out, grid.get(i).get(j).getDice());
+            }
+        }
+    }
+
+    private static PatternCard readPatternCard(DataInputStream in) throws IOException {
+        if (!in.readBoolean())
+            return null;
+
+        PatternCard patternCard;
+        String name = in.readUTF();
+        try {
+            patternCard = PatternCardCatalog.create(name);
+        } catch (IllegalArgumentException e) {
+            throw new StreamCorruptedException(e.getMessage());
+        }
+
+        int mask = readVarint(in);
+        for (int i = 0; i < ROWS; i++) {
+            for (int j = 0; j < COLUMNS; j++) {
+                if ((mask & (1 << (i * COLUMNS + j))) != 0)
+                    patternCard.getGrid().get(i).get(j).insertDice(readDice(in));
+            }
+        }
+        return patternCard;
+    }
+
+    /**
+     * A player is the username, the pattern card, the color of the private objective card,
+     * the favor tokens and the score
+     */
+    private static void writePlayer(DataOutputStream out, Player player) throws IOException {
+        out.writeBoolean(player != null);
+        if (player == null)
+            return;
+
+        writeString(out, player.getUser() == null ? null : player.getPlayerUsername());
+        writePatternCard(out, player.getPatternCard());
+        PrivateObjectiveCard privateObjectiveCard = player.getPrivateObjectiveCard();
+        out.writeByte(privateObjectiveCard == null ? 0 : privateObjectiveCard.getColor().ordinal() + 1);
+        writeSignedVarint(out, player.getFavourTokens());
+        writeSignedVarint(out, player.getScore());
+    }
+
+    private static Player readPlayer(DataInputStream in) throws IOException {
+        if (!in.readBoolean())
+            return null;
+
+        String username = readString(in);
+        PatternCard patternCard = readPatternCard(in);
+        int privateObjectiveCardColor = in.readUnsignedByte();
+        PrivateObjectiveCard privateObjectiveCard = privateObjectiveCardColor == 0
+                ? null : new PrivateObjectiveCard(COLORS[privateObjectiveCardColor - 1]);
+        int favorTokens = readSignedVarint(in);
+        int score = readSignedVarint(in);
+        return new Player(username == null ? null : new User(username), patternCard, privateObjectiveCard, favorTokens, score);
+    }
+}
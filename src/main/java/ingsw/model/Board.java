@@ -16,8 +16,9 @@ public class Board {
 
     private List<PublicObjectiveCard> publicObjectiveCards;
     private List<ToolCard> toolCards;
-    private List<Dice> diceBag;
+    private DiceBag diceBag;
     private List<Dice> draftedDice;
+    private final MatchRandom matchRandom;
 
     /**
      * Creates a new Board
@@ -25,22 +26,21 @@ public class Board {
      * @param toolCards Tool cards to set
      */
     public Board(List<PublicObjectiveCard> publicObjectiveCards, List<ToolCard> toolCards) {
-        this.publicObjectiveCards = publicObjectiveCards;
-        this.toolCards = toolCards;
-        setupDiceBag();
-        draftedDice = new ArrayList<>();
+        this(publicObjectiveCards, toolCards, new MatchRandom(MatchRandom.newSeed()));
     }
 
     /**
-     * Sets up the dice bag with 18 dice per color
+     * Creates a new Board whose dice are drawn and rolled with the generator of the match
+     * @param publicObjectiveCards Public objective cards to set
+     * @param toolCards Tool cards to set
+     * @param matchRandom Generator of the match
      */
-    private void setupDiceBag() {
-        diceBag = new ArrayList<>();
-        EnumSet.allOf(Color.class).stream().filter(color -> color != Color.BLANK).forEach(x -> {
-            for (int i = 0; i < 18; i++) {
-                diceBag.add(new Dice(x));
-            }
-        });
+    public Board(List<PublicObjectiveCard> publicObjectiveCards, List<ToolCard> toolCards, MatchRandom matchRandom) {
+        this.publicObjectiveCards = publicObjectiveCards;
+        this.toolCards = toolCards;
+        this.matchRandom = matchRandom;
+        diceBag = new DiceBag();
+        draftedDice = new ArrayList<>();
     }
 
     /**
@@ -51,12 +51,10 @@ public class Board {
      */
     protected List<Dice> draftDice(int noOfPlayers) {
         draftedDice = new ArrayList<>();
-        Collections.shuffle(diceBag);
         for (int i = 0; i < (noOfPlayers * 2) + 1; i++) {
-            Dice dice = diceBag.get(0);
-            dice.roll();
+            Dice dice = diceBag.draw(matchRandom);
+            dice.roll(matchRandom);
             draftedDice.add(dice);
-            diceBag.remove(0);
             System.out.println("Drafted dice");
         }
         return draftedDice;
@@ -83,10 +81,8 @@ public class Board {
      * @return Dice drafted
      */
     Dice draftOneDice() {
-        Collections.shuffle(diceBag);
-        Dice dice = diceBag.get(0);
-        diceBag.remove(0);
-        dice.roll();
+        Dice dice = diceBag.draw(matchRandom);
+        dice.roll(matchRandom);
         return dice;
     }
 
@@ -98,6 +94,14 @@ public class Board {
         diceBag.add(dice);
     }
 
+    /**
+     * Takes a dice out of the dice bag
+     * @param dice Dice to remove
+     */
+    void removeDiceFromBag(Dice dice) {
+        diceBag.remove(dice);
+    }
+
     /**
      * Returns the drafted dice
      * @return Drafted dice
@@ -1,7 +1,7 @@
 package ingsw.model;
 
 import java.io.Serializable;
-import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
 
 /**
  * Dice class. The dice has a Color(setted when it's created) and a face up value
@@ -35,10 +35,19 @@ public class Dice implements Serializable {
      * get a random number between 1 and 6 and set the faceUpValue
      */
     void roll() {
-        int value = (new Random()).nextInt(6) + 1;
+        int value = ThreadLocalRandom.current().nextInt(6) + 1;
         setFaceUpValue(value);
     }
 
+    /**
+     * Draft the dice with the generator of the match
+     *
+     * @param matchRandom Generator of the match
+     */
+    void roll(MatchRandom matchRandom) {
+        setFaceUpValue(matchRandom.rollDice());
+    }
+
     /**
      * Returns the face up value
      * @return Face up value of the dice
@@ -0,0 +1,111 @@
+package ingsw.model;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * The dice bag, with 18 dice per color. The dice are kept grouped by color, so drawing a dice only picks a
+ * color with a probability proportional to the dice of that color left in the bag and takes the last dice
+ * of that color: nothing is shuffled or shifted, whatever the number of dice in the bag.
+ */
+class DiceBag extends AbstractList<Dice> {
+    private static final int DICE_PER_COLOR = 18;
+
+    private final List<List<Dice>> diceByColor;
+    private int size;
+
+    /**
+     * Creates a full dice bag
+     */
+    DiceBag() {
+        diceByColor = new ArrayList<>(Color.values().length);
+        for (Color color : Color.values()) {
+            List<Dice> dice = new ArrayList<>(DICE_PER_COLOR);
+            if (color != Color.BLANK) {
+                for (int i = 0; i < DICE_PER_COLOR; i++)
+                    dice.add(new Dice(color));
+            }
+            diceByColor.add(dice);
+            size += dice.size();
+        }
+    }
+
+    /**
+     * Takes a random dice out of the bag
+     *
+     * @param random Generator of the match
+     * @return The dice drawn
+     * @throws NoSuchElementException if the bag is empty
+     */
+    Dice draw(MatchRandom random) {
+        if (size == 0)
+            throw new NoSuchElementException("The dice bag is empty");
+
+        int index = random.nextInt(size);
+        for (List<Dice> dice : diceByColor) {
+            if (index < dice.size()) {
+                size--;
+                modCount++;
+                return dice.remove(dice.size() - 1);
+            }
+            index -= dice.size();
+        }
+        throw new IllegalStateException("Dice bag counters are out of sync");
+    }
+
+    /**
+     * Puts a dice back in the bag
+     *
+     * @param dice Dice to insert
+     * @return always true
+     */
+    @Override
+    public boolean add(Dice dice) {
+        diceByColor.get(dice.getDiceColor().ordinal()).add(dice);
+        size++;
+        modCount++;
+        return true;
+    }
+
+    /**
+     * Takes a given dice out of the bag
+     *
+     * @param o Dice to remove
+     * @return true if the dice was in the bag
+     */
+    @Override
+    public boolean remove(Object o) {
+        if (!(o instanceof Dice))
+            return false;
+
+        List<Dice> dice = diceByColor.get(((Dice) o).getDiceColor().ordinal());
+        for (int i = dice.size() - 1; i >= 0; i--) {
+            if (dice.get(i) == o) {
+                dice.remove(i);
+                size--;
+                modCount++;
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public Dice get(int index) {
+        if (index < 0 || index >= size)
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        for (List<Dice> dice : diceByColor) {
+            if (index < dice.size())
+                return dice.get(index);
+            index -= dice.size();
+        }
+        throw new IllegalStateException("Dice bag counters are out of sync");
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+}
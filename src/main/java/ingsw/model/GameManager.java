@@ -9,20 +9,24 @@
 
 package ingsw.model;
 
-import com.google.gson.Gson;
-import ingsw.controller.Controller;
 import ingsw.controller.network.commands.*;
+import ingsw.model.bot.BotPlayer;
 import ingsw.model.cards.patterncard.*;
 import ingsw.model.cards.privateoc.*;
 import ingsw.model.cards.publicoc.*;
 import ingsw.model.cards.toolcards.*;
+import ingsw.model.moves.LegalMoves;
+import ingsw.model.moves.MoveCode;
+import ingsw.model.replay.BoardState;
+import ingsw.model.replay.ReplayRecorder;
 import ingsw.utilities.ControllerTimer;
+import ingsw.utilities.LivenessService;
 import ingsw.utilities.MoveStatus;
 import ingsw.utilities.PlayerBroadcaster;
+import ingsw.utilities.ToolCardType;
 import ingsw.utilities.Tuple;
+import ingsw.utilities.ViewDelta;
 
-import java.io.File;
-import java.io.FileWriter;
 import java.io.IOException;
 import java.rmi.RemoteException;
 import java.util.*;
@@ -30,38 +34,55 @@ import java.util.List;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 
-import static java.lang.Thread.sleep;
 
 /**
- * Class that handles the entire game process and modifies the model itself
+ * Class that handles the entire game process and modifies the model itself.
+ * The lifecycle of the match (pattern card choice, draft, turns, rounds and end of the match) is a state
+ * machine: every transition is an event processed by the MatchEventLoop of the match, so the events of a
+ * match never run concurrently and no thread waits for the players between two moves.
  */
 public class GameManager {
     private Board board;
     private int maxTurnSeconds;
-    private Round currentRound;
-    private Controller controller;
+    private volatile Round currentRound;
+    private MatchHost matchHost;
     private List<Player> playerList;
     private List<MoveStatus> movesHistory;
+    private MatchJournal matchJournal;
+    private String journalMatchId;
+    private ReplayRecorder replayRecorder;
     private List<PrivateObjectiveCard> privateObjectiveCards;
     private List<PublicObjectiveCard> publicObjectiveCards;
     private List<ToolCard> toolCards;
     private List<PatternCard> patternCards;
     private List<List<Dice>> roundTrack;
     private final AtomicInteger noOfAck;
-    private final AtomicBoolean endRound;
     private final AtomicBoolean stop;
     private final AtomicBoolean doubleMove;
-    private final AtomicBoolean cancelTimer;
     private final AtomicInteger turnInRound;
     private final AtomicBoolean toolCardLock;
     private Set<Player> disconnectedPlayers;
     private PlayerBroadcaster playerBroadcaster;
-    private final AtomicBoolean endOfMatch;
     private final ControllerTimer controllerTimer;
-    private Thread toolCardThread;
+    private Runnable toolCardNextStep;
+    private Player toolCardPlayer;
+    private int toolCardFavourTokens;
+    private volatile int toolCardAction;
+    private final UndoLog toolCardLog;
     private final AtomicBoolean patternCardsChosen;
-    private final AtomicBoolean draftedDiceSet;
     private AtomicBoolean endGameDueToDisconnection;
+    private final AtomicInteger viewSequence;
+    private final MatchEventLoop matchEventLoop;
+    private final LivenessService livenessService;
+    private final LivenessService.Listener connectionListener;
+    private final MatchRandom matchRandom;
+    private volatile MatchState matchState;
+    private int roundIndex;
+    private final List<Integer> turnOrder;
+    private int turnIndex;
+    private volatile boolean botSubstitutes;
+    private static final int NO_OF_ROUNDS = 10;
+    private static final long SEND_DELAY_MILLIS = 500;
 
 
     /**
@@ -70,28 +91,64 @@ public class GameManager {
      *
      * @param players         players that joined the match
      * @param maxTurnSeconds  max seconds that a user should use to complete a turn
+     * @param matchHost       host of the match
      * @param controllerTimer Timer used to schedule the time for choosing pattern cards, drafting the dice and doing an entire turn
      */
-    public GameManager(List<Player> players, int maxTurnSeconds, Controller controller, ControllerTimer controllerTimer) {
+    public GameManager(List<Player> players, int maxTurnSeconds, MatchHost matchHost, ControllerTimer controllerTimer) {
+        this(players, maxTurnSeconds, matchHost, controllerTimer, MatchRandom.newSeed());
+    }
+
+    /**
+     * Creates an instance of GameManager whose cards and dice are dealt and rolled from the given seed,
+     * so that the match can be played again in the same way
+     *
+     * @param players         list of players
+     * @param maxTurnSeconds  max seconds that a user should use to complete a turn
+     * @param matchHost       host of the match
+     * @param controllerTimer Timer used to schedule the time for choosing pattern cards, drafting the dice and doing an entire turn
+     * @param seed            seed of the match
+     */
+    public GameManager(List<Player> players, int maxTurnSeconds, MatchHost matchHost, ControllerTimer controllerTimer, long seed) {
+        this(players, maxTurnSeconds, matchHost, controllerTimer, seed, new MatchEventLoop());
+    }
+
+    /**
+     * Creates an instance of GameManager whose events are processed by the given event loop and whose timers
+     * run on the clock of the <code>controllerTimer</code>, used to drive a match without the server
+     *
+     * @param players         list of players
+     * @param maxTurnSeconds  max seconds that a user should use to complete a turn
+     * @param matchHost       host of the match
+     * @param controllerTimer Timer used to schedule the time for choosing pattern cards, drafting the dice and doing an entire turn
+     * @param seed            seed of the match
+     * @param matchEventLoop  event loop of the match
+     */
+    public GameManager(List<Player> players, int maxTurnSeconds, MatchHost matchHost, ControllerTimer controllerTimer,
+                       long seed, MatchEventLoop matchEventLoop) {
+        matchRandom = new MatchRandom(seed);
         playerList = players;
-        this.controller = controller;
+        this.matchHost = matchHost;
         roundTrack = new ArrayList<>();
-        movesHistory = new LinkedList<>();
+        movesHistory = new ArrayList<>();
         stop = new AtomicBoolean(true);
         noOfAck = new AtomicInteger(0);
-        endRound = new AtomicBoolean(false);
         doubleMove = new AtomicBoolean(false);
-        cancelTimer = new AtomicBoolean(false);
         toolCardLock = new AtomicBoolean(false);
+        toolCardAction = MoveCode.NONE;
+        toolCardLog = new UndoLog();
         turnInRound = new AtomicInteger(0);
         disconnectedPlayers = new HashSet<>();
         playerBroadcaster = new PlayerBroadcaster(players);
-        endOfMatch = new AtomicBoolean(false);
         this.controllerTimer = controllerTimer;
         patternCardsChosen = new AtomicBoolean(false);
         this.maxTurnSeconds = maxTurnSeconds;
-        draftedDiceSet = new AtomicBoolean(false);
         endGameDueToDisconnection = new AtomicBoolean(false);
+        viewSequence = new AtomicInteger(0);
+        this.matchEventLoop = matchEventLoop;
+        livenessService = LivenessService.get();
+        connectionListener = new ConnectionListener();
+        matchState = MatchState.CHOOSING_PATTERN_CARDS;
+        turnOrder = new ArrayList<>();
         setUpGameManager();
     }
 
@@ -117,32 +174,8 @@ public class GameManager {
      * Method that populates the PatternCards in the List
      */
     private void setUpPatternCards() {
-        this.patternCards = new LinkedList<>();
-        this.patternCards.add(new AuroraeMagnificus());
-        this.patternCards.add(new AuroraSagradis());
-        this.patternCards.add(new Batllo());
-        this.patternCards.add(new Bellesguard());
-        this.patternCards.add(new ChromaticSplendor());
-        this.patternCards.add(new Comitas());
-        this.patternCards.add(new Firelight());
-        this.patternCards.add(new Firmitas());
-        this.patternCards.add(new FractalDrops());
-        this.patternCards.add(new FulgorDelCielo());
-        this.patternCards.add(new Gravitas());
-        this.patternCards.add(new Industria());
-        this.patternCards.add(new KaleidoscopicDream());
-        this.patternCards.add(new LuxAstram());
-        this.patternCards.add(new LuxMundi());
-        this.patternCards.add(new LuzCelestial());
-        this.patternCards.add(new RipplesOfLight());
-        this.patternCards.add(new ShadowThief());
-        this.patternCards.add(new SunCatcher());
-        this.patternCards.add(new SunsGlory());
-        this.patternCards.add(new SymphonyOfLight());
-        this.patternCards.add(new ViaLux());
-        this.patternCards.add(new Virtus());
-        this.patternCards.add(new WaterOfLife());
-        Collections.shuffle(patternCards);
+        this.patternCards = new LinkedList<>(PatternCardCatalog.createAll());
+        matchRandom.shuffle(patternCards);
     }
 
     /**
@@ -192,7 +225,7 @@ public class GameManager {
         this.privateObjectiveCards.add(new PrivateObjectiveCard(Color.RED));
         this.privateObjectiveCards.add(new PrivateObjectiveCard(Color.PURPLE));
         this.privateObjectiveCards.add(new PrivateObjectiveCard(Color.YELLOW));
-        Collections.shuffle(privateObjectiveCards);
+        matchRandom.shuffle(privateObjectiveCards);
     }
 
     /**
@@ -201,7 +234,7 @@ public class GameManager {
      * @return three randomly picked ToolCards
      */
     private List<ToolCard> chooseToolCards() {
-        Collections.shuffle(toolCards);
+        matchRandom.shuffle(toolCards);
         return new ArrayList<>(toolCards.subList(0, 3));
     }
 
@@ -211,7 +244,7 @@ public class GameManager {
      * @return three randomly picked PublicObjectiveCards
      */
     private List<PublicObjectiveCard> choosePublicObjectiveCards() {
-        Collections.shuffle(publicObjectiveCards);
+        matchRandom.shuffle(publicObjectiveCards);
         return new ArrayList<>(publicObjectiveCards.subList(0, 3));
     }
 
@@ -260,12 +293,11 @@ public class GameManager {
      * Deletes the match. Users can't join it anymore
      */
     private void deleteMatch() {
-        controller.removeMatch();
-        SagradaGame.get().writeUsersStatsToFile();
+        matchHost.removeMatch();
     }
 
     /**
-     * Method that checks if every user is connected to the game.
+     * Method that checks if every user is connected to the game. It runs on the event loop of the match.
      *
      * @param disconnectedPlayers A set in which there are all the disconnected players
      */
@@ -273,22 +305,24 @@ public class GameManager {
         for (Player player : playerList) {
             try {
                 // If there are at least two active players then...
-                if (disconnectedPlayers.size() < playerList.size() - 1) {
+                if (hasOpponents()) {
 
                     // If a user was in the disconnectedPlayers' Set and it's now active
                     // He gets removed from the set and the necessary data will be notified to him
                     if (disconnectedPlayers.contains(player) && player.getUser().isActive() && player.getUser().isReady()) {
                         System.out.println("User: " + player.getPlayerUsername() + " is back online! ---> Sending data");
                         disconnectedPlayers.remove(player);
+                        removeBot(player);
                         player.getUserObserver().sendResponse(new BoardDataResponse(playerList, board.getPublicObjectiveCards(), board.getToolCards(), roundTrack));
-                        player.getUserObserver().sendResponse(new MoveStatusNotification(movesHistory));
+                        sendViewSnapshot(player.getPlayerUsername());
+                        sendLastMove(player);
 
-                        sleep(500);
-                        player.getUserObserver().sendResponse(new DraftedDiceResponse(board.getDraftedDice()));
-                    } else if (!disconnectedPlayers.contains(player) && !player.getUser().isActive()) {
+                        controllerTimer.delay(() -> matchEventLoop.execute(() -> sendDraftedDice(player)), SEND_DELAY_MILLIS);
+                    } else if (!disconnectedPlayers.contains(player) && !player.getUser().isActive() && !player.hasSubstitute()) {
                         System.out.println("User " + player.getPlayerUsername() + " has disconnected, adding it to disconnected Users iterating Player " + player.getPlayerUsername() + " " + disconnectedPlayers.size() + " " + (playerList.size() - 1));
                         addMoveToHistoryAndNotify(new MoveStatus(player.getPlayerUsername(), "Has disconnected"));
                         disconnectedPlayers.add(player);
+                        seatBot(player);
 
                     } else if (!disconnectedPlayers.contains(player) && player.getUser().isActive()) {
                         // Check if the User is disconnected or not
@@ -298,19 +332,7 @@ public class GameManager {
 
                     // If there's only a user connected then...
                 } else {
-
-                    endGameDueToDisconnection.set(true);
-
-                    stop.set(true);
-
-                    playerBroadcaster.disableBroadcaster();
-
-                    closeThreads();
-
-                    synchronized (endOfMatch) {
-                        endOfMatch.notifyAll();
-                    }
-
+                    endMatchDueToDisconnection();
                     break;
                 }
 
@@ -320,60 +342,179 @@ public class GameManager {
                 player.getUser().setActive(false);
                 player.getUser().setReady(false);
                 disconnectedPlayers.add(player);
-            } catch (InterruptedException e) {
-                Thread.currentThread().interrupt();
-                e.printStackTrace();
+                seatBot(player);
             }
         }
     }
 
     /**
-     * Method used to close all the active game threads (match thread, round thread and turn thread) and also the active turn timer.
+     * Method that checks if the match can go on: at least two seats must be played, by a connected user or by
+     * a bot, and at least one of them by a user, so that a match of bots alone ends
      *
-     * @throws InterruptedException
+     * @return true if the match can go on
      */
-    private void closeThreads() throws InterruptedException {
-        while (!endOfMatch.get()) {
+    private boolean hasOpponents() {
+        int playedSeats = 0;
+        int connectedUsers = 0;
+        for (Player player : playerList) {
+            boolean connected = !disconnectedPlayers.contains(player);
+            if (connected || player.hasSubstitute())
+                playedSeats++;
+            if (connected && !player.hasSubstitute())
+                connectedUsers++;
+        }
+        return playedSeats >= 2 && connectedUsers >= 1;
+    }
 
-            controllerTimer.cancelTimer();
+    /**
+     * Method that checks if someone plays the seat of a player
+     *
+     * @param player Player of the seat
+     * @return true if the user is active or a bot plays in its place
+     */
+    private static boolean isPlaying(Player player) {
+        return player.getUser().isActive() || player.hasSubstitute();
+    }
 
-            stopTurn();
+    /**
+     * Enables the bots that take the seat of the players that disconnect, until they are back
+     *
+     * @param botSubstitutes true to replace the disconnected players
+     */
+    public void setBotSubstitutes(boolean botSubstitutes) {
+        this.botSubstitutes = botSubstitutes;
+    }
 
-            synchronized (currentRound.hasPlayerEndedTurn()) {
-                if (currentRound != null) {
-                    currentRound.setPlayerEndedTurn(true);
-                    currentRound.hasPlayerEndedTurn().wait(1000);
-                }
-            }
+    /**
+     * Method that seats a bot in place of a player that has disconnected, if the bots are enabled.
+     * The bot receives what it missed: the drafted dice if the match is waiting for the acks and the turn if
+     * the player was playing it.
+     *
+     * @param player Player that has disconnected
+     */
+    private void seatBot(Player player) {
+        if (!botSubstitutes || player.hasSubstitute() || matchState == MatchState.ENDED)
+            return;
 
-            synchronized (endRound) {
-                endRound.set(true);
-                endRound.notifyAll();
-            }
+        BotPlayer botPlayer = BotPlayer.create(player.getPlayerUsername());
+        botPlayer.join(this, player);
+        player.seatSubstitute(botPlayer);
+        addMoveToHistoryAndNotify(new MoveStatus(player.getPlayerUsername(), "is played by a bot"));
+
+        if (matchState == MatchState.WAITING_DICE_ACK) {
+            sendDraftedDice(player);
+        } else if (matchState == MatchState.TURN && currentRound != null && currentRound.getCurrentPlayer() == player) {
+            botPlayer.activateTurnNotification(sendAvailablePositions(player));
+        }
+    }
+
+    /**
+     * Method that gives the seat back to a player that is back online
+     *
+     * @param player Player back online
+     */
+    private void removeBot(Player player) {
+        BotPlayer botPlayer = player.getSubstitute();
+        if (botPlayer != null) {
+            botPlayer.leave();
+            player.removeSubstitute();
+            addMoveToHistoryAndNotify(new MoveStatus(player.getPlayerUsername(), "is back in place of the bot"));
         }
     }
 
     /**
-     * Method that will check every two seconds which player is active and those who has disconnected from the game.
-     * This method is especially handy for checking RMI users disconnection since when a RMI user disconnects you
-     * don't get an immediate Exception.
+     * Sends the drafted dice to a player that is back online
+     *
+     * @param player Player back online
+     */
+    private void sendDraftedDice(Player player) {
+        try {
+            player.getUserObserver().sendResponse(new DraftedDiceResponse(board.getDraftedDice()));
+        } catch (RemoteException e) {
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * Method that ends the match when only a player is still connected: it stops the turn timer and the
+     * tool card in use, then the match ends at once.
+     */
+    private void endMatchDueToDisconnection() {
+        endGameDueToDisconnection.set(true);
+
+        stop.set(true);
+
+        playerBroadcaster.disableBroadcaster();
+
+        controllerTimer.cancelTimer();
+
+        if (toolCardNextStep != null) {
+            toolCardLock.set(false);
+            resumeToolCard();
+        }
+
+        endMatch();
+    }
+
+    /**
+     * Method that starts listening to the connections and disconnections of the players detected by the
+     * LivenessService, and checks at once the players that disconnected before the match started
      */
     private void listenForPlayerDisconnection() {
         stop.set(false);
-        new Thread(() -> {
-            try {
-                do {
-                    // PING every 2 seconds
-                    sleep(5000);
+        livenessService.addListener(connectionListener);
+        matchEventLoop.execute(this::checkConnectionEvent);
+    }
 
-                    checkUserConnection(disconnectedPlayers);
+    /**
+     * Method that stops listening to the connections of the players
+     */
+    private void stopListeningForPlayerDisconnection() {
+        livenessService.removeListener(connectionListener);
+    }
 
-                } while (!stop.get());
-            } catch (InterruptedException e) {
-                Thread.currentThread().interrupt();
-                e.printStackTrace();
+    /**
+     * Checks the players after a connection event, on the event loop of the match
+     */
+    private void checkConnectionEvent() {
+        if (!stop.get())
+            checkUserConnection(disconnectedPlayers);
+    }
+
+    /**
+     * Listener of the LivenessService: the connection events of the players of the match are posted to
+     * the event loop of the match
+     */
+    private class ConnectionListener implements LivenessService.Listener {
+
+        @Override
+        public void onConnect(String username) {
+            onConnectionEvent(username);
+        }
+
+        @Override
+        public void onDisconnect(String username) {
+            onConnectionEvent(username);
+        }
+
+        private void onConnectionEvent(String username) {
+            for (Player player : playerList) {
+                if (player.getPlayerUsername().equals(username)) {
+                    matchEventLoop.execute(GameManager.this::checkConnectionEvent);
+                    return;
+                }
             }
-        }).start();
+        }
+    }
+
+    /**
+     * Posts an event to the event loop of the match. The moves of the players and the timers go through it,
+     * so that the match is changed only by its event loop and not by the network or the scheduler threads
+     *
+     * @param event Event to process
+     */
+    public void post(Runnable event) {
+        matchEventLoop.execute(event);
     }
 
     /**
@@ -398,9 +539,6 @@ public class GameManager {
                     if (player.getPlayerUsername().equals(username)) {
                         player.setPatternCard(patternCard);
                         receiveAck();
-                        synchronized (noOfAck) {
-                            noOfAck.notifyAll();
-                        }
                     }
                 }
             }
@@ -416,6 +554,24 @@ public class GameManager {
         return board.getDraftedDice();
     }
 
+    /**
+     * Method that returns the public objective cards of the match
+     *
+     * @return public objective cards, null before the match starts
+     */
+    public List<PublicObjectiveCard> getPublicObjectiveCards() {
+        return board != null ? board.getPublicObjectiveCards() : null;
+    }
+
+    /**
+     * Method that returns the tool cards of the match
+     *
+     * @return tool cards, null before the match starts
+     */
+    public List<ToolCard> getToolCards() {
+        return board != null ? board.getToolCards() : null;
+    }
+
     /**
      * Method that returns the current round's number
      *
@@ -426,22 +582,11 @@ public class GameManager {
     }
 
     /**
-     * Method that waits for every users to choose a patternCard
+     * Method that starts the timer for the pattern card choice. The match starts when every user has chosen a
+     * patternCard or when the timer expires.
      */
     public void waitForEveryPatternCard(Map<String, List<PatternCard>> patternCardToChoose) {
-        new Thread(() -> {
-            controllerTimer.startPatternCardTimer(30, this, patternCardToChoose);
-            waitAck();
-
-            synchronized (patternCardsChosen) {
-                if (noOfAck.get() == playerList.size() && !patternCardsChosen.get()) {
-                    controllerTimer.cancelTimer();
-                    resetAck();
-                    patternCardsChosen.set(true);
-                    setBoardAndStartMatch();
-                }
-            }
-        }).start();
+        controllerTimer.startPatternCardTimer(30, this, patternCardToChoose);
     }
 
     /**
@@ -453,68 +598,72 @@ public class GameManager {
      */
     public void randomizePatternCards(Map<String, List<PatternCard>> patternCardToChoose) {
         synchronized (patternCardsChosen) {
+            if (patternCardsChosen.get())
+                return;
 
-            if (!patternCardsChosen.get()) {
-                patternCardsChosen.set(true);
+            patternCardsChosen.set(true);
 
-                for (Player player : playerList) {
-                    if (player.getPatternCard() == null) {
-                        Collections.shuffle(patternCardToChoose.get(player.getPlayerUsername()));
-                        player.setPatternCard(patternCardToChoose.get(player.getPlayerUsername()).get(0));
-                    }
+            for (Player player : playerList) {
+                if (player.getPatternCard() == null) {
+                    matchRandom.shuffle(patternCardToChoose.get(player.getPlayerUsername()));
+                    player.setPatternCard(patternCardToChoose.get(player.getPlayerUsername()).get(0));
                 }
+            }
+        }
 
-                //Before starting the match
-                if (playerList.size() > 1)
-                    setBoardAndStartMatch();
-                else {
-                    try {
-                        closeThreads();
-                        deleteMatch();
-                        return;
-                    } catch (InterruptedException e) {
-                        Thread.currentThread().interrupt();
-                    }
-                }
-
-
-                resetAck();
+        resetAck();
 
-                synchronized (noOfAck) {
-                    noOfAck.notifyAll();
-                }
+        matchEventLoop.execute(() -> {
+            //Before starting the match
+            if (playerList.size() > 1)
+                setBoardAndStartMatch();
+            else {
+                matchState = MatchState.ENDED;
+                deleteMatch();
             }
-        }
+        });
     }
 
     /**
      * Method that sends all the static data (players' pattern card, Public Objective cards and Tool cards) to the players,
-     * starts the thread which listens for the players disconnection and starts the match.
+     * starts the check of the players disconnection and starts the match.
      */
     private void setBoardAndStartMatch() {
+        matchState = MatchState.STARTING;
         BoardDataResponse boardDataResponse = new BoardDataResponse(playerList,
                                                                     choosePublicObjectiveCards(),
                                                                     chooseToolCards(),
                                                                     roundTrack);
         playerBroadcaster.broadcastResponseToAll(boardDataResponse);
-        this.board = new Board(boardDataResponse.publicObjectiveCards, boardDataResponse.toolCards);
+        this.board = new Board(boardDataResponse.publicObjectiveCards, boardDataResponse.toolCards, matchRandom);
+        openJournal();
+        synchronized (viewSequence) {
+            playerBroadcaster.broadcastResponseToAll(createViewSnapshot());
+        }
         listenForPlayerDisconnection();
         startMatch();
     }
 
     /**
-     * Method that is used to keep track of how many users chose their pattern card
+     * Method that is used to keep track of how many users chose their pattern card or received the drafted dice.
+     * When every user answered the match goes on.
      */
-    private void waitAck() {
-        synchronized (noOfAck) {
-            while (noOfAck.get() < playerList.size()) {
-                try {
-                    noOfAck.wait();
-                } catch (InterruptedException e) {
-                    Thread.currentThread().interrupt();
-                    e.printStackTrace();
-                }
+    private void checkAcks() {
+        if (noOfAck.get() < playerList.size())
+            return;
+
+        if (matchState == MatchState.CHOOSING_PATTERN_CARDS) {
+            synchronized (patternCardsChosen) {
+                if (patternCardsChosen.get())
+                    return;
+                patternCardsChosen.set(true);
             }
+            controllerTimer.cancelTimer();
+            resetAck();
+            setBoardAndStartMatch();
+        } else if (matchState == MatchState.WAITING_DICE_ACK) {
+            resetAck();
+            startRound();
         }
     }
 
@@ -522,28 +671,23 @@ public class GameManager {
      * Method that drafts the dice from the board and sends them to every user view
      */
     public void draftDiceFromBoard() {
-        synchronized (draftedDiceSet) {
-
-            if (!draftedDiceSet.get()) {
-                controllerTimer.cancelTimer();
-                playerBroadcaster.broadcastResponseToAll(board.draftDice(playerList.size()));
-                addMoveToHistoryAndNotify(new MoveStatus(playerList.get(0).getPlayerUsername(), "Drafted dice"));
-                waitForDiceAck();
-                draftedDiceSet.set(true);
-            }
-        }
+        matchEventLoop.execute(this::draftDice);
     }
 
     /**
-     * Method that stalls the program until every user has received every dice
+     * Drafts the dice only once per round, then waits for the ack of every user
      */
-    private void waitForDiceAck() {
-        new Thread(() -> {
-            System.out.println("Waiting Dice Ack");
-            waitAck();
-            resetAck();
-            startRound();
-        }).start();
+    private void draftDice() {
+        if (matchState != MatchState.DRAFTING)
+            return;
+
+        controllerTimer.cancelTimer();
+        matchState = MatchState.WAITING_DICE_ACK;
+        resetAck();
+        playerBroadcaster.broadcastResponseToAll(board.draftDice(playerList.size()));
+        addMoveToHistoryAndNotify(new MoveStatus(playerList.get(0).getPlayerUsername(), "Drafted dice"));
+        System.out.println("Waiting Dice Ack");
+        checkAcks();
     }
 
     /**
@@ -563,6 +707,140 @@ public class GameManager {
         }
     }
 
+    /**
+     * Encodes the placement of a drafted dice. The dice is the first drafted dice with the same color and value,
+     * the one that {@link #placeDiceForPlayer(Dice, int, int)} would place.
+     *
+     * @param dice        Dice to place
+     * @param rowIndex    Row index
+     * @param columnIndex Column index
+     * @return The code of the move, <code>MoveCode.NONE</code> if the dice is not drafted or the Box doesn't exist
+     */
+    public int placementCode(Dice dice, int rowIndex, int columnIndex) {
+        if (board == null || dice == null || rowIndex < 0 || rowIndex >= 4 || columnIndex < 0 || columnIndex >= 5)
+            return MoveCode.NONE;
+
+        List<Dice> draftedDice = board.getDraftedDice();
+        for (int i = 0; i < draftedDice.size(); i++) {
+            Dice diceInDraftedDice = draftedDice.get(i);
+            if (diceInDraftedDice.getDiceColor().equals(dice.getDiceColor())
+                    && diceInDraftedDice.getFaceUpValue() == dice.getFaceUpValue())
+                return MoveCode.placement(i, dice.getFaceUpValue(), PlacementState.cell(rowIndex, columnIndex));
+        }
+        return MoveCode.NONE;
+    }
+
+    /**
+     * Encodes the start of a tool card
+     *
+     * @param toolCardName Name of the tool card
+     * @return The code of the move, <code>MoveCode.NONE</code> if the tool card doesn't exist
+     */
+    public int toolCardCode(String toolCardName) {
+        return MoveCode.toolCardStart(MoveCode.actionOf(toolCardName));
+    }
+
+    /**
+     * Encodes a step of a tool card
+     *
+     * @param toolCardType Tool card of the step
+     * @return The code of the move, <code>MoveCode.NONE</code> if the type is not a tool card with steps
+     */
+    public int toolCardStepCode(ToolCardType toolCardType) {
+        if (toolCardType == null)
+            return MoveCode.NONE;
+        switch (toolCardType) {
+            case GROZING_PLIERS:
+                return MoveCode.toolCardStep(MoveCode.GROZING_PLIERS);
+            case GRINDING_STONE:
+                return MoveCode.toolCardStep(MoveCode.GRINDING_STONE);
+            case FLUX_BRUSH:
+                return MoveCode.toolCardStep(MoveCode.FLUX_BRUSH);
+            case FLUX_REMOVER:
+                return MoveCode.toolCardStep(MoveCode.FLUX_REMOVER);
+            case RUNNING_PLIERS:
+                return MoveCode.toolCardStep(MoveCode.RUNNING_PLIERS);
+            case CORK_BACKED_STRAIGHT_EDGE:
+                return MoveCode.toolCardStep(MoveCode.CORK_BACKED_STRAIGHT_EDGE);
+            case COPPER_FOIL_BURNISHER:
+                return MoveCode.toolCardStep(MoveCode.COPPER_FOIL_BURNISHER);
+            case EGLOMISE_BRUSH:
+                return MoveCode.toolCardStep(MoveCode.EGLOMISE_BRUSH);
+            case LATHEKIN:
+                return MoveCode.toolCardStep(MoveCode.LATHEKIN);
+            case TAP_WHEEL:
+                return MoveCode.toolCardStep(MoveCode.TAP_WHEEL);
+            case LENS_CUTTER:
+                return MoveCode.toolCardStep(MoveCode.LENS_CUTTER);
+            default:
+                return MoveCode.NONE;
+        }
+    }
+
+    /**
+     * Checks a move of a player before it changes the match: the player must be playing its turn and the
+     * move must be one of its legal moves, given the placement and the tool card already made in the turn.
+     * A tool card can't be started while another one is in use, and a step is legal only for the tool card in use.
+     * The placement state of the pattern card is reused by every check of the player.
+     *
+     * @param username Player that sent the move
+     * @param moveCode Code of the move
+     * @return true if the move is legal
+     */
+    public boolean isLegalMove(String username, int moveCode) {
+        Round round = currentRound;
+        Player player = round == null ? null : round.getCurrentPlayer();
+        if (player == null || board == null || round.hasPlayerEndedTurn().get()
+                || !player.getPlayerUsername().equals(username))
+            return false;
+
+        if (MoveCode.isToolCardStep(moveCode))
+            return MoveCode.action(moveCode) == toolCardAction;
+        if (MoveCode.isToolCardStart(moveCode) && toolCardAction != MoveCode.NONE)
+            return false;
+
+        PatternCard patternCard = player.getPatternCard();
+        synchronized (patternCard) {
+            return new LegalMoves(patternCard.getPlacementState(), board.getDraftedDice(), roundTrack,
+                    board.getToolCards(), player.getFavourTokens(), turnInRound.get(),
+                    round.isPlacementMade(), round.isToolCardUsed()).isLegal(moveCode);
+        }
+    }
+
+    /**
+     * Tells a player that the tool card it wanted to use has been refused
+     *
+     * @param username Player to notify
+     */
+    public void refuseToolCard(String username) {
+        for (Player player : playerList) {
+            if (player.getPlayerUsername().equals(username)) {
+                try {
+                    player.getUserObserver().sendResponse(new AvoidToolCardResponse(player.getFavourTokens()));
+                } catch (RemoteException e) {
+                    e.printStackTrace();
+                }
+            }
+        }
+    }
+
+    /**
+     * Sends again the available positions to a player whose move has been refused
+     *
+     * @param username Player to notify
+     */
+    public void resendAvailablePositions(String username) {
+        for (Player player : playerList) {
+            if (player.getPlayerUsername().equals(username) && player.getPatternCard() != null && board != null) {
+                try {
+                    player.getUserObserver().sendResponse(new AvailablePositionsResponse(sendAvailablePositions(player)));
+                } catch (RemoteException e) {
+                    e.printStackTrace();
+                }
+            }
+        }
+    }
+
     /**
      * Method called when end turn button is clicked and if the button
      * is pressed by the host which is the current player in that moment.
@@ -589,9 +867,25 @@ public class GameManager {
         addMoveToHistoryAndNotify(new MoveStatus(currentRound.getCurrentPlayer().getPlayerUsername(), "Ended turn"));
         currentRound.setPlayerEndedTurn(true);
 
-        if (toolCardThread != null && toolCardThread.isAlive()) {
+        if (toolCardNextStep != null) {
             toolCardLock.set(false);
-            wakeUpToolCardThread();
+            rollbackToolCard();
+            resumeToolCard();
+        }
+    }
+
+    /**
+     * Undoes the changes made by a tool card whose move has been interrupted by the end of the turn, and sends
+     * the restored drafted dice and pattern card to the players
+     */
+    private synchronized void rollbackToolCard() {
+        if (toolCardLog.rollback()) {
+            Player player = currentRound.getCurrentPlayer();
+            addMoveToHistoryAndNotify(new MoveStatus(player.getPlayerUsername(), "tool card move cancelled"));
+            playerBroadcaster.broadcastResponseToAll(new DraftedDiceToolCardResponse(board.getDraftedDice(), false));
+            playerBroadcaster.broadcastResponseToAll(new PatternCardToolCardResponse(player, sendAvailablePositions(player)));
+            broadcastViewDelta(ViewDelta.favourTokensChanged(player.getPlayerUsername(), player.getFavourTokens()));
+            updateScore(player);
         }
     }
 
@@ -605,11 +899,9 @@ public class GameManager {
     /**
      * Method that increments the acks received
      */
-    public synchronized void receiveAck() {
+    public void receiveAck() {
         noOfAck.getAndIncrement();
-        synchronized (noOfAck) {
-            noOfAck.notifyAll();
-        }
+        matchEventLoop.execute(this::checkAcks);
     }
 
     /**
@@ -623,113 +915,135 @@ public class GameManager {
     }
 
     /**
-     * Method that opens a thread dedicated to the match
+     * Method that starts the first round after a short delay, so that every view has shown the board
      */
     private void startMatch() {
-        new Thread(() -> {
-
-            try {
-                sleep(500);
-            } catch (InterruptedException e) {
-                Thread.currentThread().interrupt();
-                e.printStackTrace();
-            }
+        roundIndex = 0;
+        controllerTimer.delay(() -> matchEventLoop.execute(this::beginRound), SEND_DELAY_MILLIS);
+    }
 
-            int i = 0;
-            while (i < 10) {
-                if (disconnectedPlayers.size() != (playerList.size() - 1)) {
-                    if (playerList.get(0).getUser().isActive()) {
-
-                        addMoveToHistoryAndNotify(new MoveStatus(playerList.get(0).getPlayerUsername(), "starts round " + i));
-
-                        notifyDraftToPlayer(playerList.get(0));
-                        endRound.set(false);
-
-                        System.out.println("Round " + i);
-                        //wait until the end of the round
-                        synchronized (endRound) {
-                            while (!endRound.get()) {
-                                try {
-                                    endRound.wait();
-                                } catch (InterruptedException e) {
-                                    Thread.currentThread().interrupt();
-                                    e.printStackTrace();
-                                }
-                            }
-                        }
-                    } else {
-                        shiftPlayerList();
-                    }
-                }
-                addMoveToHistoryAndNotify(new MoveStatus(playerList.get(0).getPlayerUsername(), "ended round " + i));
-                i++;
-            }
+    /**
+     * Method that starts the current round asking the first player to draft. The rounds of an inactive first
+     * player are skipped, after the last round the match ends.
+     */
+    private void beginRound() {
+        while (roundIndex < NO_OF_ROUNDS && matchState != MatchState.ENDED) {
+            if (hasOpponents()) {
+                if (isPlaying(playerList.get(0))) {
 
-            endOfMatch.set(true);
+                    addMoveToHistoryAndNotify(new MoveStatus(playerList.get(0).getPlayerUsername(), "starts round " + roundIndex));
 
-            if (endGameDueToDisconnection.get()) {
-                synchronized (endOfMatch) {
-                    try {
-                        endOfMatch.wait();
-                    } catch (InterruptedException e) {
-                        Thread.currentThread().interrupt();
-                        e.printStackTrace();
-                    }
+                    matchState = MatchState.DRAFTING;
+                    System.out.println("Round " + roundIndex);
+                    notifyDraftToPlayer(playerList.get(0));
+                    return;
+                } else {
+                    shiftPlayerList();
                 }
             }
+            addMoveToHistoryAndNotify(new MoveStatus(playerList.get(0).getPlayerUsername(), "ended round " + roundIndex));
+            roundIndex++;
+        }
 
+        endMatch();
+    }
 
-            addMoveToHistoryAndNotify(new MoveStatus(currentRound.getCurrentPlayer().getPlayerUsername(), "ended the match"));
+    /**
+     * Method that ends the match: assigns the points, notifies the winner and deletes the match
+     */
+    private void endMatch() {
+        if (matchState == MatchState.ENDED)
+            return;
+        matchState = MatchState.ENDED;
 
+        Player lastPlayer = currentRound != null && currentRound.getCurrentPlayer() != null ? currentRound.getCurrentPlayer() : playerList.get(0);
+        addMoveToHistoryAndNotify(new MoveStatus(lastPlayer.getPlayerUsername(), "ended the match"));
 
-            assignPointsToPlayers();
+        assignPointsToPlayers();
 
-            notifyWinner();
+        Player winner = notifyWinner();
 
-            writeHistoryToFile(movesHistory);
+        closeJournal(winner);
 
-            stop.set(true);
+        stop.set(true);
 
-            deleteMatch();
+        stopListeningForPlayerDisconnection();
 
-        }).start();
+        deleteMatch();
     }
 
     /**
-     * Method that writes the match history in a File inside /histories
-     *
-     * @param movesHistory List of all match moves
+     * @return the current state of the match
      */
-    private void writeHistoryToFile(List<MoveStatus> movesHistory) {
-        Gson gson = new Gson();
-        String moveHistoryJSON = gson.toJson(movesHistory);
+    public MatchState getMatchState() {
+        return matchState;
+    }
 
-        File jarPath = new File(GameManager.class.getProtectionDomain().getCodeSource().getLocation().getPath());
-        String jarParentFolderPath = jarPath.getParentFile().getAbsolutePath();
-        File jarParentFolder = new File(jarParentFolderPath + "/histories");
-        if (!jarParentFolder.exists()) {
-            jarParentFolder.mkdir();
+    /**
+     * Method that adds the match to the journal of the histories, with the moves made so far,
+     * so that every following move is written as soon as it is made
+     */
+    private void openJournal() {
+        matchJournal = matchHost.getMatchJournal();
+        if (matchJournal == null)
+            return;
+
+        List<String> usernames = new ArrayList<>();
+        for (Player player : playerList) {
+            usernames.add(player.getPlayerUsername());
+        }
+
+        try {
+            String matchId = matchJournal.startMatch(matchHost.getMatchName(), usernames);
+            matchJournal.recordSeed(matchId, matchRandom.getSeed());
+            synchronized (movesHistory) {
+                for (MoveStatus moveStatus : movesHistory) {
+                    matchJournal.appendMove(matchId, moveStatus);
+                }
+                journalMatchId = matchId;
+                replayRecorder = new ReplayRecorder(matchJournal, matchId);
+                if (!movesHistory.isEmpty())
+                    recordBoardState(movesHistory.size() - 1);
+            }
+        } catch (IOException e) {
+            System.err.println("There was an error writing the journal! The history will not be saved.");
+            matchJournal = null;
         }
+    }
+
+    /**
+     * Method that marks the match history as ended in the journal, adding it to the catalog of the finished matches
+     *
+     * @param winner Winner of the match, null if there is none
+     */
+    private void closeJournal(Player winner) {
+        if (journalMatchId == null)
+            return;
 
-        try (FileWriter file = new FileWriter(jarParentFolder + "/" + playerList.toString() + ".txt")) {
-            file.write(moveHistoryJSON);
+        try {
+            matchJournal.endMatch(journalMatchId, winner == null ? null : winner.getPlayerUsername());
         } catch (IOException e) {
-            System.err.println("There was an error writing the file! Could not complete.");
+            System.err.println("There was an error writing the journal! Could not complete.");
         }
     }
 
     /**
      * Method that notifies the winner and the losers of the match.
+     *
+     * @return The winner of the match, null if the winner is not playing anymore
      */
-    private void notifyWinner() {
+    private Player notifyWinner() {
         Player winner = evaluateWinner();
 
         for (Player player : playerList) {
-            if (winner != null && winner.equals(player) && winner.getUser().isActive()) {
+            if (winner != null && winner.equals(player) && isPlaying(winner)) {
                 try {
-                    player.getUser().incrementNoOfWins();
+                    if (!player.isBot()) {
+                        player.getUser().incrementNoOfWins();
+                        matchHost.updateRanking(player.getUser());
+                    }
                     addMoveToHistoryAndNotify(new MoveStatus(currentRound.getCurrentPlayer().getPlayerUsername(), "wins the match"));
-                    if (player.getUser().isActive()) {
+                    if (isPlaying(player)) {
                         player.getUserObserver().notifyVictory(player.getScore());
                     }
                 } catch (RemoteException e) {
@@ -737,9 +1051,12 @@ public class GameManager {
                 }
             } else {
                 try {
-                    player.getUser().incrementNoOfLose();
+                    if (!player.isBot()) {
+                        player.getUser().incrementNoOfLose();
+                        matchHost.updateRanking(player.getUser());
+                    }
                     addMoveToHistoryAndNotify(new MoveStatus(currentRound.getCurrentPlayer().getPlayerUsername(), "lose the match"));
-                    if (player.getUser().isActive()) {
+                    if (isPlaying(player)) {
                         player.getUserObserver().notifyLost(player.getScore());
                     }
                 } catch (RemoteException e) {
@@ -747,6 +1064,7 @@ public class GameManager {
                 }
             }
         }
+        return winner != null && isPlaying(winner) ? winner : null;
     }
 
     /**
@@ -754,12 +1072,9 @@ public class GameManager {
      */
     void assignPointsToPlayers() {
         for (Player player : playerList) {
-            int score = 0;
-            for (PublicObjectiveCard publicObjectiveCard : board.getPublicObjectiveCards()) {
-                score += publicObjectiveCard.getScore(player.getPatternCard().getGrid());
-            }
-            score -= player.getPatternCard().getNoOfEmptyBoxes();
-            player.setScore(score);
+            ScoreBreakdown scoreBreakdown = getScoreBreakdown(player);
+            scoreBreakdown.updateGrid(player.getPatternCard().getGrid());
+            player.setScore(scoreBreakdown.getTotal());
         }
     }
 
@@ -806,11 +1121,12 @@ public class GameManager {
         Player winner = null;
 
         for (Player player : tiePlayers) {
-            if (privateOc < player.getPrivateObjectiveCard().check(player.getPatternCard().getGrid())) {
+            int privateObjectivePoints = getScoreBreakdown(player).getPrivateObjectivePoints();
+            if (privateOc < privateObjectivePoints) {
                 tieAgainPlayers.clear();
                 winner = player;
-                privateOc = player.getPrivateObjectiveCard().check(player.getPatternCard().getGrid());
-            } else if (privateOc == player.getPrivateObjectiveCard().check(player.getPatternCard().getGrid())) {
+                privateOc = privateObjectivePoints;
+            } else if (privateOc == privateObjectivePoints) {
                 if (!tieAgainPlayers.contains(winner)) {
                     tieAgainPlayers.add(winner);
                 }
@@ -868,7 +1184,7 @@ public class GameManager {
         int activeUsers = 0;
 
         for (Player player : playerList) {
-            if (player.getUser().isActive()) {
+            if (isPlaying(player)) {
                 activeUsers++;
                 winner = player;
             }
@@ -907,22 +1223,43 @@ public class GameManager {
     }
 
     /**
-     * Method that starts a single round
+     * Method that starts a single round: every player plays a turn going forward and then going backward
      */
     private void startRound() {
         currentRound = new Round(this);
-        //Rounds going forward
-        turnInRound.set(1);
-
+        turnOrder.clear();
         for (int i = 0; i < playerList.size(); i++) {
-            executeTurn(i, "Turn forward ");
+            turnOrder.add(i);
         }
-        turnInRound.set(2);
-
         for (int i = playerList.size() - 1; i >= 0; i--) {
-            executeTurn(i, "Turn backward ");
+            turnOrder.add(i);
         }
+        turnIndex = 0;
+        nextTurn();
+    }
+
+    /**
+     * Method that starts the next turn of the round, skipping the inactive players. After the last turn
+     * the round ends.
+     */
+    private void nextTurn() {
+        while (turnIndex < turnOrder.size() && matchState != MatchState.ENDED) {
+            int playerIndex = turnOrder.get(turnIndex);
+            turnInRound.set(turnIndex < playerList.size() ? 1 : 2);
+            turnIndex++;
 
+            if (executeTurn(playerIndex, turnInRound.get() == 1 ? "Turn forward " : "Turn backward "))
+                return;
+        }
+
+        if (matchState != MatchState.ENDED)
+            endRound();
+    }
+
+    /**
+     * Method that moves the drafted dice left in the round track and starts the next round
+     */
+    private void endRound() {
         System.out.println("End of turn in GameManager");
 
         if (!board.getDraftedDice().isEmpty()) {
@@ -930,41 +1267,51 @@ public class GameManager {
             notifyUpdatedRoundTrack();
         }
 
-        draftedDiceSet.set(false);
         shiftPlayerList();
 
-        //wake up the match thread
-        synchronized (endRound) {
-            endRound.notifyAll();
-        }
+        addMoveToHistoryAndNotify(new MoveStatus(playerList.get(0).getPlayerUsername(), "ended round " + roundIndex));
+        roundIndex++;
+        beginRound();
     }
 
     /**
-     * Method that starts the turn and wait for the end of it only if the user is active
+     * Method that starts the turn only if the user is active
      *
      * @param playerIndex The index of the new current player
      * @param turnState   Specify the state turn(forward or backward)
+     * @return true if the turn has started, false if the player skips it
      */
-    private void executeTurn(int playerIndex, String turnState) {
+    private boolean executeTurn(int playerIndex, String turnState) {
 
         addMoveToHistoryAndNotify(new MoveStatus(playerList.get(playerIndex).getPlayerUsername(), "starts turn"));
 
         currentRound.setPlayerEndedTurn(false);
 
-        if (playerList.get(playerIndex).getUser().isActive() && (disconnectedPlayers.size() != (playerList.size() - 1))) {
-            currentRound.startForPlayer(playerList.get(playerIndex));
-            System.out.println(turnState + currentRound.getCurrentPlayer().getPlayerUsername());
-            cancelTimer.set(false);
+        if (isPlaying(playerList.get(playerIndex)) && hasOpponents()) {
+            matchState = MatchState.TURN;
             controllerTimer.startTurnTimer(maxTurnSeconds, this);
             System.out.println("Starting the timer.");
-
-            //wait until turn has ended
-            waitEndTurn();
+            currentRound.startForPlayer(playerList.get(playerIndex));
+            System.out.println(turnState + currentRound.getCurrentPlayer().getPlayerUsername());
+            return true;
         }
+        return false;
+    }
+
+    /**
+     * Method called by the Round when the turn has ended, the next turn starts on the event loop of the match
+     *
+     * @param round Round of the turn that has ended
+     */
+    void turnEnded(Round round) {
+        matchEventLoop.execute(() -> {
+            if (matchState == MatchState.TURN && round == currentRound)
+                nextTurn();
+        });
     }
 
     /**
-     * Returns the toolCardLock userd to set the toolCardThread in WAIT and to avoid the method execution if the timer
+     * Returns the toolCardLock used to tell if a tool card is in use and to avoid the method execution if the timer
      * expires
      *
      * @return The AtomicBoolean used as lock
@@ -982,6 +1329,15 @@ public class GameManager {
         return controllerTimer;
     }
 
+    /**
+     * Returns the seed from which the cards and the dice of the match are dealt and rolled
+     *
+     * @return seed of the match
+     */
+    public long getSeed() {
+        return matchRandom.getSeed();
+    }
+
     /**
      * Reorder the playerList after the end of the round. The first player is inserted in tail
      */
@@ -989,7 +1345,6 @@ public class GameManager {
         Player tmp = playerList.get(0);
         playerList.remove(0);
         playerList.add(tmp);
-        endRound.set(true);
     }
 
     /**
@@ -1001,23 +1356,6 @@ public class GameManager {
         playerBroadcaster.broadcastResponseToAll(new RoundTrackNotification(roundTrack.get(round)));
     }
 
-    /**
-     * Method that set the round Thread in GameManager in WAIT. Wakes up when notify is called on
-     * <code>currentRound.hasPlayerEndedTurn()</code>
-     */
-    private void waitEndTurn() {
-        synchronized (currentRound.hasPlayerEndedTurn()) {
-            while (!currentRound.hasPlayerEndedTurn().get()) {
-                try {
-                    currentRound.hasPlayerEndedTurn().wait();
-                } catch (InterruptedException e) {
-                    Thread.currentThread().interrupt();
-                    e.printStackTrace();
-                }
-            }
-        }
-    }
-
     /**
      * Method that notifies the player with a patternCard's mask which indicates the available positions in which
      * a dice can be placed
@@ -1047,53 +1385,245 @@ public class GameManager {
      */
     boolean makeMove(Player player, Dice dice, int rowIndex, int columnIndex) {
         if (player.getPatternCard().getGrid().get(rowIndex).get(columnIndex).getDice() == null) {
-
+            toolCardLog.recordBox(player.getPatternCard().getGrid().get(rowIndex).get(columnIndex));
+            toolCardLog.recordDraftedDice(board);
 
             player.getPatternCard().getGrid().get(rowIndex).get(columnIndex).insertDice(dice);
             board.getDraftedDice().remove(dice);
 
-            // Send updated draftedDice
-            playerBroadcaster.broadcastResponseToAll(board.getDraftedDice());
-
             // Update MovesHistory
             addMoveToHistoryAndNotify(new MoveStatus(player.getPlayerUsername(),
                                                      "Placed dice" + dice + " in [" + rowIndex + ", " + columnIndex + "]"));
 
-            // UpdateView response
-            playerBroadcaster.broadcastResponseToAll(new UpdateViewResponse(player, sendAvailablePositions(getCurrentRound().getCurrentPlayer())));
+            // Send only the changes, every client applies them on its own copy of the view
+            broadcastViewDelta(ViewDelta.draftedDiceRemoved(dice),
+                               ViewDelta.dicePlaced(player.getPlayerUsername(), dice, rowIndex, columnIndex));
+            updateScore(player, rowIndex, columnIndex);
             return true;
         } else
             return false;
     }
 
     /**
-     * Method called when an user selected a patternCard from the view
+     * Method called when an user selected a patternCard from the view.
+     * The tool card starts as an event of the match and goes on, step by step, with the moves of the player.
      *
      * @param toolCardName name of the ToolCard to use
      */
     public void useToolCard(String toolCardName) {
-        toolCardThread = new Thread(
-                () -> {
-                    toolCardLock.set(true);
-                    for (ToolCard toolCard : board.getToolCards()) {
-                        if (toolCard.getName().equals(toolCardName)) {
-                            addMoveToHistoryAndNotify(new MoveStatus(currentRound.getCurrentPlayer().getPlayerUsername(), "Used toolcard " + toolCardName));
-                            currentRound.makeMove(toolCard);
+        matchEventLoop.execute(() -> startToolCard(toolCardName));
+    }
 
-                        }
-                    }
-                });
-        toolCardThread.start();
+    /**
+     * Starts the tool card: its first step runs at once, the following ones when the player makes the moves.
+     * Nothing happens if a tool card is in use or has already been used in the turn.
+     *
+     * @param toolCardName name of the ToolCard to use
+     */
+    private void startToolCard(String toolCardName) {
+        if (toolCardPlayer != null || currentRound.isToolCardUsed())
+            return;
+
+        toolCardLock.set(true);
+        for (ToolCard toolCard : board.getToolCards()) {
+            if (toolCard.getName().equals(toolCardName)) {
+                Player player = currentRound.getCurrentPlayer();
+                addMoveToHistoryAndNotify(new MoveStatus(player.getPlayerUsername(), "Used toolcard " + toolCardName));
+                toolCardLog.begin();
+                toolCardLog.recordFavourTokens(player);
+                toolCardPlayer = player;
+                toolCardFavourTokens = player.getFavourTokens();
+                toolCardAction = MoveCode.actionOf(toolCardName);
+                currentRound.makeMove(toolCard);
+                finishToolCard();
+            }
+        }
+    }
+
+    /**
+     * Keeps the changes of the tool card once it has no more steps to run, and sends the favour tokens
+     * spent by the player
+     */
+    private void finishToolCard() {
+        if (toolCardNextStep != null || toolCardPlayer == null)
+            return;
+
+        Player player = toolCardPlayer;
+        toolCardPlayer = null;
+        toolCardAction = MoveCode.NONE;
+        toolCardLog.commit();
+
+        if (player.getFavourTokens() != toolCardFavourTokens) {
+            broadcastViewDelta(ViewDelta.favourTokensChanged(player.getPlayerUsername(), player.getFavourTokens()));
+            sendScore(player);
+        }
     }
 
     /**
-     * Method that will update the current Moves made by each Player in every User's View
+     * Method that will update the current Moves made by each Player in every User's View.
+     * Only the new move is sent, numbered with its index in the history.
      *
      * @param moveStatus move to be added in the List of Moves made
      */
     public void addMoveToHistoryAndNotify(MoveStatus moveStatus) {
-        movesHistory.add(moveStatus);
-        playerBroadcaster.updateMovesHistory(movesHistory);
+        synchronized (movesHistory) {
+            movesHistory.add(moveStatus);
+            if (journalMatchId != null) {
+                try {
+                    matchJournal.appendMove(journalMatchId, moveStatus);
+                    recordBoardState(movesHistory.size() - 1);
+                } catch (IOException e) {
+                    System.err.println("There was an error writing the journal! Could not save the move.");
+                }
+            }
+            playerBroadcaster.updateMovesHistory(movesHistory.size() - 1, Collections.singletonList(moveStatus));
+        }
+    }
+
+    /**
+     * Method that writes in the journal the state of the board after a move, for the replays
+     *
+     * @param moveIndex index of the move in the history
+     * @throws IOException if the state can't be written
+     */
+    private void recordBoardState(int moveIndex) throws IOException {
+        replayRecorder.record(moveIndex, BoardState.capture(playerList, board.getDraftedDice(), roundTrack));
+    }
+
+    /**
+     * Method that sends to a player that is back online the last move of the history: if some moves are missing
+     * the client asks for them with their sequence numbers
+     *
+     * @param player player that is back online
+     * @throws RemoteException if the player disconnected again
+     */
+    private void sendLastMove(Player player) throws RemoteException {
+        synchronized (movesHistory) {
+            if (!movesHistory.isEmpty()) {
+                int lastSequence = movesHistory.size() - 1;
+                player.getUserObserver().sendResponse(new MoveStatusNotification(lastSequence, Collections.singletonList(movesHistory.get(lastSequence))));
+            }
+        }
+    }
+
+    /**
+     * Method that sends to a player the moves of the history missed by him
+     *
+     * @param username     player that requested the moves
+     * @param fromSequence sequence number of the first missing move
+     */
+    public void sendMovesHistory(String username, int fromSequence) {
+        for (Player player : playerList) {
+            if (player.getPlayerUsername().equals(username)) {
+                synchronized (movesHistory) {
+                    int from = Math.max(0, Math.min(fromSequence, movesHistory.size()));
+                    try {
+                        player.getUserObserver().sendResponse(new MoveStatusNotification(from, new ArrayList<>(movesHistory.subList(from, movesHistory.size()))));
+                    } catch (RemoteException e) {
+                        e.printStackTrace();
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Method that sends to every player the changes made to the view by a move, numbered with the next
+     * view sequence number so that a client can detect a lost update and ask for a snapshot
+     *
+     * @param deltas changes made by the move
+     */
+    private void broadcastViewDelta(ViewDelta... deltas) {
+        synchronized (viewSequence) {
+            playerBroadcaster.broadcastResponseToAll(new ViewDeltaNotification(viewSequence.incrementAndGet(), Arrays.asList(deltas)));
+        }
+    }
+
+    /**
+     * Returns the running score of the player, created from the cards on the board the first time it is needed
+     *
+     * @param player player whose score is needed
+     * @return the score breakdown of the player, in line with its grid
+     */
+    ScoreBreakdown getScoreBreakdown(Player player) {
+        synchronized (player) {
+            ScoreBreakdown scoreBreakdown = player.getScoreBreakdown();
+            if (scoreBreakdown == null) {
+                scoreBreakdown = new ScoreBreakdown(board.getPublicObjectiveCards(), player.getPrivateObjectiveCard());
+                scoreBreakdown.updateGrid(player.getPatternCard().getGrid());
+                player.setScoreBreakdown(scoreBreakdown);
+            }
+            return scoreBreakdown;
+        }
+    }
+
+    /**
+     * Method that updates the score of the player after a single Box of its grid changed and sends it to everyone
+     *
+     * @param player      player whose grid changed
+     * @param rowIndex    row of the Box
+     * @param columnIndex column of the Box
+     */
+    private void updateScore(Player player, int rowIndex, int columnIndex) {
+        boolean firstUpdate = player.getScoreBreakdown() == null;
+        if (getScoreBreakdown(player).updateCell(player.getPatternCard().getGrid(), rowIndex, columnIndex) || firstUpdate)
+            sendScore(player);
+    }
+
+    /**
+     * Method that updates the score of the player after a Tool Card moved dice of its grid and sends it to everyone.
+     * Only the Boxes that changed since the last update are removed from and added to the counters
+     *
+     * @param player player whose grid changed
+     */
+    private void updateScore(Player player) {
+        boolean firstUpdate = player.getScoreBreakdown() == null;
+        if (getScoreBreakdown(player).updateGrid(player.getPatternCard().getGrid()) || firstUpdate)
+            sendScore(player);
+    }
+
+    /**
+     * Method that sends the running score of the player to every player
+     *
+     * @param player player whose score changed
+     */
+    private void sendScore(Player player) {
+        ScoreBreakdown scoreBreakdown = getScoreBreakdown(player);
+        Map<String, Integer> publicObjectivePoints = scoreBreakdown.getPublicObjectivePoints();
+        int emptyBoxesPenalty = scoreBreakdown.getEmptyBoxesPenalty();
+        int total = scoreBreakdown.getTotal();
+        playerBroadcaster.broadcastScore(player.getPlayerUsername(),
+                new ScoreNotification(player.getPlayerUsername(), publicObjectivePoints, scoreBreakdown.getPrivateObjectivePoints(),
+                        emptyBoxesPenalty, player.getFavourTokens(), total),
+                new ScoreNotification(player.getPlayerUsername(), publicObjectivePoints, -1,
+                        emptyBoxesPenalty, player.getFavourTokens(), total));
+    }
+
+    /**
+     * @return the whole view state together with the sequence number of the last change it contains
+     */
+    private ViewSnapshotResponse createViewSnapshot() {
+        List<Dice> draftedDice = board != null ? new ArrayList<>(board.getDraftedDice()) : new ArrayList<>();
+        return new ViewSnapshotResponse(viewSequence.get(), new ArrayList<>(playerList), draftedDice);
+    }
+
+    /**
+     * Method that sends the whole view state to a player that joined again or lost a view update
+     *
+     * @param username player to send the snapshot to
+     */
+    public void sendViewSnapshot(String username) {
+        for (Player player : playerList) {
+            if (player.getPlayerUsername().equals(username)) {
+                synchronized (viewSequence) {
+                    try {
+                        player.getUserObserver().sendResponse(createViewSnapshot());
+                    } catch (RemoteException e) {
+                        e.printStackTrace();
+                    }
+                }
+            }
+        }
     }
 
     /**
@@ -1123,7 +1653,10 @@ public class GameManager {
     private void placeDiceToolCard(Dice dice, int rowIndex, int columnIndex) {
         Player player = getCurrentRound().getCurrentPlayer();
         if (player.getPatternCard().getGrid().get(rowIndex).get(columnIndex).getDice() == null) {
+            toolCardLog.recordBox(player.getPatternCard().getGrid().get(rowIndex).get(columnIndex));
+            toolCardLog.recordDraftedDice(board);
             player.getPatternCard().getGrid().get(rowIndex).get(columnIndex).insertDice(dice);
+            updateScore(player, rowIndex, columnIndex);
 
             for (Dice diceToRemove : getDraftedDice()) {
                 if (diceToRemove.toString().equals(dice.toString())) {
@@ -1133,9 +1666,6 @@ public class GameManager {
 
             getDraftedDice().remove(dice);
         }
-        synchronized (toolCardLock) {
-            toolCardLock.notifyAll();
-        }
     }
 
     /**
@@ -1153,13 +1683,26 @@ public class GameManager {
     }
 
     /**
-     * Wake Up ToolCard Response
-     * <p>
-     * Unlock the tool card thread in wait to finish the tool card move
+     * Sets the step that the tool card in use runs when the player has made its move
+     *
+     * @param nextStep Step of the tool card
      */
-    private void wakeUpToolCardThread() {
-        synchronized (toolCardLock) {
-            toolCardLock.notifyAll();
+    public void awaitToolCardAction(Runnable nextStep) {
+        toolCardNextStep = nextStep;
+    }
+
+    /**
+     * Resume ToolCard
+     * <p>
+     * Runs the step of the tool card that was waiting for the move of the player, or for the end of the turn,
+     * and closes the tool card if it has no more steps
+     */
+    private void resumeToolCard() {
+        Runnable nextStep = toolCardNextStep;
+        toolCardNextStep = null;
+        if (nextStep != null) {
+            nextStep.run();
+            finishToolCard();
         }
     }
 
@@ -1169,10 +1712,13 @@ public class GameManager {
      */
     public synchronized void glazingHammerResponse() {
         for (Dice dice : board.getDraftedDice()) {
-            dice.roll();
+            toolCardLog.recordFaceUpValue(dice);
+            dice.roll(matchRandom);
         }
         addMoveToHistoryAndNotify(new MoveStatus(currentRound.getCurrentPlayer().getPlayerUsername(), "rolled the drafted dice"));
         playerBroadcaster.broadcastResponseToAll(new DraftedDiceToolCardResponse(board.getDraftedDice(), true));
+        //the move is complete: the end of the turn must not undo it
+        toolCardLog.commit();
         endTurn(getCurrentRound().getCurrentPlayer().getPlayerUsername());
     }
 
@@ -1189,6 +1735,7 @@ public class GameManager {
         if (toolCardLock.get()) {
             for (Dice diceInPool : board.getDraftedDice()) {
                 if (dice.toString().equals(diceInPool.toString())) {
+                    toolCardLog.recordFaceUpValue(diceInPool);
                     if (increase) {
                         diceInPool.increasesByOneValue();
                         addMoveToHistoryAndNotify(new MoveStatus(currentRound.getCurrentPlayer().getPlayerUsername(), "increased " + diceInPool.toString() + " by one value"));
@@ -1198,7 +1745,7 @@ public class GameManager {
                     }
                 }
             }
-            wakeUpToolCardThread();
+            resumeToolCard();
         }
     }
 
@@ -1239,7 +1786,7 @@ public class GameManager {
 
             for (Dice diceInPool : fluxBrush.getTemporaryDraftedDice()) {
                 if (selectedDice.toString().equals(diceInPool.toString())) {
-                    diceInPool.roll();
+                    diceInPool.roll(matchRandom);
                     Map<String, Boolean[][]> availablePositions = getCurrentRound().getCurrentPlayer().getPatternCard().computeAvailablePositionsDraftedDice(fluxBrush.getTemporaryDraftedDice());
                     try {
                         getCurrentRound().getCurrentPlayer().getUserObserver().sendResponse(new FluxBrushResponse(fluxBrush.getTemporaryDraftedDice(), diceInPool, availablePositions));
@@ -1266,9 +1813,11 @@ public class GameManager {
         if (toolCardLock.get()) {
             FluxBrush fluxBrush = (FluxBrush) getSelectedToolCard("FluxBrush");
             assert fluxBrush != null;
+            toolCardLog.recordDraftedDice(board);
             board.setDraftedDice(fluxBrush.getTemporaryDraftedDice());
             placeDiceToolCard(dice, rowIndex, columnIndex);
             addMoveToHistoryAndNotify(new MoveStatus(currentRound.getCurrentPlayer().getPlayerUsername(), "placed " + dice.toString() + " in " + rowIndex + " - " + columnIndex));
+            resumeToolCard();
         }
     }
 
@@ -1281,9 +1830,10 @@ public class GameManager {
         if (toolCardLock.get()) {
             FluxBrush fluxBrush = (FluxBrush) getSelectedToolCard("FluxBrush");
             assert fluxBrush != null;
+            toolCardLog.recordDraftedDice(board);
             board.setDraftedDice(fluxBrush.getTemporaryDraftedDice());
-            wakeUpToolCardThread();
             addMoveToHistoryAndNotify(new MoveStatus(currentRound.getCurrentPlayer().getPlayerUsername(), "choose a dice that cannot be placed"));
+            resumeToolCard();
         }
     }
 
@@ -1295,6 +1845,7 @@ public class GameManager {
         if (toolCardLock.get()) {
             playerBroadcaster.broadcastResponseToAll(new DraftedDiceToolCardResponse(board.getDraftedDice(), false));
             playerBroadcaster.broadcastResponseToAll(new PatternCardToolCardResponse(currentRound.getCurrentPlayer(), sendAvailablePositions(getCurrentRound().getCurrentPlayer())));
+            updateScore(currentRound.getCurrentPlayer());
         }
     }
 
@@ -1309,6 +1860,8 @@ public class GameManager {
 
             assert fluxRemover != null;
             fluxRemover.setDiceFromBag(board.draftOneDice());
+            Dice diceFromBag = fluxRemover.getDiceFromBag();
+            toolCardLog.record(() -> board.addDiceToBag(diceFromBag));
             List<Dice> list = new ArrayList<>(getDraftedDice());
             list.add(fluxRemover.getDiceFromBag());
             fluxRemover.setDraftedDice(list);
@@ -1383,10 +1936,14 @@ public class GameManager {
             FluxRemover fluxRemover = (FluxRemover) getSelectedToolCard("FluxRemover");
 
             assert fluxRemover != null;
-            board.addDiceToBag(fluxRemover.getDiceFromBag());
+            toolCardLog.recordDraftedDice(board);
+            Dice diceFromBag = fluxRemover.getDiceFromBag();
+            board.addDiceToBag(diceFromBag);
+            toolCardLog.record(() -> board.removeDiceFromBag(diceFromBag));
             board.setDraftedDice(fluxRemover.getDraftedDice());
             placeDiceToolCard(selectedDice, rowIndex, columnIndex);
             addMoveToHistoryAndNotify(new MoveStatus(currentRound.getCurrentPlayer().getPlayerUsername(), "placed " + selectedDice.toString() + " in " + rowIndex + " - " + columnIndex));
+            resumeToolCard();
         }
     }
 
@@ -1415,9 +1972,12 @@ public class GameManager {
             FluxRemover fluxRemover;
             fluxRemover = (FluxRemover) getSelectedToolCard("FluxRemover");
             assert fluxRemover != null;
-            board.addDiceToBag(fluxRemover.getDiceFromBag());
+            toolCardLog.recordDraftedDice(board);
+            Dice diceFromBag = fluxRemover.getDiceFromBag();
+            board.addDiceToBag(diceFromBag);
+            toolCardLog.record(() -> board.removeDiceFromBag(diceFromBag));
             board.setDraftedDice(fluxRemover.getDraftedDice());
-            wakeUpToolCardThread();
+            resumeToolCard();
         }
     }
 
@@ -1429,6 +1989,7 @@ public class GameManager {
         if (toolCardLock.get()) {
             playerBroadcaster.broadcastResponseToAll(new DraftedDiceToolCardResponse(board.getDraftedDice(), false));
             playerBroadcaster.broadcastResponseToAll(new PatternCardToolCardResponse(currentRound.getCurrentPlayer(), sendAvailablePositions((getCurrentRound().getCurrentPlayer()))));
+            updateScore(currentRound.getCurrentPlayer());
         }
     }
 
@@ -1444,11 +2005,12 @@ public class GameManager {
         if (toolCardLock.get()) {
             for (Dice diceInPool : board.getDraftedDice()) {
                 if (selectedDice.toString().equals(diceInPool.toString())) {
+                    toolCardLog.recordFaceUpValue(diceInPool);
                     diceInPool.setOppositeFace();
                     addMoveToHistoryAndNotify(new MoveStatus(currentRound.getCurrentPlayer().getPlayerUsername(), "set " + selectedDice.toString() + " to the opposite face"));
                 }
             }
-            wakeUpToolCardThread();
+            resumeToolCard();
         }
     }
 
@@ -1476,10 +2038,9 @@ public class GameManager {
     public synchronized void copperFoilBurnisherMove(Tuple dicePosition, Tuple position) {
         if (toolCardLock.get()) {
             List<List<Box>> patternCard = currentRound.getCurrentPlayer().getPatternCard().getGrid();
-            patternCard.get(position.getFirst()).get(position.getSecond()).insertDice(patternCard.get(dicePosition.getFirst()).get(dicePosition.getSecond()).getDice());
-            patternCard.get(dicePosition.getFirst()).get(dicePosition.getSecond()).removeDice();
+            moveDice(patternCard, dicePosition, position);
             addMoveToHistoryAndNotify(new MoveStatus(currentRound.getCurrentPlayer().getPlayerUsername(), "placed the dice from " + dicePosition.getFirst() + " - " + dicePosition.getSecond() + " to " + position.getFirst() + " - " + position.getSecond()));
-            wakeUpToolCardThread();
+            resumeToolCard();
         }
     }
 
@@ -1495,6 +2056,7 @@ public class GameManager {
     public void copperFoilBurnisherResponse() {
         if (toolCardLock.get()) {
             playerBroadcaster.broadcastResponseToAll(new PatternCardToolCardResponse(currentRound.getCurrentPlayer(), sendAvailablePositions(getCurrentRound().getCurrentPlayer())));
+            updateScore(currentRound.getCurrentPlayer());
         }
     }
 
@@ -1513,7 +2075,7 @@ public class GameManager {
                 placeDiceForPlayer(selectedDice, row, column);
             }
             addMoveToHistoryAndNotify(new MoveStatus(currentRound.getCurrentPlayer().getPlayerUsername(), "placed " + selectedDice.toString() + " in " + row + " - " + column));
-            wakeUpToolCardThread();
+            resumeToolCard();
         }
     }
 
@@ -1524,6 +2086,7 @@ public class GameManager {
     public void corkBackedStraightedgeResponse() {
         if (toolCardLock.get()) {
             playerBroadcaster.broadcastResponseToAll(new PatternCardToolCardResponse(currentRound.getCurrentPlayer(), currentRound.getCurrentPlayer().getPatternCard().computeAvailablePositions()));
+            updateScore(currentRound.getCurrentPlayer());
         }
     }
 
@@ -1542,6 +2105,8 @@ public class GameManager {
      */
     public synchronized void lensCutterMove(int roundIndex, String roundTrackDice, String poolDice) {
         if (toolCardLock.get()) {
+            toolCardLog.recordList(roundTrack.get(roundIndex));
+            toolCardLog.recordDraftedDice(board);
             Dice fromTrackDice;
             Dice fromPoolDice;
             for (int i = 0; i < roundTrack.get(roundIndex).size(); i++) {
@@ -1560,7 +2125,7 @@ public class GameManager {
                 }
             }
             addMoveToHistoryAndNotify(new MoveStatus(currentRound.getCurrentPlayer().getPlayerUsername(), "the dice is swapped to the opposite side"));
-            wakeUpToolCardThread();
+            resumeToolCard();
         }
     }
 
@@ -1590,13 +2155,12 @@ public class GameManager {
         if (toolCardLock.get()) {
             List<List<Box>> patternCard = currentRound.getCurrentPlayer().getPatternCard().getGrid();
             if (patternCard.get(dicePosition.getFirst()).get(dicePosition.getSecond()).getDice() != null) {
-                patternCard.get(position.getFirst()).get(position.getSecond()).insertDice(patternCard.get(dicePosition.getFirst()).get(dicePosition.getSecond()).getDice());
-                patternCard.get(dicePosition.getFirst()).get(dicePosition.getSecond()).removeDice();
+                moveDice(patternCard, dicePosition, position);
 
                 addMoveToHistoryAndNotify(new MoveStatus(currentRound.getCurrentPlayer().getPlayerUsername(), "placed the dice from " + dicePosition.getFirst() + " - " + dicePosition.getSecond() + " to " + position.getFirst() + " - " + position.getSecond()));
 
             } else System.out.println("Eglomise Brusher: Error invalid selected dice");
-            wakeUpToolCardThread();
+            resumeToolCard();
         }
     }
 
@@ -1607,6 +2171,7 @@ public class GameManager {
     public void eglomiseBrushResponse() {
         if (toolCardLock.get()) {
             playerBroadcaster.broadcastResponseToAll(new PatternCardToolCardResponse(currentRound.getCurrentPlayer(), sendAvailablePositions((getCurrentRound().getCurrentPlayer()))));
+            updateScore(currentRound.getCurrentPlayer());
         }
     }
 
@@ -1616,11 +2181,8 @@ public class GameManager {
      * the second is the one where the player wants to put the die.
      * The player has to move two dice to complete the move.
      * <p>
-     * In the first call the method moves the dice and saves the changes and the previous state
-     * in the ToolCard attributes, because in the case the move ends with no success the previous
-     * state would be restored.
-     * In the second call the player has made both the moves, it copie the modified in the original
-     * pattern card and moves the second die
+     * Both moves are made directly in the pattern card and recorded in the undo log of the tool card:
+     * if the turn ends before the second move, the first one is rolled back.
      * In case of doubleMove, the player makes the two moves in one swiping two dice positions.
      *
      * @param dicePosition position of the die to move
@@ -1633,47 +2195,27 @@ public class GameManager {
 
             assert lathekin != null;
 
-            //if newGrid is null means that is the first move, so it has to save the temporary changes in the tool card
-            if (lathekin.getNewGrid() == null) {
-                //create a backup of the pattern card in Lathekin
-                lathekin.setOldGrid(copyPatternCard());
-            } else {
-                //if newGrid is not null means that is the second move and the move is completed, it can copy the changes
-                getCurrentRound().getCurrentPlayer().getPatternCard().setGrid(lathekin.getNewGrid());
-            }
-
             List<List<Box>> grid = currentRound.getCurrentPlayer().getPatternCard().getGrid();
 
             if (grid.get(dicePosition.getFirst()).get(dicePosition.getSecond()).getDice() != null) {
 
                 if (!doubleMove) {
                     //single move case
-                    grid.get(position.getFirst()).get(position.getSecond()).insertDice(grid.get(dicePosition.getFirst()).get(dicePosition.getSecond()).getDice());
-                    grid.get(dicePosition.getFirst()).get(dicePosition.getSecond()).removeDice();
+                    moveDice(grid, dicePosition, position);
                 } else {
                     //Double move case
-                    Dice dice = grid.get(position.getFirst()).get(position.getSecond()).getDice();
-                    grid.get(position.getFirst()).get(position.getSecond()).removeDice();
-                    grid.get(position.getFirst()).get(position.getSecond()).insertDice(grid.get(dicePosition.getFirst()).get(dicePosition.getSecond()).getDice());
-                    grid.get(dicePosition.getFirst()).get(dicePosition.getSecond()).removeDice();
-                    grid.get(dicePosition.getFirst()).get(dicePosition.getSecond()).insertDice(dice);
+                    swapDice(grid, dicePosition, position);
                     this.doubleMove.set(true);
                 }
             } else
                 System.out.println("Lathekin: Error invalid selected dice");
 
-            System.out.println("Waking up toolcard thread");
-
-            if (lathekin.getNewGrid() == null) {
+            if (!lathekin.isFirstMoveDone()) {
+                lathekin.setFirstMoveDone(true);
                 try {
-                    //Modified data is saved on newGrid in Lathekin and in the player is restored the old one
                     PatternCard patternCard = getCurrentRound().getCurrentPlayer().getPatternCard();
                     getCurrentRound().getCurrentPlayer().getUserObserver().sendResponse(new LathekinResponse(getCurrentRound().getCurrentPlayer().getPlayerUsername(), patternCard, patternCard.computeAvailablePositionsLathekin(), true));
 
-
-                    lathekin.setNewGrid(getCurrentRound().getCurrentPlayer().getPatternCard().getGrid());
-                    getCurrentRound().getCurrentPlayer().getPatternCard().setGrid(lathekin.getOldGrid());
-
                     System.out.println("sending data for the second lathekin move");
                 } catch (RemoteException e) {
                     e.printStackTrace();
@@ -1683,7 +2225,7 @@ public class GameManager {
             addMoveToHistoryAndNotify(new MoveStatus(currentRound.getCurrentPlayer().getPlayerUsername(), "placed the dice from " + dicePosition.getFirst() + " - " + dicePosition.getSecond() + " to " + position.getFirst() + " - " + position.getSecond()));
 
 
-            wakeUpToolCardThread();
+            resumeToolCard();
         }
     }
 
@@ -1695,32 +2237,43 @@ public class GameManager {
         if (toolCardLock.get()) {
             System.out.println("sending Lathekin response");
             playerBroadcaster.broadcastResponseToAll(new PatternCardToolCardResponse(currentRound.getCurrentPlayer(), sendAvailablePositions((getCurrentRound().getCurrentPlayer()))));
+            updateScore(currentRound.getCurrentPlayer());
         }
     }
 
     /**
-     * Method used to create a copy of a PatternCard grid
-     * it is used to save the progress of the tool card move
-     * until the end of the move, only if it ends with success,
-     * then it will be copied to the original pattern card
+     * Moves a dice of the pattern card in an empty Box, recording both Boxes in the undo log of the tool card
      *
-     * @return the copy of the original pattern card grid
+     * @param grid         grid of the pattern card
+     * @param dicePosition position of the dice to move
+     * @param position     position where the dice is moved
      */
-    private synchronized List<List<Box>> copyPatternCard() {
-        List<List<Box>> gridPattern = new ArrayList<>();
-        for (int i = 0; i < currentRound.getCurrentPlayer().getPatternCard().getGrid().size(); i++) {
-            gridPattern.add(new ArrayList<>());
-            for (int j = 0; j < currentRound.getCurrentPlayer().getPatternCard().getGrid().get(i).size(); j++) {
-                Box box = currentRound.getCurrentPlayer().getPatternCard().getGrid().get(i).get(j);
-                if (box.isValueSet()) {
-                    gridPattern.get(i).add(new Box(box.getValue()));
-                } else gridPattern.get(i).add(new Box(box.getColor()));
+    private void moveDice(List<List<Box>> grid, Tuple dicePosition, Tuple position) {
+        Box from = grid.get(dicePosition.getFirst()).get(dicePosition.getSecond());
+        Box to = grid.get(position.getFirst()).get(position.getSecond());
+        if (from == to)
+            return;
+        toolCardLog.recordBox(to);
+        toolCardLog.recordBox(from);
+        to.insertDice(from.getDice());
+        from.removeDice();
+    }
 
-                if (box.getDice() != null)
-                    gridPattern.get(i).get(j).insertDice(box.getDice());
-            }
-        }
-        return gridPattern;
+    /**
+     * Switches the dice of two Boxes of the pattern card, recording both Boxes in the undo log of the tool card
+     *
+     * @param grid         grid of the pattern card
+     * @param dicePosition position of the first dice
+     * @param position     position of the second dice
+     */
+    private void swapDice(List<List<Box>> grid, Tuple dicePosition, Tuple position) {
+        Box from = grid.get(dicePosition.getFirst()).get(dicePosition.getSecond());
+        Box to = grid.get(position.getFirst()).get(position.getSecond());
+        toolCardLog.recordBox(to);
+        toolCardLog.recordBox(from);
+        Dice dice = to.getDice();
+        to.insertDice(from.getDice());
+        from.insertDice(dice);
     }
 
     /**
@@ -1737,6 +2290,7 @@ public class GameManager {
         if (toolCardLock.get()) {
             placeDiceToolCard(selectedDice, rowIndex, columnIndex);
             addMoveToHistoryAndNotify(new MoveStatus(currentRound.getCurrentPlayer().getPlayerUsername(), "placed the dice in " + rowIndex + " - " + columnIndex));
+            resumeToolCard();
 
         }
     }
@@ -1747,6 +2301,7 @@ public class GameManager {
      */
     public void runningPliersResponse() {
         playerBroadcaster.broadcastResponseToAll(new PatternCardToolCardResponse(currentRound.getCurrentPlayer(), sendAvailablePositions(getCurrentRound().getCurrentPlayer())));
+        updateScore(currentRound.getCurrentPlayer());
         playerBroadcaster.broadcastResponseToAll(new DraftedDiceToolCardResponse(getDraftedDice(), true));
     }
 
@@ -1772,8 +2327,8 @@ public class GameManager {
         if (toolCardLock.get()) {
             if (phase == -1) {
                 setDoubleMove(true);
-                wakeUpToolCardThread();
                 tapWheelResponse(null, 3);
+                resumeToolCard();
             }
             if (phase == 0) {
                 System.out.println("Calculating the mask");
@@ -1787,10 +2342,8 @@ public class GameManager {
             if (phase == 1) {
                 List<List<Box>> patternCard = currentRound.getCurrentPlayer().getPatternCard().getGrid();
                 if (!doubleMove) {
-                    patternCard.get(position.getFirst()).get(position.getSecond()).insertDice(patternCard.get(dicePosition.getFirst()).get(dicePosition.getSecond()).getDice());
-
                     Dice dice1 = patternCard.get(dicePosition.getFirst()).get(dicePosition.getSecond()).getDice();
-                    patternCard.get(dicePosition.getFirst()).get(dicePosition.getSecond()).removeDice();
+                    moveDice(patternCard, dicePosition, position);
 
                     Map<String, Boolean[][]> hashMapGrid = currentRound.getCurrentPlayer().getPatternCard().computeAvailablePositionsTapWheel(dice1, true);
                     hashMapGrid.remove(dice1.toString() + position.getFirst() + position.getSecond());
@@ -1800,35 +2353,29 @@ public class GameManager {
                     addMoveToHistoryAndNotify(new MoveStatus(currentRound.getCurrentPlayer().getPlayerUsername(), "placed the first dice from " + dicePosition.getFirst() + " - " + dicePosition.getSecond() + " to " + position.getFirst() + " - " + position.getSecond()));
 
 
-                    wakeUpToolCardThread();
-
                     tapWheelResponse(hashMapGrid, 2);
+                    resumeToolCard();
                 } else {
                     System.out.println("doubleMove");
-                    Dice dice = patternCard.get(position.getFirst()).get(position.getSecond()).getDice();
-                    patternCard.get(position.getFirst()).get(position.getSecond()).removeDice();
-                    patternCard.get(position.getFirst()).get(position.getSecond()).insertDice(patternCard.get(dicePosition.getFirst()).get(dicePosition.getSecond()).getDice());
-                    patternCard.get(dicePosition.getFirst()).get(dicePosition.getSecond()).removeDice();
-                    patternCard.get(dicePosition.getFirst()).get(dicePosition.getSecond()).insertDice(dice);
+                    swapDice(patternCard, dicePosition, position);
                     setDoubleMove(true);
 
                     addMoveToHistoryAndNotify(new MoveStatus(currentRound.getCurrentPlayer().getPlayerUsername(), "placed the dice in " + dicePosition.getFirst() + " - " + dicePosition.getSecond() + " and " + position.getFirst() + " - " + position.getSecond()));
 
 
-                    wakeUpToolCardThread();
                     tapWheelResponse(null, 3);
+                    resumeToolCard();
                 }
             }
             if (phase == 2) {
 
                 List<List<Box>> patternCard = currentRound.getCurrentPlayer().getPatternCard().getGrid();
-                patternCard.get(position.getFirst()).get(position.getSecond()).insertDice(patternCard.get(dicePosition.getFirst()).get(dicePosition.getSecond()).getDice());
-                patternCard.get(dicePosition.getFirst()).get(dicePosition.getSecond()).removeDice();
+                moveDice(patternCard, dicePosition, position);
 
                 addMoveToHistoryAndNotify(new MoveStatus(currentRound.getCurrentPlayer().getPlayerUsername(), "placed the dice from " + dicePosition.getFirst() + " - " + dicePosition.getSecond() + " to " + position.getFirst() + " - " + position.getSecond()));
 
-                wakeUpToolCardThread();
                 tapWheelResponse(null, 3);
+                resumeToolCard();
             }
         }
     }
@@ -1872,6 +2419,7 @@ public class GameManager {
 
             if (phase == 3) {
                 playerBroadcaster.broadcastResponseToAll(new PatternCardToolCardResponse(currentRound.getCurrentPlayer(), sendAvailablePositions((getCurrentRound().getCurrentPlayer()))));
+                updateScore(currentRound.getCurrentPlayer());
                 currentRound.toolCardMoveDone();
             }
         }
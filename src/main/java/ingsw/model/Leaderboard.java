@@ -0,0 +1,299 @@
+package ingsw.model;
+
+import ingsw.utilities.TripleString;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+
+/**
+ * Ranking of the users by number of victories, kept up to date one user at a time instead of being sorted
+ * again every time it is sent to the lobby.
+ * <p>
+ * The users with the same number of victories share a bucket and the same position: the buckets are the nodes
+ * of a treap ordered from the most victories to the least, and every node counts the buckets and the users of
+ * its subtree. The position of a user is then found in O(log n) by counting the buckets with more victories,
+ * and a page of the ranking skips the subtrees that come before it. Inside a bucket the users keep the order
+ * in which they entered the ranking.
+ */
+public class Leaderboard {
+    private final Map<String, Entry> entries;
+    private final Random priorities;
+    private Bucket root;
+    private long nextSequence;
+
+    /**
+     * Position and victories of a user in the ranking
+     */
+    private static final class Entry {
+        private final long sequence;
+        private int noOfWins;
+
+        private Entry(long sequence, int noOfWins) {
+            this.sequence = sequence;
+            this.noOfWins = noOfWins;
+        }
+    }
+
+    /**
+     * Users with the same number of victories, node of the treap
+     */
+    private static final class Bucket {
+        private final int noOfWins;
+        private final int priority;
+        private final TreeMap<Long, String> users;
+        private Bucket left;
+        private Bucket right;
+        private int noOfBuckets;
+        private int noOfUsers;
+
+        private Bucket(int noOfWins, int priority) {
+            this.noOfWins = noOfWins;
+            this.priority = priority;
+            this.users = new TreeMap<>();
+        }
+    }
+
+    /**
+     * Creates an empty ranking
+     */
+    public Leaderboard() {
+        entries = new HashMap<>();
+        priorities = new Random();
+    }
+
+    /**
+     * Adds a user to the ranking or moves it after its victories have changed
+     *
+     * @param username Username of the user
+     * @param noOfWins Number of victories of the user
+     */
+    public synchronized void update(String username, int noOfWins) {
+        Entry entry = entries.get(username);
+        if (entry == null) {
+            entry = new Entry(nextSequence++, noOfWins);
+            entries.put(username, entry);
+        } else if (entry.noOfWins == noOfWins) {
+            return;
+        } else {
+            removeFromBucket(entry.noOfWins, entry.sequence);
+            entry.noOfWins = noOfWins;
+        }
+        addToBucket(noOfWins, entry.sequence, username);
+    }
+
+    /**
+     * Adds a user to the ranking if it is not there yet
+     *
+     * @param user User to add
+     */
+    public synchronized void add(User user) {
+        if (!entries.containsKey(user.getUsername()))
+            update(user.getUsername(), user.getNoOfWins());
+    }
+
+    /**
+     * @param username Username of a user
+     * @return true if the user is in the ranking
+     */
+    public synchronized boolean contains(String username) {
+        return entries.containsKey(username);
+    }
+
+    /**
+     * @return Number of users in the ranking
+     */
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    /**
+     * Position of a user: the users with the same number of victories have the same position and the next
+     * number of victories takes the next position
+     *
+     * @param username Username of the user
+     * @return Position of the user starting from 1, 0 if the user is not in the ranking
+     */
+    public synchronized int getPosition(String username) {
+        Entry entry = entries.get(username);
+        if (entry == null)
+            return 0;
+
+        int bucketsBefore = 0;
+        Bucket node = root;
+        while (node != null) {
+            if (node.noOfWins > entry.noOfWins) {
+                bucketsBefore += noOfBuckets(node.left) + 1;
+                node = node.right;
+            } else if (node.noOfWins < entry.noOfWins) {
+                node = node.left;
+            } else {
+                bucketsBefore += noOfBuckets(node.left);
+                break;
+            }
+        }
+        return bucketsBefore + 1;
+    }
+
+    /**
+     * @param username Username of a user
+     * @return Position, username and victories of the user, null if the user is not in the ranking
+     */
+    public synchronized TripleString getRanking(String username) {
+        Entry entry = entries.get(username);
+        if (entry == null)
+            return null;
+        return new TripleString(String.valueOf(getPosition(username)), username, String.valueOf(entry.noOfWins));
+    }
+
+    /**
+     * Creates a page of the ranking
+     *
+     * @param offset Number of users to skip from the top of the ranking
+     * @param limit  Maximum number of users of the page
+     * @return Position, username and victories of the users of the page, from the first one
+     */
+    public synchronized List<TripleString> getPage(int offset, int limit) {
+        List<TripleString> page = new ArrayList<>();
+        if (offset >= 0 && limit > 0)
+            collect(root, 0, offset, limit, page);
+        return page;
+    }
+
+    /**
+     * Adds to the page the users of a subtree that fall in it
+     *
+     * @param node          Root of the subtree
+     * @param bucketsBefore Number of buckets that come before the subtree
+     * @param skip          Number of users of the subtree to skip
+     * @param limit         Size of the page
+     * @param page          Page being created
+     * @return Number of users still to skip after the subtree
+     */
+    private int collect(Bucket node, int bucketsBefore, int skip, int limit, List<TripleString> page) {
+        if (node == null || page.size() >= limit)
+            return skip;
+        if (skip >= node.noOfUsers)
+            return skip - node.noOfUsers;
+
+        int remaining = collect(node.left, bucketsBefore, skip, limit, page);
+        if (page.size() >= limit)
+            return 0;
+
+        if (remaining >= node.users.size()) {
+            remaining -= node.users.size();
+        } else {
+            String position = String.valueOf(bucketsBefore + noOfBuckets(node.left) + 1);
+            String noOfWins = String.valueOf(node.noOfWins);
+            for (String username : node.users.values()) {
+                if (remaining > 0) {
+                    remaining--;
+                } else if (page.size() < limit) {
+                    page.add(new TripleString(position, username, noOfWins));
+                } else {
+                    break;
+                }
+            }
+        }
+        return collect(node.right, bucketsBefore + noOfBuckets(node.left) + 1, remaining, limit, page);
+    }
+
+    private void addToBucket(int noOfWins, long sequence, String username) {
+        Bucket bucket = find(noOfWins);
+        if (bucket == null) {
+            bucket = new Bucket(noOfWins, priorities.nextInt());
+            bucket.users.put(sequence, username);
+            Bucket[] split = split(root, noOfWins);
+            root = merge(merge(split[0], resize(bucket)), split[1]);
+        } else {
+            bucket.users.put(sequence, username);
+            updatePath(noOfWins);
+        }
+    }
+
+    private void removeFromBucket(int noOfWins, long sequence) {
+        Bucket bucket = find(noOfWins);
+        bucket.users.remove(sequence);
+        if (bucket.users.isEmpty()) {
+            Bucket[] higher = split(root, noOfWins);
+            Bucket[] lower = split(higher[1], noOfWins - 1);
+            root = merge(higher[0], lower[1]);
+        } else {
+            updatePath(noOfWins);
+        }
+    }
+
+    private Bucket find(int noOfWins) {
+        Bucket node = root;
+        while (node != null && node.noOfWins != noOfWins) {
+            node = node.noOfWins > noOfWins ? node.right : node.left;
+        }
+        return node;
+    }
+
+    /**
+     * Updates the counters of the nodes from the bucket with the given victories up to the root
+     */
+    private void updatePath(int noOfWins) {
+        updatePath(root, noOfWins);
+    }
+
+    private void updatePath(Bucket node, int noOfWins) {
+        if (node == null)
+            return;
+        if (node.noOfWins > noOfWins)
+            updatePath(node.right, noOfWins);
+        else if (node.noOfWins < noOfWins)
+            updatePath(node.left, noOfWins);
+        resize(node);
+    }
+
+    /**
+     * Splits a subtree in the buckets with more victories than <code>noOfWins</code> and the others
+     */
+    private static Bucket[] split(Bucket node, int noOfWins) {
+        if (node == null)
+            return new Bucket[]{null, null};
+        if (node.noOfWins > noOfWins) {
+            Bucket[] split = split(node.right, noOfWins);
+            node.right = split[0];
+            return new Bucket[]{resize(node), split[1]};
+        }
+        Bucket[] split = split(node.left, noOfWins);
+        node.left = split[1];
+        return new Bucket[]{split[0], resize(node)};
+    }
+
+    /**
+     * Merges two subtrees, every bucket of <code>higher</code> having more victories than those of <code>lower</code>
+     */
+    private static Bucket merge(Bucket higher, Bucket lower) {
+        if (higher == null)
+            return lower;
+        if (lower == null)
+            return higher;
+        if (higher.priority > lower.priority) {
+            higher.right = merge(higher.right, lower);
+            return resize(higher);
+        }
+        lower.left = merge(higher, lower.left);
+        return resize(lower);
+    }
+
+    private static Bucket resize(Bucket node) {
+        node.noOfBuckets = noOfBuckets(node.left) + noOfBuckets(node.right) + 1;
+        node.noOfUsers = noOfUsers(node.left) + noOfUsers(node.right) + node.users.size();
+        return node;
+    }
+
+    private static int noOfBuckets(Bucket node) {
+        return node == null ? 0 : node.noOfBuckets;
+    }
+
+    private static int noOfUsers(Bucket node) {
+        return node == null ? 0 : node.noOfUsers;
+    }
+}
@@ -0,0 +1,127 @@
+package ingsw.model;
+
+import ingsw.utilities.MatchSummary;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Catalog of the finished matches, kept in memory and updated when a match ends instead of listing the
+ * histories folder on every request. The summaries are kept ordered by end time, in a list of every match and
+ * in a list for every player, so a page of the matches of a player or of a period is found with two binary
+ * searches and then read straight from the list, in O(log n + page).
+ */
+public class MatchCatalog {
+    private final List<MatchSummary> matches;
+    private final Map<String, List<MatchSummary>> matchesByPlayer;
+    private final Map<String, MatchSummary> matchesById;
+
+    /**
+     * Creates an empty catalog
+     */
+    public MatchCatalog() {
+        matches = new ArrayList<>();
+        matchesByPlayer = new HashMap<>();
+        matchesById = new HashMap<>();
+    }
+
+    /**
+     * Adds a finished match to the catalog. A match already in the catalog is not added again.
+     *
+     * @param matchSummary Summary of the match
+     */
+    public synchronized void add(MatchSummary matchSummary) {
+        if (matchesById.putIfAbsent(matchSummary.getMatchId(), matchSummary) != null)
+            return;
+
+        insert(matches, matchSummary);
+        for (String player : matchSummary.getPlayers()) {
+            insert(matchesByPlayer.computeIfAbsent(player, key -> new ArrayList<>()), matchSummary);
+        }
+    }
+
+    /**
+     * @param matchId Match id
+     * @return The summary of the match, null if it is not in the catalog
+     */
+    public synchronized MatchSummary get(String matchId) {
+        return matchesById.get(matchId);
+    }
+
+    /**
+     * Creates a page of the finished matches, from the last one that ended
+     *
+     * @param player Username of a player of the matches, null for every match
+     * @param from   Earliest end time of the matches, 0 for no bound
+     * @param to     Latest end time of the matches, 0 for no bound
+     * @param offset Number of matches to skip
+     * @param limit  Maximum number of matches of the page
+     * @return The summaries of the matches of the page
+     */
+    public synchronized List<MatchSummary> getPage(String player, long from, long to, int offset, int limit) {
+        List<MatchSummary> list = select(player);
+        int first = from > 0 ? firstEndedAfter(list, from - 1) : 0;
+        int last = to > 0 ? firstEndedAfter(list, to) : list.size();
+
+        List<MatchSummary> page = new ArrayList<>();
+        for (int i = last - 1 - Math.max(offset, 0); i >= first && page.size() < limit; i--) {
+            page.add(list.get(i));
+        }
+        return page;
+    }
+
+    /**
+     * Counts the finished matches that pass the filters of {@link #getPage(String, long, long, int, int)}
+     *
+     * @param player Username of a player of the matches, null for every match
+     * @param from   Earliest end time of the matches, 0 for no bound
+     * @param to     Latest end time of the matches, 0 for no bound
+     * @return Number of matches
+     */
+    public synchronized int count(String player, long from, long to) {
+        List<MatchSummary> list = select(player);
+        int first = from > 0 ? firstEndedAfter(list, from - 1) : 0;
+        int last = to > 0 ? firstEndedAfter(list, to) : list.size();
+        return Math.max(last - first, 0);
+    }
+
+    /**
+     * @return Number of matches in the catalog
+     */
+    public synchronized int size() {
+        return matches.size();
+    }
+
+    private List<MatchSummary> select(String player) {
+        if (player == null)
+            return matches;
+        List<MatchSummary> playerMatches = matchesByPlayer.get(player);
+        return playerMatches == null ? new ArrayList<>() : playerMatches;
+    }
+
+    /**
+     * Inserts a summary keeping the list ordered by end time: the matches end one after the other, so it is
+     * almost always added at the end of the list
+     */
+    private static void insert(List<MatchSummary> list, MatchSummary matchSummary) {
+        list.add(firstEndedAfter(list, matchSummary.getEndTime()), matchSummary);
+    }
+
+    /**
+     * @return Index of the first match of the list that ended after <code>time</code>
+     */
+    private static int firstEndedAfter(List<MatchSummary> list, long time) {
+        int low = 0;
+        int high = list.size();
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (list.get(middle).getEndTime() <= time)
+                low = middle + 1;
+            else
+                high = middle;
+        }
+        return low;
+    }
+}
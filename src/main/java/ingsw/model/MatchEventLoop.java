@@ -0,0 +1,98 @@
+package ingsw.model;
+
+import ingsw.utilities.ServerThreads;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Event queue of a single match. The events of a match run one at a time in the order in which they
+ * have been posted, but the match doesn't own a thread: when there are events to process the queue is
+ * drained by a pool shared by every match, so a match waiting for a move costs no thread at all.
+ */
+public class MatchEventLoop implements Executor {
+    private static final int MAX_EVENTS_PER_DRAIN = 64;
+    private static final ExecutorService sharedPool = createSharedPool();
+
+    private final Executor executor;
+    private final Queue<Runnable> events;
+    private final AtomicBoolean scheduled;
+
+    /**
+     * Creates the event loop of a match on the pool shared by every match
+     */
+    public MatchEventLoop() {
+        this(sharedPool);
+    }
+
+    /**
+     * Creates the event loop of a match on the given executor
+     *
+     * @param executor Executor that drains the events
+     */
+    public MatchEventLoop(Executor executor) {
+        this.executor = executor;
+        this.events = new ConcurrentLinkedQueue<>();
+        this.scheduled = new AtomicBoolean(false);
+    }
+
+    /**
+     * Creates the pool shared by every match, a daemon thread for every available processor
+     *
+     * @return The shared pool
+     */
+    private static ExecutorService createSharedPool() {
+        return Executors.newFixedThreadPool(Math.max(2, Runtime.getRuntime().availableProcessors()),
+                                            ServerThreads.newPoolThreadFactory("match-event-loop"));
+    }
+
+    /**
+     * Adds an event to the queue of the match
+     *
+     * @param event Event to process
+     */
+    @Override
+    public void execute(Runnable event) {
+        events.add(event);
+        schedule();
+    }
+
+    /**
+     * @return Number of events waiting to be processed
+     */
+    public int getPendingEvents() {
+        return events.size();
+    }
+
+    private void schedule() {
+        if (scheduled.compareAndSet(false, true))
+            executor.execute(this::drain);
+    }
+
+    /**
+     * Processes a batch of events, then gives the thread back to the pool so that a busy match doesn't
+     * starve the other ones
+     */
+    private void drain() {
+        try {
+            Runnable event;
+            int processed = 0;
+            while (processed < MAX_EVENTS_PER_DRAIN && (event = events.poll()) != null) {
+                try {
+                    event.run();
+                } catch (RuntimeException e) {
+                    e.printStackTrace();
+                }
+                processed++;
+            }
+        } finally {
+            scheduled.set(false);
+            if (!events.isEmpty())
+                schedule();
+        }
+    }
+}
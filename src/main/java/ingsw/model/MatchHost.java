@@ -0,0 +1,31 @@
+package ingsw.model;
+
+/**
+ * What a match needs from whoever hosts it: the name of the match, the journal in which its history is written
+ * and a way to leave the host when the match ends. The Controller hosts the matches of the lobby, the
+ * MatchSimulator hosts matches without any lobby or file.
+ */
+public interface MatchHost {
+
+    /**
+     * @return Name of the match
+     */
+    String getMatchName();
+
+    /**
+     * @return Journal of the histories, null if the history of the match is not saved
+     */
+    MatchJournal getMatchJournal();
+
+    /**
+     * Called when the end of the match has changed the victories or the defeats of a user
+     *
+     * @param user User whose statistics have changed
+     */
+    void updateRanking(User user);
+
+    /**
+     * Called when the match has ended
+     */
+    void removeMatch();
+}
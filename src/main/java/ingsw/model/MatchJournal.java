@@ -0,0 +1,528 @@
+package ingsw.model;
+
+import ingsw.utilities.MatchSummary;
+import ingsw.utilities.MoveStatus;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only binary journal of the matches histories. Every move is appended as soon as it is made,
+ * so the history of a match survives a crash of the server in the middle of the match.
+ * A record is <code>[length][crc32][type, match id, data]</code> and it is written with a single write;
+ * when the journal is opened it is scanned once to rebuild the index from the match id to the offsets
+ * of its records, and a torn record at the end of the file (crash while writing) is cut away.
+ * A history is then read a page at a time, jumping straight to the records of the match.
+ * Next to the moves the journal keeps the state of the board, a keyframe every few moves and the changes made
+ * by the moves in between, read by the {@link ingsw.model.replay.ReplayEngine}.
+ * The finished matches are summarized in a {@link MatchCatalog}, filled while the journal is scanned
+ * and updated when a match ends.
+ */
+public class MatchJournal implements Closeable {
+    public static final String FSYNC_POLICY_PROPERTY = "sagrada.journal.fsync";
+
+    private static final byte MATCH_STARTED = 1;
+    private static final byte MOVE = 2;
+    private static final byte MATCH_ENDED = 3;
+    private static final byte MATCH_SEED = 4;
+    private static final byte KEYFRAME = 5;
+    private static final byte BOARD_DELTA = 6;
+    private static final int HEADER_BYTES = 8;
+    private static final int MAX_RECORD_BYTES = 1 << 20;
+
+    /**
+     * When the journal forces the written records on the disk. The records are always handed to the
+     * operating system at once, so they survive a crash of the server even with NEVER.
+     */
+    public enum FsyncPolicy {
+        NEVER,
+        MATCH_END,
+        EVERY_RECORD
+    }
+
+    private final FileChannel channel;
+    private final FsyncPolicy fsyncPolicy;
+    private final Map<String, MatchIndex> index;
+    private final MatchCatalog catalog;
+    private long end;
+
+    /**
+     * Records of a match
+     */
+    private static final class MatchIndex {
+        private final List<String> players;
+        private final List<Long> moveOffsets;
+        private final List<Integer> keyframeMoves;
+        private final List<Long> boardOffsets;
+        private Long seed;
+        private long endTime;
+        private String winner;
+        private boolean ended;
+        private boolean live;
+
+        private MatchIndex(List<String> players) {
+            this.players = players;
+            this.moveOffsets = new ArrayList<>();
+            this.keyframeMoves = new ArrayList<>();
+            this.boardOffsets = new ArrayList<>();
+        }
+
+        private void indexBoardState(int moveIndex, boolean keyframe, long offset) {
+            while (boardOffsets.size() <= moveIndex)
+                boardOffsets.add(-1L);
+            boardOffsets.set(moveIndex, offset);
+            if (keyframe && (keyframeMoves.isEmpty() || keyframeMoves.get(keyframeMoves.size() - 1) < moveIndex))
+                keyframeMoves.add(moveIndex);
+        }
+    }
+
+    /**
+     * Opens the journal, creating it if it doesn't exist, and rebuilds the index
+     *
+     * @param file        Journal file
+     * @param fsyncPolicy When the records are forced on the disk
+     * @throws IOException if the journal can't be opened
+     */
+    public MatchJournal(File file, FsyncPolicy fsyncPolicy) throws IOException {
+        this.channel = FileChannel.open(file.toPath(), StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        this.fsyncPolicy = fsyncPolicy;
+        this.index = new LinkedHashMap<>();
+        this.catalog = new MatchCatalog();
+        recover();
+    }
+
+    /**
+     * @return The fsync policy set with the <code>sagrada.journal.fsync</code> property, MATCH_END by default
+     */
+    public static FsyncPolicy fsyncPolicyFromProperty() {
+        try {
+            return FsyncPolicy.valueOf(System.getProperty(FSYNC_POLICY_PROPERTY, FsyncPolicy.MATCH_END.name()).toUpperCase());
+        } catch (IllegalArgumentException e) {
+            return FsyncPolicy.MATCH_END;
+        }
+    }
+
+    /**
+     * Scans the journal, indexing every complete record and cutting away the torn tail
+     */
+    private void recover() throws IOException {
+        long size = channel.size();
+        long position = 0;
+        while (position < size) {
+            DataInputStream record = readRecord(position, size);
+            if (record == null)
+                break;
+            indexRecord(record, position);
+            position += HEADER_BYTES + recordLength(position);
+        }
+
+        if (position < size) {
+            System.err.println("MatchJournal: cutting " + (size - position) + " bytes of a torn record");
+            channel.truncate(position);
+        }
+        end = position;
+
+        for (Map.Entry<String, MatchIndex> entry : index.entrySet())
+            catalog.add(summarize(entry.getKey(), entry.getValue()));
+    }
+
+    private void indexRecord(DataInputStream record, long position) throws IOException {
+        byte type = record.readByte();
+        String matchId = record.readUTF();
+        if (type == MATCH_STARTED) {
+            int noOfPlayers = record.readInt();
+            List<String> players = new ArrayList<>(noOfPlayers);
+            for (int i = 0; i < noOfPlayers; i++)
+                players.add(record.readUTF());
+            index.put(matchId, new MatchIndex(players));
+        } else {
+            MatchIndex matchIndex = index.get(matchId);
+            if (matchIndex == null)
+                return;
+            if (type == MOVE)
+                matchIndex.moveOffsets.add(position);
+            else if (type == MATCH_ENDED) {
+                matchIndex.ended = true;
+                // The records written before the catalog end with the match id
+                if (record.available() > 0) {
+                    matchIndex.endTime = record.readLong();
+                    String winner = record.readUTF();
+                    matchIndex.winner = winner.isEmpty() ? null : winner;
+                }
+            }
+            else if (type == MATCH_SEED)
+                matchIndex.seed = record.readLong();
+            else if (type == KEYFRAME || type == BOARD_DELTA)
+                matchIndex.indexBoardState(record.readInt(), type == KEYFRAME, position);
+        }
+    }
+
+    /**
+     * Adds a match to the journal
+     *
+     * @param matchName Name of the match
+     * @param players   Usernames of the players
+     * @return The id of the match in the journal, unique even if a match with the same name and players already exists
+     * @throws IOException if the record can't be written
+     */
+    public synchronized String startMatch(String matchName, List<String> players) throws IOException {
+        String baseId = matchName + " " + players;
+        String matchId = baseId;
+        for (int i = 2; index.containsKey(matchId); i++)
+            matchId = baseId + " (" + i + ")";
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream record = new DataOutputStream(bytes);
+        record.writeByte(MATCH_STARTED);
+        record.writeUTF(matchId);
+        record.writeInt(players.size());
+        for (String player : players)
+            record.writeUTF(player);
+        append(bytes.toByteArray());
+
+        MatchIndex matchIndex = new MatchIndex(new ArrayList<>(players));
+        matchIndex.live = true;
+        index.put(matchId, matchIndex);
+        return matchId;
+    }
+
+    /**
+     * Records the seed from which the dice and the cards of a match are drawn
+     *
+     * @param matchId Match id returned by startMatch
+     * @param seed    Seed of the match
+     * @throws IOException if the record can't be written
+     */
+    public synchronized void recordSeed(String matchId, long seed) throws IOException {
+        MatchIndex matchIndex = index.get(matchId);
+        if (matchIndex == null || matchIndex.ended)
+            throw new IllegalStateException("Match " + matchId + " is not open in the journal");
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream record = new DataOutputStream(bytes);
+        record.writeByte(MATCH_SEED);
+        record.writeUTF(matchId);
+        record.writeLong(seed);
+        append(bytes.toByteArray());
+        matchIndex.seed = seed;
+    }
+
+    /**
+     * Appends a move to the history of a match
+     *
+     * @param matchId    Match id returned by startMatch
+     * @param moveStatus Move made
+     * @throws IOException if the record can't be written
+     */
+    public synchronized void appendMove(String matchId, MoveStatus moveStatus) throws IOException {
+        MatchIndex matchIndex = index.get(matchId);
+        if (matchIndex == null || matchIndex.ended)
+            throw new IllegalStateException("Match " + matchId + " is not open in the journal");
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream record = new DataOutputStream(bytes);
+        record.writeByte(MOVE);
+        record.writeUTF(matchId);
+        record.writeUTF(String.valueOf(moveStatus.getUsername()));
+        record.writeUTF(String.valueOf(moveStatus.getMove()));
+        matchIndex.moveOffsets.add(append(bytes.toByteArray()));
+    }
+
+    /**
+     * Appends the state of the board after a move: a keyframe with the whole board or the changes made by the move
+     *
+     * @param matchId   Match id returned by startMatch
+     * @param moveIndex Index of the move in the history
+     * @param keyframe  true if the state is a keyframe
+     * @param state     Keyframe or changes, written by the replay engine
+     * @throws IOException if the record can't be written
+     */
+    public synchronized void appendBoardState(String matchId, int moveIndex, boolean keyframe, byte[] state) throws IOException {
+        MatchIndex matchIndex = index.get(matchId);
+        if (matchIndex == null || matchIndex.ended)
+            throw new IllegalStateException("Match " + matchId + " is not open in the journal");
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream record = new DataOutputStream(bytes);
+        record.writeByte(keyframe ? KEYFRAME : BOARD_DELTA);
+        record.writeUTF(matchId);
+        record.writeInt(moveIndex);
+        record.write(state);
+        matchIndex.indexBoardState(moveIndex, keyframe, append(bytes.toByteArray()));
+    }
+
+    /**
+     * Closes the history of a match
+     *
+     * @param matchId Match id returned by startMatch
+     * @throws IOException if the record can't be written
+     */
+    public void endMatch(String matchId) throws IOException {
+        endMatch(matchId, null);
+    }
+
+    /**
+     * Closes the history of a match and adds it to the catalog
+     *
+     * @param matchId Match id returned by startMatch
+     * @param winner  Username of the winner, null if there is none
+     * @throws IOException if the record can't be written
+     */
+    public synchronized void endMatch(String matchId, String winner) throws IOException {
+        MatchIndex matchIndex = index.get(matchId);
+        if (matchIndex == null || matchIndex.ended)
+            return;
+
+        long endTime = System.currentTimeMillis();
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream record = new DataOutputStream(bytes);
+        record.writeByte(MATCH_ENDED);
+        record.writeUTF(matchId);
+        record.writeLong(endTime);
+        record.writeUTF(winner == null ? "" : winner);
+        append(bytes.toByteArray());
+        matchIndex.ended = true;
+        matchIndex.live = false;
+        matchIndex.endTime = endTime;
+        matchIndex.winner = winner;
+        catalog.add(summarize(matchId, matchIndex));
+
+        if (fsyncPolicy == FsyncPolicy.MATCH_END)
+            channel.force(false);
+    }
+
+    /**
+     * Writes a record at the end of the journal
+     *
+     * @param payload Record data
+     * @return Offset of the record
+     */
+    private long append(byte[] payload) throws IOException {
+        CRC32 crc = new CRC32();
+        crc.update(payload, 0, payload.length);
+
+        byte[] frame = new byte[HEADER_BYTES + payload.length];
+        ByteBuffer buffer = ByteBuffer.wrap(frame);
+        buffer.putInt(payload.length);
+        buffer.putInt((int) crc.getValue());
+        buffer.put(payload);
+
+        long offset = end;
+        writeFully(ByteBuffer.wrap(frame), offset);
+        end += frame.length;
+
+        if (fsyncPolicy == FsyncPolicy.EVERY_RECORD)
+            channel.force(false);
+        return offset;
+    }
+
+    private void writeFully(ByteBuffer buffer, long position) throws IOException {
+        long written = 0;
+        while (buffer.hasRemaining())
+            written += channel.write(buffer, position + written);
+    }
+
+    private void readFully(ByteBuffer buffer, long position) throws IOException {
+        long read = 0;
+        while (buffer.hasRemaining()) {
+            int bytes = channel.read(buffer, position + read);
+            if (bytes < 0)
+                throw new EOFException();
+            read += bytes;
+        }
+    }
+
+    private int recordLength(long position) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(4);
+        readFully(header, position);
+        return header.getInt(0);
+    }
+
+    /**
+     * Reads and checks the record at the given offset
+     *
+     * @param position Offset of the record
+     * @param size     Size of the journal
+     * @return The record data, null if the record is torn or corrupted
+     */
+    private DataInputStream readRecord(long position, long size) throws IOException {
+        if (position + HEADER_BYTES > size)
+            return null;
+
+        ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+        readFully(header, position);
+        int length = header.getInt(0);
+        int checksum = header.getInt(4);
+        if (length <= 0 || length > MAX_RECORD_BYTES || position + HEADER_BYTES + length > size)
+            return null;
+
+        byte[] payload = new byte[length];
+        readFully(ByteBuffer.wrap(payload), position + HEADER_BYTES);
+        CRC32 crc = new CRC32();
+        crc.update(payload, 0, payload.length);
+        if ((int) crc.getValue() != checksum)
+            return null;
+
+        return new DataInputStream(new ByteArrayInputStream(payload));
+    }
+
+    private static MatchSummary summarize(String matchId, MatchIndex matchIndex) {
+        return new MatchSummary(matchId, matchIndex.players, matchIndex.endTime, matchIndex.winner,
+                                matchIndex.moveOffsets.size());
+    }
+
+    /**
+     * @return The catalog of the finished matches: the ended ones and the ones interrupted by a crash of the server
+     */
+    public MatchCatalog getCatalog() {
+        return catalog;
+    }
+
+    /**
+     * @param matchId Match id
+     * @return true if the journal has the history of the match
+     */
+    public synchronized boolean contains(String matchId) {
+        return index.containsKey(matchId);
+    }
+
+    /**
+     * @param matchId Match id
+     * @return Number of moves of the match, 0 if the match is not in the journal
+     */
+    public synchronized int getNoOfMoves(String matchId) {
+        MatchIndex matchIndex = index.get(matchId);
+        return matchIndex == null ? 0 : matchIndex.moveOffsets.size();
+    }
+
+    /**
+     * @param matchId Match id
+     * @return Seed of the match, null if the match is not in the journal or its seed was not recorded
+     */
+    public synchronized Long getSeed(String matchId) {
+        MatchIndex matchIndex = index.get(matchId);
+        return matchIndex == null ? null : matchIndex.seed;
+    }
+
+    /**
+     * @param matchId Match id
+     * @return Usernames of the players of the match, an empty list if the match is not in the journal
+     */
+    public synchronized List<String> getPlayers(String matchId) {
+        MatchIndex matchIndex = index.get(matchId);
+        return matchIndex == null ? new ArrayList<>() : new ArrayList<>(matchIndex.players);
+    }
+
+    /**
+     * Returns the matches that are not being played anymore: the ended ones and the ones interrupted
+     * by a crash of the server
+     *
+     * @return Ids of the finished matches, in the order in which they started
+     */
+    public synchronized List<String> getFinishedMatches() {
+        List<String> finishedMatches = new ArrayList<>();
+        for (Map.Entry<String, MatchIndex> entry : index.entrySet()) {
+            if (!entry.getValue().live)
+                finishedMatches.add(entry.getKey());
+        }
+        return finishedMatches;
+    }
+
+    /**
+     * Finds the last keyframe written up to a move, with a binary search
+     *
+     * @param matchId   Match id
+     * @param moveIndex Index of a move in the history
+     * @return Index of the move of the keyframe, -1 if there is none
+     */
+    public synchronized int findKeyframe(String matchId, int moveIndex) {
+        MatchIndex matchIndex = index.get(matchId);
+        if (matchIndex == null)
+            return -1;
+        int position = Collections.binarySearch(matchIndex.keyframeMoves, moveIndex);
+        if (position >= 0)
+            return moveIndex;
+        int insertionPoint = -position - 1;
+        return insertionPoint == 0 ? -1 : matchIndex.keyframeMoves.get(insertionPoint - 1);
+    }
+
+    /**
+     * Reads the state of the board written after a move
+     *
+     * @param matchId   Match id
+     * @param moveIndex Index of the move in the history
+     * @return The keyframe or the changes of the move, null if no state was written after the move
+     * @throws IOException if the journal can't be read
+     */
+    public DataInputStream readBoardState(String matchId, int moveIndex) throws IOException {
+        long offset;
+        long size;
+        synchronized (this) {
+            MatchIndex matchIndex = index.get(matchId);
+            if (matchIndex == null || moveIndex < 0 || moveIndex >= matchIndex.boardOffsets.size())
+                return null;
+            offset = matchIndex.boardOffsets.get(moveIndex);
+            size = end;
+        }
+        if (offset < 0)
+            return null;
+
+        DataInputStream record = readRecord(offset, size);
+        if (record == null)
+            throw new IOException("Corrupted record at offset " + offset);
+        record.readByte();
+        record.readUTF();
+        record.readInt();
+        return record;
+    }
+
+    /**
+     * Reads a page of the history of a match
+     *
+     * @param matchId Match id
+     * @param from    Index of the first move of the page
+     * @param count   Maximum number of moves of the page
+     * @return The moves of the page, fewer than <code>count</code> on the last page
+     * @throws IOException if the journal can't be read
+     */
+    public List<MoveStatus> readMoves(String matchId, int from, int count) throws IOException {
+        List<Long> offsets;
+        long size;
+        synchronized (this) {
+            MatchIndex matchIndex = index.get(matchId);
+            if (matchIndex == null || from >= matchIndex.moveOffsets.size())
+                return new ArrayList<>();
+            offsets = new ArrayList<>(matchIndex.moveOffsets.subList(from, Math.min(from + count, matchIndex.moveOffsets.size())));
+            size = end;
+        }
+
+        List<MoveStatus> moves = new ArrayList<>(offsets.size());
+        for (long offset : offsets) {
+            DataInputStream record = readRecord(offset, size);
+            if (record == null)
+                throw new IOException("Corrupted record at offset " + offset);
+            record.readByte();
+            record.readUTF();
+            moves.add(new MoveStatus(record.readUTF(), record.readUTF()));
+        }
+        return moves;
+    }
+
+    /**
+     * Forces the records on the disk and closes the journal
+     *
+     * @throws IOException if the journal can't be closed
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        if (channel.isOpen()) {
+            if (fsyncPolicy != FsyncPolicy.NEVER)
+                channel.force(false);
+            channel.close();
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package ingsw.model;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.ListIterator;
+import java.util.RandomAccess;
+import java.util.SplittableRandom;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Source of randomness of a match: the dice bag, the dice rolls and the deal of the cards all draw from
+ * the same generator, created from a seed. The seed is written in the history of the match, so a match
+ * played again with the same seed and the same moves deals the same cards and rolls the same dice.
+ */
+public class MatchRandom {
+    private final long seed;
+    private final SplittableRandom random;
+
+    /**
+     * Creates the generator of a match
+     *
+     * @param seed Seed of the match
+     */
+    public MatchRandom(long seed) {
+        this.seed = seed;
+        this.random = new SplittableRandom(seed);
+    }
+
+    /**
+     * @return A new seed for a match
+     */
+    public static long newSeed() {
+        return ThreadLocalRandom.current().nextLong();
+    }
+
+    /**
+     * @return The seed of the match
+     */
+    public long getSeed() {
+        return seed;
+    }
+
+    /**
+     * @param bound Upper bound, excluded
+     * @return A random number between 0 and <code>bound</code>
+     */
+    public synchronized int nextInt(int bound) {
+        return random.nextInt(bound);
+    }
+
+    /**
+     * @return A random face up value of a dice, between 1 and 6
+     */
+    public int rollDice() {
+        return nextInt(6) + 1;
+    }
+
+    /**
+     * Shuffles a list in place
+     *
+     * @param list List to shuffle
+     * @param <T>  Type of the elements
+     */
+    public synchronized <T> void shuffle(List<T> list) {
+        if (list instanceof RandomAccess) {
+            for (int i = list.size() - 1; i > 0; i--) {
+                int j = random.nextInt(i + 1);
+                list.set(j, list.set(i, list.get(j)));
+            }
+        } else {
+            List<T> shuffled = new ArrayList<>(list);
+            shuffle(shuffled);
+            ListIterator<T> iterator = list.listIterator();
+            for (T element : shuffled) {
+                iterator.next();
+                iterator.set(element);
+            }
+        }
+    }
+}
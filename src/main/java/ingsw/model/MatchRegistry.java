@@ -0,0 +1,188 @@
+package ingsw.model;
+
+import ingsw.controller.Controller;
+import ingsw.utilities.ServerThreads;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Registry of the open matches, split in independent shards.
+ * Every shard owns the Controllers of its matches in a ConcurrentHashMap and a single thread executor
+ * for their slow lifecycle work (RMI binding, lobby broadcasts), so the lobby requests never wait on a
+ * lock shared by every match and a slow match only delays the matches of its own shard.
+ * It is also a Map from the match name to its Controller, so lookups work as on a plain Map.
+ */
+public class MatchRegistry extends AbstractMap<String, Controller> {
+    private final Shard[] shards;
+
+    /**
+     * Creates a registry with a shard for every available processor
+     */
+    public MatchRegistry() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Creates a registry with the given number of shards, rounded up to a power of two
+     *
+     * @param noOfShards Number of shards
+     */
+    public MatchRegistry(int noOfShards) {
+        int size = Integer.highestOneBit(Math.max(1, noOfShards));
+        if (size < noOfShards)
+            size <<= 1;
+        shards = new Shard[size];
+        for (int i = 0; i < size; i++)
+            shards[i] = new Shard(i);
+    }
+
+    /**
+     * Matches of a shard and the executor that runs their tasks
+     */
+    private static final class Shard {
+        private final Map<String, Controller> matches = new ConcurrentHashMap<>();
+        private final ExecutorService executor;
+
+        private Shard(int index) {
+            executor = Executors.newSingleThreadExecutor(ServerThreads.newPoolThreadFactory("match-shard-" + index));
+        }
+    }
+
+    /**
+     * @param matchName Match name
+     * @return The shard that owns the match
+     */
+    private Shard shardOf(Object matchName) {
+        int hash = matchName.hashCode();
+        return shards[(hash ^ (hash >>> 16)) & (shards.length - 1)];
+    }
+
+    /**
+     * @return Number of shards
+     */
+    public int getNoOfShards() {
+        return shards.length;
+    }
+
+    /**
+     * Adds the match only if there is no other match with the same name
+     *
+     * @param matchName  Match name
+     * @param controller Controller of the match
+     * @return The Controller already registered with the same name, null if the match has been added
+     */
+    @Override
+    public Controller putIfAbsent(String matchName, Controller controller) {
+        return shardOf(matchName).matches.putIfAbsent(matchName, controller);
+    }
+
+    @Override
+    public Controller put(String matchName, Controller controller) {
+        return shardOf(matchName).matches.put(matchName, controller);
+    }
+
+    @Override
+    public Controller get(Object matchName) {
+        return matchName == null ? null : shardOf(matchName).matches.get(matchName);
+    }
+
+    @Override
+    public boolean containsKey(Object matchName) {
+        return matchName != null && shardOf(matchName).matches.containsKey(matchName);
+    }
+
+    @Override
+    public Controller remove(Object matchName) {
+        return matchName == null ? null : shardOf(matchName).matches.remove(matchName);
+    }
+
+    @Override
+    public boolean remove(Object matchName, Object controller) {
+        return matchName != null && shardOf(matchName).matches.remove(matchName, controller);
+    }
+
+    @Override
+    public int size() {
+        int size = 0;
+        for (Shard shard : shards)
+            size += shard.matches.size();
+        return size;
+    }
+
+    /**
+     * Entries of every shard. The iteration is weakly consistent like the one of a ConcurrentHashMap:
+     * it never throws ConcurrentModificationException while matches are added or removed.
+     */
+    @Override
+    public Set<Entry<String, Controller>> entrySet() {
+        return new AbstractSet<Entry<String, Controller>>() {
+            @Override
+            public Iterator<Entry<String, Controller>> iterator() {
+                return new Iterator<Entry<String, Controller>>() {
+                    private int shard = 0;
+                    private Iterator<Entry<String, Controller>> current = shards[0].matches.entrySet().iterator();
+
+                    @Override
+                    public boolean hasNext() {
+                        while (!current.hasNext() && shard < shards.length - 1) {
+                            shard++;
+                            current = shards[shard].matches.entrySet().iterator();
+                        }
+                        return current.hasNext();
+                    }
+
+                    @Override
+                    public Entry<String, Controller> next() {
+                        if (!hasNext())
+                            throw new NoSuchElementException();
+                        return current.next();
+                    }
+
+                    @Override
+                    public void remove() {
+                        current.remove();
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return MatchRegistry.this.size();
+            }
+        };
+    }
+
+    /**
+     * Searches the match in which the user is playing
+     *
+     * @param username Player username
+     * @return The Controller of the match, null if the user is not in a match
+     */
+    public Controller findMatchOf(String username) {
+        for (Shard shard : shards) {
+            for (Controller controller : shard.matches.values()) {
+                synchronized (controller.getPlayerList()) {
+                    for (Player player : controller.getPlayerList()) {
+                        if (player.getPlayerUsername().equals(username))
+                            return controller;
+                    }
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Runs a task on the executor of the shard that owns the match. The tasks of the same shard run
+     * one at a time in submission order.
+     *
+     * @param matchName Match name
+     * @param task      Task to run
+     */
+    public void execute(String matchName, Runnable task) {
+        shardOf(matchName).executor.execute(task);
+    }
+}
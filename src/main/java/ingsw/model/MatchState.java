@@ -0,0 +1,13 @@
+package ingsw.model;
+
+/**
+ * States of the lifecycle of a match, see GameManager
+ */
+public enum MatchState {
+    CHOOSING_PATTERN_CARDS,
+    STARTING,
+    DRAFTING,
+    WAITING_DICE_ACK,
+    TURN,
+    ENDED
+}
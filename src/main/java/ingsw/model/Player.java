@@ -3,6 +3,7 @@ package ingsw.model;
 import ingsw.controller.network.commands.Notification;
 import ingsw.controller.network.commands.Response;
 import ingsw.controller.network.socket.UserObserver;
+import ingsw.model.bot.BotPlayer;
 import ingsw.model.cards.patterncard.PatternCard;
 import ingsw.model.cards.privateoc.PrivateObjectiveCard;
 import ingsw.utilities.NotificationType;
@@ -20,6 +21,9 @@ public class Player implements Serializable {
     private int favorTokens;
     private PatternCard patternCard;
     private PrivateObjectiveCard privateObjectiveCard;
+    private transient ScoreBreakdown scoreBreakdown;
+    private transient BotPlayer substitute;
+    private boolean bot;
 
     /**
      * Set the user linked to the player
@@ -29,6 +33,23 @@ public class Player implements Serializable {
         this.user = user;
     }
 
+    /**
+     * Rebuilds a player received from the network
+     *
+     * @param user User of the player
+     * @param patternCard Pattern card of the player, with its dice
+     * @param privateObjectiveCard Private objective card of the player
+     * @param favorTokens Favor tokens left
+     * @param score Score of the player
+     */
+    public Player(User user, PatternCard patternCard, PrivateObjectiveCard privateObjectiveCard, int favorTokens, int score) {
+        this.user = user;
+        this.patternCard = patternCard;
+        this.privateObjectiveCard = privateObjectiveCard;
+        this.favorTokens = favorTokens;
+        this.score = score;
+    }
+
     /**
      * Updates the score
      * @param score New score
@@ -78,6 +99,22 @@ public class Player implements Serializable {
         return privateObjectiveCard;
     }
 
+    /**
+     * Returns the running score of the player, kept only on the server
+     * @return Score breakdown, null until the player places the first dice
+     */
+    ScoreBreakdown getScoreBreakdown() {
+        return scoreBreakdown;
+    }
+
+    /**
+     * Set the running score of the player
+     * @param scoreBreakdown Score breakdown to set
+     */
+    void setScoreBreakdown(ScoreBreakdown scoreBreakdown) {
+        this.scoreBreakdown = scoreBreakdown;
+    }
+
     //Get the User instance of this player
 
     /**
@@ -97,12 +134,61 @@ public class Player implements Serializable {
     }
 
     /**
-     * Returns the UserObserver
+     * Returns the UserObserver, or the bot seated in place of the user
      * @return Actual instance of UserObserver
      * @throws RemoteException
      */
     public UserObserver getUserObserver() throws RemoteException {
-        return user.getUserObserver();
+        BotPlayer currentSubstitute = substitute;
+        return currentSubstitute != null ? currentSubstitute : user.getUserObserver();
+    }
+
+    /**
+     * Seats a bot in place of the user: every message for the player goes to the bot until it is removed
+     * @param substitute Bot that plays for the user
+     */
+    public void seatSubstitute(BotPlayer substitute) {
+        this.substitute = substitute;
+    }
+
+    /**
+     * Gives the seat back to the user
+     */
+    public void removeSubstitute() {
+        substitute = null;
+    }
+
+    /**
+     * Returns the bot that plays for the user
+     * @return The bot, null if the user plays the seat
+     */
+    public BotPlayer getSubstitute() {
+        return substitute;
+    }
+
+    /**
+     * Returns true if a bot plays for the user
+     * @return true if a bot is seated
+     */
+    public boolean hasSubstitute() {
+        return substitute != null;
+    }
+
+    /**
+     * Seats a bot in an empty seat: the user of the seat doesn't belong to anyone and is never played by a person
+     * @param botPlayer Bot that plays the seat
+     */
+    public void seatBot(BotPlayer botPlayer) {
+        seatSubstitute(botPlayer);
+        bot = true;
+    }
+
+    /**
+     * Returns true if the seat is played only by a bot, whose results don't count in the stats and in the ranking
+     * @return true if the seat has no user behind the bot
+     */
+    public boolean isBot() {
+        return bot;
     }
 
     /**
@@ -113,7 +199,7 @@ public class Player implements Serializable {
      */
     public void sendResponse(Response response) {
         try {
-            user.getUserObserver().sendResponse(response);
+            getUserObserver().sendResponse(response);
         } catch (RemoteException e) {
             e.printStackTrace();
         }
@@ -38,12 +38,23 @@ public interface RemoteSagradaGame extends Remote {
     int getConnectedUsers() throws RemoteException;
 
     /**
-     * Sends request for a specified match history
+     * Sends a page of a specified match history
      * @param username user who's asking for the history
      * @param selectedMatchName Match history
+     * @param cursor index of the first move of the page
+     * @param compressed true if the page can be sent compressed
      * @throws RemoteException
      */
-    void sendSelectedMatchHistory(String username, String selectedMatchName) throws RemoteException;
+    void sendSelectedMatchHistory(String username, String selectedMatchName, int cursor, boolean compressed) throws RemoteException;
+
+    /**
+     * Sends the state of the board of a match after a move of its history
+     * @param username user who's replaying the match
+     * @param matchName Match history
+     * @param moveIndex index of the move in the history
+     * @throws RemoteException
+     */
+    void sendReplayState(String username, String matchName, int moveIndex) throws RemoteException;
 
     /**
      * Sends request for creating the ranking of the connected users
@@ -61,11 +72,16 @@ public interface RemoteSagradaGame extends Remote {
     Map<String, TripleString> createUserStats(String username) throws RemoteException;
 
     /**
-     * Sends the matches that are no more active.
+     * Sends a page of the matches that are no more active.
      * @param username user who's asking for the list of the matches already terminated
+     * @param player   player of the matches, null for every match
+     * @param from     earliest end time of the matches, 0 for no bound
+     * @param to       latest end time of the matches, 0 for no bound
+     * @param offset   number of matches to skip
+     * @param limit    maximum number of matches of the page
      * @throws RemoteException
      */
-    void sendFinishedMatchesList(String username) throws RemoteException;
+    void sendFinishedMatchesList(String username, String player, long from, long to, int offset, int limit) throws RemoteException;
 
     /**
      * Calls the method to login the user
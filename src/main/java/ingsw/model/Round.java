@@ -8,9 +8,12 @@ import java.rmi.RemoteException;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
- * Class that manages the execution of a single turn. Is created by ExecuteTurn() in GameManager
+ * Class that manages the execution of a single turn. Is created by startRound() in GameManager.
+ * The turn doesn't own a thread: it counts the moves of the player and, after the second move or when
+ * the turn is stopped, tells the GameManager that the turn has ended.
  */
 public class Round implements Runnable {
     private Player player;
@@ -18,11 +21,13 @@ public class Round implements Runnable {
     private GameManager gameManager;
     private final AtomicBoolean playerEndedTurn;
     public final List<String> blockedTurnPlayers;
-    private int noOfMoves;
+    private final AtomicInteger noOfMoves;
+    private final AtomicBoolean placementMade;
+    private final AtomicBoolean toolCardUsed;
     private AtomicBoolean avoidEndTurnNotification;
 
     /**
-     * Set the Game Manager and instantiates the field required for thread synchronization
+     * Set the Game Manager and instantiates the fields that keep the state of the turn
      * @param gameManager Game Manager instance
      */
     public Round(GameManager gameManager) {
@@ -30,6 +35,9 @@ public class Round implements Runnable {
         hasMadeAMove = new AtomicBoolean();
         playerEndedTurn = new AtomicBoolean();
         blockedTurnPlayers = new ArrayList<>();
+        noOfMoves = new AtomicInteger(0);
+        placementMade = new AtomicBoolean(false);
+        toolCardUsed = new AtomicBoolean(false);
         avoidEndTurnNotification = new AtomicBoolean(false);
     }
 
@@ -45,48 +53,43 @@ public class Round implements Runnable {
     }
 
     /**
-     * Method that notify the user with an ActivateTurnNotification()
-     * and goes in wait() two times (once per move). At the end sends an EndTurnResponse
-     * and. if it's active it cancels the timer and notify ExecuteTurn(it was in WAIT status).
+     * Method that notify the user with an ActivateTurnNotification and returns at once, the turn goes on
+     * with the moves of the player. If the player has to skip the turn, the turn ends immediately.
      */
     @Override
     public void run() {
-        new Thread(() -> {
-            if (!blockedTurnPlayers.contains(getCurrentPlayer().getPlayerUsername())) {
-                try {
-                    player.getUserObserver().activateTurnNotification(gameManager.sendAvailablePositions(player));
-                } catch (RemoteException e) {
-                    e.printStackTrace();
-                }
-
-                avoidEndTurnNotification.set(false);
-                noOfMoves = 0;
-                hasMadeAMove.set(false);
-                waitForMove();
-                noOfMoves++;
-                System.out.println("First move done");
-                hasMadeAMove.set(false);
-                waitForMove();
-                noOfMoves++;
-                System.out.println("Second move done");
-
-                endTurnNotification();
-            } else {
-                blockedTurnPlayers.remove(getCurrentPlayer().getPlayerUsername());
+        avoidEndTurnNotification.set(false);
+        noOfMoves.set(0);
+        placementMade.set(false);
+        toolCardUsed.set(false);
+
+        if (!blockedTurnPlayers.contains(getCurrentPlayer().getPlayerUsername())) {
+            try {
+                player.getUserObserver().activateTurnNotification(gameManager.sendAvailablePositions(player));
+            } catch (RemoteException e) {
+                e.printStackTrace();
             }
+        } else {
+            blockedTurnPlayers.remove(getCurrentPlayer().getPlayerUsername());
+            avoidEndTurnNotification.set(true);
+            endTurn();
+        }
+    }
 
-            System.out.println("End of Turn in Round");
+    /**
+     * Ends the turn only once: sends the EndTurnResponse, cancels the turn timer and
+     * tells the GameManager to go on with the next turn.
+     */
+    private void endTurn() {
+        if (playerEndedTurn.compareAndSet(false, true)) {
+            endTurnNotification();
 
-            playerEndedTurn.set(true);
+            System.out.println("End of Turn in Round");
 
             gameManager.getControllerTimer().cancelTimer();
 
-            //wake up the round thread
-            synchronized (playerEndedTurn) {
-                playerEndedTurn.notifyAll();
-            }
-
-        }).start();
+            gameManager.turnEnded(this);
+        }
     }
 
     /**
@@ -103,54 +106,31 @@ public class Round implements Runnable {
     }
 
     /**
-     * Method the set hasMadeAMove to true and wake the turn thread.
+     * Method that counts the move of the player, the turn ends after the second move.
      */
     private void hasMadeAMove() {
         hasMadeAMove.set(true);
 
-        //wake up the Thread of round class
-        synchronized (hasMadeAMove) {
-            hasMadeAMove.notifyAll();
-        }
-    }
-
-    /**
-     * Set the current Thread in WAIT and it will exit from the loop only if the player
-     * makes a move or clicks on EndTurn.
-     */
-    private void waitForMove() {
-        System.out.println("Wait for the move");
-        synchronized (hasMadeAMove) {
-            while (!(hasPlayerEndedTurn().get() || hasMadeAMove.get())) {
-                //wait until the move is done
-                try {
-                    hasMadeAMove.wait();
-                } catch (InterruptedException e) {
-                    Thread.currentThread().interrupt();
-                    e.printStackTrace();
-                }
-
-            }
-            hasMadeAMove.set(false);
+        int moves = noOfMoves.incrementAndGet();
+        if (moves == 1)
+            System.out.println("First move done");
+        else if (moves == 2) {
+            System.out.println("Second move done");
+            endTurn();
         }
     }
 
     /**
-     * Terminates the current Turn Thread
-     * @param hasPlayerEndedTurn
+     * Ends the current turn or resets the turn state
+     * @param hasPlayerEndedTurn true to end the turn
      */
     void setPlayerEndedTurn(boolean hasPlayerEndedTurn) {
-        if (hasPlayerEndedTurn)
-            System.out.println("End the turn");
-        else System.out.println("Reset PlayerEndedTurn");
-        playerEndedTurn.set(hasPlayerEndedTurn);
-
-
-        //Wake up the round thread
         if (hasPlayerEndedTurn) {
-            synchronized (hasMadeAMove) {
-                hasMadeAMove.notifyAll();
-            }
+            System.out.println("End the turn");
+            endTurn();
+        } else {
+            System.out.println("Reset PlayerEndedTurn");
+            playerEndedTurn.set(false);
         }
     }
 
@@ -170,15 +150,19 @@ public class Round implements Runnable {
      * @param columnIndex index of the column where to place dice in pattern card
      */
     void makeMove(Dice dice, int rowIndex, int columnIndex) {
+        if (placementMade.get())
+            return;
+
         if (gameManager.makeMove(player, dice, rowIndex, columnIndex)) {
             System.out.println("Move made");
+            placementMade.set(true);
             hasMadeAMove();
 
         }
     }
 
     /**
-     * ToolCard move. Method for starting the ToolCard(it is executed in a thread).
+     * ToolCard move. Method for starting the ToolCard(its steps are events of the match).
      * It starts only if the current player has enough favour tokens
      * @param toolCard toolcard to use
      */
@@ -201,6 +185,7 @@ public class Round implements Runnable {
      * Notify that a toolcar is used
      */
     public void toolCardMoveDone() {
+        toolCardUsed.set(true);
         hasMadeAMove();
     }
 
@@ -214,7 +199,21 @@ public class Round implements Runnable {
 
     @SuppressWarnings("unused")
     int getNoOfMoves() {
-        return noOfMoves;
+        return noOfMoves.get();
+    }
+
+    /**
+     * @return true if the current player has already placed a dice in this turn
+     */
+    boolean isPlacementMade() {
+        return placementMade.get();
+    }
+
+    /**
+     * @return true if the current player has already used a tool card in this turn
+     */
+    boolean isToolCardUsed() {
+        return toolCardUsed.get();
     }
 
     /**
@@ -1,14 +1,22 @@
 package ingsw.model;
 
 import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
 import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
 import ingsw.controller.Controller;
 import ingsw.controller.RemoteController;
 import ingsw.controller.network.commands.*;
-import ingsw.controller.network.socket.ClientHandler;
 import ingsw.controller.network.socket.UserObserver;
 import ingsw.exceptions.InvalidUsernameException;
+import ingsw.model.replay.BoardState;
+import ingsw.model.replay.ReplayEngine;
+import ingsw.utilities.ControllerTimer;
 import ingsw.utilities.DoubleString;
+import ingsw.utilities.LivenessService;
+import ingsw.utilities.MatchSummary;
+import ingsw.utilities.MoveStatus;
+import ingsw.utilities.ServerThreads;
 import ingsw.utilities.TripleString;
 import ingsw.utilities.UserBroadcaster;
 
@@ -22,7 +30,7 @@ import java.rmi.NotBoundException;
 import java.rmi.RemoteException;
 import java.rmi.server.UnicastRemoteObject;
 import java.util.*;
-import java.util.concurrent.Executors;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Stream;
 
 /**
@@ -31,27 +39,38 @@ import java.util.stream.Stream;
  */
 public class SagradaGame implements RemoteSagradaGame {
     private static SagradaGame sagradaGameSingleton;
-    Map<String, Controller> matchesByName; // List of all open matches
+    MatchRegistry matchesByName; // Sharded registry of all open matches
     Map<String, User> connectedUsers; // List of connected users
-    private boolean stop;
+    private final Leaderboard leaderboard; // Ranking of the known users
+    private final LivenessService livenessService;
 
     private int maxTurnSeconds;
     private int maxJoinMatchSeconds;
 
     private UserBroadcaster userBroadcaster;
 
+    private MatchJournal matchJournal;
+
+    private UserStatsStore userStatsStore;
+
+    private static final int HISTORY_PAGE_SIZE = 50;
+    private static final int RANKING_PAGE_SIZE = 20;
+    private static final long REJOIN_DELAY_MILLIS = 500;
+
     /**
      * Create a SagradaGame instance with instantiating the userBroadcaster, connectedUsers, list of match
      * and the time bound for joining a match and for doing an entire turn
      */
     private SagradaGame() {
-        connectedUsers = new HashMap<>();
-        matchesByName = new HashMap<>();
+        connectedUsers = new ConcurrentHashMap<>();
+        leaderboard = new Leaderboard();
+        matchesByName = new MatchRegistry();
+        userBroadcaster = new UserBroadcaster(connectedUsers);
         maxJoinMatchSeconds = 40;
         maxTurnSeconds = 120;
-        stop = false;
+        livenessService = LivenessService.get();
+        livenessService.addListener(new LobbyListener());
         readUserStatsFromFile();
-        rmiUsersListener();
     }
 
     /**
@@ -60,7 +79,7 @@ public class SagradaGame implements RemoteSagradaGame {
      *
      * @return SagradaGame
      */
-    public static SagradaGame get() {
+    public static synchronized SagradaGame get() {
         if (sagradaGameSingleton == null) {
             sagradaGameSingleton = new SagradaGame();
         }
@@ -77,51 +96,97 @@ public class SagradaGame implements RemoteSagradaGame {
     public void removeMatch(Controller controller) {
         matchesByName.remove(controller.getMatchName(), controller);
 
-        try {
-            Naming.unbind(controller.getMatchName());
-        } catch (RemoteException | NotBoundException | MalformedURLException e) {
-            e.printStackTrace();
-        }
+        matchesByName.execute(controller.getMatchName(), () -> {
+            try {
+                Naming.unbind(controller.getMatchName());
+            } catch (RemoteException | NotBoundException | MalformedURLException e) {
+                e.printStackTrace();
+            }
 
-        userBroadcaster.broadcastResponseToAll(new CreateMatchResponse(createAvailableMatchesList()));
+            userBroadcaster.broadcastResponseToAll(new CreateMatchResponse(createAvailableMatchesList()));
+        });
     }
 
-    private void checkUserDisconnection() {
-        Set<User> activeUsers = new HashSet<>();
-        for (User user : connectedUsers.values()) {
-            try {
-                user.getUserObserver();
-            } catch (RemoteException e) {
-                try {
-                    deactivateUser(user.getUsername());
-                } catch (RemoteException e1) {
-                    System.err.println("Couldn't deactivate " + user.getUsername());
-                }
-            }
+    /**
+     * Runs a task on the executor of the shard that owns a match
+     *
+     * @param matchName Name of the match
+     * @param task      Task to run
+     */
+    public void executeOnShard(String matchName, Runnable task) {
+        matchesByName.execute(matchName, task);
+    }
+
+    /**
+     * Starts checking the connection of a user that logged in. A socket connection is a session of the
+     * LivenessService itself, an RMI user is probed calling its UserObserver.
+     *
+     * @param username     Username of the user
+     * @param userObserver UserObserver of the user
+     */
+    private void startSession(String username, UserObserver userObserver) {
+        if (userObserver instanceof LivenessService.Session)
+            livenessService.register(username, (LivenessService.Session) userObserver);
+        else
+            livenessService.register(username, new RemoteSession(username, userObserver));
+    }
+
+    /**
+     * Session of an RMI user: a remote call that returns is the sign of life, a RemoteException means that
+     * the user disconnected
+     */
+    private class RemoteSession implements LivenessService.Session {
+        private final String username;
+        private final UserObserver userObserver;
+
+        RemoteSession(String username, UserObserver userObserver) {
+            this.username = username;
+            this.userObserver = userObserver;
         }
 
-        for (User user : connectedUsers.values()) {
-            if (user.isActive()) {
-                activeUsers.add(user);
-            }
+        @Override
+        public void probe() throws RemoteException {
+            userObserver.checkIfActive();
+            livenessService.touch(this);
         }
 
-        System.out.println(activeUsers);
+        @Override
+        public void expire() {
+            try {
+                deactivateUser(username);
+            } catch (RemoteException e) {
+                System.err.println("Couldn't deactivate " + username);
+            }
+        }
     }
 
-    public void rmiUsersListener() {
-        new Thread(() -> {
-            do {
+    /**
+     * Keeps the lobby up to date with the disconnections detected by the LivenessService
+     */
+    private class LobbyListener implements LivenessService.Listener {
+
+        @Override
+        public void onConnect(String username) {
+            // the lobby is updated by loginUser
+        }
 
-                try {
-                    Thread.sleep(5000);
-                } catch (InterruptedException e) {
-                    Thread.currentThread().interrupt();
+        @Override
+        public void onDisconnect(String username) {
+            User user = connectedUsers.get(username);
+            if (user != null) {
+                synchronized (user) {
+                    user.setActive(false);
+                    user.setReady(false);
                 }
+            }
 
-                checkUserDisconnection();
-            } while (!stop);
-        }).start();
+            Set<String> activeUsers = new HashSet<>();
+            for (User connectedUser : connectedUsers.values()) {
+                if (connectedUser.isActive())
+                    activeUsers.add(connectedUser.getUsername());
+            }
+            System.out.println("User " + username + " disconnected, active users: " + activeUsers);
+        }
     }
 
     /* REMOTE SAGRADAGAME PART*/
@@ -137,57 +202,104 @@ public class SagradaGame implements RemoteSagradaGame {
     }
 
     /**
-     * Creates a List of all active matches with the number of player connected to a match
+     * Loads the statistics of the users from the UserStatsStore. The first time the store is opened
+     * the statistics saved in the old JSON file are moved in the store.
      */
     public void readUserStatsFromFile() {
-        new Thread(() -> {
-            Gson gson = new Gson();
-
-            File jarPath = new File(SagradaGame.class.getProtectionDomain().getCodeSource().getLocation().getPath());
-            String jarParentFolderPath = jarPath.getParentFile().getAbsolutePath();
-            File jarParentFolder = new File(jarParentFolderPath + "/stats");
-
-            try (BufferedReader bufferedReader = new BufferedReader(new FileReader(jarParentFolder + "/userstats.txt"))) {
-                String movesJSON = bufferedReader.readLine();
-                connectedUsers = gson.fromJson(movesJSON,
-                                               new TypeToken<HashMap<String, User>>() {
-                                               }.getType());
-                userBroadcaster = new UserBroadcaster(connectedUsers);
-            } catch (IOException e) {
-                System.err.println("File non trovato, carico Sagrada");
-                jarParentFolder.mkdir();
-                userBroadcaster = new UserBroadcaster(connectedUsers);
-            }
-        }).start();
-        System.out.println("EXITED");
+        ServerThreads.start("user-stats-reader", () -> {
+            UserStatsStore store = getUserStatsStore();
+            if (store == null)
+                return;
+
+            Map<String, User> usersStats = store.getUsers();
+            if (usersStats.isEmpty())
+                usersStats = importLegacyUserStats(store);
+
+            // The bot seats written by older servers are not users
+            usersStats.keySet().removeIf(SagradaGame::isBotUsername);
+            // Users that logged in while the store was being read are kept
+            usersStats.forEach(connectedUsers::putIfAbsent);
+            usersStats.keySet().forEach(username -> leaderboard.add(connectedUsers.get(username)));
+        });
     }
 
-    @Override
-    public void writeUsersStatsToFile() {
-        Map<String, User> clonedConnectedUsers = new HashMap<>();
-        User clonedUser;
-        for (User user : connectedUsers.values()) {
-            clonedUser = new User(user);
-            clonedConnectedUsers.put(clonedUser.getUsername(), clonedUser);
+    /**
+     * Reads the statistics of the JSON file written before the UserStatsStore and writes them in the store
+     *
+     * @param store Empty store
+     * @return The statistics read, by username
+     */
+    private Map<String, User> importLegacyUserStats(UserStatsStore store) {
+        File legacyFile = new File(getStatsFolder(), "userstats.txt");
+        if (!legacyFile.exists())
+            return new HashMap<>();
+
+        try (BufferedReader bufferedReader = new BufferedReader(new FileReader(legacyFile))) {
+            Map<String, User> usersStats = new Gson().fromJson(bufferedReader.readLine(),
+                                                               new TypeToken<HashMap<String, User>>() {
+                                                               }.getType());
+            if (usersStats == null)
+                return new HashMap<>();
+            store.write(usersStats.values());
+            return store.getUsers();
+        } catch (IOException | JsonParseException e) {
+            System.err.println("Could not import the old user stats: " + e.getMessage());
+            return new HashMap<>();
         }
+    }
 
-        Gson gson = new Gson();
-        String usersStatsJSON = gson.toJson(clonedConnectedUsers);
-
-        File jarPath = new File(SagradaGame.class.getProtectionDomain().getCodeSource().getLocation().getPath());
-        String jarParentFolderPath = jarPath.getParentFile().getAbsolutePath();
-        File jarParentFolder = new File(jarParentFolderPath + "/stats");
+    /**
+     * Saves the statistics of every known user
+     */
+    @Override
+    public void writeUsersStatsToFile() {
+        writeUsersStats(connectedUsers.values());
+    }
 
-        if (!jarParentFolder.exists()) {
-            if (jarParentFolder.mkdir()) System.out.println("User stats created successfully");
-        }
+    /**
+     * Saves the statistics of some users, appending only their records to the UserStatsStore
+     *
+     * @param users Users whose statistics have changed
+     */
+    public void writeUsersStats(Collection<User> users) {
+        UserStatsStore store = getUserStatsStore();
+        if (store == null)
+            return;
 
-        try (FileWriter file = new FileWriter(jarParentFolder + "/userstats.txt")) {
-            file.write(usersStatsJSON);
+        try {
+            store.write(users);
         } catch (IOException e) {
             e.printStackTrace();
-            System.err.println("There was an error writing the file! Could not complete.");
+            System.err.println("There was an error writing the user stats! Could not complete.");
+        }
+    }
+
+    /**
+     * Returns the store of the users statistics, opening it the first time it is needed
+     *
+     * @return The store, null if it can't be opened
+     */
+    public synchronized UserStatsStore getUserStatsStore() {
+        if (userStatsStore == null) {
+            File statsFolder = getStatsFolder();
+            if (!statsFolder.exists()) {
+                statsFolder.mkdir();
+            }
+
+            try {
+                userStatsStore = new UserStatsStore(new File(statsFolder, "userstats.log"));
+            } catch (IOException e) {
+                System.err.println("Could not open the user stats store: " + e.getMessage());
+            }
         }
+
+        return userStatsStore;
+    }
+
+    private static File getStatsFolder() {
+        File jarPath = new File(SagradaGame.class.getProtectionDomain().getCodeSource().getLocation().getPath());
+        String jarParentFolderPath = jarPath.getParentFile().getAbsolutePath();
+        return new File(jarParentFolderPath + "/stats");
     }
 
     @Override
@@ -203,28 +315,131 @@ public class SagradaGame implements RemoteSagradaGame {
     }
 
     /**
-     * Search and send a history of selected match readed from file.
+     * Returns the journal of the matches histories, opening it the first time it is needed
+     *
+     * @return The journal, null if it can't be opened
+     */
+    public synchronized MatchJournal getMatchJournal() {
+        if (matchJournal == null) {
+            File historiesFolder = getHistoriesFolder();
+            if (!historiesFolder.exists()) {
+                historiesFolder.mkdir();
+            }
+
+            try {
+                matchJournal = new MatchJournal(new File(historiesFolder, "journal.bin"), MatchJournal.fsyncPolicyFromProperty());
+                addLegacyHistories(matchJournal.getCatalog(), historiesFolder);
+            } catch (IOException e) {
+                System.err.println("Could not open the matches journal: " + e.getMessage());
+            }
+        }
+
+        return matchJournal;
+    }
+
+    /**
+     * Adds to the catalog the histories written in .txt files before the journal, listing the folder only once
+     *
+     * @param catalog         Catalog of the finished matches
+     * @param historiesFolder Folder of the histories
+     */
+    private static void addLegacyHistories(MatchCatalog catalog, File historiesFolder) {
+        try (Stream<Path> pathStream = Files.walk(Paths.get(historiesFolder.getPath()))) {
+            pathStream.filter(Files::isRegularFile)
+                    .filter(path -> path.getFileName().toString().endsWith(".txt"))
+                    .forEach(path -> catalog.add(new MatchSummary(path.getFileName().toString().replace(".txt", ""),
+                                                                  new ArrayList<>(), path.toFile().lastModified(), null, 0)));
+        } catch (IOException e) {
+            System.err.println("Could not list the old histories: " + e.getMessage());
+        }
+    }
+
+    private static File getHistoriesFolder() {
+        File jarPath = new File(SagradaGame.class.getProtectionDomain().getCodeSource().getLocation().getPath());
+        String jarParentFolderPath = jarPath.getParentFile().getAbsolutePath();
+        return new File(jarParentFolderPath + "/histories");
+    }
+
+    /**
+     * Search and send a page of the history of the selected match, so that a long history is never held in
+     * memory as a whole. The history is read from the journal jumping straight to the moves of the page,
+     * the histories written before the journal are read from their file without loading the whole file.
      *
      * @param username          User that requested the history
      * @param selectedMatchName Match name
+     * @param cursor            Index of the first move of the page
+     * @param compressed        true if the page can be sent compressed
      * @throws RemoteException
      */
     @Override
-    public void sendSelectedMatchHistory(String username, String selectedMatchName) throws RemoteException {
-        String matchFileName = selectedMatchName + ".txt";
+    public void sendSelectedMatchHistory(String username, String selectedMatchName, int cursor, boolean compressed) throws RemoteException {
+        int from = Math.max(cursor, 0);
+        List<MoveStatus> page = new ArrayList<>(HISTORY_PAGE_SIZE);
+        boolean hasNextPage;
 
-        File jarPath = new File(SagradaGame.class.getProtectionDomain().getCodeSource().getLocation().getPath());
-        String jarParentFolderPath = jarPath.getParentFile().getAbsolutePath();
-        File jarParentFolder = new File(jarParentFolderPath + "/histories");
+        try {
+            MatchJournal journal = getMatchJournal();
+            if (journal != null && journal.contains(selectedMatchName)) {
+                page.addAll(journal.readMoves(selectedMatchName, from, HISTORY_PAGE_SIZE));
+                hasNextPage = from + page.size() < journal.getNoOfMoves(selectedMatchName);
+            } else {
+                hasNextPage = readLegacyHistoryPage(new File(getHistoriesFolder(), selectedMatchName + ".txt"), from, page);
+            }
 
-        try (BufferedReader bufferedReader = new BufferedReader(new FileReader(jarParentFolder + "/" + matchFileName))) {
-            String movesJSON = bufferedReader.readLine();
-            connectedUsers.get(username).getUserObserver().sendResponse(new HistoryResponse(movesJSON));
-        } catch (IOException e) {
+            connectedUsers.get(username).getUserObserver().sendResponse(
+                    new HistoryResponse(selectedMatchName, page, from,
+                                        hasNextPage ? from + page.size() : HistoryResponse.END, compressed));
+        } catch (IOException | JsonParseException e) {
             e.printStackTrace();
         }
     }
 
+    /**
+     * Rebuilds with the replay engine the state of the board of a match after a move and sends it to the user
+     *
+     * @param username  User that is replaying the match
+     * @param matchName Match id in the journal
+     * @param moveIndex Index of the move in the history
+     * @throws RemoteException
+     */
+    @Override
+    public void sendReplayState(String username, String matchName, int moveIndex) throws RemoteException {
+        MatchJournal journal = getMatchJournal();
+        BoardState boardState = null;
+        if (journal != null) {
+            try {
+                boardState = new ReplayEngine(journal).materialize(matchName, moveIndex);
+            } catch (IOException e) {
+                e.printStackTrace();
+            }
+        }
+
+        connectedUsers.get(username).getUserObserver().sendResponse(new ReplayStateResponse(matchName, moveIndex, boardState));
+    }
+
+    /**
+     * Reads a page of a history written in a .txt file before the journal, streaming the JSON array
+     *
+     * @param historyFile File of the history
+     * @param from        Index of the first move of the page
+     * @param page        List in which the moves of the page are added
+     * @return true if there are moves after the page
+     * @throws IOException if the file can't be read
+     */
+    private static boolean readLegacyHistoryPage(File historyFile, int from, List<MoveStatus> page) throws IOException {
+        Gson gson = new Gson();
+        try (JsonReader jsonReader = new JsonReader(new BufferedReader(new FileReader(historyFile)))) {
+            jsonReader.beginArray();
+            for (int i = 0; i < from && jsonReader.hasNext(); i++) {
+                jsonReader.skipValue();
+            }
+            while (page.size() < HISTORY_PAGE_SIZE && jsonReader.hasNext()) {
+                page.add(gson.fromJson(jsonReader, MoveStatus.class));
+            }
+            return jsonReader.hasNext();
+        }
+    }
+
     /**
      * Set the maximum turn duration
      *
@@ -246,45 +461,58 @@ public class SagradaGame implements RemoteSagradaGame {
     }
 
     /**
-     * Creates an ordered List with the Ranking of all connected users
+     * Creates an ordered List with the top of the Ranking of all connected users
      * counting the number of victories.
      *
-     * @return List containing the ranking
+     * @return List containing the first users of the ranking
      */
     @Override
     public List<TripleString> createRankingsList() {
-        TripleString tripleString;
-        List<TripleString> ranking = new ArrayList<>();
-
-        List<User> rankingList = new ArrayList<>(connectedUsers.values());
-        rankingList.sort((user1, user2) -> Integer.compare(user2.getNoOfWins(), user1.getNoOfWins()));
-
-        int positionInRanking = 1;
-        int i = 1;
-        while (i < rankingList.size()) {
-            if (rankingList.get(i).getNoOfWins() == rankingList.get(i - 1).getNoOfWins()) {
-                rankingList.get(i - 1).setPositionInRanking(positionInRanking);
-                rankingList.get(i).setPositionInRanking(positionInRanking);
-                i++;
-            } else {
-                rankingList.get(i - 1).setPositionInRanking(positionInRanking);
-                positionInRanking++;
-                rankingList.get(i).setPositionInRanking(positionInRanking);
-                i++;
-            }
+        return createRankingsList(0, RANKING_PAGE_SIZE);
+    }
+
+    /**
+     * Creates the top of the Ranking followed by the position of the given user,
+     * unless the user is already in the top.
+     *
+     * @param topOfTheRanking First users of the ranking
+     * @param username        User that receives the ranking
+     * @return List containing the ranking sent to the user
+     */
+    private List<TripleString> createRankingsList(List<TripleString> topOfTheRanking, String username) {
+        for (TripleString ranking : topOfTheRanking) {
+            if (ranking.getSecondField().equals(username))
+                return topOfTheRanking;
         }
 
-        for (User user : connectedUsers.values()) {
-            tripleString = new TripleString(String.valueOf(user.getPositionInRanking()),
-                                            user.getUsername(),
-                                            String.valueOf(user.getNoOfWins()));
+        TripleString userRanking = leaderboard.getRanking(username);
+        if (userRanking == null)
+            return topOfTheRanking;
 
-            ranking.add(tripleString);
-        }
+        List<TripleString> rankingsList = new ArrayList<>(topOfTheRanking);
+        rankingsList.add(userRanking);
+        return rankingsList;
+    }
 
-        ranking.sort(Comparator.comparingInt(o -> Integer.parseInt(o.getFirstField())));
+    /**
+     * Creates a page of the Ranking of all connected users, read from the leaderboard
+     * without sorting the users again.
+     *
+     * @param offset Number of users to skip from the top of the ranking
+     * @param limit  Maximum number of users of the page
+     * @return List containing the page of the ranking
+     */
+    public List<TripleString> createRankingsList(int offset, int limit) {
+        return leaderboard.getPage(offset, limit);
+    }
 
-        return ranking;
+    /**
+     * Moves a user in the ranking after the end of a match has changed its number of victories
+     *
+     * @param user User whose statistics have changed
+     */
+    public void updateRanking(User user) {
+        leaderboard.update(user.getUsername(), user.getNoOfWins());
     }
 
     /**
@@ -309,27 +537,31 @@ public class SagradaGame implements RemoteSagradaGame {
     }
 
     /**
-     * Method that reads all .txt files in the history folder and sends them to the user who requested them
+     * Method that reads a page of the finished matches from the catalog of the journal, which also has the
+     * .txt files of the history folder, and sends it to the user who requested it
      *
      * @param username username who requested these datas
+     * @param player   player of the matches, null for every match
+     * @param from     earliest end time of the matches, 0 for no bound
+     * @param to       latest end time of the matches, 0 for no bound
+     * @param offset   number of matches to skip
+     * @param limit    maximum number of matches of the page
      * @throws RemoteException if something's wrong with the connection
      */
     @Override
-    public synchronized void sendFinishedMatchesList(String username) throws RemoteException {
-        List<String> stringList = new ArrayList<>();
-
-        File jarPath = new File(SagradaGame.class.getProtectionDomain().getCodeSource().getLocation().getPath());
-        String jarParentFolderPath = jarPath.getParentFile().getAbsolutePath();
-        File jarParentFolder = new File(jarParentFolderPath + "/histories");
-
-        try (Stream<Path> pathStream = Files.walk(Paths.get(jarParentFolder.getPath()))) {
-            pathStream.filter(Files::isRegularFile).forEach(path -> stringList.add(path.getFileName().toString().replace(".txt", "")));
-        } catch (IOException e) {
-            System.err.println("Nessuna storia trovata, creo cartella");
-            jarParentFolder.mkdir();
+    public void sendFinishedMatchesList(String username, String player, long from, long to, int offset, int limit) throws RemoteException {
+        MatchJournal journal = getMatchJournal();
+        FinishedMatchesResponse finishedMatchesResponse;
+        if (journal != null) {
+            MatchCatalog catalog = journal.getCatalog();
+            int pageSize = Math.max(1, Math.min(limit, FinishedMatchesRequest.PAGE_SIZE));
+            finishedMatchesResponse = new FinishedMatchesResponse(catalog.getPage(player, from, to, offset, pageSize),
+                                                                  offset, catalog.count(player, from, to));
+        } else {
+            finishedMatchesResponse = new FinishedMatchesResponse(new ArrayList<>());
         }
 
-        connectedUsers.get(username).getUserObserver().sendResponse(new FinishedMatchesResponse(stringList));
+        connectedUsers.get(username).getUserObserver().sendResponse(finishedMatchesResponse);
     }
 
     /**
@@ -338,60 +570,73 @@ public class SagradaGame implements RemoteSagradaGame {
      * @param username     Username of the username to log in
      * @param userObserver UserObserver of the User
      * @return Number of users currently connected to SagradaGame
-     * @throws InvalidUsernameException if the username has already been taken
+     * @throws InvalidUsernameException if the username has already been taken or is reserved to the bots
      * @throws RemoteException          if something with the network is wrong
      */
     @Override
-    public synchronized User loginUser(String username, UserObserver userObserver) throws InvalidUsernameException, RemoteException {
+    public User loginUser(String username, UserObserver userObserver) throws InvalidUsernameException, RemoteException {
+        if (isBotUsername(username))
+            throw new InvalidUsernameException("Usernames starting with " + Controller.BOT_USERNAME_PREFIX + " are reserved to the bots");
 
         // Check if the username is present and inactive
-        if (connectedUsers.containsKey(username) && !connectedUsers.get(username).isActive()) {
-            connectedUsers.get(username).attachUserObserver(userObserver);
-            connectedUsers.get(username).setActive(true);
-            //Check in which match the user was playing before disconnecting
-            Executors.newSingleThreadExecutor().execute(() -> sendRejoinResponse(userObserver, username));
-            // Return the same user with the updated UserObserver
-            connectedUsers.get(username).getUserObserver().activatePinger();
-            return connectedUsers.get(username);
+        User existingUser = connectedUsers.get(username);
+        if (existingUser != null) {
+            synchronized (existingUser) {
+                if (!existingUser.isActive()) {
+                    existingUser.attachUserObserver(userObserver);
+                    existingUser.setActive(true);
+                    //Check in which match the user was playing before disconnecting
+                    Controller match = matchesByName.findMatchOf(username);
+                    // The client needs a moment to get ready: the response is posted to the shard of the match
+                    // by the shared timer, without keeping the shard executor waiting
+                    String shardKey = match != null ? match.getMatchName() : username;
+                    ControllerTimer.schedule(() -> matchesByName.execute(shardKey, () -> sendRejoinResponse(match, userObserver, username)),
+                                             REJOIN_DELAY_MILLIS);
+                    // Return the same user with the updated UserObserver
+                    startSession(username, userObserver);
+                    return existingUser;
+                }
+            }
         }
 
         // In case there is no username | the username is active
         User currentUser = new User(username);
-        if (!connectedUsers.containsKey(username)) {
-            currentUser.attachUserObserver(userObserver);
-            connectedUsers.put(username, currentUser);
-            connectedUsers.get(username).getUserObserver().sendResponse(new LoginUserResponse(currentUser));
-            if (connectedUsers.get(username).getUserObserver() instanceof ClientHandler) {
-                connectedUsers.get(username).getUserObserver().activatePinger();
-            }
+        currentUser.attachUserObserver(userObserver);
+        if (existingUser == null && connectedUsers.putIfAbsent(username, currentUser) == null) {
+            leaderboard.add(currentUser);
+            currentUser.getUserObserver().sendResponse(new LoginUserResponse(currentUser));
+            startSession(username, userObserver);
             broadcastUsersConnected(username);
-            return connectedUsers.get(username);
+            return currentUser;
         }
 
         throw new InvalidUsernameException("Username has been taken already");
     }
 
+    /**
+     * @param username Username to check
+     * @return true if the username is of the kind given to the bots that fill the empty seats
+     */
+    private static boolean isBotUsername(String username) {
+        return username.startsWith(Controller.BOT_USERNAME_PREFIX);
+    }
+
     /**
      * Send a ReJoinResponse to a player that wants to join again a match due to disconnection.
      * It sends the controller and the player username.
+     * It runs on the executor of the shard that owns the match.
      *
+     * @param match        The match in which the player was playing, null if the player was in the lobby
      * @param userObserver The current instance of the player User Observer
      * @param username     Player Username
      */
-    private void sendRejoinResponse(UserObserver userObserver, String username) {
-
-        try {
-            Thread.sleep(500);
-        } catch (InterruptedException e) {
-            e.printStackTrace();
-        }
-
-        for (Controller controller : matchesByName.values()) {
-            for (Player player : controller.getPlayerList()) {
+    private void sendRejoinResponse(Controller match, UserObserver userObserver, String username) {
+        if (match != null) {
+            for (Player player : match.getPlayerList()) {
                 if (player.getPlayerUsername().equals(username)) {
                     player.getUser().attachUserObserver(userObserver);
                     try {
-                        player.getUserObserver().sendResponse(new ReJoinResponse(controller.getMatchName(), player.getPlayerUsername()));
+                        player.getUserObserver().sendResponse(new ReJoinResponse(match.getMatchName(), player.getPlayerUsername()));
                         return;
                     } catch (RemoteException e) {
                         e.printStackTrace();
@@ -409,7 +654,7 @@ public class SagradaGame implements RemoteSagradaGame {
     }
 
     @Override
-    public synchronized void logoutUser(String username) throws RemoteException {
+    public void logoutUser(String username) throws RemoteException {
 
     }
 
@@ -420,23 +665,28 @@ public class SagradaGame implements RemoteSagradaGame {
      * @throws RemoteException if the match name has already been taken
      */
     @Override
-    public synchronized void createMatch(String matchName) throws RemoteException {
-        Controller controller;
-        if (!matchesByName.containsKey(matchName)) {
-            controller = new Controller(matchName, maxTurnSeconds, maxJoinMatchSeconds, this);
-            RemoteController remoteController = (RemoteController) UnicastRemoteObject.exportObject(controller, 1100);
-            matchesByName.put(matchName, controller);
+    public void createMatch(String matchName) throws RemoteException {
+        if (matchesByName.containsKey(matchName))
+            throw new RemoteException("Match already exists");
+
+        Controller controller = new Controller(matchName, maxTurnSeconds, maxJoinMatchSeconds, this);
+        if (matchesByName.putIfAbsent(matchName, controller) != null) {
+            controller.setStop(true);
+            throw new RemoteException("Match already exists");
+        }
 
+        RemoteController remoteController = (RemoteController) UnicastRemoteObject.exportObject(controller, 1100);
+
+        // The registry binding and the broadcast run on the shard of the match, out of the lobby request
+        matchesByName.execute(matchName, () -> {
             try {
                 Naming.rebind("rmi://localhost:1099/" + matchName, remoteController);
-            } catch (MalformedURLException e) {
+            } catch (MalformedURLException | RemoteException e) {
                 e.printStackTrace();
             }
 
             userBroadcaster.broadcastResponseToAll(new CreateMatchResponse(createAvailableMatchesList()));
-        } else {
-            throw new RemoteException("Match already exists");
-        }
+        });
     }
 
     /**
@@ -447,12 +697,15 @@ public class SagradaGame implements RemoteSagradaGame {
      * @throws RemoteException
      */
     @Override
-    public synchronized void loginUserToController(String matchName, String username) throws RemoteException {
-        for (User user : connectedUsers.values()) {
-            if (user.getUsername().equals(username)) {
-                matchesByName.get(matchName).loginUser(user);
-                userBroadcaster.broadcastResponse(user.getUsername(), new CreateMatchResponse(createAvailableMatchesList()));
+    public void loginUserToController(String matchName, String username) throws RemoteException {
+        User user = connectedUsers.get(username);
+        Controller controller = matchesByName.get(matchName);
+        if (user != null && controller != null) {
+            // Only the users joining the same match wait for each other
+            synchronized (controller) {
+                controller.loginUser(user);
             }
+            userBroadcaster.broadcastResponse(user.getUsername(), new CreateMatchResponse(createAvailableMatchesList()));
         }
     }
 
@@ -464,16 +717,17 @@ public class SagradaGame implements RemoteSagradaGame {
      * @throws RemoteException
      */
     @Override
-    public synchronized void loginPrexistentPlayer(String matchName, String username) throws RemoteException {
-        boolean isMatchPresent = matchesByName.containsKey(matchName);
-        System.out.println(isMatchPresent);
-        if (isMatchPresent) {
-            for (Player player : matchesByName.get(matchName).getPlayerList()) {
+    public void loginPrexistentPlayer(String matchName, String username) throws RemoteException {
+        Controller controller = matchesByName.get(matchName);
+        System.out.println(controller != null);
+        if (controller != null) {
+            for (Player player : controller.getPlayerList()) {
                 if (player.getPlayerUsername().equals(username) && player.getUser().isActive()) {
                     System.out.println("SagradaGame: re-activating User " + username);
                     connectedUsers.get(username).setActive(true);
                     connectedUsers.get(username).setReady(true);
                     System.out.println("Player has been updated, it's now back online");
+                    livenessService.notifyConnection(username);
                 }
             }
         }
@@ -485,26 +739,27 @@ public class SagradaGame implements RemoteSagradaGame {
      * @param matchName Controller name
      * @return Controller of a specified match
      */
-    public synchronized Controller getMatchController(String matchName) {
+    public Controller getMatchController(String matchName) {
         return matchesByName.get(matchName);
     }
 
     /**
-     * Method that broadcasts a simple string message to every connected user except the one with the
-     * name passed by parameter
+     * Method that broadcasts the number of connected users and the top of the ranking, followed by
+     * the position of each user, to every connected user
      *
      * @param username Username to exclude from the broadcast message
      */
     @Override
     public void broadcastUsersConnected(String username) {
         userBroadcaster.broadcastResponseToAll(connectedUsers.size());
-        userBroadcaster.broadcastResponseToAll(createRankingsList());
+        List<TripleString> topOfTheRanking = createRankingsList();
+        userBroadcaster.broadcastRankingToAll(user -> createRankingsList(topOfTheRanking, user));
     }
 
     /**
      * Sends to the player lobby all the data like:
      * - Number of connected users
-     * - The ranking
+     * - The top of the ranking and the position of the player
      * - The available matches list
      * - The player statistics
      *
@@ -515,7 +770,7 @@ public class SagradaGame implements RemoteSagradaGame {
     public void sendBundleData(String username) throws RemoteException {
         connectedUsers.get(username).getUserObserver().sendResponse(
                 new BundleDataResponse(connectedUsers.size(),
-                                       createRankingsList(),
+                                       createRankingsList(createRankingsList(), username),
                                        createAvailableMatchesList(),
                                        createUserStats(username)));
     }
@@ -525,9 +780,10 @@ public class SagradaGame implements RemoteSagradaGame {
      * when he reconnects
      */
     @Override
-    public synchronized void deactivateUser(String disconnectedUsername) throws RemoteException {
-        for (User user : connectedUsers.values()) {
-            if (user.getUsername().equals(disconnectedUsername)) {
+    public void deactivateUser(String disconnectedUsername) throws RemoteException {
+        User user = connectedUsers.get(disconnectedUsername);
+        if (user != null) {
+            synchronized (user) {
                 if (user.isActive()) {
                     user.setActive(false);
                     user.setReady(false);
@@ -0,0 +1,119 @@
+package ingsw.model;
+
+import ingsw.model.cards.patterncard.Box;
+import ingsw.model.cards.privateoc.PrivateObjectiveCard;
+import ingsw.model.cards.publicoc.GridScore;
+import ingsw.model.cards.publicoc.PublicObjectiveCard;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Running score of a player, kept up to date while the match is played instead of being computed at the end.
+ * The breakdown remembers the color and value of the dice in every cell of the grid: when a cell changes only
+ * that dice is removed from and added to the counters of the GridScore, so a placement costs O(1) and the
+ * score of every objective card is then read from the counters.
+ */
+public class ScoreBreakdown {
+    private static final int ROWS = 4;
+    private static final int COLUMNS = 5;
+    private static final int NO_DICE = 0;
+
+    private final List<PublicObjectiveCard> publicObjectiveCards;
+    private final PrivateObjectiveCard privateObjectiveCard;
+    private final GridScore gridScore;
+    private final Color[] cellColor;
+    private final int[] cellValue;
+
+    /**
+     * Creates the breakdown of an empty grid
+     *
+     * @param publicObjectiveCards Public objective cards of the match
+     * @param privateObjectiveCard Private objective card of the player
+     */
+    public ScoreBreakdown(List<PublicObjectiveCard> publicObjectiveCards, PrivateObjectiveCard privateObjectiveCard) {
+        this.publicObjectiveCards = publicObjectiveCards;
+        this.privateObjectiveCard = privateObjectiveCard;
+        this.gridScore = new GridScore();
+        this.cellColor = new Color[ROWS * COLUMNS];
+        this.cellValue = new int[ROWS * COLUMNS];
+    }
+
+    /**
+     * Brings a cell of the breakdown in line with the grid after a dice has been placed, moved or removed
+     *
+     * @param grid        Grid of the player
+     * @param rowIndex    Row of the cell
+     * @param columnIndex Column of the cell
+     * @return true if the cell changed
+     */
+    public synchronized boolean updateCell(List<List<Box>> grid, int rowIndex, int columnIndex) {
+        int cell = rowIndex * COLUMNS + columnIndex;
+        Dice dice = grid.get(rowIndex).get(columnIndex).getDice();
+        Color color = dice == null ? null : dice.getDiceColor();
+        int value = dice == null ? NO_DICE : dice.getFaceUpValue();
+        if (color == cellColor[cell] && value == cellValue[cell])
+            return false;
+
+        if (cellColor[cell] != null)
+            gridScore.remove(rowIndex, columnIndex, cellColor[cell], cellValue[cell]);
+        if (color != null)
+            gridScore.place(rowIndex, columnIndex, color, value);
+        cellColor[cell] = color;
+        cellValue[cell] = value;
+        return true;
+    }
+
+    /**
+     * Brings every cell of the breakdown in line with the grid, after the whole grid has been replaced
+     *
+     * @param grid Grid of the player
+     * @return true if at least a cell changed
+     */
+    public synchronized boolean updateGrid(List<List<Box>> grid) {
+        boolean changed = false;
+        for (int row = 0; row < ROWS; row++) {
+            for (int column = 0; column < COLUMNS; column++) {
+                changed |= updateCell(grid, row, column);
+            }
+        }
+        return changed;
+    }
+
+    /**
+     * @return Points of every public objective card, by card name
+     */
+    public synchronized Map<String, Integer> getPublicObjectivePoints() {
+        Map<String, Integer> points = new LinkedHashMap<>();
+        for (PublicObjectiveCard publicObjectiveCard : publicObjectiveCards) {
+            points.put(publicObjectiveCard.getName(), publicObjectiveCard.getScore(gridScore));
+        }
+        return points;
+    }
+
+    /**
+     * @return Number of dice of the color of the private objective card
+     */
+    public synchronized int getPrivateObjectivePoints() {
+        return privateObjectiveCard == null ? 0 : gridScore.getNoOfDice(privateObjectiveCard.getColor());
+    }
+
+    /**
+     * @return Points lost for the empty boxes of the grid
+     */
+    public synchronized int getEmptyBoxesPenalty() {
+        return -gridScore.getNoOfEmptyBoxes();
+    }
+
+    /**
+     * @return Score of the player: points of the public objective cards minus the empty boxes
+     */
+    public synchronized int getTotal() {
+        int total = getEmptyBoxesPenalty();
+        for (PublicObjectiveCard publicObjectiveCard : publicObjectiveCards) {
+            total += publicObjectiveCard.getScore(gridScore);
+        }
+        return total;
+    }
+}
@@ -0,0 +1,140 @@
+package ingsw.model;
+
+import ingsw.model.cards.patterncard.Box;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * Undo log of the changes made to the board by a tool card move. While a transaction is open, every Box,
+ * dice, list or favour tokens is recorded just before it is changed: the move is then made directly on the
+ * board, without copying the grid, and it is either committed, which forgets the log, or rolled back, which
+ * undoes the recorded changes from the last one. Outside a transaction recording does nothing.
+ * <p>
+ * The steps of a tool card run as events of the match, possibly on different threads of the pool: the log
+ * is used only by the event loop of its match, which commits the transaction when the tool card ends and
+ * rolls it back when the turn ends before the tool card does.
+ */
+public class UndoLog {
+    private final Deque<Runnable> undoActions = new ArrayDeque<>();
+    private boolean open;
+
+    /**
+     * Opens a transaction, forgetting any previous one
+     */
+    public synchronized void begin() {
+        undoActions.clear();
+        open = true;
+    }
+
+    /**
+     * @return true if a transaction is open
+     */
+    public synchronized boolean isOpen() {
+        return open;
+    }
+
+    /**
+     * Records the dice placed in a Box before the Box is changed
+     *
+     * @param box Box that is going to change
+     */
+    public synchronized void recordBox(Box box) {
+        if (open) {
+            Dice dice = box.getDice();
+            undoActions.push(() -> {
+                box.removeDice();
+                if (dice != null)
+                    box.insertDice(dice);
+            });
+        }
+    }
+
+    /**
+     * Records the face up value of a dice before it is changed
+     *
+     * @param dice Dice that is going to change
+     */
+    public synchronized void recordFaceUpValue(Dice dice) {
+        if (open) {
+            int faceUpValue = dice.getFaceUpValue();
+            undoActions.push(() -> dice.setFaceUpValue(faceUpValue));
+        }
+    }
+
+    /**
+     * Records the elements of a list before the list is changed
+     *
+     * @param list List that is going to change
+     * @param <T>  Type of the elements
+     */
+    public synchronized <T> void recordList(List<T> list) {
+        if (open) {
+            List<T> elements = new ArrayList<>(list);
+            undoActions.push(() -> {
+                list.clear();
+                list.addAll(elements);
+            });
+        }
+    }
+
+    /**
+     * Records the drafted dice of the board, both the list and its elements, before the list is changed or replaced
+     *
+     * @param board Board of the match
+     */
+    public synchronized void recordDraftedDice(Board board) {
+        if (open) {
+            List<Dice> draftedDice = board.getDraftedDice();
+            recordList(draftedDice);
+            undoActions.push(() -> board.setDraftedDice(draftedDice));
+        }
+    }
+
+    /**
+     * Records the favour tokens of a player before they are spent
+     *
+     * @param player Player that is going to pay
+     */
+    public synchronized void recordFavourTokens(Player player) {
+        if (open) {
+            int favourTokens = player.getFavourTokens();
+            undoActions.push(() -> player.decreaseFavorTokens(player.getFavourTokens() - favourTokens));
+        }
+    }
+
+    /**
+     * Records a change that is undone by the given action, such as a dice drafted from the bag
+     *
+     * @param undoAction Action that undoes the change
+     */
+    public synchronized void record(Runnable undoAction) {
+        if (open)
+            undoActions.push(undoAction);
+    }
+
+    /**
+     * Keeps the changes of the transaction and closes it. Nothing happens if the transaction has already
+     * been rolled back.
+     */
+    public synchronized void commit() {
+        undoActions.clear();
+        open = false;
+    }
+
+    /**
+     * Undoes the recorded changes, from the last one, and closes the transaction
+     *
+     * @return true if some changes have been undone
+     */
+    public synchronized boolean rollback() {
+        boolean undone = !undoActions.isEmpty();
+        while (!undoActions.isEmpty()) {
+            undoActions.pop().run();
+        }
+        open = false;
+        return undone;
+    }
+}
@@ -46,6 +46,25 @@ public class User implements Serializable {
         this.activeTime = 0;
     }
 
+    /**
+     * Creates an inactive user with the statistics read from the UserStatsStore
+     *
+     * @param username      Username of the user
+     * @param noOfWins      Number of victories
+     * @param noOfLose      Number of defeats
+     * @param activeTime    Time played
+     * @param matchesPlayed Matches played
+     */
+    User(String username, int noOfWins, int noOfLose, long activeTime, List<String> matchesPlayed) {
+        this(username);
+        this.active = false;
+        this.ready = false;
+        this.noOfWins = noOfWins;
+        this.noOfLose = noOfLose;
+        this.activeTime = activeTime;
+        this.matchesPlayed = matchesPlayed;
+    }
+
     public User(User user) {
         active = false;
         ready = false;
@@ -236,6 +255,15 @@ public class User implements Serializable {
         }
     }
 
+    /**
+     * Returns the time played before the current session plus the time of the current session
+     *
+     * @return Time played to save
+     */
+    long getSavedActiveTime() {
+        return hasStopWatchStarted ? activeTime + stopWatch.getTime() : activeTime;
+    }
+
     /**
      * Returns time played formatted
      *
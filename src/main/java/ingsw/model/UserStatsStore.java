@@ -0,0 +1,255 @@
+package ingsw.model;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only store of the users statistics. When a match ends only the records of its players are appended,
+ * instead of rewriting the statistics of every user; the last record of a user replaces the previous ones.
+ * A record is <code>[length][crc32][username, wins, loses, active time, matches played]</code> and it is
+ * written like the records of the {@link MatchJournal}: when the store is opened it is scanned once to rebuild
+ * the index from the username to its last record, and a torn record at the end of the file is cut away.
+ * A record longer than {@link #MAX_RECORD_BYTES} would be taken for a torn one, so when the matches played by
+ * a user don't fit in a record only the most recent ones are written.
+ * <p>
+ * When the file holds many more records than users it is compacted: the last record of every user is written
+ * in a new file, which is forced on the disk and then renamed over the old one, so a crash during the
+ * compaction leaves either the old or the new file.
+ */
+public class UserStatsStore implements Closeable {
+    private static final int HEADER_BYTES = 8;
+    private static final int MAX_RECORD_BYTES = 1 << 20;
+    private static final int MIN_RECORDS_TO_COMPACT = 64;
+    private static final int COMPACTION_FACTOR = 4;
+
+    private final File file;
+    private final File compactionFile;
+    private final Map<String, User> index;
+    private FileChannel channel;
+    private long end;
+    private int noOfRecords;
+
+    /**
+     * Opens the store, creating it if it doesn't exist, and rebuilds the index
+     *
+     * @param file Store file
+     * @throws IOException if the store can't be opened
+     */
+    public UserStatsStore(File file) throws IOException {
+        this.file = file;
+        this.compactionFile = new File(file.getPath() + ".compact");
+        this.index = new LinkedHashMap<>();
+        // A compaction interrupted before the rename leaves the old file untouched
+        Files.deleteIfExists(compactionFile.toPath());
+        this.channel = FileChannel.open(file.toPath(), StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        recover();
+    }
+
+    /**
+     * Scans the store, indexing every complete record and cutting away the torn tail
+     */
+    private void recover() throws IOException {
+        long size = channel.size();
+        long position = 0;
+        while (position + HEADER_BYTES <= size) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+            readFully(header, position);
+            int length = header.getInt(0);
+            if (length <= 0 || length > MAX_RECORD_BYTES || position + HEADER_BYTES + length > size)
+                break;
+
+            byte[] payload = new byte[length];
+            readFully(ByteBuffer.wrap(payload), position + HEADER_BYTES);
+            CRC32 crc = new CRC32();
+            crc.update(payload, 0, payload.length);
+            if ((int) crc.getValue() != header.getInt(4))
+                break;
+
+            User user = decode(payload);
+            index.put(user.getUsername(), user);
+            noOfRecords++;
+            position += HEADER_BYTES + length;
+        }
+
+        if (position < size) {
+            System.err.println("UserStatsStore: cutting " + (size - position) + " bytes of a torn record");
+            channel.truncate(position);
+        }
+        end = position;
+    }
+
+    /**
+     * Appends the statistics of some users with a single write and forces them on the disk
+     *
+     * @param users Users whose statistics have changed
+     * @throws IOException if the records can't be written
+     */
+    public synchronized void write(Collection<User> users) throws IOException {
+        if (users.isEmpty())
+            return;
+
+        ByteArrayOutputStream frames = new ByteArrayOutputStream();
+        List<User> copies = new ArrayList<>(users.size());
+        for (User user : users) {
+            User copy = snapshot(user);
+            frames.write(frame(encodeWithinLimit(copy)));
+            copies.add(copy);
+        }
+
+        byte[] bytes = frames.toByteArray();
+        writeFully(ByteBuffer.wrap(bytes), end);
+        channel.force(false);
+        end += bytes.length;
+        noOfRecords += copies.size();
+        for (User copy : copies)
+            index.put(copy.getUsername(), copy);
+
+        if (noOfRecords >= MIN_RECORDS_TO_COMPACT && noOfRecords > COMPACTION_FACTOR * index.size())
+            compact();
+    }
+
+    /**
+     * Rewrites the store with only the last record of every user
+     *
+     * @throws IOException if the store can't be rewritten
+     */
+    public synchronized void compact() throws IOException {
+        ByteArrayOutputStream frames = new ByteArrayOutputStream();
+        for (User user : index.values())
+            frames.write(frame(encode(user)));
+        byte[] bytes = frames.toByteArray();
+
+        try (FileChannel compacted = FileChannel.open(compactionFile.toPath(), StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            ByteBuffer buffer = ByteBuffer.wrap(bytes);
+            while (buffer.hasRemaining())
+                compacted.write(buffer);
+            compacted.force(true);
+        }
+
+        channel.close();
+        try {
+            Files.move(compactionFile.toPath(), file.toPath(), StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            // If the rename fails the store goes on with the old file
+            channel = FileChannel.open(file.toPath(), StandardOpenOption.READ, StandardOpenOption.WRITE);
+        }
+        end = bytes.length;
+        noOfRecords = index.size();
+    }
+
+    /**
+     * @return A copy of the statistics of every user in the store, by username
+     */
+    public synchronized Map<String, User> getUsers() {
+        Map<String, User> users = new LinkedHashMap<>();
+        for (User user : index.values())
+            users.put(user.getUsername(), snapshot(user));
+        return users;
+    }
+
+    /**
+     * @return Number of records in the file, the users plus the records replaced since the last compaction
+     */
+    public synchronized int getNoOfRecords() {
+        return noOfRecords;
+    }
+
+    private static User snapshot(User user) {
+        return new User(user.getUsername(), user.getNoOfWins(), user.getNoOfLose(), user.getSavedActiveTime(),
+                        new LinkedList<>(user.getMatchesPlayed()));
+    }
+
+    private static byte[] encode(User user) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream record = new DataOutputStream(bytes);
+        record.writeUTF(user.getUsername());
+        record.writeInt(user.getNoOfWins());
+        record.writeInt(user.getNoOfLose());
+        record.writeLong(user.getSavedActiveTime());
+        List<String> matchesPlayed = user.getMatchesPlayed();
+        record.writeInt(matchesPlayed.size());
+        for (String match : matchesPlayed)
+            record.writeUTF(match);
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Encodes a user, dropping its oldest matches played until the record fits in {@link #MAX_RECORD_BYTES}
+     *
+     * @param user Copy of the user, its matches are removed from the copy too
+     * @return The payload of the record
+     * @throws IOException if the record doesn't fit even without matches
+     */
+    private static byte[] encodeWithinLimit(User user) throws IOException {
+        byte[] payload = encode(user);
+        List<String> matchesPlayed = user.getMatchesPlayed();
+        while (payload.length > MAX_RECORD_BYTES && !matchesPlayed.isEmpty()) {
+            int toDrop = matchesPlayed.size() / 8 + 1;
+            for (int i = 0; i < toDrop; i++)
+                matchesPlayed.remove(0);
+            payload = encode(user);
+        }
+        if (payload.length > MAX_RECORD_BYTES)
+            throw new IOException("The statistics of " + user.getUsername() + " don't fit in a record");
+        return payload;
+    }
+
+    private static User decode(byte[] payload) throws IOException {
+        DataInputStream record = new DataInputStream(new ByteArrayInputStream(payload));
+        String username = record.readUTF();
+        int noOfWins = record.readInt();
+        int noOfLose = record.readInt();
+        long activeTime = record.readLong();
+        int noOfMatches = record.readInt();
+        List<String> matchesPlayed = new LinkedList<>();
+        for (int i = 0; i < noOfMatches; i++)
+            matchesPlayed.add(record.readUTF());
+        return new User(username, noOfWins, noOfLose, activeTime, matchesPlayed);
+    }
+
+    private static byte[] frame(byte[] payload) {
+        CRC32 crc = new CRC32();
+        crc.update(payload, 0, payload.length);
+
+        byte[] frame = new byte[HEADER_BYTES + payload.length];
+        ByteBuffer buffer = ByteBuffer.wrap(frame);
+        buffer.putInt(payload.length);
+        buffer.putInt((int) crc.getValue());
+        buffer.put(payload);
+        return frame;
+    }
+
+    private void writeFully(ByteBuffer buffer, long position) throws IOException {
+        long written = 0;
+        while (buffer.hasRemaining())
+            written += channel.write(buffer, position + written);
+    }
+
+    private void readFully(ByteBuffer buffer, long position) throws IOException {
+        long read = 0;
+        while (buffer.hasRemaining()) {
+            int bytes = channel.read(buffer, position + read);
+            if (bytes < 0)
+                throw new EOFException();
+            read += bytes;
+        }
+    }
+
+    /**
+     * Closes the store
+     *
+     * @throws IOException if the store can't be closed
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        if (channel.isOpen())
+            channel.close();
+    }
+}
@@ -0,0 +1,75 @@
+package ingsw.model.bot;
+
+import ingsw.model.Color;
+import ingsw.model.Dice;
+import ingsw.model.cards.patterncard.PlacementState;
+
+/**
+ * Move chosen by a bot: a drafted dice placed in a Box, after changing its value with a tool card if
+ * <code>toolCardName</code> is set
+ */
+public final class BotMove {
+    private final Dice dice;
+    private final int value;
+    private final int cell;
+    private final String toolCardName;
+    private final int price;
+
+    BotMove(Dice dice, int value, int cell, String toolCardName, int price) {
+        this.dice = dice;
+        this.value = value;
+        this.cell = cell;
+        this.toolCardName = toolCardName;
+        this.price = price;
+    }
+
+    /**
+     * @return The drafted dice, with the value it has before the tool card is used
+     */
+    public Dice getDice() {
+        return dice;
+    }
+
+    public Color getColor() {
+        return dice.getDiceColor();
+    }
+
+    /**
+     * @return The value of the dice when it is placed
+     */
+    public int getValue() {
+        return value;
+    }
+
+    public int getRowIndex() {
+        return PlacementState.row(cell);
+    }
+
+    public int getColumnIndex() {
+        return PlacementState.column(cell);
+    }
+
+    int getCell() {
+        return cell;
+    }
+
+    /**
+     * @return Name of the tool card to use before placing the dice, null if no tool card is used
+     */
+    public String getToolCardName() {
+        return toolCardName;
+    }
+
+    /**
+     * @return Favour tokens spent for the tool card
+     */
+    int getPrice() {
+        return price;
+    }
+
+    @Override
+    public String toString() {
+        return dice.getDiceColor() + "" + value + " in [" + getRowIndex() + ", " + getColumnIndex() + "]"
+                + (toolCardName != null ? " with " + toolCardName : "");
+    }
+}
@@ -0,0 +1,295 @@
+package ingsw.model.bot;
+
+import ingsw.controller.network.commands.*;
+import ingsw.controller.network.socket.UserObserver;
+import ingsw.model.Color;
+import ingsw.model.Dice;
+import ingsw.model.GameManager;
+import ingsw.model.Player;
+import ingsw.model.cards.patterncard.PatternCard;
+import ingsw.model.cards.toolcards.GrozingPliers;
+import ingsw.utilities.NotificationType;
+import ingsw.utilities.ServerThreads;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Player run by the server. It receives the same calls that the server makes on a remote client and answers
+ * calling the GameManager, as the Controller would for a request of the client, so it can take an empty seat
+ * of a match or the seat of a player that has disconnected.
+ * Every answer runs on a bounded executor, not inside the call of the server unless the bots fall far
+ * behind, and the moves are chosen by a MoveSearch within its CPU budget, so a bot never holds the match
+ * for longer than a decision.
+ * The only tool cards used by a bot are Grozing Pliers and Grinding Stone, to change the value of the dice
+ * it places.
+ */
+public class BotPlayer implements UserObserver, Serializable {
+    public static final String BOTS_PROPERTY = "sagrada.bots";
+    private static final int MAX_QUEUED_ANSWERS = 1024;
+    private static final ExecutorService sharedExecutor = createSharedExecutor();
+
+    private final String username;
+    private final transient MoveSearch moveSearch;
+    private final transient Executor executor;
+    private transient GameManager gameManager;
+    private transient Player player;
+    private transient BotMove plannedMove;
+    private volatile boolean seated;
+    private int turn;
+    private boolean turnOpen;
+
+    /**
+     * Creates a bot
+     *
+     * @param username   Username of the seat
+     * @param moveSearch Search of the moves
+     * @param executor   Executor of the answers
+     */
+    public BotPlayer(String username, MoveSearch moveSearch, Executor executor) {
+        this.username = username;
+        this.moveSearch = moveSearch;
+        this.executor = executor;
+    }
+
+    /**
+     * Creates a bot that answers on the executor shared by every bot, with the budget set in the properties
+     *
+     * @param username Username of the seat
+     * @return The bot
+     */
+    public static BotPlayer create(String username) {
+        return new BotPlayer(username, MoveSearch.fromProperty(), sharedExecutor);
+    }
+
+    /**
+     * @return false if the bots have been disabled with <code>-Dsagrada.bots=false</code>
+     */
+    public static boolean isEnabled() {
+        return Boolean.parseBoolean(System.getProperty(BOTS_PROPERTY, "true"));
+    }
+
+    /**
+     * Creates the executor shared by every bot: a thread for every available processor, since the answers
+     * are bound by the CPU budget of the search, and a bounded queue. When the queue is full the answer runs
+     * in the caller, which slows down the matches that keep posting instead of piling up answers.
+     *
+     * @return The shared executor
+     */
+    private static ExecutorService createSharedExecutor() {
+        int noOfThreads = Math.max(2, Runtime.getRuntime().availableProcessors());
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(noOfThreads, noOfThreads, 30, TimeUnit.SECONDS,
+                                                             new LinkedBlockingQueue<>(MAX_QUEUED_ANSWERS),
+                                                             ServerThreads.newPoolThreadFactory("bot-player"),
+                                                             new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    /**
+     * Sits the bot in its match
+     *
+     * @param gameManager GameManager of the match
+     * @param player      Player of the seat
+     */
+    public void join(GameManager gameManager, Player player) {
+        this.gameManager = gameManager;
+        this.player = player;
+        seated = true;
+    }
+
+    /**
+     * Leaves the seat: the answers not yet given are dropped
+     */
+    public void leave() {
+        seated = false;
+    }
+
+    public String getUsername() {
+        return username;
+    }
+
+    private void later(Runnable answer) {
+        executor.execute(() -> {
+            if (seated)
+                answer.run();
+        });
+    }
+
+    private synchronized int openTurn() {
+        turnOpen = true;
+        plannedMove = null;
+        return ++turn;
+    }
+
+    private synchronized void closeTurn() {
+        turnOpen = false;
+    }
+
+    private synchronized boolean isTurnOpen(int currentTurn) {
+        return turnOpen && currentTurn == turn;
+    }
+
+    private synchronized BotMove takePlannedMove() {
+        BotMove move = plannedMove;
+        plannedMove = null;
+        return move;
+    }
+
+    private synchronized void planMove(BotMove move) {
+        plannedMove = move;
+    }
+
+    private synchronized int currentTurn() {
+        return turn;
+    }
+
+    private Color privateColor() {
+        return player.getPrivateObjectiveCard() != null ? player.getPrivateObjectiveCard().getColor() : null;
+    }
+
+    @Override
+    public void checkIfActive() {
+        // always connected
+    }
+
+    @Override
+    public void notifyLost(int score) {
+        leave();
+    }
+
+    @Override
+    public void notifyVictory(int score) {
+        leave();
+    }
+
+    /**
+     * Chooses the pattern card, acknowledges the drafted dice and goes on with a tool card, every other
+     * response only updates the view of a real client
+     *
+     * @param response Response sent by the server
+     */
+    @Override
+    public void sendResponse(Response response) {
+        if (response instanceof PatternCardNotification) {
+            List<PatternCard> patternCards = new ArrayList<>(((PatternCardNotification) response).patternCards);
+            later(() -> gameManager.setPatternCardForPlayer(username, patternCards.get(moveSearch.choosePatternCard(patternCards, privateColor()))));
+        } else if (response instanceof DraftedDiceResponse) {
+            later(gameManager::receiveAck);
+        } else if (response instanceof GrozingPliersResponse || response instanceof GrindingStoneResponse) {
+            later(this::changeDiceValue);
+        } else if (response instanceof AvailablePositionsResponse) {
+            later(this::placePlannedDice);
+        } else if (response instanceof AvoidToolCardResponse) {
+            later(this::playWithoutToolCard);
+        } else if (response instanceof TimeOutResponse || response instanceof EndTurnResponse) {
+            closeTurn();
+        }
+    }
+
+    @Override
+    public void onJoin(int numberOfConnectedUsers) {
+        // the seat is assigned by the server
+    }
+
+    @Override
+    public void receiveNotification(Notification notification) {
+        if (notification.notificationType == NotificationType.DRAFT_DICE)
+            later(gameManager::draftDiceFromBoard);
+    }
+
+    /**
+     * Searches the move of the turn and plays it
+     *
+     * @param booleanMapGrid Boxes in which every drafted dice can be placed, the bot computes its own
+     */
+    @Override
+    public void activateTurnNotification(Map<String, Boolean[][]> booleanMapGrid) {
+        int currentTurn = openTurn();
+        later(() -> playTurn(currentTurn));
+    }
+
+    private void playTurn(int currentTurn) {
+        if (!isTurnOpen(currentTurn))
+            return;
+
+        BotMove move = moveSearch.chooseMove(player.getPatternCard(), new ArrayList<>(gameManager.getDraftedDice()),
+                gameManager.getPublicObjectiveCards(), privateColor(), player.getFavourTokens(), gameManager.getToolCards(),
+                MoveSearch.futurePlacements(gameManager.getNoOfCurrentRound(), gameManager.getTurnInRound()));
+
+        if (move != null && move.getToolCardName() != null) {
+            planMove(move);
+            gameManager.useToolCard(move.getToolCardName());
+            return;
+        }
+
+        if (move != null)
+            place(move.getColor(), move.getValue(), move.getRowIndex(), move.getColumnIndex());
+        endTurn(currentTurn);
+    }
+
+    /**
+     * Tool card step: changes the value of the planned dice
+     */
+    private void changeDiceValue() {
+        BotMove move;
+        synchronized (this) {
+            move = plannedMove;
+        }
+        if (move == null)
+            return;
+
+        if (GrozingPliers.class.getSimpleName().equals(move.getToolCardName()))
+            gameManager.post(() -> gameManager.grozingPliersMove(move.getDice(), move.getValue() > move.getDice().getFaceUpValue()));
+        else
+            gameManager.post(() -> gameManager.grindingStoneMove(move.getDice()));
+    }
+
+    /**
+     * Places the dice changed by the tool card, the turn ends after the second move
+     */
+    private void placePlannedDice() {
+        int currentTurn = currentTurn();
+        BotMove move = takePlannedMove();
+        if (move == null || !isTurnOpen(currentTurn))
+            return;
+
+        place(move.getColor(), move.getValue(), move.getRowIndex(), move.getColumnIndex());
+        endTurn(currentTurn);
+    }
+
+    /**
+     * The tool card can't be paid: the dice is placed as it is, if it still fits
+     */
+    private void playWithoutToolCard() {
+        int currentTurn = currentTurn();
+        takePlannedMove();
+        if (!isTurnOpen(currentTurn))
+            return;
+
+        BotMove move = moveSearch.chooseMove(player.getPatternCard(), new ArrayList<>(gameManager.getDraftedDice()),
+                gameManager.getPublicObjectiveCards(), privateColor(), player.getFavourTokens(), null,
+                MoveSearch.futurePlacements(gameManager.getNoOfCurrentRound(), gameManager.getTurnInRound()));
+        if (move != null)
+            place(move.getColor(), move.getValue(), move.getRowIndex(), move.getColumnIndex());
+        endTurn(currentTurn);
+    }
+
+    private void place(Color color, int value, int rowIndex, int columnIndex) {
+        gameManager.post(() -> gameManager.placeDiceForPlayer(new Dice(value, color), rowIndex, columnIndex));
+    }
+
+    private void endTurn(int currentTurn) {
+        if (isTurnOpen(currentTurn)) {
+            closeTurn();
+            gameManager.post(() -> gameManager.endTurn(username));
+        }
+    }
+}
@@ -0,0 +1,390 @@
+package ingsw.model.bot;
+
+import ingsw.model.Color;
+import ingsw.model.Dice;
+import ingsw.model.cards.patterncard.PatternCard;
+import ingsw.model.cards.patterncard.PlacementState;
+import ingsw.model.cards.publicoc.GridScore;
+import ingsw.model.cards.publicoc.PublicObjectiveCard;
+import ingsw.model.cards.toolcards.ToolCard;
+import ingsw.model.moves.LegalMoves;
+import ingsw.model.moves.MoveCode;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Monte Carlo search of the move of a bot. Every legal placement of a drafted dice (also after changing its
+ * value with Grozing Pliers or Grinding Stone) is a candidate: the search plays it on a PlacementState of the
+ * pattern card and then fills the rest of the match with random dice placed in random legal Boxes, scoring
+ * the final grid with the counters of a GridScore. The candidate with the best average score is chosen.
+ * <p>
+ * The candidates are split in fork/join tasks on a pool shared by every bot, with a quarter of the
+ * processors, so the bots never take the cores of the server. Every decision has a budget of CPU time,
+ * divided among the candidates and measured on the thread that plays the rollouts; a decision also ends
+ * when the wall clock has passed four times the budget, so a busy pool slows the bots down instead of the
+ * turns.
+ */
+public class MoveSearch {
+    public static final String BUDGET_PROPERTY = "sagrada.bot.budgetMillis";
+    private static final long DEFAULT_BUDGET_MILLIS = 50;
+    private static final int WALL_CLOCK_FACTOR = 4;
+    private static final int ROLLOUTS_PER_CHECK = 8;
+    private static final int NO_OF_ROUNDS = 10;
+    private static final int PLACEMENTS_PER_ROUND = 2;
+    private static final Color[] DICE_COLORS = {Color.BLUE, Color.GREEN, Color.RED, Color.PURPLE, Color.YELLOW};
+
+    /**
+     * Weight of the points of the private objective card and of a favour token: they only break the ties
+     * between equal scores, as in the evaluation of the winner
+     */
+    private static final double PRIVATE_OBJECTIVE_WEIGHT = 0.1;
+    private static final double FAVOUR_TOKEN_WEIGHT = 0.01;
+
+    private static final ForkJoinPool sharedPool = createSharedPool();
+    private static final ThreadMXBean threadMXBean = ManagementFactory.getThreadMXBean();
+    private static final boolean cpuTimeSupported = isCpuTimeSupported();
+
+    private final long budgetNanos;
+    private final ForkJoinPool pool;
+    private final SplittableRandom random;
+
+    /**
+     * Creates a search on the pool shared by every bot
+     *
+     * @param budgetNanos CPU time of a decision
+     */
+    public MoveSearch(long budgetNanos) {
+        this(budgetNanos, sharedPool, System.nanoTime());
+    }
+
+    /**
+     * Creates a search
+     *
+     * @param budgetNanos CPU time of a decision
+     * @param pool        Pool that plays the rollouts
+     * @param seed        Seed of the rollouts
+     */
+    public MoveSearch(long budgetNanos, ForkJoinPool pool, long seed) {
+        this.budgetNanos = budgetNanos;
+        this.pool = pool;
+        this.random = new SplittableRandom(seed);
+    }
+
+    /**
+     * @return A search with the budget set with the <code>sagrada.bot.budgetMillis</code> property, 50 ms by default
+     */
+    public static MoveSearch fromProperty() {
+        long budgetMillis = Long.getLong(BUDGET_PROPERTY, DEFAULT_BUDGET_MILLIS);
+        return new MoveSearch(TimeUnit.MILLISECONDS.toNanos(Math.max(1, budgetMillis)));
+    }
+
+    private static ForkJoinPool createSharedPool() {
+        AtomicInteger threadNumber = new AtomicInteger(0);
+        return new ForkJoinPool(Math.max(1, Runtime.getRuntime().availableProcessors() / 4), pool -> {
+            ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+            thread.setName("bot-search-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }, null, false);
+    }
+
+    private static boolean isCpuTimeSupported() {
+        try {
+            return threadMXBean.isCurrentThreadCpuTimeSupported() && threadMXBean.isThreadCpuTimeEnabled();
+        } catch (UnsupportedOperationException e) {
+            return false;
+        }
+    }
+
+    /**
+     * @return CPU time of the calling thread, or the wall clock if the JVM can't measure it
+     */
+    private static long cpuTime() {
+        return cpuTimeSupported ? threadMXBean.getCurrentThreadCpuTime() : System.nanoTime();
+    }
+
+    /**
+     * @param noOfCurrentRound Current round, from 1
+     * @param turnInRound      1 in the first turn of the round, 2 in the second one
+     * @return Number of dice the player can still place after the move of the current turn
+     */
+    public static int futurePlacements(int noOfCurrentRound, int turnInRound) {
+        return Math.max(0, (NO_OF_ROUNDS - noOfCurrentRound) * PLACEMENTS_PER_ROUND + (turnInRound == 1 ? 1 : 0));
+    }
+
+    /**
+     * Chooses the move of the turn
+     *
+     * @param patternCard          Pattern card of the bot
+     * @param draftedDice          Dice that can be drafted
+     * @param publicObjectiveCards Public objective cards of the match
+     * @param privateColor         Color of the private objective card
+     * @param favourTokens         Favour tokens of the bot
+     * @param toolCards            Tool cards of the match
+     * @param futurePlacements     Dice the bot can still place after this move
+     * @return The best move, null if no drafted dice can be placed
+     */
+    public BotMove chooseMove(PatternCard patternCard, List<Dice> draftedDice, List<PublicObjectiveCard> publicObjectiveCards,
+                              Color privateColor, int favourTokens, List<ToolCard> toolCards, int futurePlacements) {
+        List<BotMove> candidates = generateMoves(patternCard.createPlacementState(), draftedDice, favourTokens, toolCards);
+        if (candidates.size() <= 1)
+            return candidates.isEmpty() ? null : candidates.get(0);
+
+        Rollouts rollouts = new Rollouts(patternCard, candidates, publicObjectiveCards, privateColor, favourTokens, futurePlacements);
+        return candidates.get(rollouts.best());
+    }
+
+    /**
+     * Chooses the pattern card of the match: the public objective cards are not known yet, so every card is
+     * scored with the empty boxes, the private objective card and its favour tokens
+     *
+     * @param patternCards Pattern cards dealt to the bot
+     * @param privateColor Color of the private objective card
+     * @return Index of the chosen pattern card
+     */
+    public int choosePatternCard(List<PatternCard> patternCards, Color privateColor) {
+        if (patternCards.size() <= 1)
+            return 0;
+
+        List<BotMove> candidates = new ArrayList<>();
+        for (int i = 0; i < patternCards.size(); i++) {
+            candidates.add(null);
+        }
+        Rollouts rollouts = new Rollouts(patternCards, candidates, privateColor);
+        return rollouts.best();
+    }
+
+    /**
+     * Lists the legal placements of every drafted dice, also with the values it can take with the tool cards
+     * the bot can pay: the placements, Grozing Pliers and Grinding Stone moves among the legal moves
+     */
+    static List<BotMove> generateMoves(PlacementState state, List<Dice> draftedDice, int favourTokens, List<ToolCard> toolCards) {
+        int[] codes = new int[LegalMoves.MAX_MOVES];
+        int count = new LegalMoves(state, draftedDice, null, toolCards, favourTokens, 0).generate(codes);
+
+        List<String> diceNames = new ArrayList<>();
+        for (Dice dice : draftedDice) {
+            diceNames.add(dice.toString());
+        }
+
+        List<BotMove> moves = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            int code = codes[i];
+            int action = MoveCode.action(code);
+            int source = MoveCode.source(code);
+            if ((action != MoveCode.PLACE && action != MoveCode.GROZING_PLIERS && action != MoveCode.GRINDING_STONE)
+                    || diceNames.indexOf(diceNames.get(source)) != source)
+                continue;
+
+            Dice dice = draftedDice.get(source);
+            String toolCardName = MoveCode.toolCardName(action);
+            moves.add(new BotMove(dice, MoveCode.value(code), MoveCode.target(code), toolCardName,
+                    toolCardName == null ? 0 : priceOf(toolCards, toolCardName)));
+        }
+        return moves;
+    }
+
+    private static int priceOf(List<ToolCard> toolCards, String toolCardName) {
+        for (ToolCard toolCard : toolCards) {
+            if (toolCard.getName().equals(toolCardName))
+                return toolCard.getPrice();
+        }
+        return 0;
+    }
+
+    /**
+     * @return The index of the n-th set bit of the mask
+     */
+    private static int nthSetBit(int mask, int n) {
+        int remaining = mask;
+        for (int i = 0; i < n; i++) {
+            remaining &= remaining - 1;
+        }
+        return Integer.numberOfTrailingZeros(remaining);
+    }
+
+    /**
+     * Rollouts of a decision: the scores of every candidate are summed in its own slot, written only by the
+     * task that owns the candidate
+     */
+    private final class Rollouts {
+        private final List<PatternCard> patternCards;
+        private final List<BotMove> candidates;
+        private final List<PublicObjectiveCard> publicObjectiveCards;
+        private final Color privateColor;
+        private final int favourTokens;
+        private final int futurePlacements;
+        private final double[] sums;
+        private final int[] counts;
+        private final long cpuBudgetPerCandidate;
+        private final long wallDeadline;
+
+        /**
+         * Rollouts of the moves of a turn, all on the same pattern card
+         */
+        private Rollouts(PatternCard patternCard, List<BotMove> candidates, List<PublicObjectiveCard> publicObjectiveCards,
+                         Color privateColor, int favourTokens, int futurePlacements) {
+            this(Collections.nCopies(candidates.size(), patternCard), candidates, publicObjectiveCards, privateColor,
+                    favourTokens, futurePlacements);
+        }
+
+        /**
+         * Rollouts of a whole match on every pattern card, without public objective cards
+         */
+        private Rollouts(List<PatternCard> patternCards, List<BotMove> candidates, Color privateColor) {
+            this(patternCards, candidates, Collections.<PublicObjectiveCard>emptyList(), privateColor, -1,
+                    NO_OF_ROUNDS * PLACEMENTS_PER_ROUND);
+        }
+
+        private Rollouts(List<PatternCard> patternCards, List<BotMove> candidates, List<PublicObjectiveCard> publicObjectiveCards,
+                         Color privateColor, int favourTokens, int futurePlacements) {
+            this.patternCards = patternCards;
+            this.candidates = candidates;
+            this.publicObjectiveCards = publicObjectiveCards;
+            this.privateColor = privateColor;
+            this.favourTokens = favourTokens;
+            this.futurePlacements = futurePlacements;
+            this.sums = new double[candidates.size()];
+            this.counts = new int[candidates.size()];
+            this.cpuBudgetPerCandidate = budgetNanos / candidates.size();
+            this.wallDeadline = System.nanoTime() + budgetNanos * WALL_CLOCK_FACTOR;
+        }
+
+        /**
+         * Plays the rollouts in the pool
+         *
+         * @return Index of the candidate with the best average score
+         */
+        private int best() {
+            long[] seeds = new long[candidates.size()];
+            synchronized (random) {
+                for (int i = 0; i < seeds.length; i++) {
+                    seeds[i] = random.nextLong();
+                }
+            }
+            pool.invoke(new RolloutTask(0, candidates.size(), seeds));
+
+            int best = 0;
+            double bestScore = Double.NEGATIVE_INFINITY;
+            for (int i = 0; i < candidates.size(); i++) {
+                double score = sums[i] / counts[i];
+                if (score > bestScore) {
+                    bestScore = score;
+                    best = i;
+                }
+            }
+            return best;
+        }
+
+        /**
+         * Splits the candidates in halves down to a single candidate per task
+         */
+        private final class RolloutTask extends RecursiveAction {
+            private final int from;
+            private final int to;
+            private final long[] seeds;
+
+            private RolloutTask(int from, int to, long[] seeds) {
+                this.from = from;
+                this.to = to;
+                this.seeds = seeds;
+            }
+
+            @Override
+            protected void compute() {
+                if (to - from > 1) {
+                    int middle = (from + to) >>> 1;
+                    invokeAll(new RolloutTask(from, middle, seeds), new RolloutTask(middle, to, seeds));
+                } else {
+                    playRollouts(from, new SplittableRandom(seeds[from]));
+                }
+            }
+        }
+
+        /**
+         * Plays the rollouts of a candidate until its share of the budget is spent, at least one
+         */
+        private void playRollouts(int index, SplittableRandom rolloutRandom) {
+            PatternCard patternCard = patternCards.get(index);
+            PlacementState state = patternCard.createPlacementState();
+            GridScore gridScore = GridScore.of(patternCard.getGrid());
+            int tokens = favourTokens >= 0 ? favourTokens : patternCard.getDifficulty();
+            int[] placedCells = new int[PlacementState.CELLS];
+            Color[] placedColors = new Color[PlacementState.CELLS];
+            int[] placedValues = new int[PlacementState.CELLS];
+
+            long cpuStart = cpuTime();
+            double sum = 0;
+            int count = 0;
+            do {
+                for (int i = 0; i < ROLLOUTS_PER_CHECK; i++) {
+                    sum += rollout(candidates.get(index), state, gridScore, tokens, rolloutRandom, placedCells, placedColors, placedValues);
+                    count++;
+                }
+            } while (cpuTime() - cpuStart < cpuBudgetPerCandidate && System.nanoTime() < wallDeadline);
+            sums[index] = sum;
+            counts[index] = count;
+        }
+
+        /**
+         * Plays the candidate and random placements up to the end of the match, then restores the state
+         *
+         * @return The score of the final grid
+         */
+        private double rollout(BotMove move, PlacementState state, GridScore gridScore, int tokens, SplittableRandom rolloutRandom,
+                               int[] placedCells, Color[] placedColors, int[] placedValues) {
+            int placed = 0;
+            if (move != null) {
+                place(state, gridScore, move.getCell(), move.getColor(), move.getValue());
+                placedCells[0] = move.getCell();
+                placedColors[0] = move.getColor();
+                placedValues[0] = move.getValue();
+                placed = 1;
+                tokens -= move.getPrice();
+            }
+
+            for (int i = 0; i < futurePlacements && placed < PlacementState.CELLS; i++) {
+                Color color = DICE_COLORS[rolloutRandom.nextInt(DICE_COLORS.length)];
+                int value = rolloutRandom.nextInt(6) + 1;
+                int available = state.availableCells(color, value);
+                if (available == 0)
+                    continue;
+
+                int cell = nthSetBit(available, rolloutRandom.nextInt(Integer.bitCount(available)));
+                place(state, gridScore, cell, color, value);
+                placedCells[placed] = cell;
+                placedColors[placed] = color;
+                placedValues[placed] = value;
+                placed++;
+            }
+
+            double score = -gridScore.getNoOfEmptyBoxes() + FAVOUR_TOKEN_WEIGHT * tokens;
+            if (privateColor != null)
+                score += PRIVATE_OBJECTIVE_WEIGHT * gridScore.getNoOfDice(privateColor);
+            for (PublicObjectiveCard publicObjectiveCard : publicObjectiveCards) {
+                score += publicObjectiveCard.getScore(gridScore);
+            }
+
+            for (int i = placed - 1; i >= 0; i--) {
+                state.lift(placedCells[i]);
+                gridScore.remove(PlacementState.row(placedCells[i]), PlacementState.column(placedCells[i]), placedColors[i], placedValues[i]);
+            }
+            return score;
+        }
+
+        private void place(PlacementState state, GridScore gridScore, int cell, Color color, int value) {
+            state.place(cell, color, value);
+            gridScore.place(PlacementState.row(cell), PlacementState.column(cell), color, value);
+        }
+    }
+}
@@ -1,10 +1,8 @@
 package ingsw.model.cards.patterncard;
 
-import ingsw.utilities.GridCreator;
-
 public class AuroraSagradis extends  PatternCard {
 
-    private String json = "[\n" +
+    private static final String JSON = "[\n" +
             "    [\n" +
             "      { \"color\": \"RED\" },\n" +
             "      { \"color\": \"BLANK\" },\n" +
@@ -40,6 +38,6 @@ public class AuroraSagradis extends  PatternCard {
      */
     public AuroraSagradis() {
         super("AuroraSagradis", 4);
-        setGrid(GridCreator.fromString(json));
+        setGridFromTemplate(JSON);
     }
 }
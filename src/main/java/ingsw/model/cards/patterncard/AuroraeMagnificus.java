@@ -1,10 +1,8 @@
 package ingsw.model.cards.patterncard;
 
-import ingsw.utilities.GridCreator;
-
 public class AuroraeMagnificus extends PatternCard {
 
-    private String json = "[\n" +
+    private static final String JSON = "[\n" +
             "    [\n" +
             "      { \"value\": 5 },\n" +
             "      { \"color\": \"GREEN\" },\n" +
@@ -40,6 +38,6 @@ public class AuroraeMagnificus extends PatternCard {
      */
     public AuroraeMagnificus() {
         super("AuroraeMagnificus", 5);
-        setGrid(GridCreator.fromString(json));
+        setGridFromTemplate(JSON);
     }
 }
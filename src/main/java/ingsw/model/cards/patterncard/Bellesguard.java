@@ -1,10 +1,8 @@
 package ingsw.model.cards.patterncard;
 
-import ingsw.utilities.GridCreator;
-
 public class Bellesguard extends PatternCard {
 
-    private String json = "[\n" +
+    private static final String JSON = "[\n" +
             "    [\n" +
             "      { \"color\": \"BLUE\" },\n" +
             "      { \"value\": 6 },\n" +
@@ -40,6 +38,6 @@ public class Bellesguard extends PatternCard {
      */
     public Bellesguard() {
         super("Bellesguard", 3);
-        setGrid(GridCreator.fromString(json));
+        setGridFromTemplate(JSON);
     }
 }
@@ -1,10 +1,8 @@
 package ingsw.model.cards.patterncard;
 
-import ingsw.utilities.GridCreator;
-
 public class Comitas extends PatternCard {
 
-    private String json = "[\n" +
+    private static final String JSON = "[\n" +
             "    [\n" +
             "      { \"color\": \"YELLOW\" },\n" +
             "      { \"color\": \"BLANK\" },\n" +
@@ -40,6 +38,6 @@ public class Comitas extends PatternCard {
      */
     public Comitas() {
         super("Comitas", 5);
-        setGrid(GridCreator.fromString(json));
+        setGridFromTemplate(JSON);
     }
 }
@@ -1,10 +1,8 @@
 package ingsw.model.cards.patterncard;
 
-import ingsw.utilities.GridCreator;
-
 public class Firelight extends PatternCard {
 
-    private String json = "[\n" +
+    private static final String JSON = "[\n" +
             "    [\n" +
             "      { \"value\": 3 },\n" +
             "      { \"value\": 4 },\n" +
@@ -40,6 +38,6 @@ public class Firelight extends PatternCard {
      */
     public Firelight() {
         super("Firelight", 5);
-        setGrid(GridCreator.fromString(json));
+        setGridFromTemplate(JSON);
     }
 }
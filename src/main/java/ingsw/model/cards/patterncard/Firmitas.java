@@ -1,10 +1,8 @@
 package ingsw.model.cards.patterncard;
 
-import ingsw.utilities.GridCreator;
-
 public class Firmitas extends PatternCard {
 
-    private String json = "[\n" +
+    private static final String JSON = "[\n" +
             "    [\n" +
             "      { \"color\": \"PURPLE\" },\n" +
             "      { \"value\": 6 },\n" +
@@ -40,6 +38,6 @@ public class Firmitas extends PatternCard {
      */
     public Firmitas() {
         super("Firmitas", 5);
-        setGrid(GridCreator.fromString(json));
+        setGridFromTemplate(JSON);
     }
 }
@@ -1,10 +1,8 @@
 package ingsw.model.cards.patterncard;
 
-import ingsw.utilities.GridCreator;
-
 public class FractalDrops extends PatternCard {
 
-    private String json = "[\n" +
+    private static final String JSON = "[\n" +
             "    [\n" +
             "      { \"color\": \"BLANK\" },\n" +
             "      { \"value\": 4 },\n" +
@@ -40,6 +38,6 @@ public class FractalDrops extends PatternCard {
      */
     public FractalDrops() {
         super("FractalDrops", 3);
-        setGrid(GridCreator.fromString(json));
+        setGridFromTemplate(JSON);
     }
 }
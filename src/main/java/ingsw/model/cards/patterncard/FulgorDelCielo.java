@@ -1,10 +1,8 @@
 package ingsw.model.cards.patterncard;
 
-import ingsw.utilities.GridCreator;
-
 public class FulgorDelCielo extends PatternCard {
 
-    private String json = "[\n" +
+    private static final String JSON = "[\n" +
             "    [\n" +
             "      { \"color\": \"BLANK\" },\n" +
             "      { \"color\": \"BLUE\" },\n" +
@@ -40,6 +38,6 @@ public class FulgorDelCielo extends PatternCard {
      */
     public FulgorDelCielo() {
         super("FulgorDelCielo", 5);
-        setGrid(GridCreator.fromString(json));
+        setGridFromTemplate(JSON);
     }
 }
@@ -1,10 +1,8 @@
 package ingsw.model.cards.patterncard;
 
-import ingsw.utilities.GridCreator;
-
 public class Gravitas extends PatternCard {
 
-    private String json = "[\n" +
+    private static final String JSON = "[\n" +
             "    [\n" +
             "      { \"value\": 1 },\n" +
             "      { \"color\": \"BLANK\" },\n" +
@@ -40,6 +38,6 @@ public class Gravitas extends PatternCard {
      */
     public Gravitas() {
         super("Gravitas", 5);
-        setGrid(GridCreator.fromString(json));
+        setGridFromTemplate(JSON);
     }
 }
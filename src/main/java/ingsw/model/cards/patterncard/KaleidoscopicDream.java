@@ -1,10 +1,8 @@
 package ingsw.model.cards.patterncard;
 
-import ingsw.utilities.GridCreator;
-
 public class KaleidoscopicDream extends PatternCard {
 
-    private String json = "[\n" +
+    private static final String JSON = "[\n" +
             "    [\n" +
             "      { \"color\": \"YELLOW\" },\n" +
             "      { \"color\": \"BLUE\" },\n" +
@@ -40,6 +38,6 @@ public class KaleidoscopicDream extends PatternCard {
      */
     public KaleidoscopicDream() {
         super("KaleidoscopicDream", 4);
-        setGrid(GridCreator.fromString(json));
+        setGridFromTemplate(JSON);
     }
 }
@@ -1,10 +1,8 @@
 package ingsw.model.cards.patterncard;
 
-import ingsw.utilities.GridCreator;
-
 public class LuxAstram extends PatternCard {
 
-    private String json = "[\n" +
+    private static final String JSON = "[\n" +
             "    [\n" +
             "      { \"color\": \"BLANK\" },\n" +
             "      { \"value\": 1 },\n" +
@@ -40,6 +38,6 @@ public class LuxAstram extends PatternCard {
      */
     public LuxAstram() {
         super("LuxAstram", 5);
-        setGrid(GridCreator.fromString(json));
+        setGridFromTemplate(JSON);
     }
 }
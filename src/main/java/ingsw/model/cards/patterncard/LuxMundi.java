@@ -1,10 +1,8 @@
 package ingsw.model.cards.patterncard;
 
-import ingsw.utilities.GridCreator;
-
 public class LuxMundi extends PatternCard {
 
-    private String json = "[\n" +
+    private static final String JSON = "[\n" +
             "    [\n" +
             "      { \"color\": \"BLANK\" },\n" +
             "      { \"color\": \"BLANK\" },\n" +
@@ -40,6 +38,6 @@ public class LuxMundi extends PatternCard {
      */
     public LuxMundi() {
         super("LuxMundi", 6);
-        setGrid(GridCreator.fromString(json));
+        setGridFromTemplate(JSON);
     }
 }
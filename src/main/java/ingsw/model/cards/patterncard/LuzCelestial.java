@@ -1,10 +1,8 @@
 package ingsw.model.cards.patterncard;
 
-import ingsw.utilities.GridCreator;
-
 public class LuzCelestial extends PatternCard {
 
-    private String json = "[\n" +
+    private static final String JSON = "[\n" +
             "    [\n" +
             "      { \"color\": \"BLANK\" },\n" +
             "      { \"color\": \"BLANK\" },\n" +
@@ -40,6 +38,6 @@ public class LuzCelestial extends PatternCard {
      */
     public LuzCelestial() {
         super("LuzCelestial", 3);
-        setGrid(GridCreator.fromString(json));
+        setGridFromTemplate(JSON);
     }
 }
@@ -0,0 +1,97 @@
+package ingsw.model.cards.patterncard;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Supplier;
+
+/**
+ * Catalog of the 24 pattern cards of the game, indexed by name.
+ * Every card is created once when the catalog is loaded, so the templates of all the cards are parsed
+ * once per process; the cards created afterwards only build their grid from the shared template.
+ */
+public final class PatternCardCatalog {
+    private static final Map<String, Supplier<PatternCard>> PATTERN_CARDS = new LinkedHashMap<>();
+
+    static {
+        register(AuroraeMagnificus::new);
+        register(AuroraSagradis::new);
+        register(Batllo::new);
+        register(Bellesguard::new);
+        register(ChromaticSplendor::new);
+        register(Comitas::new);
+        register(Firelight::new);
+        register(Firmitas::new);
+        register(FractalDrops::new);
+        register(FulgorDelCielo::new);
+        register(Gravitas::new);
+        register(Industria::new);
+        register(KaleidoscopicDream::new);
+        register(LuxAstram::new);
+        register(LuxMundi::new);
+        register(LuzCelestial::new);
+        register(RipplesOfLight::new);
+        register(ShadowThief::new);
+        register(SunCatcher::new);
+        register(SunsGlory::new);
+        register(SymphonyOfLight::new);
+        register(ViaLux::new);
+        register(Virtus::new);
+        register(WaterOfLife::new);
+    }
+
+    private PatternCardCatalog() {
+    }
+
+    private static void register(Supplier<PatternCard> supplier) {
+        PATTERN_CARDS.put(supplier.get().getName(), supplier);
+    }
+
+    /**
+     * @return The names of every pattern card
+     */
+    public static Set<String> getNames() {
+        return Collections.unmodifiableSet(PATTERN_CARDS.keySet());
+    }
+
+    /**
+     * Returns the shared template of a pattern card
+     *
+     * @param name Name of the pattern card
+     * @return The template
+     * @throws IllegalArgumentException if there is no pattern card with the given name
+     */
+    public static PatternCardTemplate getTemplate(String name) {
+        if (!PATTERN_CARDS.containsKey(name))
+            throw new IllegalArgumentException("Unknown pattern card: " + name);
+        return PatternCardTemplate.get(name);
+    }
+
+    /**
+     * Creates a new pattern card with an empty grid
+     *
+     * @param name Name of the pattern card
+     * @return The pattern card
+     * @throws IllegalArgumentException if there is no pattern card with the given name
+     */
+    public static PatternCard create(String name) {
+        Supplier<PatternCard> supplier = PATTERN_CARDS.get(name);
+        if (supplier == null)
+            throw new IllegalArgumentException("Unknown pattern card: " + name);
+        return supplier.get();
+    }
+
+    /**
+     * @return A new instance of every pattern card, always in the same order
+     */
+    public static List<PatternCard> createAll() {
+        List<PatternCard> patternCards = new ArrayList<>(PATTERN_CARDS.size());
+        for (Supplier<PatternCard> supplier : PATTERN_CARDS.values()) {
+            patternCards.add(supplier.get());
+        }
+        return patternCards;
+    }
+}
@@ -0,0 +1,163 @@
+package ingsw.model.cards.patterncard;
+
+import ingsw.model.Color;
+import ingsw.utilities.GridCreator;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Immutable part of a pattern card: the constraints of its Boxes, parsed from the JSON of the card only the
+ * first time the card is created in the process and then shared by every copy of the card.
+ * A PatternCard owns only a fresh grid of Boxes, created from the template, in which its dice are placed.
+ * The template also keeps the bitboard masks of the constraints used by the PlacementEngine and the mask
+ * of the cells in which the first dice of every color and value can be placed.
+ */
+public final class PatternCardTemplate {
+    private static final Map<String, PatternCardTemplate> TEMPLATES = new ConcurrentHashMap<>();
+    private static final int NO_OF_VALUES = 7;
+
+    private final String name;
+    private final int difficulty;
+    private final Color[] colors;
+    private final int[] values;
+
+    private final int[] colorConstraint = new int[Color.values().length];
+    private final int[] valueConstraint = new int[NO_OF_VALUES];
+    private final int valuedBoxes;
+    private final int blankBoxes;
+    private final int[][] firstPlacement = new int[Color.values().length][NO_OF_VALUES];
+
+    /**
+     * Creates the template from the grid parsed from the JSON of the card
+     */
+    private PatternCardTemplate(String name, int difficulty, List<List<Box>> grid) {
+        this.name = name;
+        this.difficulty = difficulty;
+        this.colors = new Color[PlacementEngine.CELLS];
+        this.values = new int[PlacementEngine.CELLS];
+
+        int valued = 0;
+        int blank = 0;
+        for (int row = 0; row < PlacementEngine.ROWS; row++) {
+            for (int column = 0; column < PlacementEngine.COLUMNS; column++) {
+                Box box = grid.get(row).get(column);
+                int cell = PlacementEngine.cell(row, column);
+                int bit = 1 << cell;
+                if (box.isValueSet()) {
+                    values[cell] = box.getValue();
+                    valued |= bit;
+                    valueConstraint[box.getValue()] |= bit;
+                } else {
+                    colors[cell] = box.getColor();
+                    colorConstraint[box.getColor().ordinal()] |= bit;
+                    if (box.getColor() == Color.BLANK)
+                        blank |= bit;
+                }
+            }
+        }
+        this.valuedBoxes = valued;
+        this.blankBoxes = blank;
+
+        for (int color = 0; color < firstPlacement.length; color++) {
+            for (int value = 1; value < NO_OF_VALUES; value++) {
+                firstPlacement[color][value] = (valueConstraint[value] | colorConstraint[color] | blankBoxes)
+                        & PlacementEngine.BORDER_MASK;
+            }
+        }
+    }
+
+    /**
+     * Returns the template of a pattern card, parsing its JSON only if the template doesn't exist yet
+     *
+     * @param name       Name of the pattern card
+     * @param difficulty Difficulty of the pattern card
+     * @param json       Grid of the pattern card
+     * @return The shared template
+     */
+    static PatternCardTemplate of(String name, int difficulty, String json) {
+        PatternCardTemplate template = TEMPLATES.get(name);
+        if (template == null)
+            template = TEMPLATES.computeIfAbsent(name, key -> new PatternCardTemplate(name, difficulty, GridCreator.fromString(json)));
+        return template;
+    }
+
+    /**
+     * @param name Name of the pattern card
+     * @return The template of the pattern card, null if the card has never been created
+     */
+    static PatternCardTemplate get(String name) {
+        return TEMPLATES.get(name);
+    }
+
+    /**
+     * Creates a new grid of empty Boxes with the constraints of the template
+     *
+     * @return The grid
+     */
+    public List<List<Box>> createGrid() {
+        List<List<Box>> grid = new ArrayList<>(PlacementEngine.ROWS);
+        for (int row = 0; row < PlacementEngine.ROWS; row++) {
+            List<Box> boxes = new ArrayList<>(PlacementEngine.COLUMNS);
+            for (int column = 0; column < PlacementEngine.COLUMNS; column++) {
+                int cell = PlacementEngine.cell(row, column);
+                boxes.add(colors[cell] != null ? new Box(colors[cell]) : new Box(values[cell]));
+            }
+            grid.add(boxes);
+        }
+        return grid;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getDifficulty() {
+        return difficulty;
+    }
+
+    /**
+     * @param row    Row index
+     * @param column Column index
+     * @return The color constraint of the Box, null if the Box has a value constraint
+     */
+    public Color getColor(int row, int column) {
+        return colors[PlacementEngine.cell(row, column)];
+    }
+
+    /**
+     * @param row    Row index
+     * @param column Column index
+     * @return The value constraint of the Box, 0 if the Box has a color constraint
+     */
+    public int getValue(int row, int column) {
+        return values[PlacementEngine.cell(row, column)];
+    }
+
+    /**
+     * @param color Dice color
+     * @param value Dice face up value
+     * @return The mask of the cells in which the first dice of the grid with the given color and value can be placed
+     */
+    public int getFirstPlacementMask(Color color, int value) {
+        return firstPlacement[color.ordinal()][value];
+    }
+
+    int[] getColorConstraint() {
+        return colorConstraint;
+    }
+
+    int[] getValueConstraint() {
+        return valueConstraint;
+    }
+
+    int getValuedBoxes() {
+        return valuedBoxes;
+    }
+
+    int getBlankBoxes() {
+        return blankBoxes;
+    }
+}
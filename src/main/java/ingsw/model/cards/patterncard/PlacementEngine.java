@@ -0,0 +1,303 @@
+package ingsw.model.cards.patterncard;
+
+import ingsw.model.Color;
+import ingsw.model.Dice;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Bitboard implementation of the placement rules of a pattern card.
+ * Every Box of the 4x5 grid is mapped to a bit (index <code>row * 5 + column</code>) of an int, so that
+ * the placement constraints and the dice already placed are kept as masks and the available positions
+ * of a dice are computed with a handful of shifts and bitwise operations instead of scanning the grid.
+ * The constraint masks depend only on the Boxes colors and values: they are taken from the shared
+ * PatternCardTemplate of the card or, for a grid built elsewhere, computed once per grid. The occupancy
+ * masks are reloaded from the grid at every computation.
+ */
+final class PlacementEngine {
+    static final int ROWS = 4;
+    static final int COLUMNS = 5;
+    static final int CELLS = ROWS * COLUMNS;
+    static final int FULL_MASK = (1 << CELLS) - 1;
+
+    private static final int FIRST_COLUMN_MASK = 0x08421;
+    private static final int LAST_COLUMN_MASK = FIRST_COLUMN_MASK << (COLUMNS - 1);
+    static final int BORDER_MASK = 0x1F | (0x1F << (CELLS - COLUMNS)) | FIRST_COLUMN_MASK | LAST_COLUMN_MASK;
+    private static final int NO_DICE = -1;
+    private static final Color[] COLORS = Color.values();
+
+    private final List<List<Box>> grid;
+
+    private final PatternCardTemplate template;
+    private final int[] colorConstraint;
+    private final int[] valueConstraint;
+    private int valuedBoxes;
+    private int blankBoxes;
+
+    private int occupied;
+    private final int[] colorOccupied = new int[Color.values().length];
+    private final int[] valueOccupied = new int[7];
+    private final int[] cellColor = new int[CELLS];
+    private final int[] cellValue = new int[CELLS];
+
+    /**
+     * Creates the engine for the given grid, computing the constraint masks of its Boxes.
+     *
+     * @param grid Grid of the pattern card.
+     */
+    PlacementEngine(List<List<Box>> grid) {
+        this.grid = grid;
+        this.template = null;
+        this.colorConstraint = new int[Color.values().length];
+        this.valueConstraint = new int[7];
+        for (int row = 0; row < ROWS; row++) {
+            for (int column = 0; column < COLUMNS; column++) {
+                Box box = grid.get(row).get(column);
+                int bit = 1 << cell(row, column);
+                if (box.isValueSet()) {
+                    valuedBoxes |= bit;
+                    valueConstraint[box.getValue()] |= bit;
+                } else {
+                    colorConstraint[box.getColor().ordinal()] |= bit;
+                    if (box.getColor() == Color.BLANK)
+                        blankBoxes |= bit;
+                }
+            }
+        }
+    }
+
+    /**
+     * Creates the engine for a grid created from the given template, sharing its constraint masks.
+     *
+     * @param grid Grid of the pattern card.
+     * @param template Template from which the grid has been created.
+     */
+    PlacementEngine(List<List<Box>> grid, PatternCardTemplate template) {
+        this.grid = grid;
+        this.template = template;
+        this.colorConstraint = template.getColorConstraint();
+        this.valueConstraint = template.getValueConstraint();
+        this.valuedBoxes = template.getValuedBoxes();
+        this.blankBoxes = template.getBlankBoxes();
+    }
+
+    /**
+     * @param grid Grid to check.
+     * @return true if the engine has been created for the given grid.
+     */
+    boolean isBuiltFor(List<List<Box>> grid) {
+        return this.grid == grid;
+    }
+
+    /**
+     * Reloads the occupancy masks from the dice currently placed in the grid.
+     */
+    void loadDice() {
+        occupied = 0;
+        Arrays.fill(colorOccupied, 0);
+        Arrays.fill(valueOccupied, 0);
+        for (int row = 0; row < ROWS; row++) {
+            for (int column = 0; column < COLUMNS; column++) {
+                Dice dice = grid.get(row).get(column).getDice();
+                int index = cell(row, column);
+                if (dice != null) {
+                    int bit = 1 << index;
+                    occupied |= bit;
+                    colorOccupied[dice.getDiceColor().ordinal()] |= bit;
+                    valueOccupied[dice.getFaceUpValue()] |= bit;
+                    cellColor[index] = dice.getDiceColor().ordinal();
+                    cellValue[index] = dice.getFaceUpValue();
+                } else {
+                    cellColor[index] = NO_DICE;
+                    cellValue[index] = NO_DICE;
+                }
+            }
+        }
+    }
+
+    /**
+     * @param index Cell index.
+     * @return true if a dice is placed in the cell.
+     */
+    boolean isOccupied(int index) {
+        return (occupied & (1 << index)) != 0;
+    }
+
+    /**
+     * @return The mask of the cells in which a dice is placed.
+     */
+    int getOccupied() {
+        return occupied;
+    }
+
+    /**
+     * @param index Cell index.
+     * @return The color of the dice placed in the cell.
+     */
+    Color getColor(int index) {
+        return COLORS[cellColor[index]];
+    }
+
+    /**
+     * @param index Cell index.
+     * @return The face up value of the dice placed in the cell.
+     */
+    int getValue(int index) {
+        return cellValue[index];
+    }
+
+    /**
+     * Removes the dice in the given cell from the occupancy masks, without touching the grid.
+     *
+     * @param index Cell index.
+     */
+    void lift(int index) {
+        int bit = ~(1 << index);
+        occupied &= bit;
+        colorOccupied[cellColor[index]] &= bit;
+        valueOccupied[cellValue[index]] &= bit;
+    }
+
+    /**
+     * Puts back in the occupancy masks the dice previously lifted from the given cell.
+     *
+     * @param index Cell index.
+     */
+    void restore(int index) {
+        int bit = 1 << index;
+        occupied |= bit;
+        colorOccupied[cellColor[index]] |= bit;
+        valueOccupied[cellValue[index]] |= bit;
+    }
+
+    /**
+     * Adds a dice to the occupancy masks, without touching the grid.
+     *
+     * @param index Cell index.
+     * @param color Dice color.
+     * @param value Dice face up value.
+     */
+    void place(int index, Color color, int value) {
+        cellColor[index] = color.ordinal();
+        cellValue[index] = value;
+        restore(index);
+    }
+
+    /**
+     * Computes the cells in which a dice with the given color and value can be placed.
+     *
+     * @param color Dice color.
+     * @param value Dice face up value.
+     * @param colorRestrictions Enables color restrictions.
+     * @param valueRestrictions Enables value restrictions.
+     * @param diceAroundRestriction Enables that a dice, in order to be placed, must be adjacent to another one.
+     * @param swap Enables the check of the cells in which a dice is already placed (double move of Lathekin & Tap Wheel).
+     * @param origin Cell from which the dice has been lifted (used only when <code>swap</code> is enabled).
+     * @return Mask of the available cells.
+     */
+    int availableCells(Color color, int value, boolean colorRestrictions, boolean valueRestrictions,
+                       boolean diceAroundRestriction, boolean swap, int origin) {
+        if (occupied == 0 && template != null && colorRestrictions && valueRestrictions)
+            return template.getFirstPlacementMask(color, value);
+
+        int allowed = constraint(color.ordinal(), value, colorRestrictions, valueRestrictions);
+
+        if (occupied == 0)
+            return allowed & BORDER_MASK;
+
+        int around = expandAround(occupied);
+        int result = (swap ? FULL_MASK : ~occupied & FULL_MASK) & allowed
+                & (diceAroundRestriction ? around : ~around)
+                & ~expandOrthogonal(colorOccupied[color.ordinal()] | valueOccupied[value]);
+
+        if (swap) {
+            int originBit = 1 << origin;
+            int toSwitch = result & occupied & ~rowMask(origin / COLUMNS) & ~columnMask(origin % COLUMNS);
+            while (toSwitch != 0) {
+                int bit = Integer.lowestOneBit(toSwitch);
+                toSwitch &= ~bit;
+                if (!canSwitch(Integer.numberOfTrailingZeros(bit), originBit, around, colorRestrictions,
+                        valueRestrictions, diceAroundRestriction))
+                    result &= ~bit;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Checks if the dice in the given cell can be moved in the cell of the dice that is being analyzed.
+     */
+    private boolean canSwitch(int index, int originBit, int around, boolean colorRestrictions,
+                              boolean valueRestrictions, boolean diceAroundRestriction) {
+        int color = cellColor[index];
+        int value = cellValue[index];
+        if ((constraint(color, value, colorRestrictions, valueRestrictions) & originBit) == 0)
+            return false;
+        if (!diceAroundRestriction)
+            return (around & originBit) == 0;
+        return (around & originBit) != 0
+                && (expandOrthogonal(originBit) & (colorOccupied[color] | valueOccupied[value])) == 0;
+    }
+
+    /**
+     * Computes the cells whose Box constraints are respected by a dice with the given color and value.
+     */
+    private int constraint(int color, int value, boolean colorRestrictions, boolean valueRestrictions) {
+        int valued = valueRestrictions ? valueConstraint[value] : valuedBoxes;
+        int colored = colorRestrictions ? colorConstraint[color] | blankBoxes : ~valuedBoxes & FULL_MASK;
+        return valued | colored;
+    }
+
+    /**
+     * @param mask Mask of cells.
+     * @return The cells orthogonally adjacent to at least one cell of the mask.
+     */
+    static int expandOrthogonal(int mask) {
+        return ((mask << COLUMNS) | (mask >>> COLUMNS)
+                | ((mask & ~LAST_COLUMN_MASK) << 1) | ((mask & ~FIRST_COLUMN_MASK) >>> 1)) & FULL_MASK;
+    }
+
+    /**
+     * @param mask Mask of cells.
+     * @return The cells orthogonally or diagonally adjacent to at least one cell of the mask.
+     */
+    static int expandAround(int mask) {
+        int horizontal = ((mask & ~LAST_COLUMN_MASK) << 1) | ((mask & ~FIRST_COLUMN_MASK) >>> 1);
+        int band = mask | horizontal;
+        return ((band << COLUMNS) | (band >>> COLUMNS) | horizontal) & FULL_MASK;
+    }
+
+    private static int rowMask(int row) {
+        return 0x1F << (row * COLUMNS);
+    }
+
+    private static int columnMask(int column) {
+        return FIRST_COLUMN_MASK << column;
+    }
+
+    /**
+     * @param row Row index.
+     * @param column Column index.
+     * @return The index of the cell.
+     */
+    static int cell(int row, int column) {
+        return row * COLUMNS + column;
+    }
+
+    /**
+     * Converts a mask to the 2-D array used by the views.
+     *
+     * @param mask Mask of cells.
+     * @return 2-D array of boolean. With a true value the dice can be placed otherwise no.
+     */
+    static Boolean[][] toBooleanGrid(int mask) {
+        Boolean[][] booleanGrid = new Boolean[ROWS][COLUMNS];
+        for (int row = 0; row < ROWS; row++) {
+            for (int column = 0; column < COLUMNS; column++) {
+                booleanGrid[row][column] = (mask & (1 << cell(row, column))) != 0;
+            }
+        }
+        return booleanGrid;
+    }
+}
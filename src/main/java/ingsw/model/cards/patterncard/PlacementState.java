@@ -0,0 +1,137 @@
+package ingsw.model.cards.patterncard;
+
+import ingsw.model.Color;
+
+import java.util.List;
+
+/**
+ * Placement rules of a pattern card on a grid that exists only as bitboard masks. It starts from the dice
+ * of the grid of the card, then dice can be placed and lifted without creating Boxes or Dice, so a search can
+ * play thousands of future placements on its own copy while the real grid stays untouched.
+ * The cells are indexed as <code>row * 5 + column</code>.
+ */
+public final class PlacementState {
+    public static final int CELLS = PlacementEngine.CELLS;
+
+    private final PlacementEngine engine;
+
+    PlacementState(PlacementEngine engine) {
+        this.engine = engine;
+    }
+
+    /**
+     * @param grid Grid to check.
+     * @return true if the state has been created for the given grid.
+     */
+    boolean isBuiltFor(List<List<Box>> grid) {
+        return engine.isBuiltFor(grid);
+    }
+
+    /**
+     * Reloads the dice from the grid, the dice placed in the state are discarded.
+     */
+    void reload() {
+        engine.loadDice();
+    }
+
+    /**
+     * @param color Dice color.
+     * @param value Dice face up value.
+     * @return Mask of the cells in which the dice can be placed following every rule of the game.
+     */
+    public int availableCells(Color color, int value) {
+        return engine.availableCells(color, value, true, true, true, false, 0);
+    }
+
+    /**
+     * @param color                 Dice color.
+     * @param value                 Dice face up value.
+     * @param colorRestrictions     Enables color restrictions.
+     * @param valueRestrictions     Enables value restrictions.
+     * @param diceAroundRestriction Enables that the dice must be adjacent to another one, when disabled the
+     *                              dice must not be adjacent to any (Cork-backed Straightedge).
+     * @return Mask of the cells in which a drafted dice can be placed with the given rules.
+     */
+    public int availableCells(Color color, int value, boolean colorRestrictions, boolean valueRestrictions,
+                              boolean diceAroundRestriction) {
+        return engine.availableCells(color, value, colorRestrictions, valueRestrictions, diceAroundRestriction, false, 0);
+    }
+
+    /**
+     * Computes where the dice placed in a cell can be moved. The dice is lifted only for the computation.
+     *
+     * @param origin            Cell of the dice to move.
+     * @param colorRestrictions Enables color restrictions.
+     * @param valueRestrictions Enables value restrictions.
+     * @param swap              Enables the cells of the dice that can switch place with it (Lathekin and Tap Wheel).
+     * @return Mask of the cells in which the dice can be moved.
+     */
+    public int availableMoves(int origin, boolean colorRestrictions, boolean valueRestrictions, boolean swap) {
+        Color color = engine.getColor(origin);
+        int value = engine.getValue(origin);
+        engine.lift(origin);
+        int available = engine.availableCells(color, value, colorRestrictions, valueRestrictions, true, swap, origin);
+        engine.restore(origin);
+        return available;
+    }
+
+    /**
+     * @param cell Cell index of a placed dice.
+     * @return The color of the dice.
+     */
+    public Color getColor(int cell) {
+        return engine.getColor(cell);
+    }
+
+    /**
+     * @param cell Cell index of a placed dice.
+     * @return The face up value of the dice.
+     */
+    public int getValue(int cell) {
+        return engine.getValue(cell);
+    }
+
+    /**
+     * Places a dice in an empty cell.
+     *
+     * @param cell  Cell index.
+     * @param color Dice color.
+     * @param value Dice face up value.
+     */
+    public void place(int cell, Color color, int value) {
+        engine.place(cell, color, value);
+    }
+
+    /**
+     * Removes the dice placed in a cell.
+     *
+     * @param cell Cell index.
+     */
+    public void lift(int cell) {
+        engine.lift(cell);
+    }
+
+    /**
+     * @return The mask of the cells in which a dice is placed.
+     */
+    public int getOccupied() {
+        return engine.getOccupied();
+    }
+
+    /**
+     * @param row    Row index.
+     * @param column Column index.
+     * @return The index of the cell.
+     */
+    public static int cell(int row, int column) {
+        return PlacementEngine.cell(row, column);
+    }
+
+    public static int row(int cell) {
+        return cell / PlacementEngine.COLUMNS;
+    }
+
+    public static int column(int cell) {
+        return cell % PlacementEngine.COLUMNS;
+    }
+}
@@ -1,10 +1,8 @@
 package ingsw.model.cards.patterncard;
 
-import ingsw.utilities.GridCreator;
-
 public class ShadowThief extends PatternCard {
 
-    private String json = "[\n" +
+    private static final String JSON = "[\n" +
             "    [\n" +
             "      { \"value\": 6 },\n" +
             "      { \"color\": \"PURPLE\" },\n" +
@@ -40,6 +38,6 @@ public class ShadowThief extends PatternCard {
      */
     public ShadowThief() {
         super("ShadowThief", 4);
-        setGrid(GridCreator.fromString(json));
+        setGridFromTemplate(JSON);
     }
 }
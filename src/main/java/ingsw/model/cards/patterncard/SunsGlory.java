@@ -1,10 +1,8 @@
 package ingsw.model.cards.patterncard;
 
-import ingsw.utilities.GridCreator;
-
 public class SunsGlory extends PatternCard {
 
-    private String json = "[\n" +
+    private static final String JSON = "[\n" +
             "    [\n" +
             "      { \"value\": 1 },\n" +
             "      { \"color\": \"PURPLE\" },\n" +
@@ -40,6 +38,6 @@ public class SunsGlory extends PatternCard {
      */
     public SunsGlory() {
         super("SunsGlory", 6);
-        setGrid(GridCreator.fromString(json));
+        setGridFromTemplate(JSON);
     }
 }
@@ -1,10 +1,8 @@
 package ingsw.model.cards.patterncard;
 
-import ingsw.utilities.GridCreator;
-
 public class SymphonyOfLight extends PatternCard {
 
-    private String json = "[\n" +
+    private static final String JSON = "[\n" +
             "    [\n" +
             "      { \"value\": 2 },\n" +
             "      { \"color\": \"BLANK\" },\n" +
@@ -40,6 +38,6 @@ public class SymphonyOfLight extends PatternCard {
      */
     public SymphonyOfLight() {
         super("SymphonyOfLight", 6);
-        setGrid(GridCreator.fromString(json));
+        setGridFromTemplate(JSON);
     }
 }
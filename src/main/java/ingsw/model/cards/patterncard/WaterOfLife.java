@@ -1,10 +1,8 @@
 package ingsw.model.cards.patterncard;
 
-import ingsw.utilities.GridCreator;
-
 public class WaterOfLife extends PatternCard {
 
-    private String json = "[\n" +
+    private static final String JSON = "[\n" +
             "    [\n" +
             "      { \"value\": 6 },\n" +
             "      { \"color\": \"BLUE\" },\n" +
@@ -40,6 +38,6 @@ public class WaterOfLife extends PatternCard {
      */
     public WaterOfLife() {
         super("WaterOfLife", 6);
-        setGrid(GridCreator.fromString(json));
+        setGridFromTemplate(JSON);
     }
 }
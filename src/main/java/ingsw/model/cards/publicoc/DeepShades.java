@@ -1,9 +1,5 @@
 package ingsw.model.cards.publicoc;
 
-import ingsw.model.cards.patterncard.Box;
-
-import java.util.List;
-
 /**
  * Public Objective Card that counts how many sets of 5 and 6 are in the grid
  */
@@ -38,11 +34,11 @@ public class DeepShades extends ShadeCard {
 
     /**
      * Count the number of sets of 5 and 6 in the grid
-     * @param grid Grid to check
+     * @param gridScore Counters of the grid to check
      * @return The number of sets of 5 and 6 in the grid
      */
     @Override
-    public int check(List<List<Box>> grid) {
-        return Math.min(count(grid, getFirstShade()), count(grid, getSecondShade()));
+    public int check(GridScore gridScore) {
+        return Math.min(gridScore.getNoOfDice(getFirstShade()), gridScore.getNoOfDice(getSecondShade()));
     }
 }
@@ -0,0 +1,224 @@
+package ingsw.model.cards.publicoc;
+
+import ingsw.model.Color;
+import ingsw.model.Dice;
+import ingsw.model.cards.patterncard.Box;
+
+import java.util.List;
+
+/**
+ * Scoring kernel of the Public Objective Cards. The grid is reduced to a handful of counters and bitmasks:
+ * the dice of every color and value, the colors and values of every row and column (a bit for each color or
+ * value, backed by a counter so that a dice can also be removed) and the cells of every color (a bit for each
+ * of the 20 cells, index <code>row * 5 + column</code>). Every Public Objective Card then computes its goal
+ * from these in a few operations, so scoring a grid against all the cards of the match costs a single pass,
+ * and the counters can be kept up to date dice by dice while the grid changes.
+ */
+public final class GridScore {
+    private static final int ROWS = 4;
+    private static final int COLUMNS = 5;
+    private static final int CELLS = ROWS * COLUMNS;
+    private static final int FULL_MASK = (1 << CELLS) - 1;
+    private static final int FIRST_COLUMN_MASK = 0x08421;
+    private static final int LAST_COLUMN_MASK = FIRST_COLUMN_MASK << (COLUMNS - 1);
+    private static final int NO_OF_COLORS = Color.values().length;
+    private static final int NO_OF_VALUES = 7;
+
+    private final int[] colorCount = new int[NO_OF_COLORS];
+    private final int[] valueCount = new int[NO_OF_VALUES];
+    private final int[][] rowColorCount = new int[ROWS][NO_OF_COLORS];
+    private final int[][] rowValueCount = new int[ROWS][NO_OF_VALUES];
+    private final int[][] columnColorCount = new int[COLUMNS][NO_OF_COLORS];
+    private final int[][] columnValueCount = new int[COLUMNS][NO_OF_VALUES];
+    private final int[] rowColors = new int[ROWS];
+    private final int[] rowValues = new int[ROWS];
+    private final int[] columnColors = new int[COLUMNS];
+    private final int[] columnValues = new int[COLUMNS];
+    private final int[] colorCells = new int[NO_OF_COLORS];
+    private int noOfDice;
+
+    /**
+     * Creates the counters of an empty grid
+     */
+    public GridScore() {
+        // every counter starts from zero
+    }
+
+    /**
+     * Walks the grid and computes the counters used by the Public Objective Cards
+     *
+     * @param grid Grid to score
+     * @return The counters of the grid
+     */
+    public static GridScore of(List<List<Box>> grid) {
+        GridScore gridScore = new GridScore();
+        for (int row = 0; row < ROWS; row++) {
+            List<Box> boxes = grid.get(row);
+            for (int column = 0; column < COLUMNS; column++) {
+                Dice dice = boxes.get(column).getDice();
+                if (dice != null)
+                    gridScore.place(row, column, dice.getDiceColor(), dice.getFaceUpValue());
+            }
+        }
+        return gridScore;
+    }
+
+    /**
+     * Adds a dice placed in the grid to the counters
+     *
+     * @param row    Row index
+     * @param column Column index
+     * @param color  Dice color
+     * @param value  Dice face up value
+     */
+    public void place(int row, int column, Color color, int value) {
+        update(row, column, color.ordinal(), value, 1);
+    }
+
+    /**
+     * Removes a dice taken from the grid from the counters
+     *
+     * @param row    Row index
+     * @param column Column index
+     * @param color  Dice color
+     * @param value  Dice face up value
+     */
+    public void remove(int row, int column, Color color, int value) {
+        update(row, column, color.ordinal(), value, -1);
+    }
+
+    private void update(int row, int column, int color, int value, int delta) {
+        noOfDice += delta;
+        colorCount[color] += delta;
+        valueCount[value] += delta;
+        rowColors[row] = updateSet(rowColors[row], rowColorCount[row], color, delta);
+        rowValues[row] = updateSet(rowValues[row], rowValueCount[row], value, delta);
+        columnColors[column] = updateSet(columnColors[column], columnColorCount[column], color, delta);
+        columnValues[column] = updateSet(columnValues[column], columnValueCount[column], value, delta);
+        if (delta > 0)
+            colorCells[color] |= 1 << (row * COLUMNS + column);
+        else
+            colorCells[color] &= ~(1 << (row * COLUMNS + column));
+    }
+
+    /**
+     * Updates the counter of an element of a row or column and its bit in the set of the row or column
+     */
+    private static int updateSet(int set, int[] counts, int element, int delta) {
+        counts[element] += delta;
+        return counts[element] > 0 ? set | (1 << element) : set & ~(1 << element);
+    }
+
+    /**
+     * @return Number of Boxes without a dice
+     */
+    public int getNoOfEmptyBoxes() {
+        return CELLS - noOfDice;
+    }
+
+    /**
+     * @param color Color to count
+     * @return Number of dice of the given color
+     */
+    public int getNoOfDice(Color color) {
+        return colorCount[color.ordinal()];
+    }
+
+    /**
+     * @param value Value to count
+     * @return Number of dice with the given value
+     */
+    public int getNoOfDice(int value) {
+        return valueCount[value];
+    }
+
+    /**
+     * @return Number of rows with five dice of different colors
+     */
+    int rowsWithDifferentColors() {
+        int rows = 0;
+        for (int colors : rowColors) {
+            if (Integer.bitCount(colors & ~(1 << Color.BLANK.ordinal())) == COLUMNS)
+                rows++;
+        }
+        return rows;
+    }
+
+    /**
+     * @return Number of rows with five dice of different values
+     */
+    int rowsWithDifferentValues() {
+        return countFull(rowValues, COLUMNS);
+    }
+
+    /**
+     * @return Number of columns with four dice of different colors
+     */
+    int columnsWithDifferentColors() {
+        return countFull(columnColors, ROWS);
+    }
+
+    /**
+     * @return Number of columns with four dice of different values
+     */
+    int columnsWithDifferentValues() {
+        return countFull(columnValues, ROWS);
+    }
+
+    private static int countFull(int[] sets, int size) {
+        int full = 0;
+        for (int set : sets) {
+            if (Integer.bitCount(set) == size)
+                full++;
+        }
+        return full;
+    }
+
+    /**
+     * @return Number of complete sets of one dice of each color
+     */
+    int colorSets() {
+        int sets = Integer.MAX_VALUE;
+        for (Color color : Color.values()) {
+            if (color != Color.BLANK)
+                sets = Math.min(sets, colorCount[color.ordinal()]);
+        }
+        return sets;
+    }
+
+    /**
+     * @param firstValue  First value of the set
+     * @param lastValue   Last value of the set
+     * @return Number of complete sets of one dice of each value between <code>firstValue</code> and <code>lastValue</code>
+     */
+    int valueSets(int firstValue, int lastValue) {
+        int sets = valueCount[firstValue];
+        for (int value = firstValue + 1; value <= lastValue; value++)
+            sets = Math.min(sets, valueCount[value]);
+        return sets;
+    }
+
+    /**
+     * @return Number of dice diagonally adjacent to at least another dice of the same color
+     */
+    int diceInColorDiagonals() {
+        int dice = 0;
+        for (Color color : Color.values()) {
+            int cells = colorCells[color.ordinal()];
+            if (color != Color.BLANK)
+                dice += Integer.bitCount(cells & expandDiagonal(cells));
+        }
+        return dice;
+    }
+
+    /**
+     * @param mask Mask of cells
+     * @return The cells diagonally adjacent to at least one cell of the mask
+     */
+    private static int expandDiagonal(int mask) {
+        int notLast = mask & ~LAST_COLUMN_MASK;
+        int notFirst = mask & ~FIRST_COLUMN_MASK;
+        return ((notLast << (COLUMNS + 1)) | (notFirst << (COLUMNS - 1))
+                | (notFirst >>> (COLUMNS + 1)) | (notLast >>> (COLUMNS - 1))) & FULL_MASK;
+    }
+}
@@ -48,7 +48,18 @@ public abstract class PublicObjectiveCard extends Card {
      * @param grid Grid to check
      * @return int How many times goal is achieved
      */
-    public abstract int check(List<List<Box>> grid);
+    public int check(List<List<Box>> grid) {
+        return check(GridScore.of(grid));
+    }
+
+    /**
+     * Check how many times the goal of the card is achieved, using the counters of a grid computed once
+     * for every card
+     *
+     * @param gridScore Counters of the grid to check
+     * @return int How many times goal is achieved
+     */
+    public abstract int check(GridScore gridScore);
 
     /**
      * Returns the point gained with the Public Objective Card in the grid passed as parameter
@@ -60,4 +71,14 @@ public abstract class PublicObjectiveCard extends Card {
     public int getScore(List<List<Box>> grid) {
         return getPoints() * check(grid);
     }
+
+    /**
+     * Returns the point gained with the Public Objective Card in the grid whose counters are passed as parameter
+     *
+     * @param gridScore Counters of the grid you want to calculate the score of this Public Objective Card
+     * @return int The score
+     */
+    public int getScore(GridScore gridScore) {
+        return getPoints() * check(gridScore);
+    }
 }
@@ -1,10 +1,5 @@
 package ingsw.model.cards.publicoc;
 
-import ingsw.model.Color;
-import ingsw.model.cards.patterncard.Box;
-
-import java.util.List;
-
 /**
  * Public Objective Card that counts the columns with non-repeated colors
  */
@@ -20,17 +15,11 @@ public class RowColorVariety extends PublicObjectiveCard {
 
     /**
      * Check in every row if every dices has different color in the row
-     * @param grid Grid to check
-     * @return the number of columns that respect the condition
+     * @param gridScore Counters of the grid to check
+     * @return the number of rows that respect the condition
      */
     @Override
-    public int check(List<List<Box>> grid) {
-        return (int) grid.stream()
-                .filter(x -> x.stream()
-                        .filter(box -> box.getDice() != null)
-                        .map(y -> y.getDice().getDiceColor())
-                        .filter(y -> !y.equals(Color.BLANK))
-                        .distinct().count() == 5)
-                .count();
+    public int check(GridScore gridScore) {
+        return gridScore.rowsWithDifferentColors();
     }
 }
@@ -1,9 +1,5 @@
 package ingsw.model.cards.publicoc;
 
-import ingsw.model.cards.patterncard.Box;
-
-import java.util.List;
-
 /**
  * Public Objective Card that counts the columns with non-repeated shades
  */
@@ -19,15 +15,11 @@ public class RowShadeVariety extends PublicObjectiveCard {
 
     /**
      * Check in every row if every dices has different value in the row
-     * @param grid Grid to check
+     * @param gridScore Counters of the grid to check
      * @return the number of rows that respect the condition
      */
     @Override
-    public int check(List<List<Box>> grid) {
-        return (int) grid.stream()
-                            .filter(boxList -> boxList.stream()
-                            .filter(box -> box.getDice() != null)
-                            .map(box -> box.getDice().getFaceUpValue())
-                            .filter(integer -> integer > 0).distinct().count() == 5 ).count();
+    public int check(GridScore gridScore) {
+        return gridScore.rowsWithDifferentValues();
     }
 }
@@ -1,9 +1,5 @@
 package ingsw.model.cards.publicoc;
 
-import ingsw.model.cards.patterncard.Box;
-
-import java.util.List;
-
 /**
  * Public Objective Card that counts the complete sets of shades
  */
@@ -19,15 +15,11 @@ public class ShadeVariety extends ShadeCard {
 
     /**
      * Count how many dices sets with all the value are in the grid
-     * @param grid Grid to check
+     * @param gridScore Counters of the grid to check
      * @return the number of sets found
      */
     @Override
-    public int check(List<List<Box>> grid) {
-        int minValue = count(grid, 1);
-        for (int i = 2; i < 7; i++) {
-            minValue = Math.min(minValue, count(grid, i));
-        }
-        return minValue;
+    public int check(GridScore gridScore) {
+        return gridScore.valueSets(1, 6);
     }
 }
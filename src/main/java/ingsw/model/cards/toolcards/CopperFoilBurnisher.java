@@ -34,14 +34,14 @@ public class CopperFoilBurnisher extends ToolCard {
                 e.printStackTrace();
             }
 
-            waitForToolCardAction(gameManager);
-
-            if (gameManager.getToolCardLock().get()) {
-                gameManager.copperFoilBurnisherResponse();
-                gameManager.getCurrentRound().getCurrentPlayer().decreaseFavorTokens(getPrice());
-                gameManager.getCurrentRound().toolCardMoveDone();
-                gameManager.getToolCardLock().set(false);
-            }
+            waitForToolCardAction(gameManager, () -> {
+                if (gameManager.getToolCardLock().get()) {
+                    gameManager.copperFoilBurnisherResponse();
+                    gameManager.getCurrentRound().getCurrentPlayer().decreaseFavorTokens(getPrice());
+                    gameManager.getCurrentRound().toolCardMoveDone();
+                    gameManager.getToolCardLock().set(false);
+                }
+            });
         } else {
             gameManager.avoidToolCardUse();
         }
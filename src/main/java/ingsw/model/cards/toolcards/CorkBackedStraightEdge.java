@@ -28,13 +28,13 @@ public class CorkBackedStraightEdge extends ToolCard {
             e.printStackTrace();
         }
 
-        waitForToolCardAction(gameManager);
-
-        if (gameManager.getToolCardLock().get()) {
-            gameManager.corkBackedStraightedgeResponse();
-            gameManager.getCurrentRound().getCurrentPlayer().decreaseFavorTokens(getPrice());
-            gameManager.getCurrentRound().toolCardMoveDone();
-            gameManager.getToolCardLock().set(false);
-        }
+        waitForToolCardAction(gameManager, () -> {
+            if (gameManager.getToolCardLock().get()) {
+                gameManager.corkBackedStraightedgeResponse();
+                gameManager.getCurrentRound().getCurrentPlayer().decreaseFavorTokens(getPrice());
+                gameManager.getCurrentRound().toolCardMoveDone();
+                gameManager.getToolCardLock().set(false);
+            }
+        });
     }
 }
@@ -27,14 +27,14 @@ public class EglomiseBrush extends ToolCard {
             } catch (RemoteException e) {
                 e.printStackTrace();
             }
-            waitForToolCardAction(gameManager);
-
-            if (gameManager.getToolCardLock().get()) {
-                gameManager.eglomiseBrushResponse();
-                gameManager.getCurrentRound().getCurrentPlayer().decreaseFavorTokens(getPrice());
-                gameManager.getCurrentRound().toolCardMoveDone();
-                gameManager.getToolCardLock().set(false);
-            }
+            waitForToolCardAction(gameManager, () -> {
+                if (gameManager.getToolCardLock().get()) {
+                    gameManager.eglomiseBrushResponse();
+                    gameManager.getCurrentRound().getCurrentPlayer().decreaseFavorTokens(getPrice());
+                    gameManager.getCurrentRound().toolCardMoveDone();
+                    gameManager.getToolCardLock().set(false);
+                }
+            });
         } else {
             try {
                 gameManager.getCurrentRound().getCurrentPlayer().getUserObserver().sendResponse(new AvoidToolCardResponse());
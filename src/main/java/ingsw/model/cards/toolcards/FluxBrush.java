@@ -30,16 +30,16 @@ public class FluxBrush extends ToolCard {
             e.printStackTrace();
         }
 
-        waitForToolCardAction(gameManager);
-
-        if (gameManager.getToolCardLock().get()) {
-
-            gameManager.fluxBrushResponse();
-            gameManager.getCurrentRound().getCurrentPlayer().decreaseFavorTokens(getPrice());
-            gameManager.getCurrentRound().toolCardMoveDone();
-            gameManager.getToolCardLock().set(false);
-        }
-        System.out.println("end FluxBrush");
+        waitForToolCardAction(gameManager, () -> {
+            if (gameManager.getToolCardLock().get()) {
+
+                gameManager.fluxBrushResponse();
+                gameManager.getCurrentRound().getCurrentPlayer().decreaseFavorTokens(getPrice());
+                gameManager.getCurrentRound().toolCardMoveDone();
+                gameManager.getToolCardLock().set(false);
+            }
+            System.out.println("end FluxBrush");
+        });
     }
 
     public List<Dice> getTemporaryDraftedDice() {
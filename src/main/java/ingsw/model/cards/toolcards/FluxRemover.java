@@ -31,16 +31,16 @@ public class FluxRemover extends ToolCard {
             e.printStackTrace();
         }
 
-        waitForToolCardAction(gameManager);
-
-        if (!gameManager.getToolCardLock().get())
-            return;
-
-        gameManager.fluxRemoverResponse();
-        gameManager.getCurrentRound().getCurrentPlayer().decreaseFavorTokens(getPrice());
-        gameManager.getCurrentRound().toolCardMoveDone();
-        gameManager.getToolCardLock().set(false);
-        System.out.println("end FluxRemover");
+        waitForToolCardAction(gameManager, () -> {
+            if (!gameManager.getToolCardLock().get())
+                return;
+
+            gameManager.fluxRemoverResponse();
+            gameManager.getCurrentRound().getCurrentPlayer().decreaseFavorTokens(getPrice());
+            gameManager.getCurrentRound().toolCardMoveDone();
+            gameManager.getToolCardLock().set(false);
+            System.out.println("end FluxRemover");
+        });
     }
 
     public void setDraftedDice(List<Dice> draftedDice) {
@@ -25,13 +25,13 @@ public class GrindingStone extends ToolCard {
             e.printStackTrace();
         }
 
-        waitForToolCardAction(gameManager);
-
-        if (gameManager.getToolCardLock().get()) {
-            gameManager.getCurrentRound().getCurrentPlayer().decreaseFavorTokens(getPrice());
-            gameManager.grindingStoneResponse();
-            gameManager.getCurrentRound().toolCardMoveDone();
-            gameManager.getToolCardLock().set(false);
-        }
+        waitForToolCardAction(gameManager, () -> {
+            if (gameManager.getToolCardLock().get()) {
+                gameManager.getCurrentRound().getCurrentPlayer().decreaseFavorTokens(getPrice());
+                gameManager.grindingStoneResponse();
+                gameManager.getCurrentRound().toolCardMoveDone();
+                gameManager.getToolCardLock().set(false);
+            }
+        });
     }
 }
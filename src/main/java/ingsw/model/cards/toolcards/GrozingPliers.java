@@ -61,12 +61,13 @@ public class GrozingPliers extends ToolCard {
             }
         }
 
-        waitForToolCardAction(gameManager);
-        if (gameManager.getToolCardLock().get()) {
-            gameManager.getCurrentRound().getCurrentPlayer().decreaseFavorTokens(getPrice());
-            gameManager.grozingPliersResponse();
-            gameManager.getToolCardLock().set(false);
-            gameManager.getCurrentRound().toolCardMoveDone();
-        }
+        waitForToolCardAction(gameManager, () -> {
+            if (gameManager.getToolCardLock().get()) {
+                gameManager.getCurrentRound().getCurrentPlayer().decreaseFavorTokens(getPrice());
+                gameManager.grozingPliersResponse();
+                gameManager.getToolCardLock().set(false);
+                gameManager.getCurrentRound().toolCardMoveDone();
+            }
+        });
     }
 }
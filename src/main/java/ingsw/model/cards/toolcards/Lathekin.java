@@ -3,16 +3,13 @@ package ingsw.model.cards.toolcards;
 import ingsw.controller.network.commands.AvoidToolCardResponse;
 import ingsw.controller.network.commands.LathekinResponse;
 import ingsw.model.GameManager;
-import ingsw.model.cards.patterncard.Box;
 import ingsw.model.cards.patterncard.PatternCard;
 
 import java.rmi.RemoteException;
-import java.util.List;
 
 public class Lathekin extends ToolCard {
 
-    private List<List<Box>> oldGrid;
-    private List<List<Box>> newGrid;
+    private boolean firstMoveDone;
 
     /**
      * Creates a new Lathekin tool card
@@ -47,41 +44,48 @@ public class Lathekin extends ToolCard {
         } catch (RemoteException e) {
             e.printStackTrace();
         }
-        System.out.println("thread goes in wait 1");
-        waitForToolCardAction(gameManager);
+        System.out.println("waiting for the first move");
+        waitForToolCardAction(gameManager, () -> firstMoveDone(gameManager));
+    }
 
+    /**
+     * Step that runs after the first move: the tool card ends if it was a double move,
+     * otherwise it waits for the second move
+     */
+    private void firstMoveDone(GameManager gameManager) {
         if (resetValues(gameManager)) return;
 
-        System.out.println("thread is now awake 1");
+        System.out.println("first move received");
 
 
         if (!gameManager.getdoubleMove()) {
-            System.out.println("thread goes in wait 2");
-            waitForToolCardAction(gameManager);
-
-            if (resetValues(gameManager)) return;
-
-            System.out.println("thread is now awake 2");
-
-            gameManager.getCurrentRound().getCurrentPlayer().decreaseFavorTokens(getPrice());
-            gameManager.lathekinResponse();
-
+            System.out.println("waiting for the second move");
+            waitForToolCardAction(gameManager, () -> secondMoveDone(gameManager));
         } else {
             System.out.println("Double move done");
             gameManager.getCurrentRound().getCurrentPlayer().decreaseFavorTokens(getPrice());
             gameManager.lathekinResponse();
             gameManager.setDoubleMove(false);
             gameManager.getToolCardLock().set(false);
-            setNewGrid(null);
-            setOldGrid(null);
-            return;
+            setFirstMoveDone(false);
         }
+    }
+
+    /**
+     * Step that runs after the second move and ends the tool card
+     */
+    private void secondMoveDone(GameManager gameManager) {
+        if (resetValues(gameManager)) return;
+
+        System.out.println("second move received");
+
+        gameManager.getCurrentRound().getCurrentPlayer().decreaseFavorTokens(getPrice());
+        gameManager.lathekinResponse();
 
         gameManager.getCurrentRound().toolCardMoveDone();
         gameManager.setDoubleMove(false);
         gameManager.getToolCardLock().set(false);
-        setNewGrid(null);
-        setOldGrid(null);
+        setFirstMoveDone(false);
         System.out.println("end Lathekin");
     }
 
@@ -89,26 +93,20 @@ public class Lathekin extends ToolCard {
         if (!gameManager.getToolCardLock().get()) {
             gameManager.setDoubleMove(false);
             gameManager.getToolCardLock().set(false);
-            setNewGrid(null);
-            setOldGrid(null);
+            setFirstMoveDone(false);
             return true;
         }
         return false;
     }
 
-    public List<List<Box>> getOldGrid() {
-        return oldGrid;
-    }
-
-    public void setOldGrid(List<List<Box>> oldGrid) {
-        this.oldGrid = oldGrid;
-    }
-
-    public List<List<Box>> getNewGrid() {
-        return newGrid;
+    /**
+     * @return true if the first of the two moves has been made
+     */
+    public boolean isFirstMoveDone() {
+        return firstMoveDone;
     }
 
-    public void setNewGrid(List<List<Box>> newGrid) {
-        this.newGrid = newGrid;
+    public void setFirstMoveDone(boolean firstMoveDone) {
+        this.firstMoveDone = firstMoveDone;
     }
 }
@@ -27,14 +27,14 @@ public class LensCutter extends ToolCard {
                 e.printStackTrace();
             }
 
-            waitForToolCardAction(gameManager);
-
-            if (gameManager.getToolCardLock().get()) {
-                gameManager.getCurrentRound().getCurrentPlayer().decreaseFavorTokens(getPrice());
-                gameManager.lensCutterResponse();
-                gameManager.getCurrentRound().toolCardMoveDone();
-                gameManager.getToolCardLock().set(false);
-            }
+            waitForToolCardAction(gameManager, () -> {
+                if (gameManager.getToolCardLock().get()) {
+                    gameManager.getCurrentRound().getCurrentPlayer().decreaseFavorTokens(getPrice());
+                    gameManager.lensCutterResponse();
+                    gameManager.getCurrentRound().toolCardMoveDone();
+                    gameManager.getToolCardLock().set(false);
+                }
+            });
         } else {
             try {
                 gameManager.getCurrentRound().getCurrentPlayer().getUserObserver().sendResponse(new AvoidToolCardResponse());
@@ -29,15 +29,15 @@ public class RunningPliers extends ToolCard {
                 e.printStackTrace();
             }
 
-            waitForToolCardAction(gameManager);
-
-            if (gameManager.getToolCardLock().get()) {
-                gameManager.getCurrentRound().blockedTurnPlayers.add(gameManager.getCurrentRound().getCurrentPlayer().getPlayerUsername());
-                gameManager.getCurrentRound().getCurrentPlayer().decreaseFavorTokens(getPrice());
-                gameManager.runningPliersResponse();
-                gameManager.getCurrentRound().toolCardMoveDone();
-                gameManager.getToolCardLock().set(false);
-            }
+            waitForToolCardAction(gameManager, () -> {
+                if (gameManager.getToolCardLock().get()) {
+                    gameManager.getCurrentRound().blockedTurnPlayers.add(gameManager.getCurrentRound().getCurrentPlayer().getPlayerUsername());
+                    gameManager.getCurrentRound().getCurrentPlayer().decreaseFavorTokens(getPrice());
+                    gameManager.runningPliersResponse();
+                    gameManager.getCurrentRound().toolCardMoveDone();
+                    gameManager.getToolCardLock().set(false);
+                }
+            });
         } else try {
             gameManager.getCurrentRound().getCurrentPlayer().getUserObserver().sendResponse(new AvoidToolCardResponse());
             gameManager.getToolCardLock().set(false);
@@ -47,14 +47,22 @@ public class TapWheel extends ToolCard {
             e.printStackTrace();
         }
 
-        for (int i = 0; i < 2; i++) {
-            if (!gameManager.getdoubleMove()) {
-                waitForToolCardAction(gameManager);
-
-                if (!gameManager.getToolCardLock().get())
-                    return;
+        waitForMove(gameManager, 0);
+    }
 
-            } else break;
+    /**
+     * Waits for the next move, at most two moves are made unless the first one was a double move
+     *
+     * @param gameManager gameManager on which the toolcard invoke methods
+     * @param movesDone   number of moves already made
+     */
+    private void waitForMove(GameManager gameManager, int movesDone) {
+        if (movesDone < 2 && !gameManager.getdoubleMove()) {
+            waitForToolCardAction(gameManager, () -> {
+                if (gameManager.getToolCardLock().get())
+                    waitForMove(gameManager, movesDone + 1);
+            });
+            return;
         }
 
         System.out.println("end tapwheel");
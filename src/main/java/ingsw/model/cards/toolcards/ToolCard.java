@@ -41,18 +41,13 @@ public abstract class ToolCard extends Card {
     }
 
     /**
-     * Method used by the tool cards that waits until a tool card move is dona
+     * Method used by the tool cards to go on when a tool card move is done. No thread waits for the move:
+     * the next step runs as an event of the match, when the move arrives or when the turn ends
      * @param gameManager Gamemanager instance on which the toolcard call the methods
+     * @param nextStep Step of the toolcard that runs after the move
      */
-    protected void waitForToolCardAction(GameManager gameManager) {
-        synchronized (gameManager.getToolCardLock()) {
-            try {
-                gameManager.getToolCardLock().wait();
-            } catch (InterruptedException e) {
-                Thread.currentThread().interrupt();
-                e.printStackTrace();
-            }
-        }
+    protected void waitForToolCardAction(GameManager gameManager, Runnable nextStep) {
+        gameManager.awaitToolCardAction(nextStep);
     }
 
     /**
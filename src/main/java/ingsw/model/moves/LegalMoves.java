@@ -0,0 +1,284 @@
+package ingsw.model.moves;
+
+import ingsw.model.Color;
+import ingsw.model.Dice;
+import ingsw.model.cards.patterncard.PlacementState;
+import ingsw.model.cards.toolcards.ToolCard;
+
+import java.util.List;
+
+/**
+ * Legal moves of the current player: the plain placements of the drafted dice and the effects of every
+ * tool card the player can pay, as {@link MoveCode}s.
+ * <p>
+ * {@link #generate(int[])} writes every legal code in an array given by the caller, {@link #isLegal(int)}
+ * decodes a single code and checks it with the same rules, reading only the masks of the cells the move
+ * involves, so the server can validate a move in constant time before changing the state of the match.
+ * Both work on a PlacementState of the pattern card: apart from the masks they don't create any object.
+ * A turn has at most one placement and one tool card: once they have been made their moves are not legal anymore.
+ * <p>
+ * Lathekin and Tap Wheel move two dice: their codes are the first of the two moves. The effects decided by
+ * the dice bag (Flux Brush, Flux Remover, Glazing Hammer) and Running Pliers have no target.
+ * The start of a tool card is legal if the player can pay it; its steps depend on the tool card in use, so
+ * they are never legal on their own.
+ */
+public final class LegalMoves {
+    /**
+     * Upper bound of the number of legal moves of a turn with the at most nine drafted dice of a round: the size
+     * of the array given to {@link #generate(int[])}
+     */
+    public static final int MAX_MOVES = 4096;
+
+    private static final int CELLS = PlacementState.CELLS;
+
+    private final PlacementState state;
+    private final List<Dice> draftedDice;
+    private final int roundTrackDice;
+    private final int roundTrackColors;
+    private final int paidActions;
+    private final int turnInRound;
+    private final boolean placementMade;
+
+    /**
+     * @param state        Placement state of the pattern card of the player
+     * @param draftedDice  Drafted dice
+     * @param roundTrack   Dice of the round track
+     * @param toolCards    Tool cards of the match, null if there are none
+     * @param favourTokens Favour tokens of the player
+     * @param turnInRound  1 for the first turn of the player in the round, 2 for the second one
+     */
+    public LegalMoves(PlacementState state, List<Dice> draftedDice, List<List<Dice>> roundTrack,
+                      List<ToolCard> toolCards, int favourTokens, int turnInRound) {
+        this(state, draftedDice, roundTrack, toolCards, favourTokens, turnInRound, false, false);
+    }
+
+    /**
+     * @param state         Placement state of the pattern card of the player
+     * @param draftedDice   Drafted dice
+     * @param roundTrack    Dice of the round track
+     * @param toolCards     Tool cards of the match, null if there are none
+     * @param favourTokens  Favour tokens of the player
+     * @param turnInRound   1 for the first turn of the player in the round, 2 for the second one
+     * @param placementMade true if the player has already placed a dice in this turn
+     * @param toolCardUsed  true if the player has already used a tool card in this turn
+     */
+    public LegalMoves(PlacementState state, List<Dice> draftedDice, List<List<Dice>> roundTrack,
+                      List<ToolCard> toolCards, int favourTokens, int turnInRound,
+                      boolean placementMade, boolean toolCardUsed) {
+        this.state = state;
+        this.draftedDice = draftedDice;
+        this.turnInRound = turnInRound;
+        this.placementMade = placementMade;
+
+        int slots = 0;
+        int colors = 0;
+        if (roundTrack != null) {
+            for (List<Dice> round : roundTrack) {
+                for (Dice dice : round) {
+                    colors |= 1 << dice.getDiceColor().ordinal();
+                    slots++;
+                }
+            }
+        }
+        this.roundTrackDice = Math.min(slots, MoveCode.MAX_TARGET + 1);
+        this.roundTrackColors = colors;
+
+        int paid = 0;
+        if (toolCards != null && !toolCardUsed) {
+            for (ToolCard toolCard : toolCards) {
+                int action = MoveCode.actionOf(toolCard.getName());
+                if (action != MoveCode.NONE && toolCard.getPrice() <= favourTokens)
+                    paid |= 1 << action;
+            }
+        }
+        this.paidActions = paid;
+    }
+
+    /**
+     * Writes the code of every legal move
+     *
+     * @param moves Array of at least {@link #MAX_MOVES} codes
+     * @return Number of codes written
+     */
+    public int generate(int[] moves) {
+        int count = 0;
+        int noOfDraftedDice = Math.min(draftedDice.size(), MoveCode.MAX_SOURCE + 1);
+        for (int index = 0; index < noOfDraftedDice; index++) {
+            Dice dice = draftedDice.get(index);
+            Color color = dice.getDiceColor();
+            int value = dice.getFaceUpValue();
+
+            if (!placementMade)
+                count = addTargets(moves, count, MoveCode.PLACE, index, value, state.availableCells(color, value));
+            if (isPaid(MoveCode.GROZING_PLIERS)) {
+                if (value < 6)
+                    count = addTargets(moves, count, MoveCode.GROZING_PLIERS, index, value + 1, state.availableCells(color, value + 1));
+                if (value > 1)
+                    count = addTargets(moves, count, MoveCode.GROZING_PLIERS, index, value - 1, state.availableCells(color, value - 1));
+            }
+            if (isPaid(MoveCode.GRINDING_STONE))
+                count = addTargets(moves, count, MoveCode.GRINDING_STONE, index, 7 - value, state.availableCells(color, 7 - value));
+            if (isPaid(MoveCode.CORK_BACKED_STRAIGHT_EDGE))
+                count = addTargets(moves, count, MoveCode.CORK_BACKED_STRAIGHT_EDGE, index, value,
+                        state.availableCells(color, value, true, true, false));
+            if (isPaid(MoveCode.FLUX_BRUSH))
+                moves[count++] = MoveCode.of(MoveCode.FLUX_BRUSH, index, 0, 0);
+            if (isPaid(MoveCode.FLUX_REMOVER))
+                moves[count++] = MoveCode.of(MoveCode.FLUX_REMOVER, index, 0, 0);
+            if (isPaid(MoveCode.LENS_CUTTER)) {
+                for (int slot = 0; slot < roundTrackDice; slot++)
+                    moves[count++] = MoveCode.of(MoveCode.LENS_CUTTER, index, 0, slot);
+            }
+        }
+
+        if (isPaid(MoveCode.GLAZING_HAMMER) && turnInRound == 2)
+            moves[count++] = MoveCode.of(MoveCode.GLAZING_HAMMER, 0, 0, 0);
+        if (isPaid(MoveCode.RUNNING_PLIERS) && turnInRound == 1)
+            moves[count++] = MoveCode.of(MoveCode.RUNNING_PLIERS, 0, 0, 0);
+
+        int occupied = state.getOccupied();
+        while (occupied != 0) {
+            int origin = Integer.numberOfTrailingZeros(occupied);
+            occupied &= occupied - 1;
+            int value = state.getValue(origin);
+            for (int action = MoveCode.COPPER_FOIL_BURNISHER; action <= MoveCode.TAP_WHEEL; action++) {
+                if (isPaid(action) && canMove(action, origin))
+                    count = addTargets(moves, count, action, origin, value, availableMoves(action, origin));
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Checks a single move with the rules of {@link #generate(int[])}
+     *
+     * @param code Code of the move
+     * @return true if the move is one of the legal moves
+     */
+    public boolean isLegal(int code) {
+        if (code < 0)
+            return false;
+        int action = MoveCode.action(code);
+        int source = MoveCode.source(code);
+        int value = MoveCode.value(code);
+        int target = MoveCode.target(code);
+        if (MoveCode.isToolCardStep(code))
+            return false;
+        if (MoveCode.isToolCardStart(code))
+            return isToolCardStartLegal(action, code);
+        if (action != MoveCode.PLACE && !isPaid(action))
+            return false;
+
+        switch (action) {
+            case MoveCode.PLACE:
+                return !placementMade && isDraftedPlacementLegal(action, source, value, target);
+            case MoveCode.GROZING_PLIERS:
+            case MoveCode.GRINDING_STONE:
+            case MoveCode.CORK_BACKED_STRAIGHT_EDGE:
+                return isDraftedPlacementLegal(action, source, value, target);
+            case MoveCode.FLUX_BRUSH:
+            case MoveCode.FLUX_REMOVER:
+                return source < draftedDice.size() && value == 0 && target == 0;
+            case MoveCode.LENS_CUTTER:
+                return source < draftedDice.size() && value == 0 && target < roundTrackDice;
+            case MoveCode.GLAZING_HAMMER:
+                return turnInRound == 2 && source == 0 && value == 0 && target == 0;
+            case MoveCode.RUNNING_PLIERS:
+                return turnInRound == 1 && source == 0 && value == 0 && target == 0;
+            case MoveCode.COPPER_FOIL_BURNISHER:
+            case MoveCode.EGLOMISE_BRUSH:
+            case MoveCode.LATHEKIN:
+            case MoveCode.TAP_WHEEL:
+                return source < CELLS && target < CELLS && (state.getOccupied() & 1 << source) != 0
+                        && state.getValue(source) == value && canMove(action, source)
+                        && (availableMoves(action, source) & 1 << target) != 0;
+            default:
+                return false;
+        }
+    }
+
+    /**
+     * A tool card can be started if the player can pay it, has not used a tool card yet and the tool card
+     * has an effect in this turn
+     */
+    private boolean isToolCardStartLegal(int action, int code) {
+        if (!isPaid(action) || code != MoveCode.toolCardStart(action))
+            return false;
+        switch (action) {
+            case MoveCode.GLAZING_HAMMER:
+                return turnInRound == 2;
+            case MoveCode.RUNNING_PLIERS:
+                return turnInRound == 1;
+            default:
+                return true;
+        }
+    }
+
+    /**
+     * Checks a move that places a drafted dice, after changing its value if the action is a tool card
+     */
+    private boolean isDraftedPlacementLegal(int action, int source, int value, int target) {
+        if (source >= draftedDice.size() || target >= CELLS || value < 1 || value > 6)
+            return false;
+        Dice dice = draftedDice.get(source);
+        int faceUpValue = dice.getFaceUpValue();
+        int mask;
+        switch (action) {
+            case MoveCode.GROZING_PLIERS:
+                if (Math.abs(value - faceUpValue) != 1)
+                    return false;
+                mask = state.availableCells(dice.getDiceColor(), value);
+                break;
+            case MoveCode.GRINDING_STONE:
+                if (value != 7 - faceUpValue)
+                    return false;
+                mask = state.availableCells(dice.getDiceColor(), value);
+                break;
+            case MoveCode.CORK_BACKED_STRAIGHT_EDGE:
+                if (value != faceUpValue)
+                    return false;
+                mask = state.availableCells(dice.getDiceColor(), value, true, true, false);
+                break;
+            default:
+                if (value != faceUpValue)
+                    return false;
+                mask = state.availableCells(dice.getDiceColor(), value);
+        }
+        return (mask & 1 << target) != 0;
+    }
+
+    /**
+     * Tap Wheel moves only the dice of a color that is on the round track
+     */
+    private boolean canMove(int action, int origin) {
+        return action != MoveCode.TAP_WHEEL || (roundTrackColors & 1 << state.getColor(origin).ordinal()) != 0;
+    }
+
+    /**
+     * @return The cells in which the tool card of the action can move the dice placed in <code>origin</code>
+     */
+    private int availableMoves(int action, int origin) {
+        switch (action) {
+            case MoveCode.COPPER_FOIL_BURNISHER:
+                return state.availableMoves(origin, true, false, false);
+            case MoveCode.EGLOMISE_BRUSH:
+                return state.availableMoves(origin, false, true, false);
+            default:
+                return state.availableMoves(origin, true, true, true);
+        }
+    }
+
+    private boolean isPaid(int action) {
+        return (paidActions & 1 << action) != 0;
+    }
+
+    private static int addTargets(int[] moves, int count, int action, int source, int value, int targets) {
+        int next = count;
+        int remaining = targets;
+        while (remaining != 0) {
+            moves[next++] = MoveCode.of(action, source, value, Integer.numberOfTrailingZeros(remaining));
+            remaining &= remaining - 1;
+        }
+        return next;
+    }
+}
@@ -0,0 +1,151 @@
+package ingsw.model.moves;
+
+/**
+ * Compact encoding of a move in a single int, so that the legal moves of a turn can be listed in an
+ * <code>int[]</code> and a move received from a client can be checked without creating any object.
+ * <pre>
+ *   bits  0-6   target: cell of the pattern card (row * 5 + column) or slot of the round track
+ *   bits  7-11  source: index of a drafted dice or cell of a placed dice
+ *   bits 12-14  value of the dice once the move is done
+ *   bits 15-18  action: a plain placement or the effect of a tool card
+ *   bit  19     the player starts using the tool card of the action
+ *   bit  20     the player makes a step of the tool card in use, whose effect depends on the step before
+ * </pre>
+ * The fields an action doesn't use are zero. Every valid code is non negative, {@link #NONE} is not a move.
+ * The codes that start a tool card or make one of its steps have only the action: the legal moves don't list them.
+ */
+public final class MoveCode {
+    public static final int NONE = -1;
+
+    public static final int PLACE = 0;
+    public static final int GROZING_PLIERS = 1;
+    public static final int GRINDING_STONE = 2;
+    public static final int FLUX_BRUSH = 3;
+    public static final int FLUX_REMOVER = 4;
+    public static final int GLAZING_HAMMER = 5;
+    public static final int RUNNING_PLIERS = 6;
+    public static final int CORK_BACKED_STRAIGHT_EDGE = 7;
+    public static final int COPPER_FOIL_BURNISHER = 8;
+    public static final int EGLOMISE_BRUSH = 9;
+    public static final int LATHEKIN = 10;
+    public static final int TAP_WHEEL = 11;
+    public static final int LENS_CUTTER = 12;
+    static final int NO_OF_ACTIONS = 13;
+
+    static final int MAX_TARGET = 0x7F;
+    static final int MAX_SOURCE = 0x1F;
+    private static final int VALUE_MASK = 0x7;
+    private static final int ACTION_MASK = 0xF;
+    private static final int SOURCE_SHIFT = 7;
+    private static final int VALUE_SHIFT = 12;
+    private static final int ACTION_SHIFT = 15;
+    private static final int TOOL_CARD_START = 1 << 19;
+    private static final int TOOL_CARD_STEP = 1 << 20;
+
+    private static final String[] TOOL_CARD_NAMES = {null, "GrozingPliers", "GrindingStone", "FluxBrush",
+            "FluxRemover", "GlazingHammer", "RunningPliers", "CorkBackedStraightEdge", "CopperFoilBurnisher",
+            "EglomiseBrush", "Lathekin", "TapWheel", "LensCutter"};
+
+    private MoveCode() {
+    }
+
+    /**
+     * @param action Action of the move
+     * @param source Index of a drafted dice or cell of a placed dice
+     * @param value  Value of the dice once the move is done
+     * @param target Cell of the pattern card or slot of the round track
+     * @return The code of the move, {@link #NONE} if a field doesn't fit in the code
+     */
+    public static int of(int action, int source, int value, int target) {
+        if (action < 0 || action >= NO_OF_ACTIONS || source < 0 || source > MAX_SOURCE
+                || value < 0 || value > VALUE_MASK || target < 0 || target > MAX_TARGET)
+            return NONE;
+        return action << ACTION_SHIFT | value << VALUE_SHIFT | source << SOURCE_SHIFT | target;
+    }
+
+    /**
+     * @param draftedDiceIndex Index of the dice in the drafted dice
+     * @param value            Face up value of the dice
+     * @param cell             Cell of the pattern card
+     * @return The code of a plain placement
+     */
+    public static int placement(int draftedDiceIndex, int value, int cell) {
+        return of(PLACE, draftedDiceIndex, value, cell);
+    }
+
+    /**
+     * @param action Action of a tool card
+     * @return The code that starts using the tool card, {@link #NONE} if the action is not a tool card
+     */
+    public static int toolCardStart(int action) {
+        return action > PLACE && action < NO_OF_ACTIONS ? of(action, 0, 0, 0) | TOOL_CARD_START : NONE;
+    }
+
+    /**
+     * @param action Action of a tool card
+     * @return The code of a step of the tool card, {@link #NONE} if the action is not a tool card
+     */
+    public static int toolCardStep(int action) {
+        return action > PLACE && action < NO_OF_ACTIONS ? of(action, 0, 0, 0) | TOOL_CARD_STEP : NONE;
+    }
+
+    public static boolean isToolCardStart(int code) {
+        return code >= 0 && (code & TOOL_CARD_START) != 0;
+    }
+
+    public static boolean isToolCardStep(int code) {
+        return code >= 0 && (code & TOOL_CARD_STEP) != 0;
+    }
+
+    public static int action(int code) {
+        return code >>> ACTION_SHIFT & ACTION_MASK;
+    }
+
+    public static int source(int code) {
+        return code >>> SOURCE_SHIFT & MAX_SOURCE;
+    }
+
+    public static int value(int code) {
+        return code >>> VALUE_SHIFT & VALUE_MASK;
+    }
+
+    public static int target(int code) {
+        return code & MAX_TARGET;
+    }
+
+    /**
+     * @param action Action of a move
+     * @return The name of the tool card of the action, null for a plain placement
+     */
+    public static String toolCardName(int action) {
+        return action > PLACE && action < NO_OF_ACTIONS ? TOOL_CARD_NAMES[action] : null;
+    }
+
+    /**
+     * @param toolCardName Name of a tool card
+     * @return The action of the tool card, {@link #NONE} if the name is unknown
+     */
+    public static int actionOf(String toolCardName) {
+        for (int action = PLACE + 1; action < NO_OF_ACTIONS; action++) {
+            if (TOOL_CARD_NAMES[action].equals(toolCardName))
+                return action;
+        }
+        return NONE;
+    }
+
+    /**
+     * @param code Code of a move
+     * @return A readable form of the move, for logs and tests
+     */
+    public static String toString(int code) {
+        if (code < 0)
+            return "NONE";
+        String name = toolCardName(action(code));
+        if (isToolCardStart(code))
+            return "Start" + name;
+        if (isToolCardStep(code))
+            return "Step" + name;
+        return (name == null ? "Place" : name) + "{source=" + source(code) + ", value=" + value(code)
+                + ", target=" + target(code) + "}";
+    }
+}
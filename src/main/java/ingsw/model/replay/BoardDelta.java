@@ -0,0 +1,129 @@
+package ingsw.model.replay;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.Serializable;
+
+/**
+ * Changes made to the board by a single move: the cells of the grids that changed, the favour tokens that
+ * changed and, only if they changed, the new drafted dice and round track. The dice are encoded as in
+ * {@link BoardState}.
+ */
+public final class BoardDelta implements Serializable {
+    private final int[] cellChanges;
+    private final int[] favourTokensChanges;
+    private final int[] draftedDice;
+    private final int[][] roundTrack;
+
+    /**
+     * @param cellChanges         Triples of player, cell and new dice
+     * @param favourTokensChanges Pairs of player and new favour tokens
+     * @param draftedDice         New drafted dice, null if they didn't change
+     * @param roundTrack          New round track, null if it didn't change
+     */
+    BoardDelta(int[] cellChanges, int[] favourTokensChanges, int[] draftedDice, int[][] roundTrack) {
+        this.cellChanges = cellChanges;
+        this.favourTokensChanges = favourTokensChanges;
+        this.draftedDice = draftedDice;
+        this.roundTrack = roundTrack;
+    }
+
+    int[] getCellChanges() {
+        return cellChanges;
+    }
+
+    int[] getFavourTokensChanges() {
+        return favourTokensChanges;
+    }
+
+    int[] getDraftedDice() {
+        return draftedDice;
+    }
+
+    int[][] getRoundTrack() {
+        return roundTrack;
+    }
+
+    /**
+     * @return true if the move didn't change the board
+     */
+    public boolean isEmpty() {
+        return cellChanges.length == 0 && favourTokensChanges.length == 0 && draftedDice == null && roundTrack == null;
+    }
+
+    /**
+     * Writes the delta in the journal format
+     *
+     * @param output Stream in which the delta is written
+     * @throws IOException if the delta can't be written
+     */
+    public void write(DataOutputStream output) throws IOException {
+        output.writeShort(cellChanges.length / 3);
+        for (int i = 0; i < cellChanges.length; i += 3) {
+            output.writeByte(cellChanges[i]);
+            output.writeByte(cellChanges[i + 1]);
+            output.writeByte(cellChanges[i + 2]);
+        }
+        output.writeByte(favourTokensChanges.length / 2);
+        for (int i = 0; i < favourTokensChanges.length; i += 2) {
+            output.writeByte(favourTokensChanges[i]);
+            output.writeInt(favourTokensChanges[i + 1]);
+        }
+
+        output.writeBoolean(draftedDice != null);
+        if (draftedDice != null)
+            writeDice(output, draftedDice);
+        output.writeBoolean(roundTrack != null);
+        if (roundTrack != null) {
+            output.writeInt(roundTrack.length);
+            for (int[] round : roundTrack) {
+                writeDice(output, round);
+            }
+        }
+    }
+
+    /**
+     * Reads a delta written with {@link #write(DataOutputStream)}
+     *
+     * @param input Stream from which the delta is read
+     * @return The delta
+     * @throws IOException if the delta can't be read
+     */
+    public static BoardDelta read(DataInputStream input) throws IOException {
+        int[] cellChanges = new int[input.readUnsignedShort() * 3];
+        for (int i = 0; i < cellChanges.length; i++) {
+            cellChanges[i] = input.readUnsignedByte();
+        }
+        int[] favourTokensChanges = new int[input.readUnsignedByte() * 2];
+        for (int i = 0; i < favourTokensChanges.length; i += 2) {
+            favourTokensChanges[i] = input.readUnsignedByte();
+            favourTokensChanges[i + 1] = input.readInt();
+        }
+
+        int[] draftedDice = input.readBoolean() ? readDice(input) : null;
+        int[][] roundTrack = null;
+        if (input.readBoolean()) {
+            roundTrack = new int[input.readInt()][];
+            for (int round = 0; round < roundTrack.length; round++) {
+                roundTrack[round] = readDice(input);
+            }
+        }
+        return new BoardDelta(cellChanges, favourTokensChanges, draftedDice, roundTrack);
+    }
+
+    static void writeDice(DataOutputStream output, int[] dice) throws IOException {
+        output.writeShort(dice.length);
+        for (int code : dice) {
+            output.writeByte(code);
+        }
+    }
+
+    static int[] readDice(DataInputStream input) throws IOException {
+        int[] dice = new int[input.readUnsignedShort()];
+        for (int i = 0; i < dice.length; i++) {
+            dice[i] = input.readUnsignedByte();
+        }
+        return dice;
+    }
+}
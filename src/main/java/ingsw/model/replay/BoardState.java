@@ -0,0 +1,320 @@
+package ingsw.model.replay;
+
+import ingsw.model.Color;
+import ingsw.model.Dice;
+import ingsw.model.Player;
+import ingsw.model.cards.patterncard.Box;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * State of the board after a move of a match: the grid of every player, the favour tokens, the drafted dice
+ * and the round track. A dice is stored as a single int, <code>(color + 1) &lt;&lt; 3 | value</code>, and an
+ * empty cell as 0, so the state can be compared, written in the journal and sent to the clients cheaply.
+ * The state never changes: {@link #apply(BoardDelta)} creates a new one.
+ */
+public final class BoardState implements Serializable {
+    static final int ROWS = 4;
+    static final int COLUMNS = 5;
+    static final int CELLS = ROWS * COLUMNS;
+    static final int NO_DICE = 0;
+
+    private static final Color[] COLORS = Color.values();
+
+    private final String[] usernames;
+    private final int[][] grids;
+    private final int[] favourTokens;
+    private final int[] draftedDice;
+    private final int[][] roundTrack;
+
+    BoardState(String[] usernames, int[][] grids, int[] favourTokens, int[] draftedDice, int[][] roundTrack) {
+        this.usernames = usernames;
+        this.grids = grids;
+        this.favourTokens = favourTokens;
+        this.draftedDice = draftedDice;
+        this.roundTrack = roundTrack;
+    }
+
+    /**
+     * Captures the state of a match
+     *
+     * @param players     Players of the match
+     * @param draftedDice Drafted dice
+     * @param roundTrack  Dice of the round track, by round
+     * @return The state of the board
+     */
+    public static BoardState capture(List<Player> players, List<Dice> draftedDice, List<List<Dice>> roundTrack) {
+        String[] usernames = new String[players.size()];
+        int[][] grids = new int[players.size()][CELLS];
+        int[] favourTokens = new int[players.size()];
+        for (int i = 0; i < players.size(); i++) {
+            Player player = players.get(i);
+            usernames[i] = player.getPlayerUsername();
+            favourTokens[i] = player.getFavourTokens();
+            if (player.getPatternCard() != null) {
+                List<List<Box>> grid = player.getPatternCard().getGrid();
+                for (int row = 0; row < ROWS; row++) {
+                    for (int column = 0; column < COLUMNS; column++) {
+                        grids[i][row * COLUMNS + column] = encode(grid.get(row).get(column).getDice());
+                    }
+                }
+            }
+        }
+
+        int[][] rounds = new int[roundTrack == null ? 0 : roundTrack.size()][];
+        for (int round = 0; round < rounds.length; round++) {
+            rounds[round] = encode(roundTrack.get(round));
+        }
+        return new BoardState(usernames, grids, favourTokens, encode(draftedDice), rounds);
+    }
+
+    /**
+     * @param other Another state
+     * @return true if the two states have the same players, in the same order
+     */
+    public boolean hasSamePlayers(BoardState other) {
+        return Arrays.equals(usernames, other.usernames);
+    }
+
+    /**
+     * Computes the changes from this state to the next one, which must have the same players
+     *
+     * @param next State after the move
+     * @return The changes made by the move
+     */
+    public BoardDelta diff(BoardState next) {
+        if (!hasSamePlayers(next))
+            throw new IllegalArgumentException("The states have different players");
+
+        List<Integer> cellChanges = new ArrayList<>();
+        List<Integer> favourTokensChanges = new ArrayList<>();
+        for (int player = 0; player < grids.length; player++) {
+            for (int cell = 0; cell < CELLS; cell++) {
+                if (grids[player][cell] != next.grids[player][cell]) {
+                    cellChanges.add(player);
+                    cellChanges.add(cell);
+                    cellChanges.add(next.grids[player][cell]);
+                }
+            }
+            if (favourTokens[player] != next.favourTokens[player]) {
+                favourTokensChanges.add(player);
+                favourTokensChanges.add(next.favourTokens[player]);
+            }
+        }
+
+        return new BoardDelta(toArray(cellChanges), toArray(favourTokensChanges),
+                              Arrays.equals(draftedDice, next.draftedDice) ? null : next.draftedDice,
+                              Arrays.deepEquals(roundTrack, next.roundTrack) ? null : next.roundTrack);
+    }
+
+    /**
+     * @param delta Changes made by a move
+     * @return The state after the move
+     */
+    public BoardState apply(BoardDelta delta) {
+        int[][] nextGrids = new int[grids.length][];
+        for (int player = 0; player < grids.length; player++) {
+            nextGrids[player] = grids[player].clone();
+        }
+        int[] cellChanges = delta.getCellChanges();
+        for (int i = 0; i < cellChanges.length; i += 3) {
+            nextGrids[cellChanges[i]][cellChanges[i + 1]] = cellChanges[i + 2];
+        }
+
+        int[] nextFavourTokens = favourTokens.clone();
+        int[] favourTokensChanges = delta.getFavourTokensChanges();
+        for (int i = 0; i < favourTokensChanges.length; i += 2) {
+            nextFavourTokens[favourTokensChanges[i]] = favourTokensChanges[i + 1];
+        }
+
+        return new BoardState(usernames, nextGrids, nextFavourTokens,
+                              delta.getDraftedDice() == null ? draftedDice : delta.getDraftedDice(),
+                              delta.getRoundTrack() == null ? roundTrack : delta.getRoundTrack());
+    }
+
+    /**
+     * Writes the state in the journal format
+     *
+     * @param output Stream in which the state is written
+     * @throws IOException if the state can't be written
+     */
+    public void write(DataOutputStream output) throws IOException {
+        output.writeInt(usernames.length);
+        for (int player = 0; player < usernames.length; player++) {
+            output.writeUTF(usernames[player]);
+            output.writeInt(favourTokens[player]);
+            for (int cell = 0; cell < CELLS; cell++) {
+                output.writeByte(grids[player][cell]);
+            }
+        }
+        BoardDelta.writeDice(output, draftedDice);
+        output.writeInt(roundTrack.length);
+        for (int[] round : roundTrack) {
+            BoardDelta.writeDice(output, round);
+        }
+    }
+
+    /**
+     * Reads a state written with {@link #write(DataOutputStream)}
+     *
+     * @param input Stream from which the state is read
+     * @return The state
+     * @throws IOException if the state can't be read
+     */
+    public static BoardState read(DataInputStream input) throws IOException {
+        int noOfPlayers = input.readInt();
+        String[] usernames = new String[noOfPlayers];
+        int[][] grids = new int[noOfPlayers][CELLS];
+        int[] favourTokens = new int[noOfPlayers];
+        for (int player = 0; player < noOfPlayers; player++) {
+            usernames[player] = input.readUTF();
+            favourTokens[player] = input.readInt();
+            for (int cell = 0; cell < CELLS; cell++) {
+                grids[player][cell] = input.readUnsignedByte();
+            }
+        }
+        int[] draftedDice = BoardDelta.readDice(input);
+        int[][] roundTrack = new int[input.readInt()][];
+        for (int round = 0; round < roundTrack.length; round++) {
+            roundTrack[round] = BoardDelta.readDice(input);
+        }
+        return new BoardState(usernames, grids, favourTokens, draftedDice, roundTrack);
+    }
+
+    /**
+     * @return Usernames of the players
+     */
+    public List<String> getUsernames() {
+        return Arrays.asList(usernames.clone());
+    }
+
+    /**
+     * @param player      Index of the player
+     * @param rowIndex    Row of the grid
+     * @param columnIndex Column of the grid
+     * @return The dice placed in the cell, null if the cell is empty
+     */
+    public Dice getDice(int player, int rowIndex, int columnIndex) {
+        return decode(grids[player][rowIndex * COLUMNS + columnIndex]);
+    }
+
+    /**
+     * @param player Index of the player
+     * @return Favour tokens of the player
+     */
+    public int getFavourTokens(int player) {
+        return favourTokens[player];
+    }
+
+    /**
+     * @return Drafted dice
+     */
+    public List<Dice> getDraftedDice() {
+        return decode(draftedDice);
+    }
+
+    /**
+     * @return Dice of the round track, by round
+     */
+    public List<List<Dice>> getRoundTrack() {
+        List<List<Dice>> rounds = new ArrayList<>(roundTrack.length);
+        for (int[] round : roundTrack) {
+            rounds.add(decode(round));
+        }
+        return rounds;
+    }
+
+    static int encode(Dice dice) {
+        return dice == null ? NO_DICE : (dice.getDiceColor().ordinal() + 1) << 3 | dice.getFaceUpValue();
+    }
+
+    private static int[] encode(List<Dice> dice) {
+        if (dice == null)
+            return new int[0];
+        int[] codes = new int[dice.size()];
+        for (int i = 0; i < codes.length; i++) {
+            codes[i] = encode(dice.get(i));
+        }
+        return codes;
+    }
+
+    static Dice decode(int code) {
+        return code == NO_DICE ? null : new Dice(code & 0x7, COLORS[(code >>> 3) - 1]);
+    }
+
+    private static List<Dice> decode(int[] codes) {
+        List<Dice> dice = new ArrayList<>(codes.length);
+        for (int code : codes) {
+            dice.add(decode(code));
+        }
+        return dice;
+    }
+
+    private static int[] toArray(List<Integer> list) {
+        int[] array = new int[list.size()];
+        for (int i = 0; i < array.length; i++) {
+            array[i] = list.get(i);
+        }
+        return array;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o)
+            return true;
+        if (!(o instanceof BoardState))
+            return false;
+        BoardState other = (BoardState) o;
+        return Arrays.equals(usernames, other.usernames) && Arrays.deepEquals(grids, other.grids)
+                && Arrays.equals(favourTokens, other.favourTokens) && Arrays.equals(draftedDice, other.draftedDice)
+                && Arrays.deepEquals(roundTrack, other.roundTrack);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * Arrays.deepHashCode(grids) + Arrays.hashCode(draftedDice);
+    }
+
+    /**
+     * @return A textual drawing of the board, used by the replay viewer
+     */
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder();
+        for (int player = 0; player < usernames.length; player++) {
+            builder.append(usernames[player]).append(" - favour tokens: ").append(favourTokens[player]).append('\n');
+            for (int row = 0; row < ROWS; row++) {
+                for (int column = 0; column < COLUMNS; column++) {
+                    Dice dice = getDice(player, row, column);
+                    builder.append(dice == null ? "  .   " : String.format("%-6s", shortName(dice)));
+                }
+                builder.append('\n');
+            }
+            builder.append('\n');
+        }
+
+        builder.append("Drafted dice: ");
+        for (Dice dice : getDraftedDice()) {
+            builder.append(shortName(dice)).append(' ');
+        }
+        builder.append("\nRound track: ");
+        for (int round = 0; round < roundTrack.length; round++) {
+            builder.append(round + 1).append('[');
+            for (Dice dice : decode(roundTrack[round])) {
+                builder.append(shortName(dice)).append(' ');
+            }
+            builder.append("] ");
+        }
+        return builder.toString();
+    }
+
+    private static String shortName(Dice dice) {
+        return dice.getDiceColor().name().charAt(0) + String.valueOf(dice.getFaceUpValue());
+    }
+}
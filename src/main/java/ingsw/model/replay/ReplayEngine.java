@@ -0,0 +1,82 @@
+package ingsw.model.replay;
+
+import ingsw.model.MatchJournal;
+
+import java.io.DataInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Rebuilds the state of the board of a match after any move, from the keyframes and the changes written
+ * in the journal by the {@link ReplayRecorder}. The last keyframe up to the move is found with a binary search
+ * and then at most {@link ReplayRecorder#KEYFRAME_INTERVAL} changes are applied to it. It works both on the
+ * finished matches and on the matches still being played.
+ * <p>
+ * The main method opens a copy of a journal and prints the board of a match after a move, so that a match
+ * can be replayed offline.
+ */
+public class ReplayEngine {
+    private final MatchJournal journal;
+
+    /**
+     * @param journal Journal of the matches
+     */
+    public ReplayEngine(MatchJournal journal) {
+        this.journal = journal;
+    }
+
+    /**
+     * Rebuilds the state of the board after a move
+     *
+     * @param matchId   Match id
+     * @param moveIndex Index of the move in the history
+     * @return The state of the board, null if no state was written up to the move
+     * @throws IOException if the journal can't be read
+     */
+    public BoardState materialize(String matchId, int moveIndex) throws IOException {
+        int keyframe = journal.findKeyframe(matchId, moveIndex);
+        if (keyframe < 0)
+            return null;
+
+        DataInputStream keyframeRecord = journal.readBoardState(matchId, keyframe);
+        if (keyframeRecord == null)
+            return null;
+        BoardState state = BoardState.read(keyframeRecord);
+        for (int move = keyframe + 1; move <= moveIndex; move++) {
+            DataInputStream deltaRecord = journal.readBoardState(matchId, move);
+            if (deltaRecord != null)
+                state = state.apply(BoardDelta.read(deltaRecord));
+        }
+        return state;
+    }
+
+    /**
+     * Prints the board of a match after a move: <code>journal [match id [move index]]</code>. Without the match id
+     * it lists the matches of the journal, without the move index it prints the board after the last move.
+     *
+     * @param args Journal file, match id and move index
+     * @throws IOException if the journal can't be read
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length == 0) {
+            System.out.println("Usage: ReplayEngine journal [match id [move index]]");
+            return;
+        }
+
+        try (MatchJournal journal = new MatchJournal(new File(args[0]), MatchJournal.FsyncPolicy.NEVER)) {
+            if (args.length == 1) {
+                List<String> matches = journal.getFinishedMatches();
+                matches.forEach(System.out::println);
+                return;
+            }
+
+            String matchId = args[1];
+            int moveIndex = args.length > 2 ? Integer.parseInt(args[2]) : journal.getNoOfMoves(matchId) - 1;
+            BoardState state = new ReplayEngine(journal).materialize(matchId, moveIndex);
+            if (moveIndex >= 0 && moveIndex < journal.getNoOfMoves(matchId))
+                System.out.println(journal.readMoves(matchId, moveIndex, 1).get(0).getStatus());
+            System.out.println(state == null ? "No board state up to move " + moveIndex : state.toString());
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package ingsw.model.replay;
+
+import ingsw.model.MatchJournal;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+
+/**
+ * Writes the state of the board of a match in the journal after every move: a keyframe every
+ * {@link #KEYFRAME_INTERVAL} moves and, for the moves in between, only the changes from the previous state.
+ * Moves that don't change the board write nothing.
+ */
+public class ReplayRecorder {
+    public static final int KEYFRAME_INTERVAL = 16;
+
+    private final MatchJournal journal;
+    private final String matchId;
+    private BoardState lastState;
+    private int lastKeyframe;
+
+    /**
+     * @param journal Journal of the match
+     * @param matchId Match id returned by the journal
+     */
+    public ReplayRecorder(MatchJournal journal, String matchId) {
+        this.journal = journal;
+        this.matchId = matchId;
+        this.lastKeyframe = -1;
+    }
+
+    /**
+     * Writes the state of the board after a move
+     *
+     * @param moveIndex Index of the move in the history
+     * @param state     State of the board after the move
+     * @throws IOException if the state can't be written
+     */
+    public synchronized void record(int moveIndex, BoardState state) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream output = new DataOutputStream(bytes);
+        if (lastState == null || !lastState.hasSamePlayers(state) || moveIndex - lastKeyframe >= KEYFRAME_INTERVAL) {
+            state.write(output);
+            journal.appendBoardState(matchId, moveIndex, true, bytes.toByteArray());
+            lastKeyframe = moveIndex;
+        } else {
+            BoardDelta delta = lastState.diff(state);
+            if (delta.isEmpty())
+                return;
+            delta.write(output);
+            journal.appendBoardState(matchId, moveIndex, false, bytes.toByteArray());
+        }
+        lastState = state;
+    }
+}
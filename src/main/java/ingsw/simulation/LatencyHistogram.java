@@ -0,0 +1,88 @@
+package ingsw.simulation;
+
+/**
+ * Histogram of latencies in nanoseconds with a bounded relative error: every power of two is split in 16
+ * buckets, so recording costs a few bit operations, the memory doesn't grow with the number of samples and a
+ * percentile is off by at most 1/16 of its value.
+ */
+public class LatencyHistogram {
+    private static final int SUB_BUCKET_BITS = 4;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int NO_OF_BUCKETS = (64 - SUB_BUCKET_BITS) * SUB_BUCKETS;
+
+    private final long[] counts = new long[NO_OF_BUCKETS];
+    private long count;
+    private long max;
+
+    /**
+     * Records a latency
+     *
+     * @param nanos Latency in nanoseconds, negative values are recorded as zero
+     */
+    public void record(long nanos) {
+        long value = Math.max(0, nanos);
+        counts[bucketOf(value)]++;
+        count++;
+        max = Math.max(max, value);
+    }
+
+    /**
+     * Adds the samples of another histogram to this one
+     *
+     * @param other Histogram to add
+     */
+    public void add(LatencyHistogram other) {
+        for (int i = 0; i < NO_OF_BUCKETS; i++)
+            counts[i] += other.counts[i];
+        count += other.count;
+        max = Math.max(max, other.max);
+    }
+
+    /**
+     * @return Number of recorded latencies
+     */
+    public long getCount() {
+        return count;
+    }
+
+    /**
+     * @return Highest recorded latency in nanoseconds
+     */
+    public long getMax() {
+        return max;
+    }
+
+    /**
+     * @param percentile Percentile, between 0 and 100
+     * @return The upper bound of the bucket of the percentile in nanoseconds, 0 if the histogram is empty
+     */
+    public long getPercentile(double percentile) {
+        if (count == 0)
+            return 0;
+
+        long rank = Math.max(1, (long) Math.ceil(percentile / 100 * count));
+        long seen = 0;
+        for (int i = 0; i < NO_OF_BUCKETS; i++) {
+            seen += counts[i];
+            if (seen >= rank)
+                return Math.min(max, upperBoundOf(i));
+        }
+        return max;
+    }
+
+    private static int bucketOf(long value) {
+        if (value < SUB_BUCKETS)
+            return (int) value;
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        int subBucket = (int) (value >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+        return (exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + subBucket;
+    }
+
+    private static long upperBoundOf(int bucket) {
+        if (bucket < SUB_BUCKETS)
+            return bucket;
+        int exponent = bucket / SUB_BUCKETS + SUB_BUCKET_BITS - 1;
+        long subBucket = bucket % SUB_BUCKETS;
+        return ((SUB_BUCKETS + subBucket + 1) << (exponent - SUB_BUCKET_BITS)) - 1;
+    }
+}
@@ -0,0 +1,285 @@
+package ingsw.simulation;
+
+import ingsw.model.GameManager;
+import ingsw.model.MatchEventLoop;
+import ingsw.model.MatchHost;
+import ingsw.model.MatchJournal;
+import ingsw.model.Player;
+import ingsw.model.User;
+import ingsw.utilities.ControllerTimer;
+import ingsw.utilities.ServerThreads;
+import ingsw.utilities.VirtualClock;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongFunction;
+
+/**
+ * Headless simulator of complete matches, used to measure the throughput of the server without any network.
+ * Every match runs on a single thread: the events of the GameManager are queued on a MatchEventLoop drained by
+ * the simulator, the timers of the match are kept by a VirtualClock and the players are SimulatedPlayers that
+ * answer in-process. When no event is waiting the clock jumps to the next timer, so the think time of the
+ * players and the timeouts cost nothing and a match takes only the CPU time of the server.
+ * Matches are spread on a pool of threads, each match with its own seed.
+ */
+public class MatchSimulator {
+    private static final long MAX_VIRTUAL_MILLIS = TimeUnit.HOURS.toMillis(6);
+    private static final int DEFAULT_MAX_TURN_SECONDS = 60;
+    private static final long DEFAULT_THINK_MILLIS = 1000;
+
+    private final int noOfPlayers;
+    private final int maxTurnSeconds;
+    private final long thinkMillis;
+    private final LongFunction<PlayerStrategy> strategyFactory;
+
+    /**
+     * Result of a single match
+     */
+    public static final class MatchResult {
+        private final boolean stalled;
+        private final long allocatedBytes;
+        private final long virtualMillis;
+        private final LatencyHistogram turnLatency;
+        private final List<Integer> scores;
+
+        private MatchResult(boolean stalled, long allocatedBytes, long virtualMillis, LatencyHistogram turnLatency, List<Integer> scores) {
+            this.stalled = stalled;
+            this.allocatedBytes = allocatedBytes;
+            this.virtualMillis = virtualMillis;
+            this.turnLatency = turnLatency;
+            this.scores = scores;
+        }
+
+        /**
+         * @return true if the match didn't reach the end
+         */
+        public boolean isStalled() {
+            return stalled;
+        }
+
+        /**
+         * @return Bytes allocated by the match, -1 if the JVM can't measure it
+         */
+        public long getAllocatedBytes() {
+            return allocatedBytes;
+        }
+
+        /**
+         * @return Time the match would have lasted on the wall clock
+         */
+        public long getVirtualMillis() {
+            return virtualMillis;
+        }
+
+        public LatencyHistogram getTurnLatency() {
+            return turnLatency;
+        }
+
+        /**
+         * @return Final score of every player, in the order in which they joined
+         */
+        public List<Integer> getScores() {
+            return scores;
+        }
+    }
+
+    /**
+     * Host of a simulated match, without history
+     */
+    private static final class SimulatedHost implements MatchHost {
+        private final String matchName;
+        private boolean ended;
+
+        private SimulatedHost(String matchName) {
+            this.matchName = matchName;
+        }
+
+        @Override
+        public String getMatchName() {
+            return matchName;
+        }
+
+        @Override
+        public MatchJournal getMatchJournal() {
+            return null;
+        }
+
+        @Override
+        public void updateRanking(User user) {
+            // Simulated matches have no ranking
+        }
+
+        @Override
+        public void removeMatch() {
+            ended = true;
+        }
+    }
+
+    /**
+     * Creates a simulator of matches played by random players
+     *
+     * @param noOfPlayers Players of every match
+     */
+    public MatchSimulator(int noOfPlayers) {
+        this(noOfPlayers, DEFAULT_MAX_TURN_SECONDS, DEFAULT_THINK_MILLIS, RandomStrategy::new);
+    }
+
+    /**
+     * Creates a simulator
+     *
+     * @param noOfPlayers     Players of every match
+     * @param maxTurnSeconds  Duration of the turn timer
+     * @param thinkMillis     Time every player takes to answer, on the virtual clock
+     * @param strategyFactory Creates the strategy of a player from a seed
+     */
+    public MatchSimulator(int noOfPlayers, int maxTurnSeconds, long thinkMillis, LongFunction<PlayerStrategy> strategyFactory) {
+        if (noOfPlayers < 2 || noOfPlayers > 4)
+            throw new IllegalArgumentException("A match has from 2 to 4 players");
+        this.noOfPlayers = noOfPlayers;
+        this.maxTurnSeconds = maxTurnSeconds;
+        this.thinkMillis = thinkMillis;
+        this.strategyFactory = strategyFactory;
+    }
+
+    /**
+     * Plays a complete match on the calling thread
+     *
+     * @param seed Seed of the match and of the strategies of its players
+     * @return The result of the match
+     */
+    public MatchResult runMatch(long seed) {
+        long allocatedBefore = allocatedBytes();
+
+        VirtualClock clock = new VirtualClock();
+        Queue<Runnable> tasks = new ArrayDeque<>();
+        MatchEventLoop matchEventLoop = new MatchEventLoop(tasks::add);
+        SimulatedHost host = new SimulatedHost("simulation-" + Long.toHexString(seed));
+        LatencyHistogram histogram = new LatencyHistogram();
+        TurnLatency turnLatency = new TurnLatency(histogram);
+        SplittableRandom strategySeeds = new SplittableRandom(seed);
+
+        List<Player> players = new ArrayList<>(noOfPlayers);
+        List<SimulatedPlayer> simulatedPlayers = new ArrayList<>(noOfPlayers);
+        for (int i = 0; i < noOfPlayers; i++) {
+            User user = new User("bot" + i);
+            SimulatedPlayer simulatedPlayer = new SimulatedPlayer(user.getUsername(),
+                    strategyFactory.apply(strategySeeds.nextLong()), clock, thinkMillis, turnLatency);
+            user.attachUserObserver(simulatedPlayer);
+            players.add(new Player(user));
+            simulatedPlayers.add(simulatedPlayer);
+        }
+
+        GameManager gameManager = new GameManager(players, maxTurnSeconds, host, new ControllerTimer(clock), seed, matchEventLoop);
+        for (int i = 0; i < noOfPlayers; i++) {
+            simulatedPlayers.get(i).join(gameManager, players.get(i));
+        }
+        gameManager.waitForEveryPatternCard(gameManager.pickPatternCards());
+
+        boolean stalled = false;
+        while (!host.ended) {
+            Runnable task = tasks.poll();
+            if (task != null) {
+                task.run();
+            } else if (clock.currentTimeMillis() > MAX_VIRTUAL_MILLIS || !clock.advance()) {
+                stalled = true;
+                break;
+            }
+        }
+
+        List<Integer> scores = new ArrayList<>(noOfPlayers);
+        for (Player player : players) {
+            scores.add(player.getScore());
+        }
+
+        long allocatedAfter = allocatedBytes();
+        long allocated = allocatedBefore < 0 || allocatedAfter < 0 ? -1 : allocatedAfter - allocatedBefore;
+        return new MatchResult(stalled, allocated, clock.currentTimeMillis(), histogram, scores);
+    }
+
+    /**
+     * Plays many matches in parallel
+     *
+     * @param noOfMatches Matches to play
+     * @param noOfThreads Threads that play the matches
+     * @param baseSeed    Seed from which the seed of every match is drawn
+     * @return The report of the run
+     * @throws InterruptedException if the run is interrupted
+     */
+    public SimulationReport run(int noOfMatches, int noOfThreads, long baseSeed) throws InterruptedException {
+        ExecutorService executor = Executors.newFixedThreadPool(noOfThreads, ServerThreads.newPoolThreadFactory("match-simulator"));
+
+        SimulationReport report = new SimulationReport();
+        SplittableRandom seeds = new SplittableRandom(baseSeed);
+        List<Future<?>> futures = new ArrayList<>(noOfMatches);
+        long start = System.nanoTime();
+        try {
+            for (int i = 0; i < noOfMatches; i++) {
+                long seed = seeds.nextLong();
+                futures.add(executor.submit(() -> report.add(runMatch(seed))));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Simulated match failed", e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+        report.setElapsedNanos(System.nanoTime() - start);
+        return report;
+    }
+
+    /**
+     * @return Bytes allocated so far by the calling thread, -1 if the JVM can't measure it
+     */
+    private static long allocatedBytes() {
+        java.lang.management.ThreadMXBean threadMXBean = ManagementFactory.getThreadMXBean();
+        if (threadMXBean instanceof com.sun.management.ThreadMXBean) {
+            com.sun.management.ThreadMXBean sunThreadMXBean = (com.sun.management.ThreadMXBean) threadMXBean;
+            if (sunThreadMXBean.isThreadAllocatedMemorySupported() && sunThreadMXBean.isThreadAllocatedMemoryEnabled())
+                return sunThreadMXBean.getThreadAllocatedBytes(Thread.currentThread().getId());
+        }
+        return -1;
+    }
+
+    /**
+     * Runs the simulator from the command line and prints the report.
+     * Arguments, all optional: number of matches, players per match, threads, seed.
+     *
+     * @param args Command line arguments
+     * @throws InterruptedException if the run is interrupted
+     */
+    public static void main(String[] args) throws InterruptedException {
+        int noOfMatches = args.length > 0 ? Integer.parseInt(args[0]) : 1000;
+        int noOfPlayers = args.length > 1 ? Integer.parseInt(args[1]) : 4;
+        int noOfThreads = args.length > 2 ? Integer.parseInt(args[2]) : Runtime.getRuntime().availableProcessors();
+        long seed = args.length > 3 ? Long.parseLong(args[3]) : System.nanoTime();
+
+        PrintStream out = System.out;
+        System.setOut(new PrintStream(new OutputStream() {
+            @Override
+            public void write(int b) {
+                // the server logs every move, the report is all that matters here
+            }
+        }));
+        SimulationReport report;
+        try {
+            report = new MatchSimulator(noOfPlayers).run(noOfMatches, noOfThreads, seed);
+        } finally {
+            System.setOut(out);
+        }
+        out.println("seed: " + seed);
+        out.println(report);
+    }
+}
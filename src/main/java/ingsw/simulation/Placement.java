@@ -0,0 +1,37 @@
+package ingsw.simulation;
+
+import ingsw.model.Dice;
+
+/**
+ * Place-dice move chosen by a simulated player: a drafted dice and the Box of the pattern card in which it goes
+ */
+public final class Placement {
+    private final Dice dice;
+    private final int rowIndex;
+    private final int columnIndex;
+
+    /**
+     * Creates a placement
+     *
+     * @param dice        Drafted dice to place
+     * @param rowIndex    Row index
+     * @param columnIndex Column index
+     */
+    public Placement(Dice dice, int rowIndex, int columnIndex) {
+        this.dice = dice;
+        this.rowIndex = rowIndex;
+        this.columnIndex = columnIndex;
+    }
+
+    public Dice getDice() {
+        return dice;
+    }
+
+    public int getRowIndex() {
+        return rowIndex;
+    }
+
+    public int getColumnIndex() {
+        return columnIndex;
+    }
+}
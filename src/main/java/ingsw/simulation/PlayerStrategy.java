@@ -0,0 +1,54 @@
+package ingsw.simulation;
+
+import ingsw.model.Dice;
+import ingsw.model.cards.patterncard.PatternCard;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Decisions of a simulated player. A strategy is used by a single player of a single match, so it can keep
+ * its own state without any synchronization.
+ */
+public interface PlayerStrategy {
+
+    /**
+     * Chooses the pattern card of the match
+     *
+     * @param patternCards The four pattern cards dealt to the player
+     * @return Index of the chosen pattern card
+     */
+    default int choosePatternCard(List<PatternCard> patternCards) {
+        return 0;
+    }
+
+    /**
+     * Chooses the dice to place in the turn
+     *
+     * @param patternCard        Pattern card of the player
+     * @param draftedDice        Dice that can be drafted
+     * @param availablePositions Boxes in which every drafted dice can be placed, by <code>Dice.toString()</code>
+     * @return The placement, null to end the turn without placing a dice
+     */
+    Placement choosePlacement(PatternCard patternCard, List<Dice> draftedDice, Map<String, Boolean[][]> availablePositions);
+
+    /**
+     * @return A scripted strategy that always places the first drafted dice that fits in the first available Box
+     */
+    static PlayerStrategy firstAvailable() {
+        return (patternCard, draftedDice, availablePositions) -> {
+            for (Dice dice : draftedDice) {
+                Boolean[][] positions = availablePositions.get(dice.toString());
+                if (positions == null)
+                    continue;
+                for (int row = 0; row < positions.length; row++) {
+                    for (int column = 0; column < positions[row].length; column++) {
+                        if (Boolean.TRUE.equals(positions[row][column]))
+                            return new Placement(dice, row, column);
+                    }
+                }
+            }
+            return null;
+        };
+    }
+}
@@ -0,0 +1,69 @@
+package ingsw.simulation;
+
+import ingsw.model.Dice;
+import ingsw.model.cards.patterncard.PatternCard;
+
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * Strategy that picks a pattern card and a legal placement at random, from its own seed
+ */
+public class RandomStrategy implements PlayerStrategy {
+    private final SplittableRandom random;
+
+    /**
+     * Creates the strategy
+     *
+     * @param seed Seed of the choices
+     */
+    public RandomStrategy(long seed) {
+        this.random = new SplittableRandom(seed);
+    }
+
+    @Override
+    public int choosePatternCard(List<PatternCard> patternCards) {
+        return random.nextInt(patternCards.size());
+    }
+
+    /**
+     * Counts the legal placements, then walks them again up to the chosen one
+     */
+    @Override
+    public Placement choosePlacement(PatternCard patternCard, List<Dice> draftedDice, Map<String, Boolean[][]> availablePositions) {
+        int noOfPlacements = countPlacements(draftedDice, availablePositions);
+        if (noOfPlacements == 0)
+            return null;
+
+        int chosen = random.nextInt(noOfPlacements);
+        for (Dice dice : draftedDice) {
+            Boolean[][] positions = availablePositions.get(dice.toString());
+            if (positions == null)
+                continue;
+            for (int row = 0; row < positions.length; row++) {
+                for (int column = 0; column < positions[row].length; column++) {
+                    if (Boolean.TRUE.equals(positions[row][column]) && chosen-- == 0)
+                        return new Placement(dice, row, column);
+                }
+            }
+        }
+        return null;
+    }
+
+    private static int countPlacements(List<Dice> draftedDice, Map<String, Boolean[][]> availablePositions) {
+        int count = 0;
+        for (Dice dice : draftedDice) {
+            Boolean[][] positions = availablePositions.get(dice.toString());
+            if (positions == null)
+                continue;
+            for (Boolean[] row : positions) {
+                for (Boolean available : row) {
+                    if (Boolean.TRUE.equals(available))
+                        count++;
+                }
+            }
+        }
+        return count;
+    }
+}
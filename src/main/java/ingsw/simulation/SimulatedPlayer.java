@@ -0,0 +1,135 @@
+package ingsw.simulation;
+
+import ingsw.controller.network.commands.*;
+import ingsw.controller.network.socket.UserObserver;
+import ingsw.model.GameManager;
+import ingsw.model.Player;
+import ingsw.model.cards.patterncard.PatternCard;
+import ingsw.utilities.MatchClock;
+import ingsw.utilities.NotificationType;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * In-process player of a simulated match. It receives the same calls that the server makes on a remote client
+ * and answers calling the GameManager directly, as the Controller would for a request of the client.
+ * Every answer is scheduled on the clock of the match after a think time, so the player never calls back
+ * into the match from inside one of its events, exactly like a remote client.
+ */
+public class SimulatedPlayer implements UserObserver, Serializable {
+    private final String username;
+    private final long thinkMillis;
+    private final transient PlayerStrategy strategy;
+    private final transient MatchClock clock;
+    private final transient TurnLatency turnLatency;
+    private transient GameManager gameManager;
+    private transient Player player;
+    private int turn;
+    private boolean turnOpen;
+
+    /**
+     * Creates a simulated player
+     *
+     * @param username    Username of the player
+     * @param strategy    Decisions of the player
+     * @param clock       Clock of the match
+     * @param thinkMillis Time the player takes to answer
+     * @param turnLatency Probe of the time the server takes to start the next turn
+     */
+    SimulatedPlayer(String username, PlayerStrategy strategy, MatchClock clock, long thinkMillis, TurnLatency turnLatency) {
+        this.username = username;
+        this.strategy = strategy;
+        this.clock = clock;
+        this.thinkMillis = thinkMillis;
+        this.turnLatency = turnLatency;
+    }
+
+    /**
+     * Sits the player in its match
+     *
+     * @param gameManager GameManager of the match
+     * @param player      Player of the match played by this observer
+     */
+    void join(GameManager gameManager, Player player) {
+        this.gameManager = gameManager;
+        this.player = player;
+    }
+
+    public String getUsername() {
+        return username;
+    }
+
+    private void later(Runnable answer) {
+        clock.schedule(answer, thinkMillis);
+    }
+
+    @Override
+    public void checkIfActive() {
+        // always connected
+    }
+
+    @Override
+    public void notifyLost(int score) {
+        turnLatency.matchEnded();
+    }
+
+    @Override
+    public void notifyVictory(int score) {
+        turnLatency.matchEnded();
+    }
+
+    /**
+     * Chooses the pattern card and acknowledges the drafted dice, every other response only updates the view
+     * of a real client
+     *
+     * @param response Response sent by the server
+     */
+    @Override
+    public void sendResponse(Response response) {
+        if (response instanceof PatternCardNotification) {
+            List<PatternCard> patternCards = ((PatternCardNotification) response).patternCards;
+            later(() -> gameManager.setPatternCardForPlayer(username, patternCards.get(strategy.choosePatternCard(patternCards))));
+        } else if (response instanceof DraftedDiceResponse) {
+            later(gameManager::receiveAck);
+        } else if (response instanceof TimeOutResponse || response instanceof EndTurnResponse) {
+            turnOpen = false;
+        }
+    }
+
+    @Override
+    public void onJoin(int numberOfConnectedUsers) {
+        // the match is created by the simulator
+    }
+
+    @Override
+    public void receiveNotification(Notification notification) {
+        if (notification.notificationType == NotificationType.DRAFT_DICE)
+            later(gameManager::draftDiceFromBoard);
+    }
+
+    /**
+     * Plays the turn: places the dice chosen by the strategy, if any, and ends the turn
+     *
+     * @param booleanMapGrid Boxes in which every drafted dice can be placed
+     */
+    @Override
+    public void activateTurnNotification(Map<String, Boolean[][]> booleanMapGrid) {
+        turnLatency.turnStarted();
+        int currentTurn = ++turn;
+        turnOpen = true;
+        later(() -> {
+            if (!turnOpen || currentTurn != turn)
+                return;
+
+            turnLatency.turnSubmitted();
+            Placement placement = strategy.choosePlacement(player.getPatternCard(), new ArrayList<>(gameManager.getDraftedDice()), booleanMapGrid);
+            if (placement != null)
+                gameManager.placeDiceForPlayer(placement.getDice(), placement.getRowIndex(), placement.getColumnIndex());
+            turnOpen = false;
+            gameManager.endTurn(username);
+        });
+    }
+}
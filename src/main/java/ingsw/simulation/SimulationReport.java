@@ -0,0 +1,98 @@
+package ingsw.simulation;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Results of a run of the MatchSimulator: throughput, allocation per match and latency of the turns
+ */
+public class SimulationReport {
+    private final LatencyHistogram turnLatency = new LatencyHistogram();
+    private long noOfMatches;
+    private long noOfStalledMatches;
+    private long allocatedBytes;
+    private long allocationSamples;
+    private long virtualMillis;
+    private long elapsedNanos;
+
+    /**
+     * Adds the results of a match
+     *
+     * @param result Result of the match
+     */
+    synchronized void add(MatchSimulator.MatchResult result) {
+        noOfMatches++;
+        if (result.isStalled())
+            noOfStalledMatches++;
+        if (result.getAllocatedBytes() >= 0) {
+            allocatedBytes += result.getAllocatedBytes();
+            allocationSamples++;
+        }
+        virtualMillis += result.getVirtualMillis();
+        turnLatency.add(result.getTurnLatency());
+    }
+
+    synchronized void setElapsedNanos(long elapsedNanos) {
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    public synchronized long getNoOfMatches() {
+        return noOfMatches;
+    }
+
+    /**
+     * @return Number of matches that didn't reach the end
+     */
+    public synchronized long getNoOfStalledMatches() {
+        return noOfStalledMatches;
+    }
+
+    /**
+     * @return Matches completed in a second of wall clock time
+     */
+    public synchronized double getMatchesPerSecond() {
+        return elapsedNanos == 0 ? 0 : noOfMatches * (double) TimeUnit.SECONDS.toNanos(1) / elapsedNanos;
+    }
+
+    /**
+     * @return Bytes allocated on average by a match, -1 if the JVM can't measure the allocation of a thread
+     */
+    public synchronized long getAllocatedBytesPerMatch() {
+        return allocationSamples == 0 ? -1 : allocatedBytes / allocationSamples;
+    }
+
+    /**
+     * @return Time a match would last on the wall clock, on average
+     */
+    public synchronized long getVirtualMillisPerMatch() {
+        return noOfMatches == 0 ? 0 : virtualMillis / noOfMatches;
+    }
+
+    /**
+     * @param percentile Percentile, between 0 and 100
+     * @return Nanoseconds the server takes to process a turn at the given percentile
+     */
+    public synchronized long getTurnLatencyPercentile(double percentile) {
+        return turnLatency.getPercentile(percentile);
+    }
+
+    public synchronized long getTurnLatencyCount() {
+        return turnLatency.getCount();
+    }
+
+    @Override
+    public synchronized String toString() {
+        return String.format("matches: %d (%d stalled) in %.2f s -> %.1f matches/s%n"
+                        + "allocation per match: %s%n"
+                        + "virtual time per match: %d s%n"
+                        + "turn latency (%d turns): p50 %s, p90 %s, p99 %s, max %s",
+                noOfMatches, noOfStalledMatches, elapsedNanos / 1e9, getMatchesPerSecond(),
+                allocationSamples == 0 ? "n/a" : (getAllocatedBytesPerMatch() / 1024) + " KiB",
+                TimeUnit.MILLISECONDS.toSeconds(getVirtualMillisPerMatch()),
+                turnLatency.getCount(), micros(turnLatency.getPercentile(50)), micros(turnLatency.getPercentile(90)),
+                micros(turnLatency.getPercentile(99)), micros(turnLatency.getMax()));
+    }
+
+    private static String micros(long nanos) {
+        return String.format("%.1f us", nanos / 1e3);
+    }
+}
@@ -0,0 +1,43 @@
+package ingsw.simulation;
+
+/**
+ * Measures, in a simulated match, the time the server takes from the move that ends a turn to the start of
+ * the next turn (or the end of the match). The whole match runs on one thread, so this is the processing time
+ * of the turn, without any network or think time.
+ */
+class TurnLatency {
+    private final LatencyHistogram histogram;
+    private long submittedNanos;
+
+    TurnLatency(LatencyHistogram histogram) {
+        this.histogram = histogram;
+    }
+
+    /**
+     * Called when a player sends the move that ends its turn
+     */
+    void turnSubmitted() {
+        submittedNanos = System.nanoTime();
+    }
+
+    /**
+     * Called when a player is told that its turn has started
+     */
+    void turnStarted() {
+        record();
+    }
+
+    /**
+     * Called when a player is told the result of the match
+     */
+    void matchEnded() {
+        record();
+    }
+
+    private void record() {
+        if (submittedNanos != 0) {
+            histogram.record(System.nanoTime() - submittedNanos);
+            submittedNanos = 0;
+        }
+    }
+}
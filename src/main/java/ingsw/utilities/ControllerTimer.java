@@ -2,14 +2,18 @@ package ingsw.utilities;
 
 import ingsw.controller.Controller;
 import ingsw.controller.network.commands.TimeOutResponse;
-import ingsw.controller.network.socket.ClientHandler;
 import ingsw.model.GameManager;
 import ingsw.model.Player;
 import ingsw.model.cards.patterncard.PatternCard;
 
 import java.rmi.RemoteException;
 import java.util.*;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Timer used to control some game sequence like:
@@ -17,95 +21,233 @@ import java.util.concurrent.atomic.AtomicBoolean;
  * - Pattern card choose
  * - Drafted dice
  * - Turn execution
+ *
+ * Every ControllerTimer schedules its tasks on a scheduler shared by the whole server, so the
+ * timers of all the matches and the ticks of the LivenessService run on a handful of threads instead
+ * of a new thread for each timer.
  */
 public class ControllerTimer {
-    private AtomicBoolean pingActive;
-    private Timer timer;
+    private volatile TimerHandle timer;
+    private final MatchClock clock;
     private static final String TIMER_THREAD_NAME = "TimerThread";
+    private static final int TURN_TIME_OUT_DELAY = 500;
+
+    private static final AtomicInteger liveTimers = new AtomicInteger(0);
+    private static final AtomicLong expiredTimers = new AtomicLong(0);
+    private static final AtomicLong cancelledTimers = new AtomicLong(0);
+    private static final ScheduledThreadPoolExecutor scheduler = createScheduler();
 
     /**
-     * Creates a new ControllerTimer
+     * Creates a new ControllerTimer on the wall clock
      */
     public ControllerTimer() {
-        this.timer = new Timer(TIMER_THREAD_NAME);
-        pingActive = new AtomicBoolean(false);
+        this(MatchClock.SYSTEM);
+    }
+
+    /**
+     * Creates a new ControllerTimer whose timers run on the given clock
+     * @param clock Clock of the timers
+     */
+    public ControllerTimer(MatchClock clock) {
+        this.clock = clock;
+    }
+
+    /**
+     * Creates the scheduler shared by every ControllerTimer. Its threads are daemon threads, the
+     * cancelled tasks are removed from the queue at once.
+     *
+     * @return The shared scheduler
+     */
+    private static ScheduledThreadPoolExecutor createScheduler() {
+        int noOfThreads = Math.min(4, Math.max(2, Runtime.getRuntime().availableProcessors()));
+        ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor(noOfThreads,
+                                                                               ServerThreads.newPoolThreadFactory(TIMER_THREAD_NAME));
+        executor.setRemoveOnCancelPolicy(true);
+        return executor;
+    }
+
+    /**
+     * Handle of a scheduled timer. A timer either expires or is cancelled, never both.
+     */
+    public static final class TimerHandle implements Runnable {
+        private final Runnable task;
+        private final AtomicBoolean settled;
+        private volatile ScheduledFuture<?> future;
+
+        private TimerHandle(Runnable task) {
+            this.task = task;
+            this.settled = new AtomicBoolean(false);
+        }
+
+        /**
+         * Runs the task if the timer has not been cancelled
+         */
+        @Override
+        public void run() {
+            if (settled.compareAndSet(false, true)) {
+                liveTimers.decrementAndGet();
+                expiredTimers.incrementAndGet();
+                try {
+                    task.run();
+                } catch (RuntimeException e) {
+                    // the scheduler would swallow it and keep the other timers running
+                    e.printStackTrace();
+                }
+            }
+        }
+
+        /**
+         * Cancels the timer if it has not expired yet
+         *
+         * @return true if the task will never run
+         */
+        public boolean cancel() {
+            if (settled.compareAndSet(false, true)) {
+                liveTimers.decrementAndGet();
+                cancelledTimers.incrementAndGet();
+                if (future != null)
+                    future.cancel(false);
+                return true;
+            }
+            return false;
+        }
+
+        /**
+         * @return true if the timer expired or has been cancelled
+         */
+        public boolean isDone() {
+            return settled.get();
+        }
+    }
+
+    /**
+     * Schedules a task on the shared scheduler. The task must be short, a long task should only post an
+     * event to the thread that does the work.
+     *
+     * @param task   Task to run
+     * @param millis Delay in milliseconds
+     * @return The handle of the timer
+     */
+    public static TimerHandle schedule(Runnable task, long millis) {
+        TimerHandle timerHandle = new TimerHandle(task);
+        liveTimers.incrementAndGet();
+        timerHandle.future = scheduler.schedule(timerHandle, millis, TimeUnit.MILLISECONDS);
+        return timerHandle;
+    }
+
+    /**
+     * Creates the handle of a timer scheduled by a clock other than the shared scheduler
+     *
+     * @param task Task to run
+     * @return The handle of the timer, counted among the live timers until it expires or it is cancelled
+     */
+    static TimerHandle newTimerHandle(Runnable task) {
+        liveTimers.incrementAndGet();
+        return new TimerHandle(task);
+    }
+
+    /**
+     * Schedules a task on the clock of this ControllerTimer, without replacing the running timer
+     *
+     * @param task   Task to run
+     * @param millis Delay in milliseconds
+     * @return The handle of the timer
+     */
+    public TimerHandle delay(Runnable task, long millis) {
+        return clock.schedule(task, millis);
+    }
+
+    /**
+     * @return The clock of the timers
+     */
+    public MatchClock getClock() {
+        return clock;
     }
 
     /**
-     * Get if the pinger is active
-     * @return true if it is active
+     * @return Number of timers scheduled and not yet expired or cancelled, in the whole server
      */
-    public AtomicBoolean getPingActive() {
-        return pingActive;
+    public static int getLiveTimers() {
+        return liveTimers.get();
     }
 
     /**
-     * Set the new ping value
-     * @param pingActive new Ping value
+     * @return Number of timers expired since the server started
      */
-    public void setPingActive(boolean pingActive) {
-        this.pingActive.set(pingActive);
+    public static long getExpiredTimers() {
+        return expiredTimers.get();
+    }
+
+    /**
+     * @return Number of timers cancelled before expiring since the server started
+     */
+    public static long getCancelledTimers() {
+        return cancelledTimers.get();
+    }
+
+    /**
+     * @return Number of threads of the shared scheduler
+     */
+    public static int getTimerThreads() {
+        return scheduler.getPoolSize();
     }
 
     /**
      * Start the Login timer
      * @param loginSeconds Seconds before the match starts
      * @param controller Match controller
+     * @return The handle of the timer
      */
-    public void startLoginTimer(int loginSeconds, Controller controller) {
-        timer = new Timer(TIMER_THREAD_NAME);
-        timer.schedule(new LaunchMatch(controller), (long) loginSeconds * 1000);
+    public TimerHandle startLoginTimer(int loginSeconds, Controller controller) {
+        timer = clock.schedule(new LaunchMatch(controller), (long) loginSeconds * 1000);
+        return timer;
     }
 
     /**
      * Start the Turn timer
      * @param turnSeconds Seconds before the turn ends
      * @param gameManager GameManager
+     * @return The handle of the timer
      */
-    public void startTurnTimer(int turnSeconds, GameManager gameManager) {
-        timer = new Timer(TIMER_THREAD_NAME);
-        timer.schedule(new EndTurn(gameManager), (long) turnSeconds * 1000);
+    public TimerHandle startTurnTimer(int turnSeconds, GameManager gameManager) {
+        timer = clock.schedule(new EndTurn(gameManager), (long) turnSeconds * 1000);
+        return timer;
     }
 
     /**
      * Start the Pattern card timer
      * @param patternCards Seconds before the pattern card is automatically chosen
      * @param gameManager GameManager
+     * @return The handle of the timer
      */
-    public void startPatternCardTimer(int patternCardSeconds, GameManager gameManager, Map<String, List<PatternCard>> patternCards) {
-        timer = new Timer(TIMER_THREAD_NAME);
-        timer.schedule(new ChoosePatternCard(gameManager, patternCards), (long) patternCardSeconds * 1000);
+    public TimerHandle startPatternCardTimer(int patternCardSeconds, GameManager gameManager, Map<String, List<PatternCard>> patternCards) {
+        timer = clock.schedule(new ChoosePatternCard(gameManager, patternCards), (long) patternCardSeconds * 1000);
+        return timer;
     }
 
     /**
      * Start the Drafted dice timer
      * @param gameManager GameManager
+     * @return The handle of the timer
      */
-    public void startDraftedDiceTimer(GameManager gameManager) {
-        timer = new Timer(TIMER_THREAD_NAME);
-        timer.schedule(new DraftDiceTask(gameManager), (long) 20 * 1000);
+    public TimerHandle startDraftedDiceTimer(GameManager gameManager) {
+        timer = clock.schedule(new DraftDiceTask(gameManager), (long) 20 * 1000);
+        return timer;
     }
 
     /**
      * Method to stop the timer that is running
      */
     public void cancelTimer() {
-        timer.cancel();
-        timer.purge();
-    }
-
-    public void startPingReceiveTimer(ClientHandler clientHandler) {
-        if (!pingActive.get()) {
-            pingActive.set(true);
-            timer = new Timer(TIMER_THREAD_NAME);
-            timer.schedule(new DisconnectUserTask(clientHandler), (long) 3000);
-        }
+        TimerHandle currentTimer = timer;
+        if (currentTimer != null)
+            currentTimer.cancel();
     }
 
     /**
-     * Task class for Launch Match Timer
+     * Task class for Launch Match Timer: the match is created on the executor of its shard
      */
-    public class LaunchMatch extends TimerTask {
+    public class LaunchMatch implements Runnable {
         Controller controller;
 
         LaunchMatch(Controller controller) {
@@ -114,14 +256,14 @@ public class ControllerTimer {
 
         @Override
         public void run() {
-            controller.createMatch();
+            controller.launchMatch();
         }
     }
 
     /**
      * Task class for choosing Pattern Card Timer
      */
-    class ChoosePatternCard extends TimerTask {
+    class ChoosePatternCard implements Runnable {
         GameManager gameManager;
         Map<String, List<PatternCard>> patternCards;
 
@@ -132,18 +274,18 @@ public class ControllerTimer {
 
         /**
          * When the time to choose the pattern card expires this task runs
-         * It calls the gameManager method to choose randomly the pattern card for the players
+         * It posts to the event loop of the match the choice of the pattern cards of the players who didn't choose
          */
         @Override
         public void run() {
-            gameManager.randomizePatternCards(patternCards);
+            gameManager.post(() -> gameManager.randomizePatternCards(patternCards));
         }
     }
 
     /**
      * Task class for draft the Dice automatically if player waits too much time
      */
-    class DraftDiceTask extends TimerTask {
+    class DraftDiceTask implements Runnable {
 
         GameManager gameManager;
 
@@ -160,7 +302,7 @@ public class ControllerTimer {
     /**
      * Task class for End Turn Timer
      */
-    class EndTurn extends TimerTask {
+    class EndTurn implements Runnable {
         GameManager gameManager;
 
         EndTurn(GameManager gameManager) {
@@ -168,35 +310,38 @@ public class ControllerTimer {
 
         }
 
+        /**
+         * The time out is handled on the event loop of the match, since it sends the responses to the player
+         */
         @Override
         public void run() {
-            //if the timer expires, execute this code
+            gameManager.post(this::timeOut);
+        }
 
+        private void timeOut() {
             Player currentPlayer = gameManager.getCurrentRound().getCurrentPlayer();
 
             try {
 
                 if (gameManager.getToolCardLock().get()) {
-                    if (currentPlayer.getUser().isActive()) {
+                    if (currentPlayer.getUser().isActive() || currentPlayer.hasSubstitute()) {
                         currentPlayer.getUserObserver().sendResponse(new TimeOutResponse(gameManager.getDraftedDice(), gameManager.getRoundTrack(), currentPlayer));
                     }
                 } else {
-                    if (currentPlayer.getUser().isActive()) {
+                    if (currentPlayer.getUser().isActive() || currentPlayer.hasSubstitute()) {
                         currentPlayer.getUserObserver().sendResponse(new TimeOutResponse());
                     }
                 }
 
-                synchronized (this) {
-                    wait(500);
-                }
-
-            } catch (InterruptedException e) {
-                Thread.currentThread().interrupt();
-                e.printStackTrace();
             } catch (RemoteException e) {
                 e.printStackTrace();
             }
 
+            // The turn ends a bit later, without keeping a scheduler thread waiting
+            clock.schedule(() -> gameManager.post(() -> endTurn(currentPlayer)), TURN_TIME_OUT_DELAY);
+        }
+
+        private void endTurn(Player currentPlayer) {
             System.out.println("timer ended\n");
 
             gameManager.addMoveToHistoryAndNotify(new MoveStatus(currentPlayer.getPlayerUsername(), "ended the turn due to time out"));
@@ -210,18 +355,4 @@ public class ControllerTimer {
             System.out.println("Deleting timer");
         }
     }
-
-    class DisconnectUserTask extends TimerTask {
-        ClientHandler clientHandler;
-
-        DisconnectUserTask(ClientHandler clientHandler) {
-            this.clientHandler = clientHandler;
-        }
-
-        @Override
-        public void run() {
-            System.out.print("ControllerTimer:");
-            clientHandler.shutdownClientHandler();
-        }
-    }
 }
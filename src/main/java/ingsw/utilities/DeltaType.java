@@ -0,0 +1,10 @@
+package ingsw.utilities;
+
+/**
+ * Enumeration to check the kind of change carried by a ViewDelta
+ */
+public enum DeltaType {
+    DICE_PLACED,
+    DRAFTED_DICE_REMOVED,
+    FAVOUR_TOKENS_CHANGED
+}
@@ -0,0 +1,326 @@
+package ingsw.utilities;
+
+import java.rmi.RemoteException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Single service that checks the connection of every logged user, socket and RMI alike, instead of a pinger
+ * for each client and a polling loop for the lobby and for each match.
+ * <p>
+ * Every session keeps the time it was last seen, updated by {@link #touch(Session)} whenever something is read
+ * from the client. The sessions wait in a hashed timing wheel of {@link #WHEEL_SIZE} slots advanced every
+ * {@link #TICK_MILLIS}: when a session comes out of its slot it is put back at the time it will be idle for
+ * {@link #PROBE_AFTER_MILLIS} if it has been seen meanwhile, otherwise it is probed and, if nothing arrives
+ * within {@link #EXPIRE_AFTER_MILLIS}, it expires. A message received costs a single write, a tick only visits
+ * the sessions of a slot and an idle server doesn't tick at all.
+ * <p>
+ * The listeners, the lobby and the matches, are told when a user connects and when it disconnects.
+ */
+public class LivenessService {
+    public static final long TICK_MILLIS = 500;
+    public static final int WHEEL_SIZE = 64;
+    public static final long PROBE_AFTER_MILLIS = 3000;
+    public static final long EXPIRE_AFTER_MILLIS = 3000;
+
+    private static LivenessService livenessServiceSingleton;
+
+    private final MatchClock clock;
+    private final Executor probeExecutor;
+    private final List<Deque<Lease>> wheel;
+    private final Map<Session, Lease> leases;
+    private final Map<String, Lease> leasesByUsername;
+    private final List<Listener> listeners;
+    private long tick;
+    private int scheduledLeases;
+    private boolean ticking;
+
+    /**
+     * Connection of a user checked by the service
+     */
+    public interface Session {
+
+        /**
+         * Asks the client for a sign of life. The answer must be reported with {@link #touch(Session)}.
+         *
+         * @throws RemoteException if the client can't be reached, the session expires at once
+         */
+        void probe() throws RemoteException;
+
+        /**
+         * Called when the client stopped answering: the user is deactivated and the connection closed
+         */
+        void expire();
+    }
+
+    /**
+     * Receives the connections and disconnections of the users
+     */
+    public interface Listener {
+
+        /**
+         * @param username User that connected or came back to its match
+         */
+        void onConnect(String username);
+
+        /**
+         * @param username User that disconnected, already deactivated
+         */
+        void onDisconnect(String username);
+    }
+
+    /**
+     * State of a session in the wheel
+     */
+    private static final class Lease {
+        private final String username;
+        private final Session session;
+        private final AtomicBoolean closed;
+        private volatile long lastSeen;
+        private volatile boolean probing;
+        private int rounds;
+
+        private Lease(String username, Session session, long now) {
+            this.username = username;
+            this.session = session;
+            this.closed = new AtomicBoolean(false);
+            this.lastSeen = now;
+        }
+    }
+
+    /**
+     * Creates a service whose wheel is advanced by the given clock
+     *
+     * @param clock         Clock that schedules the ticks
+     * @param probeExecutor Executor of the probes, which may block on the network
+     */
+    @SuppressWarnings("unchecked")
+    public LivenessService(MatchClock clock, Executor probeExecutor) {
+        this.clock = clock;
+        this.probeExecutor = probeExecutor;
+        this.wheel = new ArrayList<>(WHEEL_SIZE);
+        for (int slot = 0; slot < WHEEL_SIZE; slot++) {
+            wheel.add(new ArrayDeque<>());
+        }
+        this.leases = new ConcurrentHashMap<>();
+        this.leasesByUsername = new ConcurrentHashMap<>();
+        this.listeners = new CopyOnWriteArrayList<>();
+    }
+
+    /**
+     * Returns the service of the server, on the wall clock.
+     * It is a Singleton.
+     *
+     * @return LivenessService
+     */
+    public static synchronized LivenessService get() {
+        if (livenessServiceSingleton == null) {
+            livenessServiceSingleton = new LivenessService(MatchClock.SYSTEM, ServerThreads.newPerTaskExecutor("liveness-probe"));
+        }
+
+        return livenessServiceSingleton;
+    }
+
+    /**
+     * Starts checking the session of a user that logged in. A previous session of the same user is dropped
+     * without expiring it, since the user is connected again.
+     *
+     * @param username Username of the user
+     * @param session  Session of the user
+     */
+    public void register(String username, Session session) {
+        Lease lease = new Lease(username, session, clock.currentTimeMillis());
+        Lease previous = leasesByUsername.put(username, lease);
+        if (previous != null && previous.session != session && previous.closed.compareAndSet(false, true))
+            leases.remove(previous.session, previous);
+        leases.put(session, lease);
+
+        synchronized (this) {
+            schedule(lease, PROBE_AFTER_MILLIS);
+        }
+        notifyConnection(username);
+    }
+
+    /**
+     * Marks a session as seen now
+     *
+     * @param session Session from which something has been received
+     */
+    public void touch(Session session) {
+        Lease lease = leases.get(session);
+        if (lease != null) {
+            lease.lastSeen = clock.currentTimeMillis();
+            lease.probing = false;
+        }
+    }
+
+    /**
+     * Stops checking a session that has been closed and tells the listeners the user disconnected
+     *
+     * @param session Closed session
+     */
+    public void close(Session session) {
+        Lease lease = leases.get(session);
+        if (lease != null && lease.closed.compareAndSet(false, true)) {
+            leases.remove(session, lease);
+            leasesByUsername.remove(lease.username, lease);
+            notifyDisconnection(lease.username);
+        }
+    }
+
+    /**
+     * Tells the listeners that a user is connected, for instance when it is back in its match
+     *
+     * @param username Username of the user
+     */
+    public void notifyConnection(String username) {
+        for (Listener listener : listeners) {
+            try {
+                listener.onConnect(username);
+            } catch (RuntimeException e) {
+                e.printStackTrace();
+            }
+        }
+    }
+
+    private void notifyDisconnection(String username) {
+        for (Listener listener : listeners) {
+            try {
+                listener.onDisconnect(username);
+            } catch (RuntimeException e) {
+                e.printStackTrace();
+            }
+        }
+    }
+
+    /**
+     * @param listener Listener to add
+     */
+    public void addListener(Listener listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * @param listener Listener to remove
+     */
+    public void removeListener(Listener listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * @return Number of sessions checked
+     */
+    public int getSessions() {
+        return leases.size();
+    }
+
+    /**
+     * Puts a lease in the slot of the wheel where it will be after <code>millis</code>, starting the ticks if
+     * the wheel was empty. Called holding the lock of the service.
+     */
+    private void schedule(Lease lease, long millis) {
+        long ticks = Math.max(1, (millis + TICK_MILLIS - 1) / TICK_MILLIS);
+        lease.rounds = (int) ((ticks - 1) / WHEEL_SIZE);
+        wheel.get((int) ((tick + ticks) % WHEEL_SIZE)).add(lease);
+        scheduledLeases++;
+
+        if (!ticking) {
+            ticking = true;
+            clock.schedule(this::tick, TICK_MILLIS);
+        }
+    }
+
+    /**
+     * Advances the wheel by a slot and checks the sessions that are due. The sessions that expired are
+     * closed after releasing the lock, since closing them calls back the handlers and the listeners.
+     */
+    private void tick() {
+        long now = clock.currentTimeMillis();
+        List<Lease> expiredLeases = new ArrayList<>();
+        synchronized (this) {
+            tick++;
+            Deque<Lease> slot = wheel.get((int) (tick % WHEEL_SIZE));
+            for (int i = slot.size(); i > 0; i--) {
+                Lease lease = slot.poll();
+                if (lease.rounds > 0) {
+                    lease.rounds--;
+                    slot.add(lease);
+                } else {
+                    scheduledLeases--;
+                    if (check(lease, now))
+                        expiredLeases.add(lease);
+                }
+            }
+
+            if (scheduledLeases > 0)
+                clock.schedule(this::tick, TICK_MILLIS);
+            else
+                ticking = false;
+        }
+
+        for (Lease lease : expiredLeases) {
+            expire(lease);
+        }
+    }
+
+    /**
+     * Checks a session that came out of its slot. Called holding the lock of the service.
+     *
+     * @return true if the session expired
+     */
+    private boolean check(Lease lease, long now) {
+        if (lease.closed.get())
+            return false;
+
+        long idle = now - lease.lastSeen;
+        if (lease.probing) {
+            return true;
+        } else if (idle >= PROBE_AFTER_MILLIS) {
+            lease.probing = true;
+            probe(lease);
+            schedule(lease, EXPIRE_AFTER_MILLIS);
+        } else {
+            schedule(lease, PROBE_AFTER_MILLIS - idle);
+        }
+        return false;
+    }
+
+    private void probe(Lease lease) {
+        try {
+            probeExecutor.execute(() -> {
+                try {
+                    lease.session.probe();
+                } catch (RemoteException e) {
+                    expire(lease);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            System.err.println("LivenessService: probe of " + lease.username + " discarded");
+        }
+    }
+
+    /**
+     * Expires a session: the session deactivates its user, then the listeners are told of the disconnection
+     */
+    private void expire(Lease lease) {
+        if (!lease.closed.compareAndSet(false, true))
+            return;
+
+        leases.remove(lease.session, lease);
+        leasesByUsername.remove(lease.username, lease);
+        System.out.println("LivenessService: " + lease.username + " is not answering");
+        try {
+            lease.session.expire();
+        } finally {
+            notifyDisconnection(lease.username);
+        }
+    }
+}
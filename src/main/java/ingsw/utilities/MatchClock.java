@@ -0,0 +1,38 @@
+package ingsw.utilities;
+
+/**
+ * Clock on which a match schedules its timers and delays. The server runs on the wall clock, with the timers on
+ * the scheduler shared by every ControllerTimer; the MatchSimulator uses a VirtualClock, in which time passes
+ * only when the simulator moves it forward.
+ */
+public interface MatchClock {
+
+    /**
+     * The wall clock, backed by the shared scheduler of the ControllerTimer
+     */
+    MatchClock SYSTEM = new MatchClock() {
+        @Override
+        public ControllerTimer.TimerHandle schedule(Runnable task, long millis) {
+            return ControllerTimer.schedule(task, millis);
+        }
+
+        @Override
+        public long currentTimeMillis() {
+            return System.currentTimeMillis();
+        }
+    };
+
+    /**
+     * Schedules a task
+     *
+     * @param task   Task to run
+     * @param millis Delay in milliseconds
+     * @return The handle of the timer
+     */
+    ControllerTimer.TimerHandle schedule(Runnable task, long millis);
+
+    /**
+     * @return The current time of the clock in milliseconds
+     */
+    long currentTimeMillis();
+}
@@ -0,0 +1,59 @@
+package ingsw.utilities;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Class used for sending the summary of a finished match: its id, the players, when it ended, the winner
+ * and the number of moves of its history
+ */
+public class MatchSummary implements Serializable {
+    private String matchId;
+    private List<String> players;
+    private long endTime;
+    private String winner;
+    private int noOfMoves;
+
+    /**
+     * Creates a new MatchSummary
+     *
+     * @param matchId   Id of the match, used to request its history
+     * @param players   Usernames of the players
+     * @param endTime   When the match ended, in milliseconds since the epoch, 0 if unknown
+     * @param winner    Username of the winner, null if unknown
+     * @param noOfMoves Number of moves of the history
+     */
+    public MatchSummary(String matchId, List<String> players, long endTime, String winner, int noOfMoves) {
+        this.matchId = matchId;
+        this.players = new ArrayList<>(players);
+        this.endTime = endTime;
+        this.winner = winner;
+        this.noOfMoves = noOfMoves;
+    }
+
+    public String getMatchId() {
+        return matchId;
+    }
+
+    public List<String> getPlayers() {
+        return players;
+    }
+
+    public long getEndTime() {
+        return endTime;
+    }
+
+    public String getWinner() {
+        return winner;
+    }
+
+    public int getNoOfMoves() {
+        return noOfMoves;
+    }
+
+    @Override
+    public String toString() {
+        return matchId;
+    }
+}
@@ -6,5 +6,7 @@ package ingsw.utilities;
 public enum NotificationType {
     DRAFT_DICE,
     START_TURN,
-    HISTORY_UPDATE
+    HISTORY_UPDATE,
+    VIEW_DELTA,
+    SCORE_UPDATE
 }
@@ -43,6 +43,15 @@ public class PlayerBroadcaster {
     }
 
 
+    /**
+     * A player is reached if its user is active or if a bot plays in its place
+     * @param player Player to check
+     * @return true if the player can receive the messages
+     */
+    private static boolean isPlaying(Player player) {
+        return player.getUser().isActive() || player.hasSubstitute();
+    }
+
     /**
      * Creates a List of the active player by calling <code>player.getCurrentUser.getUserObserver().checkIfActive()</code> excluding the one passed as parameter
      * @param usernameToExclude User that won't receive the message
@@ -51,10 +60,10 @@ public class PlayerBroadcaster {
     private List<UserObserver> playersToBroadcast(String usernameToExclude) {
         List<UserObserver> playerListToBroadcast = new ArrayList<>();
         for (Player player : players) {
-            if (!player.getUser().getUsername().equals(usernameToExclude) && player.getUser().isActive()) {
+            if (!player.getUser().getUsername().equals(usernameToExclude) && isPlaying(player)) {
                 try {
                     player.getUserObserver().checkIfActive();
-                    playerListToBroadcast.add(player.getUser().getUserObserver());
+                    playerListToBroadcast.add(player.getUserObserver());
                 } catch (RemoteException e) {
                     System.err.println("RMI Player " + player.getPlayerUsername() + " is not active, deactivating user");
                     player.getUser().setActive(false);
@@ -71,10 +80,10 @@ public class PlayerBroadcaster {
     private List<UserObserver> playersToBroadcast() {
         List<UserObserver> playerListToBroadcast = new ArrayList<>();
         for (Player player : players) {
-            if (player.getUser().isActive()) {
+            if (isPlaying(player)) {
                 try {
                     player.getUserObserver().checkIfActive();
-                    playerListToBroadcast.add(player.getUser().getUserObserver());
+                    playerListToBroadcast.add(player.getUserObserver());
                 } catch (RemoteException e) {
                     System.err.println("RMI Player " + player.getPlayerUsername() + " is not active, deactivating user");
                 }
@@ -134,14 +143,38 @@ public class PlayerBroadcaster {
     }
 
     /**
-     * Used when the histury are updated
-     * @param movesHistory movehistory to send
+     * Used when the histury are updated, only the new moves are sent
+     * @param firstSequence sequence number of the first new move
+     * @param newMoves      moves added to the history
      */
-    public void updateMovesHistory(List<MoveStatus> movesHistory) {
+    public void updateMovesHistory(int firstSequence, List<MoveStatus> newMoves) {
         if (isBroadcasterActive) {
+            MoveStatusNotification moveStatusNotification = new MoveStatusNotification(firstSequence, newMoves);
             for (UserObserver userObserver : playersToBroadcast()) {
                 try {
-                    userObserver.sendResponse(new MoveStatusNotification(movesHistory));
+                    userObserver.sendResponse(moveStatusNotification);
+                } catch (RemoteException e) {
+                    e.printStackTrace();
+                }
+            }
+        } else System.out.println(ERROR_MESSAGE);
+    }
+
+    /**
+     * Used when the score of a player changes, the points of the private objective card are sent only to its owner
+     * @param username     Player whose score changed
+     * @param ownerScore   Score sent to the player
+     * @param publicScore  Score sent to the other players
+     */
+    public void broadcastScore(String username, ScoreNotification ownerScore, ScoreNotification publicScore) {
+        if (isBroadcasterActive) {
+            for (Player player : players) {
+                if (player.getPlayerUsername().equals(username) && isPlaying(player))
+                    player.sendResponse(ownerScore);
+            }
+            for (UserObserver userObserver : playersToBroadcast(username)) {
+                try {
+                    userObserver.sendResponse(publicScore);
                 } catch (RemoteException e) {
                     e.printStackTrace();
                 }
@@ -0,0 +1,146 @@
+package ingsw.utilities;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Central factory of the threads of the server: client handler loops, lobby background checks and the
+ * threads of the pools (match event loops, match shards, timers and bots) are all created here.
+ * By default they are platform threads. In virtual threads mode (the <code>virtual</code> option of
+ * LaunchServer or <code>-Dsagrada.virtualThreads=true</code>) they are virtual threads, so thousands
+ * of blocked clients cost a few kilobytes of heap each instead of an OS thread and its stack.
+ * Virtual threads need a JDK 21 or newer; the server is still built for Java 8, so they are looked up
+ * by reflection and on an older JDK the mode silently stays on platform threads. The threads of the pools
+ * are always platform threads, since a pool already bounds how many of them are alive.
+ */
+public final class ServerThreads {
+    public static final String VIRTUAL_THREADS_PROPERTY = "sagrada.virtualThreads";
+
+    private static final ThreadFactory virtualThreadFactory = createVirtualThreadFactory();
+    private static volatile boolean virtualThreads = Boolean.getBoolean(VIRTUAL_THREADS_PROPERTY) && virtualThreadFactory != null;
+    private static final AtomicLong startedThreads = new AtomicLong(0);
+
+    private ServerThreads() {
+    }
+
+    /**
+     * Looks up <code>Thread.ofVirtual().factory()</code>
+     *
+     * @return The factory of virtual threads, null if the JDK doesn't support them
+     */
+    private static ThreadFactory createVirtualThreadFactory() {
+        try {
+            Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+            Method factory = Class.forName("java.lang.Thread$Builder").getMethod("factory");
+            return (ThreadFactory) factory.invoke(builder);
+        } catch (ReflectiveOperationException e) {
+            return null;
+        }
+    }
+
+    /**
+     * @return true if the running JDK supports virtual threads
+     */
+    public static boolean isVirtualThreadsSupported() {
+        return virtualThreadFactory != null;
+    }
+
+    /**
+     * Enables or disables the virtual threads mode. It should be called before the server starts,
+     * the threads already running are not affected.
+     *
+     * @param enabled true to create virtual threads
+     * @return true if the server is now in virtual threads mode
+     */
+    public static boolean setVirtualThreads(boolean enabled) {
+        virtualThreads = enabled && isVirtualThreadsSupported();
+        return virtualThreads;
+    }
+
+    /**
+     * @return true if the new threads are virtual threads
+     */
+    public static boolean isVirtualThreads() {
+        return virtualThreads;
+    }
+
+    /**
+     * @return Number of threads started through this class
+     */
+    public static long getStartedThreads() {
+        return startedThreads.get();
+    }
+
+    /**
+     * Creates a thread in the current mode, without starting it
+     *
+     * @param name Thread name
+     * @param task Task of the thread
+     * @return The new thread
+     */
+    public static Thread newThread(String name, Runnable task) {
+        Thread thread = virtualThreads ? virtualThreadFactory.newThread(task) : new Thread(task);
+        thread.setName(name);
+        return thread;
+    }
+
+    /**
+     * Creates and starts a thread in the current mode
+     *
+     * @param name Thread name
+     * @param task Task of the thread
+     * @return The started thread
+     */
+    public static Thread start(String name, Runnable task) {
+        Thread thread = newThread(name, task);
+        thread.start();
+        startedThreads.incrementAndGet();
+        return thread;
+    }
+
+    /**
+     * Creates the factory of the threads of a pool: daemon platform threads, named after the pool and numbered
+     *
+     * @param name Prefix of the names of the threads
+     * @return The thread factory
+     */
+    public static ThreadFactory newPoolThreadFactory(String name) {
+        AtomicInteger threadNumber = new AtomicInteger(0);
+        return runnable -> {
+            Thread thread = new Thread(runnable, name + "-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            startedThreads.incrementAndGet();
+            return thread;
+        };
+    }
+
+    /**
+     * Creates the executor of the connections of a server: a new thread for every task.
+     * Platform threads are cached, as a thread per connection server always did; virtual threads
+     * are never pooled.
+     *
+     * @param name Prefix of the names of the threads
+     * @return The executor
+     */
+    public static ExecutorService newPerTaskExecutor(String name) {
+        AtomicInteger threadNumber = new AtomicInteger(0);
+        ThreadFactory threadFactory = runnable -> {
+            startedThreads.incrementAndGet();
+            return newThread(name + "-" + threadNumber.incrementAndGet(), runnable);
+        };
+
+        if (virtualThreads) {
+            try {
+                return (ExecutorService) Executors.class.getMethod("newThreadPerTaskExecutor", ThreadFactory.class)
+                        .invoke(null, threadFactory);
+            } catch (ReflectiveOperationException e) {
+                // falls back on the cached pool below
+            }
+        }
+        return Executors.newCachedThreadPool(threadFactory);
+    }
+}
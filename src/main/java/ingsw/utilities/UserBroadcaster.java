@@ -8,6 +8,7 @@ import java.rmi.RemoteException;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Function;
 
 /**
  * Used to send Response to more than one User.
@@ -81,6 +82,25 @@ public class UserBroadcaster {
         } else System.out.println(ERROR_MESSAGE);
     }
 
+    /**
+     * Broadcast the Ranking created for each user, so that every user can also receive its own position
+     * @param rankingOf Creates the Ranking to send to a user from its username
+     */
+    public void broadcastRankingToAll(Function<String, List<TripleString>> rankingOf) {
+        if (isBroadcasterActive) {
+            for (User user : users.values()) {
+                if (user.isActive()) {
+                    try {
+                        user.getUserObserver().checkIfActive();
+                        user.getUserObserver().sendResponse(new RankingDataResponse(rankingOf.apply(user.getUsername())));
+                    } catch (RemoteException e) {
+                        e.printStackTrace();
+                    }
+                }
+            }
+        } else System.out.println(ERROR_MESSAGE);
+    }
+
     /**
      * Used when a match is created
      * @param createMatchResponse Response to send
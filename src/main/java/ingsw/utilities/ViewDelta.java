@@ -0,0 +1,100 @@
+package ingsw.utilities;
+
+import ingsw.model.Dice;
+
+import java.io.Serializable;
+
+/**
+ * Single change of the game state shown in the views. Instead of sending the whole player after every move,
+ * the server sends only what changed and each client applies it on its own copy of the state.
+ */
+public class ViewDelta implements Serializable {
+    private final DeltaType deltaType;
+    private final String username;
+    private final Dice dice;
+    private final int rowIndex;
+    private final int columnIndex;
+    private final int favourTokens;
+
+    private ViewDelta(DeltaType deltaType, String username, Dice dice, int rowIndex, int columnIndex, int favourTokens) {
+        this.deltaType = deltaType;
+        this.username = username;
+        this.dice = dice;
+        this.rowIndex = rowIndex;
+        this.columnIndex = columnIndex;
+        this.favourTokens = favourTokens;
+    }
+
+    /**
+     * Creates the delta of a dice placed in a pattern card
+     * @param username Player that placed the dice
+     * @param dice Placed dice
+     * @param rowIndex Row index
+     * @param columnIndex Column index
+     * @return The delta
+     */
+    public static ViewDelta dicePlaced(String username, Dice dice, int rowIndex, int columnIndex) {
+        return new ViewDelta(DeltaType.DICE_PLACED, username, dice, rowIndex, columnIndex, 0);
+    }
+
+    /**
+     * Creates the delta of a dice removed from the drafted dice
+     * @param dice Removed dice
+     * @return The delta
+     */
+    public static ViewDelta draftedDiceRemoved(Dice dice) {
+        return new ViewDelta(DeltaType.DRAFTED_DICE_REMOVED, null, dice, 0, 0, 0);
+    }
+
+    /**
+     * Creates the delta of the favour tokens of a player
+     * @param username Player
+     * @param favourTokens Favour tokens left to the player
+     * @return The delta
+     */
+    public static ViewDelta favourTokensChanged(String username, int favourTokens) {
+        return new ViewDelta(DeltaType.FAVOUR_TOKENS_CHANGED, username, null, 0, 0, favourTokens);
+    }
+
+    /**
+     * @return Kind of change
+     */
+    public DeltaType getDeltaType() {
+        return deltaType;
+    }
+
+    /**
+     * @return Player affected by the change, null for the drafted dice
+     */
+    public String getUsername() {
+        return username;
+    }
+
+    /**
+     * @return Dice placed or removed
+     */
+    public Dice getDice() {
+        return dice;
+    }
+
+    /**
+     * @return Row index of the placed dice
+     */
+    public int getRowIndex() {
+        return rowIndex;
+    }
+
+    /**
+     * @return Column index of the placed dice
+     */
+    public int getColumnIndex() {
+        return columnIndex;
+    }
+
+    /**
+     * @return Favour tokens left to the player
+     */
+    public int getFavourTokens() {
+        return favourTokens;
+    }
+}
@@ -0,0 +1,80 @@
+package ingsw.utilities;
+
+import java.util.PriorityQueue;
+
+/**
+ * Clock whose time passes only when it is moved forward: the timers are kept in order of expiration and
+ * <code>advance()</code> jumps straight to the next one and runs it. A match that would wait two minutes for
+ * a turn timer on the wall clock gets there at once.
+ */
+public class VirtualClock implements MatchClock {
+    private final PriorityQueue<Timer> timers;
+    private long now;
+    private long sequence;
+
+    /**
+     * Timer waiting in the clock, the timers that expire at the same time run in the order they were scheduled
+     */
+    private static final class Timer implements Comparable<Timer> {
+        private final long dueMillis;
+        private final long sequence;
+        private final ControllerTimer.TimerHandle timerHandle;
+
+        private Timer(long dueMillis, long sequence, ControllerTimer.TimerHandle timerHandle) {
+            this.dueMillis = dueMillis;
+            this.sequence = sequence;
+            this.timerHandle = timerHandle;
+        }
+
+        @Override
+        public int compareTo(Timer other) {
+            int byTime = Long.compare(dueMillis, other.dueMillis);
+            return byTime != 0 ? byTime : Long.compare(sequence, other.sequence);
+        }
+    }
+
+    /**
+     * Creates a clock at time zero
+     */
+    public VirtualClock() {
+        timers = new PriorityQueue<>();
+    }
+
+    @Override
+    public synchronized ControllerTimer.TimerHandle schedule(Runnable task, long millis) {
+        ControllerTimer.TimerHandle timerHandle = ControllerTimer.newTimerHandle(task);
+        timers.add(new Timer(now + Math.max(0, millis), sequence++, timerHandle));
+        return timerHandle;
+    }
+
+    @Override
+    public synchronized long currentTimeMillis() {
+        return now;
+    }
+
+    /**
+     * Moves the time to the next timer that has not been cancelled and runs it
+     *
+     * @return false if there are no timers left
+     */
+    public boolean advance() {
+        Timer timer;
+        synchronized (this) {
+            do {
+                timer = timers.poll();
+            } while (timer != null && timer.timerHandle.isDone());
+            if (timer == null)
+                return false;
+            now = timer.dueMillis;
+        }
+        timer.timerHandle.run();
+        return true;
+    }
+
+    /**
+     * @return Number of timers waiting, the cancelled ones included until the clock skips them
+     */
+    public synchronized int getPendingTimers() {
+        return timers.size();
+    }
+}
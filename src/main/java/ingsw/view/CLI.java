@@ -13,12 +13,16 @@ import ingsw.model.User;
 import ingsw.model.cards.patterncard.Box;
 import ingsw.model.cards.publicoc.PublicObjectiveCard;
 import ingsw.model.cards.toolcards.ToolCard;
+import ingsw.model.replay.BoardState;
 import ingsw.utilities.*;
 import org.fusesource.jansi.AnsiConsole;
 
 import java.io.IOException;
 import java.rmi.RemoteException;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
@@ -41,6 +45,7 @@ public class CLI implements SceneUpdater {
     private List<TripleString> statistics;
     private List<TripleString> ranking;
     private List<DoubleString> availableMatches;
+    private FinishedMatchesPager finishedMatchesPager;
     private List<Player> players;
     private List<PublicObjectiveCard> publicObjectiveCards;
     private List<String> toolCards;
@@ -48,6 +53,7 @@ public class CLI implements SceneUpdater {
     private Map<String, Boolean[][]> availablePosition;
     private List<List<Dice>> roundTrack;
     private List<MoveStatus> moveHistory;
+    private Map<String, ScoreNotification> scores;
     private AtomicBoolean toolCardUsed;
     private Thread moveThread;
     private Color selectedDiceColorTapWheel;
@@ -66,6 +72,7 @@ public class CLI implements SceneUpdater {
         availableMatches = new ArrayList<>();
         toolCards = new ArrayList<>();
         moveHistory = new ArrayList<>();
+        scores = new ConcurrentHashMap<>();
         roundTrack = new ArrayList<>();
         toolCardUsed = new AtomicBoolean();
         gamePhase = new AtomicBoolean(false);
@@ -308,6 +315,17 @@ public class CLI implements SceneUpdater {
         moveHistory = notification.moveStatuses;
     }
 
+    /**
+     * Update the running score of a player
+     * Triggered by the server
+     *
+     * @param notification the notification that contains the score of the player
+     */
+    @Override
+    public void updateScore(ScoreNotification notification) {
+        scores.put(notification.username, notification);
+    }
+
 
     /**
      * Lobby View
@@ -462,6 +480,57 @@ public class CLI implements SceneUpdater {
         }
     }
 
+    /**
+     * Show Finished Matches Page
+     * <p>
+     * Prints a page of the finished matches and lets the user choose what he wants to replay
+     * or move to the next or to the previous page
+     *
+     * @param finishedMatches matches of the page
+     * @param offset          number of matches before the page
+     * @param noOfMatches     number of matches that pass the filters
+     */
+    @Override
+    public void showFinishedMatchesPage(List<String> finishedMatches, int offset, int noOfMatches) {
+        if (finishedMatchesPager == null)
+            finishedMatchesPager = new FinishedMatchesPager(networkType);
+        finishedMatchesPager.update(offset, noOfMatches);
+
+        if (finishedMatches.isEmpty()) {
+            System.out.println("There are no played matches");
+            showLobbyCommandsAndWait();
+            return;
+        }
+
+        System.out.println("Played matches, page " + finishedMatchesPager.getPageNumber() + " of "
+                                   + finishedMatchesPager.getNoOfPages() + ": ");
+        for (int i = 0; i < finishedMatches.size(); i++) {
+            System.out.println((i + 1) + " - " + finishedMatches.get(i));
+        }
+
+        int nextPage = finishedMatchesPager.hasNextPage() ? finishedMatches.size() + 1 : -1;
+        int previousPage = finishedMatchesPager.hasPreviousPage() ? finishedMatches.size() + 2 : -1;
+        System.out.println("Insert the index of the match to watch, "
+                                   + (nextPage > 0 ? nextPage + " for the next page, " : "")
+                                   + (previousPage > 0 ? previousPage + " for the previous page, " : "")
+                                   + "or 0 to exit");
+
+        int selectedMatch;
+        do {
+            selectedMatch = userIntegerInput();
+        } while (selectedMatch < 0 || (selectedMatch > finishedMatches.size()
+                && selectedMatch != nextPage && selectedMatch != previousPage));
+
+        if (selectedMatch == 0)
+            showLobbyCommandsAndWait();
+        else if (selectedMatch == nextPage)
+            finishedMatchesPager.requestNextPage();
+        else if (selectedMatch == previousPage)
+            finishedMatchesPager.requestPreviousPage();
+        else
+            networkType.requestHistory(finishedMatches.get(selectedMatch - 1));
+    }
+
     /**
      * Show Selected Match History
      * <p>
@@ -477,6 +546,57 @@ public class CLI implements SceneUpdater {
         showLobbyCommandsAndWait();
     }
 
+    /**
+     * Show Match History Page
+     * <p>
+     * Method that prints a page of the history of a selected match and asks the user whether to print the next one
+     *
+     * @param matchName  name of the match
+     * @param moves      moves of the page
+     * @param cursor     index of the first move of the page
+     * @param nextCursor cursor of the next page, HistoryResponse.END if the page is the last one
+     */
+    @Override
+    public void showMatchHistoryPage(String matchName, List<MoveStatus> moves, int cursor, int nextCursor) {
+        for (MoveStatus move : moves) {
+            System.out.println(move.toString());
+        }
+
+        boolean hasNextPage = nextCursor != HistoryResponse.END;
+        System.out.println((hasNextPage ? "Insert 1 to show the next moves, " : "Insert ")
+                + "2 to show the board after a move or 0 to go back to the lobby");
+        int choice;
+        do {
+            choice = userIntegerInput();
+        } while (choice != 0 && (choice != 1 || !hasNextPage) && choice != 2);
+
+        if (choice == 1) {
+            networkType.requestHistory(matchName, nextCursor);
+        } else if (choice == 2) {
+            System.out.println("Insert the number of the move");
+            int moveIndex;
+            do {
+                moveIndex = userIntegerInput();
+            } while (moveIndex < 1);
+            networkType.requestReplayState(matchName, moveIndex - 1);
+        } else
+            showLobbyCommandsAndWait();
+    }
+
+    /**
+     * Prints the board of a replayed match after a move
+     *
+     * @param matchName  name of the match
+     * @param moveIndex  index of the move
+     * @param boardState state of the board after the move, null if it was not recorded
+     */
+    @Override
+    public void showReplayState(String matchName, int moveIndex, BoardState boardState) {
+        System.out.println("Board of " + matchName + " after the move " + (moveIndex + 1));
+        System.out.println(boardState == null ? "Board not recorded for this move" : boardState.toString());
+        showLobbyCommandsAndWait();
+    }
+
     /**
      * Notify Game Phase
      * Notifies the thread locked on gamePhase wait
@@ -487,8 +607,37 @@ public class CLI implements SceneUpdater {
         }
     }
 
+    /**
+     * Asks the user the filters of the finished matches and requests their first page
+     */
     private void requestFinishedMatchesList() {
-        networkType.requestFinishedMatches();
+        System.out.println("Insert the username of a player to see only its matches or press enter to see every match");
+        String player = userStringInput();
+        LocalDate from = userDateInput("Insert the first day of the matches (yyyy-mm-dd) or press enter for no bound");
+        LocalDate to = userDateInput("Insert the last day of the matches (yyyy-mm-dd) or press enter for no bound");
+
+        finishedMatchesPager = new FinishedMatchesPager(networkType);
+        finishedMatchesPager.requestFirstPage(player, from, to);
+    }
+
+    /**
+     * Reads a date typed by the user
+     *
+     * @param message message that asks the date
+     * @return the date typed by the user, null if he typed nothing
+     */
+    private LocalDate userDateInput(String message) {
+        while (true) {
+            System.out.println(message);
+            String date = userStringInput();
+            if (date == null || date.trim().isEmpty())
+                return null;
+            try {
+                return LocalDate.parse(date.trim());
+            } catch (DateTimeParseException e) {
+                System.err.println(WRONG_INPUT_MESSAGE);
+            }
+        }
     }
 
     /**
@@ -724,13 +873,18 @@ public class CLI implements SceneUpdater {
     }
 
     /**
-     * Method that show to the user the moves history
+     * Method that show to the user the moves history and the running score of every player
      */
     private void showMoveHistory() {
         for (MoveStatus move : moveHistory) {
             System.out.println(move.toString());
         }
 
+        for (ScoreNotification score : scores.values()) {
+            System.out.println(score.username + ": " + score.total + " points, " + score.favourTokens + " favour tokens"
+                    + (score.privateObjectivePoints >= 0 ? ", private objective " + score.privateObjectivePoints : ""));
+        }
+
         //Notify lock on gamePhase
         notifyGamePhase();
     }
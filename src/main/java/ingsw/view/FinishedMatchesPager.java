@@ -0,0 +1,95 @@
+package ingsw.view;
+
+import ingsw.controller.network.NetworkType;
+import ingsw.controller.network.commands.FinishedMatchesRequest;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+
+/**
+ * Keeps the filters and the position of the page of finished matches shown by a view, and requests
+ * the pages around it. The server answers with the offset of the page and the number of matches that
+ * pass the filters, which tell whether there are pages before and after the one shown.
+ */
+class FinishedMatchesPager {
+    private final NetworkType networkType;
+    private String player;
+    private long from;
+    private long to;
+    private int offset;
+    private int noOfMatches;
+
+    /**
+     * @param networkType Connection used to request the pages
+     */
+    FinishedMatchesPager(NetworkType networkType) {
+        this.networkType = networkType;
+    }
+
+    /**
+     * Sets the filters and requests the first page of the matches that pass them
+     *
+     * @param player Username of a player of the matches, null or empty for every match
+     * @param from   First day on which the matches ended, null for no bound
+     * @param to     Last day on which the matches ended, null for no bound
+     */
+    void requestFirstPage(String player, LocalDate from, LocalDate to) {
+        this.player = player == null || player.trim().isEmpty() ? null : player.trim();
+        this.from = from == null ? 0 : from.atStartOfDay(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        this.to = to == null ? 0 : to.plusDays(1).atStartOfDay(ZoneId.systemDefault()).toInstant().toEpochMilli() - 1;
+        request(0);
+    }
+
+    /**
+     * Requests the page after the one shown, if there is one
+     */
+    void requestNextPage() {
+        if (hasNextPage())
+            request(offset + FinishedMatchesRequest.PAGE_SIZE);
+    }
+
+    /**
+     * Requests the page before the one shown, if there is one
+     */
+    void requestPreviousPage() {
+        if (hasPreviousPage())
+            request(Math.max(0, offset - FinishedMatchesRequest.PAGE_SIZE));
+    }
+
+    private void request(int offset) {
+        networkType.requestFinishedMatches(player, from, to, offset);
+    }
+
+    /**
+     * Saves the position of the page received from the server
+     *
+     * @param offset      Number of matches before the page
+     * @param noOfMatches Number of matches that pass the filters
+     */
+    void update(int offset, int noOfMatches) {
+        this.offset = offset;
+        this.noOfMatches = noOfMatches;
+    }
+
+    boolean hasNextPage() {
+        return offset + FinishedMatchesRequest.PAGE_SIZE < noOfMatches;
+    }
+
+    boolean hasPreviousPage() {
+        return offset > 0;
+    }
+
+    /**
+     * @return Number of the page shown, from 1
+     */
+    int getPageNumber() {
+        return offset / FinishedMatchesRequest.PAGE_SIZE + 1;
+    }
+
+    /**
+     * @return Number of pages of the matches that pass the filters, at least 1
+     */
+    int getNoOfPages() {
+        return Math.max(1, (noOfMatches + FinishedMatchesRequest.PAGE_SIZE - 1) / FinishedMatchesRequest.PAGE_SIZE);
+    }
+}
@@ -1,6 +1,8 @@
 package ingsw.view;
 
 import ingsw.controller.network.NetworkType;
+import ingsw.controller.network.commands.HistoryResponse;
+import ingsw.model.replay.BoardState;
 import ingsw.utilities.MoveStatus;
 import javafx.application.Platform;
 import javafx.beans.property.SimpleStringProperty;
@@ -9,10 +11,18 @@ import javafx.collections.ObservableList;
 import javafx.event.ActionEvent;
 import javafx.fxml.FXML;
 import javafx.fxml.Initializable;
+import javafx.geometry.Orientation;
+import javafx.scene.Node;
 import javafx.scene.control.Button;
+import javafx.scene.control.DatePicker;
+import javafx.scene.control.Label;
+import javafx.scene.control.ScrollBar;
 import javafx.scene.control.TableColumn;
 import javafx.scene.control.TableView;
+import javafx.scene.control.TextArea;
+import javafx.scene.control.TextField;
 import javafx.scene.control.cell.PropertyValueFactory;
+import javafx.scene.input.ScrollEvent;
 
 import java.net.URL;
 import java.util.List;
@@ -32,21 +42,78 @@ public class HistoryController implements SceneUpdater, Initializable {
     @FXML
     private TableColumn<MoveStatus, String> historyTableColumn;
 
+    @FXML
+    private TextArea replayTextArea;
+
     @SuppressWarnings("unused")
     @FXML
     private Button backButton;
 
+    @FXML
+    private TextField playerTextField;
+
+    @FXML
+    private DatePicker fromDatePicker;
+
+    @FXML
+    private DatePicker toDatePicker;
+
+    @FXML
+    private Button previousPageButton;
+
+    @FXML
+    private Label pageLabel;
+
+    @FXML
+    private Button nextPageButton;
+
     private NetworkType networkType;
+    private FinishedMatchesPager finishedMatchesPager;
     private GUIUpdater application;
 
     private ObservableList<MoveStatus> moveStatusList;
     private ObservableList<String> matchesPlayed;
 
+    private String historyMatchName;
+    private int nextCursor = HistoryResponse.END;
+    private boolean pageRequested;
+
     @Override
     public void initialize(URL location, ResourceBundle resources) {
         matchesTableView.getSelectionModel().selectedIndexProperty().addListener((observable, oldValue, newValue) -> {
+            // The selection is cleared when a new page of matches is shown
+            if (matchesTableView.getSelectionModel().getSelectedItem() == null)
+                return;
+            nextCursor = HistoryResponse.END;
+            pageRequested = true;
             networkType.requestHistory(matchesTableView.getSelectionModel().getSelectedItem());
         });
+        historyTableView.getSelectionModel().selectedIndexProperty().addListener((observable, oldValue, newValue) -> {
+            if (historyMatchName != null && newValue.intValue() >= 0)
+                networkType.requestReplayState(historyMatchName, newValue.intValue());
+        });
+        historyTableView.addEventFilter(ScrollEvent.SCROLL, event -> requestNextPageAtBottom());
+    }
+
+    /**
+     * Requests the next page of the history when the history table is scrolled to the bottom
+     */
+    private void requestNextPageAtBottom() {
+        if (pageRequested || nextCursor == HistoryResponse.END)
+            return;
+
+        ScrollBar verticalScrollBar = null;
+        for (Node node : historyTableView.lookupAll(".scroll-bar")) {
+            if (node instanceof ScrollBar && ((ScrollBar) node).getOrientation() == Orientation.VERTICAL)
+                verticalScrollBar = (ScrollBar) node;
+        }
+
+        // Without a visible scroll bar every move received fits in the table
+        if (verticalScrollBar == null || !verticalScrollBar.isVisible()
+                || verticalScrollBar.getValue() >= verticalScrollBar.getMax()) {
+            pageRequested = true;
+            networkType.requestHistory(historyMatchName, nextCursor);
+        }
     }
 
     /**
@@ -62,7 +129,8 @@ public class HistoryController implements SceneUpdater, Initializable {
         matchesTableColumn.setCellValueFactory(data -> new SimpleStringProperty(data.getValue()));
         historyTableColumn.setCellValueFactory(new PropertyValueFactory<>("status"));
 
-        networkType.requestFinishedMatches();
+        finishedMatchesPager = new FinishedMatchesPager(networkType);
+        finishedMatchesPager.requestFirstPage(null, null, null);
     }
 
     /**
@@ -75,6 +143,48 @@ public class HistoryController implements SceneUpdater, Initializable {
         matchesPlayed.addAll(finishedMatches);
     }
 
+    /**
+     * Shows a page of the finished matches and enables the buttons of the pages around it
+     *
+     * @param finishedMatches matches of the page
+     * @param offset          number of matches before the page
+     * @param noOfMatches     number of matches that pass the filters
+     */
+    @Override
+    public void showFinishedMatchesPage(List<String> finishedMatches, int offset, int noOfMatches) {
+        Platform.runLater(() -> {
+            finishedMatchesPager.update(offset, noOfMatches);
+            showFinishedMatches(finishedMatches);
+            pageLabel.setText(finishedMatchesPager.getPageNumber() + " / " + finishedMatchesPager.getNoOfPages());
+            previousPageButton.setDisable(!finishedMatchesPager.hasPreviousPage());
+            nextPageButton.setDisable(!finishedMatchesPager.hasNextPage());
+        });
+    }
+
+    /**
+     * Requests the first page of the matches that pass the filters typed by the user
+     * @param actionEvent button listner
+     */
+    public void onFilterButtonPressed(ActionEvent actionEvent) {
+        finishedMatchesPager.requestFirstPage(playerTextField.getText(), fromDatePicker.getValue(), toDatePicker.getValue());
+    }
+
+    /**
+     * Requests the previous page of matches
+     * @param actionEvent button listner
+     */
+    public void onPreviousPageButtonPressed(ActionEvent actionEvent) {
+        finishedMatchesPager.requestPreviousPage();
+    }
+
+    /**
+     * Requests the next page of matches
+     * @param actionEvent button listner
+     */
+    public void onNextPageButtonPressed(ActionEvent actionEvent) {
+        finishedMatchesPager.requestNextPage();
+    }
+
     /**
      * Saves the selected Match History
      * @param history
@@ -85,6 +195,48 @@ public class HistoryController implements SceneUpdater, Initializable {
         moveStatusList.addAll(history);
     }
 
+    /**
+     * Shows a page of the selected Match History: the first page replaces the history in the table,
+     * the next ones are appended when the table is scrolled to the bottom
+     *
+     * @param matchName  name of the match
+     * @param moves      moves of the page
+     * @param cursor     index of the first move of the page
+     * @param nextCursor cursor of the next page
+     */
+    @Override
+    public void showMatchHistoryPage(String matchName, List<MoveStatus> moves, int cursor, int nextCursor) {
+        Platform.runLater(() -> {
+            if (cursor == 0) {
+                moveStatusList.clear();
+                replayTextArea.clear();
+                historyMatchName = matchName;
+            } else if (!matchName.equals(historyMatchName) || cursor != moveStatusList.size()) {
+                // Page of a match that is no more selected
+                return;
+            }
+            moveStatusList.addAll(moves);
+            this.nextCursor = nextCursor;
+            pageRequested = false;
+        });
+    }
+
+    /**
+     * Shows the board of the replayed match after the selected move
+     *
+     * @param matchName  name of the match
+     * @param moveIndex  index of the move
+     * @param boardState state of the board after the move, null if it was not recorded
+     */
+    @Override
+    public void showReplayState(String matchName, int moveIndex, BoardState boardState) {
+        Platform.runLater(() -> {
+            if (!matchName.equals(historyMatchName) || historyTableView.getSelectionModel().getSelectedIndex() != moveIndex)
+                return;
+            replayTextArea.setText(boardState == null ? "Board not recorded for this move" : boardState.toString());
+        });
+    }
+
     /**
      * Set the networkType
      *
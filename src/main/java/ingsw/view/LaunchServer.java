@@ -1,26 +1,43 @@
 package ingsw.view;
 
+import ingsw.controller.network.socket.SagradaNioSocketServer;
 import ingsw.controller.network.socket.SagradaSocketServer;
+import ingsw.controller.network.socket.SocketServer;
 import ingsw.model.RemoteSagradaGame;
 import ingsw.model.SagradaGame;
+import ingsw.utilities.ServerThreads;
 
+import java.io.IOException;
 import java.net.MalformedURLException;
 import java.rmi.Naming;
 import java.rmi.RemoteException;
 import java.rmi.server.UnicastRemoteObject;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Scanner;
+import java.util.stream.Collectors;
 
 public class LaunchServer {
-    private static SagradaGame sagradaGame = SagradaGame.get();
+    private static final int SOCKET_PORT = 8000;
+    private static final String NIO_SOCKET_SERVER = "nio";
+    private static final String VIRTUAL_THREADS = "virtual";
+    private static SagradaGame sagradaGame;
 
     /**
      * Deploy RMI and Socket serve
      *
-     * @param args
+     * @param args IpAddress and, optionally, <code>nio</code> to use the non-blocking socket server
+     *             and <code>virtual</code> to run the server threads on virtual threads (JDK 21 or newer)
      * @throws Exception
      */
     public static void main(String[] args) throws Exception {
         String ip = args[0];
+        List<String> options = Arrays.stream(args).skip(1).map(String::toLowerCase).collect(Collectors.toList());
+
+        if (options.contains(VIRTUAL_THREADS) && !ServerThreads.setVirtualThreads(true))
+            System.err.println("Virtual threads need a JDK 21 or newer, using platform threads");
+        sagradaGame = SagradaGame.get();
+
         Scanner scanner = new Scanner(System.in);
         int port = 1099;
         int joinMatchSeconds;
@@ -41,15 +58,28 @@ public class LaunchServer {
         deployRMIServer(turnTimeOutSeconds, joinMatchSeconds, ip, port);
 
         /* ServerSocket Connection */
-        SagradaSocketServer sagradaSocketServer = new SagradaSocketServer(8000);
+        SocketServer socketServer = createSocketServer(options.contains(NIO_SOCKET_SERVER));
 
         try {
-            sagradaSocketServer.run();
+            socketServer.run();
         } finally {
-            sagradaSocketServer.close();
+            socketServer.close();
         }
     }
 
+    /**
+     * Creates the socket server. Clients detect which one they are talking to when they connect.
+     *
+     * @param nonBlocking true for the selector based server, false for the thread per connection one
+     * @return The socket server
+     * @throws IOException
+     */
+    private static SocketServer createSocketServer(boolean nonBlocking) throws IOException {
+        if (nonBlocking)
+            return new SagradaNioSocketServer(SOCKET_PORT);
+        return new SagradaSocketServer(SOCKET_PORT);
+    }
+
     /**
      * Deploy RMIServer using Naming.rebind
      *
@@ -3,6 +3,7 @@ package ingsw.view;
 import ingsw.controller.network.NetworkType;
 import ingsw.controller.network.commands.*;
 import ingsw.model.Dice;
+import ingsw.model.replay.BoardState;
 import ingsw.model.cards.patterncard.PatternCard;
 import ingsw.utilities.DoubleString;
 import ingsw.utilities.MoveStatus;
@@ -30,6 +31,30 @@ public interface SceneUpdater {
         System.out.println("Not overridden -> showSelectedMatchHistory");
     }
 
+    /**
+     * Method that should show the board of a finished match after a move of its replay
+     *
+     * @param matchName  name of the match
+     * @param moveIndex  index of the move the board has been rebuilt to
+     * @param boardState board of the match after the move
+     */
+    default void showReplayState(String matchName, int moveIndex, BoardState boardState) {
+        System.out.println("Not overridden -> showReplayState");
+    }
+
+    /**
+     * Method that should show a page of a match history and request the next one when it is needed
+     *
+     * @param matchName  name of the match
+     * @param moves      moves of the page
+     * @param cursor     index of the first move of the page
+     * @param nextCursor cursor of the next page, HistoryResponse.END if the page is the last one
+     */
+    default void showMatchHistoryPage(String matchName, List<MoveStatus> moves, int cursor, int nextCursor) {
+        if (cursor == 0)
+            showSelectedMatchHistory(moves);
+    }
+
     /**
      * Method that should pass the type of connection currently in use (RMI or Socket)
      *
@@ -167,6 +192,15 @@ public interface SceneUpdater {
         System.out.println("Not overridden -> updateMovesHistory");
     }
 
+    /**
+     * Method that updates the running score of a player
+     *
+     * @param notification the notification containing the score of the player
+     */
+    default void updateScore(ScoreNotification notification) {
+        System.out.println("Not overridden -> updateScore");
+    }
+
     /**
      * Method that update the drafted dice after a ToolCard move
      *
@@ -344,6 +378,17 @@ public interface SceneUpdater {
         System.out.println("Not overridden -> showFinishedMatches");
     }
 
+    /**
+     * Method that sends to the client a page of the finished matches in Sagrada
+     *
+     * @param finishedMatches matches of the page
+     * @param offset          number of matches before the page
+     * @param noOfMatches     number of matches that pass the filters of the request
+     */
+    default void showFinishedMatchesPage(List<String> finishedMatches, int offset, int noOfMatches) {
+        showFinishedMatches(finishedMatches);
+    }
+
     /**
      * Method that notifies the player that his turn is ended and disables the commands in the view
      */
@@ -2,15 +2,20 @@ package ingsw.controller;
 
 import ingsw.controller.network.commands.*;
 import ingsw.model.*;
+import ingsw.model.bot.BotPlayer;
 import ingsw.model.cards.patterncard.PatternCard;
+import ingsw.utilities.ToolCardType;
 import ingsw.utilities.Tuple;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 import org.mockito.internal.util.reflection.Whitebox;
 
 import java.lang.reflect.Field;
 import java.rmi.RemoteException;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -23,7 +28,13 @@ class ControllerTest {
     @BeforeEach
     void setUp() throws RemoteException {
         controller = new Controller("Test",10, 10, SagradaGame.get());
-        Whitebox.setInternalState(controller,"gameManager",mock(GameManager.class));
+        GameManager gameManager = mock(GameManager.class);
+        //The moves posted to the event loop of the match run at once
+        doAnswer(invocation -> {
+            ((Runnable) invocation.getArguments()[0]).run();
+            return null;
+        }).when(gameManager).post(any(Runnable.class));
+        Whitebox.setInternalState(controller,"gameManager",gameManager);
         Whitebox.setInternalState(controller,"sagradaGame",mock(SagradaGame.class));
     }
 
@@ -105,6 +116,43 @@ class ControllerTest {
 
     }
 
+    @Test
+    void checkPlacement() throws RemoteException {
+        GameManager gameManager = (GameManager) Whitebox.getInternalState(controller, "gameManager");
+        Dice dice = mock(Dice.class);
+        when(gameManager.placementCode(dice, 1, 1)).thenReturn(6);
+        when(gameManager.isLegalMove("a", 6)).thenReturn(true);
+
+        assertTrue(controller.checkPlacement("a", dice, 1, 1));
+        verify(gameManager, never()).resendAvailablePositions("a");
+
+        assertFalse(controller.checkPlacement("b", dice, 1, 1));
+        verify(gameManager, times(1)).resendAvailablePositions("b");
+    }
+
+    @Test
+    void checkToolCard() throws RemoteException {
+        GameManager gameManager = (GameManager) Whitebox.getInternalState(controller, "gameManager");
+        when(gameManager.toolCardCode("GrozingPliers")).thenReturn(7);
+        when(gameManager.isLegalMove("a", 7)).thenReturn(true);
+
+        assertTrue(controller.checkToolCard("a", "GrozingPliers"));
+        verify(gameManager, never()).refuseToolCard("a");
+
+        assertFalse(controller.checkToolCard("b", "GrozingPliers"));
+        verify(gameManager, times(1)).refuseToolCard("b");
+    }
+
+    @Test
+    void checkToolCardMove() throws RemoteException {
+        GameManager gameManager = (GameManager) Whitebox.getInternalState(controller, "gameManager");
+        when(gameManager.toolCardStepCode(ToolCardType.LATHEKIN)).thenReturn(8);
+        when(gameManager.isLegalMove("a", 8)).thenReturn(true);
+
+        assertTrue(controller.checkToolCardMove("a", ToolCardType.LATHEKIN));
+        assertFalse(controller.checkToolCardMove("b", ToolCardType.LATHEKIN));
+    }
+
     @Test
     void placeDice() throws RemoteException {
         Dice dice = mock(Dice.class);
@@ -126,6 +174,23 @@ class ControllerTest {
         verify((SagradaGame)Whitebox.getInternalState(controller,"sagradaGame"),times(1)).removeMatch(controller);
     }
 
+    @Test
+    @SuppressWarnings("unchecked")
+    void removeMatchDoesNotSaveTheBotSeats() {
+        User user = new User("user");
+        Player player = new Player(user);
+        Player botSeat = new Player(new User(Controller.BOT_USERNAME_PREFIX + 1));
+        botSeat.seatBot(mock(BotPlayer.class));
+        controller.getPlayerList().add(player);
+        controller.getPlayerList().add(botSeat);
+
+        controller.removeMatch();
+
+        ArgumentCaptor<Collection> users = ArgumentCaptor.forClass(Collection.class);
+        verify((SagradaGame)Whitebox.getInternalState(controller,"sagradaGame"),times(1)).writeUsersStats(users.capture());
+        assertEquals(Collections.singletonList(user), new ArrayList<User>(users.getValue()));
+    }
+
     @Test
     void toolCardMove1() throws RemoteException {
         GrozingPliersRequest grozingPliersRequest = new GrozingPliersRequest(mock(Dice.class),true);
@@ -0,0 +1,91 @@
+package ingsw.controller.network;
+
+import ingsw.controller.network.commands.MoveStatusNotification;
+import ingsw.utilities.MoveStatus;
+import ingsw.view.SceneUpdater;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class MovesHistoryApplierTest {
+    private MovesHistoryApplier movesHistoryApplier;
+    private SceneUpdater sceneUpdater;
+    private List<Integer> rangeRequests;
+
+    @BeforeEach
+    void setUp() {
+        rangeRequests = new ArrayList<>();
+        movesHistoryApplier = new MovesHistoryApplier(rangeRequests::add);
+        sceneUpdater = mock(SceneUpdater.class);
+    }
+
+    private MoveStatusNotification moves(int firstSequence, String... moves) {
+        List<MoveStatus> moveStatuses = new ArrayList<>();
+        for (String move : moves)
+            moveStatuses.add(new MoveStatus("a", move));
+        return new MoveStatusNotification(firstSequence, moveStatuses);
+    }
+
+    private List<MoveStatus> lastHistory() {
+        ArgumentCaptor<MoveStatusNotification> captor = ArgumentCaptor.forClass(MoveStatusNotification.class);
+        verify(sceneUpdater, atLeastOnce()).updateMovesHistory(captor.capture());
+        return captor.getValue().moveStatuses;
+    }
+
+    @Test
+    void newMovesAreAppended() {
+        movesHistoryApplier.apply(moves(0, "starts turn"), sceneUpdater);
+        movesHistoryApplier.apply(moves(1, "placed"), sceneUpdater);
+
+        assertEquals(2, movesHistoryApplier.getNoOfMoves());
+        assertEquals("placed", lastHistory().get(1).getMove());
+        assertTrue(rangeRequests.isEmpty());
+    }
+
+    @Test
+    void missingMovesAreRequestedOnce() {
+        movesHistoryApplier.apply(moves(0, "starts turn"), sceneUpdater);
+        movesHistoryApplier.apply(moves(3, "ended turn"), sceneUpdater);
+        movesHistoryApplier.apply(moves(4, "starts turn"), sceneUpdater);
+
+        assertEquals(Collections.singletonList(1), rangeRequests);
+        assertEquals(1, movesHistoryApplier.getNoOfMoves());
+
+        movesHistoryApplier.apply(moves(1, "drafted", "placed", "ended turn", "starts turn"), sceneUpdater);
+
+        assertEquals(5, movesHistoryApplier.getNoOfMoves());
+        assertEquals("starts turn", lastHistory().get(4).getMove());
+    }
+
+    @Test
+    void movesAlreadyReceivedAreSkipped() {
+        movesHistoryApplier.apply(moves(0, "starts turn", "placed"), sceneUpdater);
+        movesHistoryApplier.apply(moves(1, "placed", "ended turn"), sceneUpdater);
+        movesHistoryApplier.apply(moves(0, "starts turn"), sceneUpdater);
+
+        assertEquals(3, movesHistoryApplier.getNoOfMoves());
+        verify(sceneUpdater, times(2)).updateMovesHistory(any(MoveStatusNotification.class));
+        List<String> history = new ArrayList<>();
+        for (MoveStatus moveStatus : lastHistory())
+            history.add(moveStatus.getMove());
+        assertEquals(Arrays.asList("starts turn", "placed", "ended turn"), history);
+    }
+
+    @Test
+    void resetStartsANewHistory() {
+        movesHistoryApplier.apply(moves(0, "starts turn", "placed"), sceneUpdater);
+        movesHistoryApplier.reset();
+        movesHistoryApplier.apply(moves(0, "Drafted dice"), sceneUpdater);
+
+        assertEquals(1, movesHistoryApplier.getNoOfMoves());
+        assertEquals("Drafted dice", lastHistory().get(0).getMove());
+    }
+}
@@ -0,0 +1,137 @@
+package ingsw.controller.network;
+
+import ingsw.controller.network.commands.UpdateViewResponse;
+import ingsw.controller.network.commands.ViewDeltaNotification;
+import ingsw.controller.network.commands.ViewSnapshotResponse;
+import ingsw.model.Color;
+import ingsw.model.Dice;
+import ingsw.model.Player;
+import ingsw.model.User;
+import ingsw.model.cards.patterncard.Batllo;
+import ingsw.model.cards.privateoc.PrivateObjectiveCard;
+import ingsw.utilities.ViewDelta;
+import ingsw.view.SceneUpdater;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.*;
+
+class ViewStateApplierTest {
+    private ViewStateApplier viewStateApplier;
+    private SceneUpdater sceneUpdater;
+    private AtomicInteger snapshotRequests;
+    private Dice red;
+    private Dice blue;
+
+    @BeforeEach
+    void setUp() {
+        snapshotRequests = new AtomicInteger(0);
+        viewStateApplier = new ViewStateApplier(snapshotRequests::incrementAndGet);
+        sceneUpdater = mock(SceneUpdater.class);
+        red = new Dice(4, Color.RED);
+        blue = new Dice(2, Color.BLUE);
+    }
+
+    private ViewSnapshotResponse snapshot(int sequence) {
+        Player player = new Player(new User("a"), new Batllo(), new PrivateObjectiveCard(Color.RED), 5, 0);
+        return new ViewSnapshotResponse(sequence, Collections.singletonList(player), new ArrayList<>(Arrays.asList(red, blue)));
+    }
+
+    private ViewDeltaNotification placeRed(int sequence) {
+        return new ViewDeltaNotification(sequence, Arrays.asList(
+                ViewDelta.draftedDiceRemoved(new Dice(4, Color.RED)),
+                ViewDelta.dicePlaced("a", new Dice(4, Color.RED), 0, 1)));
+    }
+
+    @Test
+    void applyDeltasInSequence() {
+        viewStateApplier.loadSnapshot(snapshot(3), sceneUpdater);
+        verifyZeroInteractions(sceneUpdater);
+
+        viewStateApplier.apply(placeRed(4), sceneUpdater);
+        viewStateApplier.apply(new ViewDeltaNotification(5, Collections.singletonList(ViewDelta.favourTokensChanged("a", 3))), sceneUpdater);
+
+        assertEquals(5, viewStateApplier.getSequence());
+        assertEquals("Red4", viewStateApplier.getPlayer("a").getPatternCard().getGrid().get(0).get(1).getDice().toString());
+        assertEquals(3, viewStateApplier.getPlayer("a").getFavourTokens());
+        assertEquals("[Blue2]", viewStateApplier.getDraftedDice().toString());
+        assertEquals(0, snapshotRequests.get());
+
+        verify(sceneUpdater).setDraftedDice(any());
+        ArgumentCaptor<UpdateViewResponse> captor = ArgumentCaptor.forClass(UpdateViewResponse.class);
+        verify(sceneUpdater, times(2)).updateView(captor.capture());
+        UpdateViewResponse updateViewResponse = captor.getAllValues().get(0);
+        assertEquals("a", updateViewResponse.player.getPlayerUsername());
+        assertTrue(updateViewResponse.availablePositions.containsKey("Blue2"));
+    }
+
+    @Test
+    void gapRequestsSnapshot() {
+        viewStateApplier.loadSnapshot(snapshot(3), sceneUpdater);
+
+        viewStateApplier.apply(placeRed(5), sceneUpdater);
+        viewStateApplier.apply(placeRed(6), sceneUpdater);
+
+        assertEquals(1, snapshotRequests.get());
+        assertEquals(3, viewStateApplier.getSequence());
+        assertNull(viewStateApplier.getPlayer("a").getPatternCard().getGrid().get(0).get(1).getDice());
+        verifyZeroInteractions(sceneUpdater);
+
+        viewStateApplier.loadSnapshot(snapshot(6), sceneUpdater);
+
+        assertEquals(6, viewStateApplier.getSequence());
+        verify(sceneUpdater).setDraftedDice(any());
+        verify(sceneUpdater).updateView(any(UpdateViewResponse.class));
+
+        viewStateApplier.apply(placeRed(7), sceneUpdater);
+        assertEquals(7, viewStateApplier.getSequence());
+    }
+
+    @Test
+    void deltaBeforeFirstSnapshot() {
+        viewStateApplier.apply(placeRed(1), sceneUpdater);
+
+        assertEquals(1, snapshotRequests.get());
+
+        viewStateApplier.loadSnapshot(snapshot(1), sceneUpdater);
+        viewStateApplier.apply(placeRed(1), sceneUpdater);
+
+        assertEquals(1, viewStateApplier.getSequence());
+        assertEquals(1, snapshotRequests.get());
+    }
+
+    @Test
+    void staleSnapshotIsIgnored() {
+        viewStateApplier.loadSnapshot(snapshot(0), sceneUpdater);
+        viewStateApplier.apply(placeRed(1), sceneUpdater);
+
+        viewStateApplier.loadSnapshot(snapshot(0), sceneUpdater);
+
+        assertEquals(1, viewStateApplier.getSequence());
+        assertNotNull(viewStateApplier.getPlayer("a").getPatternCard().getGrid().get(0).get(1).getDice());
+    }
+
+    @Test
+    void toolCardUpdates() {
+        viewStateApplier.loadSnapshot(snapshot(0), sceneUpdater);
+        List<Dice> dice = Collections.singletonList(new Dice(6, Color.GREEN));
+        Player player = new Player(new User("a"), new Batllo(), new PrivateObjectiveCard(Color.RED), 1, 0);
+
+        viewStateApplier.setDraftedDice(dice);
+        viewStateApplier.setPlayer(player);
+        viewStateApplier.setPlayer(new Player(new User("z"), new Batllo(), new PrivateObjectiveCard(Color.RED), 1, 0));
+
+        assertEquals("[Green6]", viewStateApplier.getDraftedDice().toString());
+        assertSame(player, viewStateApplier.getPlayer("a"));
+        assertNull(viewStateApplier.getPlayer("z"));
+    }
+}
@@ -2,10 +2,17 @@ package ingsw.controller.network.commands;
 
 import ingsw.controller.network.rmi.RMIController;
 import ingsw.controller.network.socket.ClientController;
+import ingsw.utilities.MoveStatus;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
 
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
 class HistoryResponseTest {
     private HistoryResponse historyResponse;
     private RMIController rmiController;
@@ -26,4 +33,21 @@ class HistoryResponseTest {
         historyResponse.handle(clientController);
         //Mockito.verify(clientController, Mockito.times(1)).handle(clientController);
     }
-}
\ No newline at end of file
+
+    @Test
+    void compressedPage() throws IOException {
+        List<MoveStatus> moves = Arrays.asList(new MoveStatus("a", "placed a dice"), new MoveStatus("b", "used a tool card"));
+        HistoryResponse page = new HistoryResponse("match", moves, 50, HistoryResponse.END, true);
+
+        assertNull(page.historyJSON);
+        assertNotNull(page.compressedMoves);
+        assertEquals(2, page.getMoves().size());
+        assertEquals("b", page.getMoves().get(1).getUsername());
+        assertEquals("used a tool card", page.getMoves().get(1).getMove());
+        assertEquals(50, page.cursor);
+
+        HistoryResponse plainPage = new HistoryResponse("match", moves, 0, 2, false);
+        assertSame(moves, plainPage.getMoves());
+        assertEquals(2, plainPage.nextCursor);
+    }
+}
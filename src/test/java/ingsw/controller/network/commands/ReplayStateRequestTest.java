@@ -0,0 +1,28 @@
+package ingsw.controller.network.commands;
+
+import ingsw.controller.network.rmi.RMIHandler;
+import ingsw.controller.network.socket.ServerController;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+class ReplayStateRequestTest {
+    private ReplayStateRequest replayStateRequest;
+    private RMIHandler rmiHandler;
+    private ServerController serverController;
+
+    @BeforeEach
+    void setUp() {
+        replayStateRequest = new ReplayStateRequest("match", 3);
+        rmiHandler = Mockito.mock(RMIHandler.class);
+        serverController = Mockito.mock(ServerController.class);
+    }
+
+    @Test
+    void handle() {
+        replayStateRequest.handle(rmiHandler);
+        Mockito.verify(rmiHandler, Mockito.times(1)).handle(replayStateRequest);
+        replayStateRequest.handle(serverController);
+        Mockito.verify(serverController, Mockito.times(1)).handle(replayStateRequest);
+    }
+}
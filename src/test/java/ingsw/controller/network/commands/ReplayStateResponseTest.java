@@ -0,0 +1,28 @@
+package ingsw.controller.network.commands;
+
+import ingsw.controller.network.rmi.RMIController;
+import ingsw.controller.network.socket.ClientController;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+class ReplayStateResponseTest {
+    private ReplayStateResponse replayStateResponse;
+    private RMIController rmiController;
+    private ClientController clientController;
+
+    @BeforeEach
+    void setUp() {
+        replayStateResponse = new ReplayStateResponse("match", 3, null);
+        rmiController = Mockito.mock(RMIController.class);
+        clientController = Mockito.mock(ClientController.class);
+    }
+
+    @Test
+    void handle() {
+        replayStateResponse.handle(rmiController);
+        Mockito.verify(rmiController, Mockito.times(1)).handle(replayStateResponse);
+        replayStateResponse.handle(clientController);
+        Mockito.verify(clientController, Mockito.times(1)).handle(replayStateResponse);
+    }
+}
@@ -0,0 +1,32 @@
+package ingsw.controller.network.commands;
+
+import ingsw.controller.network.rmi.RMIController;
+import ingsw.controller.network.socket.ClientController;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.util.HashMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ScoreNotificationTest {
+    private ScoreNotification scoreNotification;
+    private RMIController rmiController;
+    private ClientController clientController;
+
+    @BeforeEach
+    void setUp() {
+        scoreNotification = new ScoreNotification("a", new HashMap<>(), 2, -18, 3, 4);
+        rmiController = Mockito.mock(RMIController.class);
+        clientController = Mockito.mock(ClientController.class);
+    }
+
+    @Test
+    void handle() {
+        scoreNotification.handle(rmiController);
+        Mockito.verify(rmiController, Mockito.times(1)).handle(scoreNotification);
+        scoreNotification.handle(clientController);
+        Mockito.verify(clientController, Mockito.times(1)).handle(scoreNotification);
+    }
+}
\ No newline at end of file
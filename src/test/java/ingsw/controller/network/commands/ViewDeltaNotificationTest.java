@@ -0,0 +1,32 @@
+package ingsw.controller.network.commands;
+
+import ingsw.controller.network.rmi.RMIController;
+import ingsw.controller.network.socket.ClientController;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.util.ArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ViewDeltaNotificationTest {
+    private ViewDeltaNotification viewDeltaNotification;
+    private RMIController rmiController;
+    private ClientController clientController;
+
+    @BeforeEach
+    void setUp() {
+        viewDeltaNotification = new ViewDeltaNotification(1, new ArrayList<>());
+        rmiController = Mockito.mock(RMIController.class);
+        clientController = Mockito.mock(ClientController.class);
+    }
+
+    @Test
+    void handle() {
+        viewDeltaNotification.handle(rmiController);
+        Mockito.verify(rmiController, Mockito.times(1)).handle(viewDeltaNotification);
+        viewDeltaNotification.handle(clientController);
+        Mockito.verify(clientController, Mockito.times(1)).handle(viewDeltaNotification);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,32 @@
+package ingsw.controller.network.commands;
+
+import ingsw.controller.network.rmi.RMIController;
+import ingsw.controller.network.socket.ClientController;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.util.ArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ViewSnapshotResponseTest {
+    private ViewSnapshotResponse viewSnapshotResponse;
+    private RMIController rmiController;
+    private ClientController clientController;
+
+    @BeforeEach
+    void setUp() {
+        viewSnapshotResponse = new ViewSnapshotResponse(0, new ArrayList<>(), new ArrayList<>());
+        rmiController = Mockito.mock(RMIController.class);
+        clientController = Mockito.mock(ClientController.class);
+    }
+
+    @Test
+    void handle() {
+        viewSnapshotResponse.handle(rmiController);
+        Mockito.verify(rmiController, Mockito.times(1)).handle(viewSnapshotResponse);
+        viewSnapshotResponse.handle(clientController);
+        Mockito.verify(clientController, Mockito.times(1)).handle(viewSnapshotResponse);
+    }
+}
\ No newline at end of file
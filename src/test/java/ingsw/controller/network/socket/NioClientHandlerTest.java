@@ -0,0 +1,37 @@
+package ingsw.controller.network.socket;
+
+import ingsw.controller.network.commands.IntegerResponse;
+import org.junit.jupiter.api.Test;
+import org.mockito.internal.util.reflection.Whitebox;
+
+import java.io.IOException;
+import java.nio.channels.SocketChannel;
+import java.util.Queue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class NioClientHandlerTest {
+
+    @Test
+    void aClientThatDoesNotReadIsDisconnected() throws IOException {
+        SagradaNioSocketServer server = mock(SagradaNioSocketServer.class);
+        SocketChannel channel = SocketChannel.open();
+        NioClientHandler clientHandler = new NioClientHandler(channel, server);
+        Queue<?> outgoingFrames = (Queue<?>) Whitebox.getInternalState(clientHandler, "outgoingFrames");
+        AtomicInteger pendingBytes = (AtomicInteger) Whitebox.getInternalState(clientHandler, "pendingBytes");
+
+        int queuedFrames = 0;
+        while (queuedFrames == outgoingFrames.size() - 1) {
+            queuedFrames++;
+            clientHandler.sendResponse(new IntegerResponse(queuedFrames));
+        }
+        clientHandler.sendResponse(new IntegerResponse(0));
+
+        assertTrue(pendingBytes.get() <= NioClientHandler.MAX_PENDING_BYTES);
+        assertEquals(queuedFrames, outgoingFrames.size());
+        verify(server, times(1)).dispatch(any(Runnable.class));
+        channel.close();
+    }
+}
@@ -0,0 +1,83 @@
+package ingsw.controller.network.socket;
+
+import ingsw.controller.network.commands.IntegerResponse;
+import ingsw.controller.network.commands.LoginUserRequest;
+import ingsw.controller.network.commands.LoginUserResponse;
+import ingsw.controller.network.commands.Response;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SagradaNioSocketServerTest {
+
+    private SagradaNioSocketServer server;
+    private Thread serverThread;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = new SagradaNioSocketServer(0, 2);
+        serverThread = new Thread(() -> {
+            try {
+                server.run();
+            } catch (IOException e) {
+                e.printStackTrace();
+            }
+        });
+        serverThread.start();
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        server.close();
+        serverThread.join(2000);
+    }
+
+    @Test
+    void frameRoundTrip() throws IOException, ClassNotFoundException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        FrameCodec.write(new DataOutputStream(bytes), new IntegerResponse(7), false);
+        FrameCodec.write(new DataOutputStream(bytes), new IntegerResponse(8), true);
+
+        DataInputStream dataInputStream = new DataInputStream(new ByteArrayInputStream(bytes.toByteArray()));
+        assertEquals(7, ((IntegerResponse) FrameCodec.read(dataInputStream)).number);
+        assertEquals(8, ((IntegerResponse) FrameCodec.read(dataInputStream)).number);
+    }
+
+    @Test
+    void invalidFrameLength() {
+        byte[] header = ByteBuffer.allocate(4).putInt(0, -1).array();
+        assertThrows(StreamCorruptedException.class,
+                () -> FrameCodec.read(new DataInputStream(new ByteArrayInputStream(header))));
+    }
+
+    @Test
+    void loginThroughNonBlockingServer() throws IOException {
+        Client client = new Client("localhost", server.getPort());
+        client.connect();
+        assertTrue(client.isBinary());
+
+        client.request(new LoginUserRequest("nio" + System.nanoTime()));
+        Response response = client.nextResponse();
+
+        assertTrue(response instanceof LoginUserResponse);
+        assertNotNull(((LoginUserResponse) response).user);
+        client.close();
+    }
+
+    @Test
+    void serializationOnlyClient() throws IOException {
+        Client client = new Client("localhost", server.getPort(), false);
+        client.connect();
+        assertFalse(client.isBinary());
+
+        client.request(new LoginUserRequest("nio" + System.nanoTime()));
+
+        assertTrue(client.nextResponse() instanceof LoginUserResponse);
+        client.close();
+    }
+}
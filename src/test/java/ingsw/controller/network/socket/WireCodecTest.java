@@ -0,0 +1,154 @@
+package ingsw.controller.network.socket;
+
+import ingsw.controller.network.commands.*;
+import ingsw.model.Color;
+import ingsw.model.Dice;
+import ingsw.model.Player;
+import ingsw.model.User;
+import ingsw.model.cards.patterncard.Batllo;
+import ingsw.model.cards.patterncard.PatternCard;
+import ingsw.model.cards.privateoc.PrivateObjectiveCard;
+import ingsw.utilities.DeltaType;
+import ingsw.utilities.MoveStatus;
+import ingsw.utilities.NotificationType;
+import ingsw.utilities.ViewDelta;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.*;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WireCodecTest {
+
+    private Player player;
+
+    @BeforeEach
+    void setUp() {
+        PatternCard patternCard = new Batllo();
+        patternCard.getGrid().get(0).get(0).insertDice(new Dice(4, Color.RED));
+        patternCard.getGrid().get(1).get(1).insertDice(new Dice(6, Color.BLUE));
+        player = new Player(new User("player"), patternCard, new PrivateObjectiveCard(Color.GREEN), 3, -7);
+    }
+
+    @Test
+    void updateViewResponse() throws IOException, ClassNotFoundException {
+        UpdateViewResponse response = (UpdateViewResponse) roundTrip(
+                new UpdateViewResponse(player, player.getPatternCard().computeAvailablePositions()));
+
+        assertEquals("player", response.player.getPlayerUsername());
+        assertEquals("Batllo", response.player.getPatternCard().getName());
+        assertEquals(Color.GREEN, response.player.getPrivateObjectiveCard().getColor());
+        assertEquals(3, response.player.getFavourTokens());
+        assertEquals(-7, response.player.getScore());
+        assertEquals("Red4", response.player.getPatternCard().getGrid().get(0).get(0).getDice().toString());
+        assertEquals("Blue6", response.player.getPatternCard().getGrid().get(1).get(1).getDice().toString());
+        assertEquals(2, response.player.getPatternCard().getNoOfDice());
+        assertAvailablePositions(player.getPatternCard().computeAvailablePositions(), response.availablePositions);
+    }
+
+    @Test
+    void startTurnNotification() throws IOException, ClassNotFoundException {
+        List<Dice> draftedDice = Arrays.asList(new Dice(1, Color.YELLOW), new Dice(5, Color.PURPLE));
+        Map<String, Boolean[][]> availablePositions = player.getPatternCard().computeAvailablePositionsDraftedDice(draftedDice);
+
+        StartTurnNotification notification = (StartTurnNotification) roundTrip(new StartTurnNotification(availablePositions));
+
+        assertEquals(NotificationType.START_TURN, notification.notificationType);
+        assertAvailablePositions(availablePositions, notification.booleanMapGrid);
+    }
+
+    @Test
+    void binaryIsAnOrderOfMagnitudeSmaller() throws IOException {
+        UpdateViewResponse updateViewResponse = new UpdateViewResponse(player, player.getPatternCard().computeAvailablePositions());
+        StartTurnNotification startTurnNotification = new StartTurnNotification(
+                player.getPatternCard().computeAvailablePositionsDraftedDice(Arrays.asList(new Dice(1, Color.YELLOW), new Dice(5, Color.PURPLE))));
+
+        assertTrue(WireCodec.encode(updateViewResponse, true).length * 10 < WireCodec.encode(updateViewResponse, false).length);
+        assertTrue(WireCodec.encode(startTurnNotification, true).length * 10 < WireCodec.encode(startTurnNotification, false).length);
+    }
+
+    @Test
+    void simpleCommands() throws IOException, ClassNotFoundException {
+        PlaceDiceRequest placeDiceRequest = (PlaceDiceRequest) roundTrip(new PlaceDiceRequest(new Dice(3, Color.GREEN), 4, 2));
+        assertEquals("Green3", placeDiceRequest.dice.toString());
+        assertEquals(4, placeDiceRequest.columnIndex);
+        assertEquals(2, placeDiceRequest.rowIndex);
+
+        DraftedDiceResponse draftedDiceResponse = (DraftedDiceResponse) roundTrip(
+                new DraftedDiceResponse(Arrays.asList(new Dice(2, Color.RED), new Dice(6, Color.YELLOW))));
+        assertEquals("[Red2, Yellow6]", draftedDiceResponse.dice.toString());
+
+        MoveStatusNotification moveStatusNotification = (MoveStatusNotification) roundTrip(
+                new MoveStatusNotification(150, Collections.singletonList(new MoveStatus("player", "placed a dice"))));
+        assertEquals(150, moveStatusNotification.firstSequence);
+        assertEquals("player placed a dice", moveStatusNotification.moveStatuses.get(0).getStatus());
+
+        assertEquals(-300, ((IntegerResponse) roundTrip(new IntegerResponse(-300))).number);
+        assertEquals(NotificationType.DRAFT_DICE, ((Notification) roundTrip(new Notification(NotificationType.DRAFT_DICE))).notificationType);
+        assertNull(((EndTurnRequest) roundTrip(new EndTurnRequest(null))).player);
+        assertTrue(roundTrip(new Ping()) instanceof Ping);
+    }
+
+    @Test
+    void viewDeltaNotification() throws IOException, ClassNotFoundException {
+        ViewDeltaNotification notification = (ViewDeltaNotification) roundTrip(new ViewDeltaNotification(42, Arrays.asList(
+                ViewDelta.draftedDiceRemoved(new Dice(5, Color.PURPLE)),
+                ViewDelta.dicePlaced("player", new Dice(5, Color.PURPLE), 3, 4),
+                ViewDelta.favourTokensChanged("player", 1))));
+
+        assertEquals(NotificationType.VIEW_DELTA, notification.notificationType);
+        assertEquals(42, notification.sequence);
+        assertEquals(DeltaType.DRAFTED_DICE_REMOVED, notification.deltas.get(0).getDeltaType());
+        assertEquals("Purple5", notification.deltas.get(0).getDice().toString());
+        assertEquals(DeltaType.DICE_PLACED, notification.deltas.get(1).getDeltaType());
+        assertEquals("player", notification.deltas.get(1).getUsername());
+        assertEquals(3, notification.deltas.get(1).getRowIndex());
+        assertEquals(4, notification.deltas.get(1).getColumnIndex());
+        assertEquals(DeltaType.FAVOUR_TOKENS_CHANGED, notification.deltas.get(2).getDeltaType());
+        assertEquals(1, notification.deltas.get(2).getFavourTokens());
+    }
+
+    @Test
+    void unregisteredCommandIsSerialized() throws IOException, ClassNotFoundException {
+        assertFalse(WireCodec.isRegistered(JoinMatchRequest.class));
+        assertEquals("match", ((JoinMatchRequest) roundTrip(new JoinMatchRequest("match"))).matchName);
+    }
+
+    @Test
+    void hello() throws IOException, ClassNotFoundException {
+        Object hello = WireCodec.decode(WireCodec.encodeHello(WireCodec.VERSION));
+
+        assertTrue(hello instanceof WireCodec.Hello);
+        assertEquals(WireCodec.VERSION, ((WireCodec.Hello) hello).getVersion());
+    }
+
+    @Test
+    void varint() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        WireCodec.writeVarint(out, 5);
+        WireCodec.writeVarint(out, 300);
+        WireCodec.writeVarint(out, (1 << 20) - 1);
+
+        assertEquals(1 + 2 + 3, bytes.size());
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes.toByteArray()));
+        assertEquals(5, WireCodec.readVarint(in));
+        assertEquals(300, WireCodec.readVarint(in));
+        assertEquals((1 << 20) - 1, WireCodec.readVarint(in));
+    }
+
+    private Object roundTrip(Serializable command) throws IOException, ClassNotFoundException {
+        return WireCodec.decode(WireCodec.encode(command, true));
+    }
+
+    private void assertAvailablePositions(Map<String, Boolean[][]> expected, Map<String, Boolean[][]> actual) {
+        assertEquals(expected.keySet(), actual.keySet());
+        for (String key : expected.keySet()) {
+            for (int i = 0; i < 4; i++) {
+                assertArrayEquals(expected.get(key)[i], actual.get(key)[i]);
+            }
+        }
+    }
+}
@@ -90,6 +90,20 @@ class BoardTest {
         assertEquals(oldSize - 1, diceBag.size());
     }
 
+    @Test
+    void removeDiceFromBag() {
+        List<Dice> diceBag = (List<Dice>) Whitebox.getInternalState(board,"diceBag");
+        int oldSize = diceBag.size();
+        Dice dice = new Dice(Color.RED);
+        board.addDiceToBag(dice);
+
+        board.removeDiceFromBag(dice);
+        board.removeDiceFromBag(dice);
+
+        assertEquals(oldSize, diceBag.size());
+        assertFalse(diceBag.stream().anyMatch(die -> die == dice));
+    }
+
     @Test
     void addDiceToBag() {
         List<Dice> diceBag = (List<Dice>) Whitebox.getInternalState(board,"diceBag");
@@ -105,6 +119,19 @@ class BoardTest {
         assertTrue(diceBag.contains(dice));
     }
 
+    @Test
+    void sameSeedDraftsSameDice() {
+        Board first = new Board(new ArrayList<>(), new ArrayList<>(), new MatchRandom(7));
+        Board second = new Board(new ArrayList<>(), new ArrayList<>(), new MatchRandom(7));
+
+        for (int round = 0; round < 9; round++) {
+            List<Dice> firstDraft = first.draftDice(playerlist.size());
+            List<Dice> secondDraft = second.draftDice(playerlist.size());
+            assertEquals(firstDraft.toString(), secondDraft.toString());
+        }
+        assertEquals(first.draftOneDice().toString(), second.draftOneDice().toString());
+    }
+
     @Test
     void setgetDraftedDice() {
         List<Dice> diceList = new ArrayList<>();
@@ -4,16 +4,21 @@ import ingsw.controller.Controller;
 
 import ingsw.controller.network.commands.*;
 import ingsw.controller.network.socket.UserObserver;
+import ingsw.model.bot.BotPlayer;
 import ingsw.model.cards.patterncard.*;
 import ingsw.model.cards.privateoc.PrivateObjectiveCard;
 import ingsw.model.cards.publicoc.*;
 import ingsw.model.cards.toolcards.*;
+import ingsw.model.moves.MoveCode;
 import ingsw.utilities.ControllerTimer;
+import ingsw.utilities.DeltaType;
 import ingsw.utilities.MoveStatus;
 import ingsw.utilities.PlayerBroadcaster;
+import ingsw.utilities.ToolCardType;
 import ingsw.utilities.Tuple;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mockito;
 import org.mockito.internal.util.reflection.Whitebox;
 
@@ -42,11 +47,6 @@ class GameManagerTest {
 
             }
 
-            @Override
-            public void activatePinger() {
-
-            }
-
             @Override
             public void receiveNotification(Notification notification) throws RemoteException {
 
@@ -314,6 +314,208 @@ class GameManagerTest {
 
     }
 
+    @Test
+    void placementsAreCheckedAgainstTheLegalMoves() throws RemoteException {
+        Whitebox.setInternalState(gameManager, "board", board);
+        Whitebox.setInternalState(gameManager, "currentRound", this.round);
+        Player player = gameManager.getPlayerList().get(0);
+        Dice dice = gameManager.getDraftedDice().get(0);
+        Boolean[][] availablePositions = player.getPatternCard().computeAvailablePositionsDraftedDice(gameManager.getDraftedDice()).get(dice.toString());
+
+        for (int row = 0; row < 4; row++) {
+            for (int column = 0; column < 5; column++) {
+                assertEquals(availablePositions[row][column], gameManager.isLegalMove("a", gameManager.placementCode(dice, row, column)));
+                assertFalse(gameManager.isLegalMove("b", gameManager.placementCode(dice, row, column)));
+            }
+        }
+        assertEquals(MoveCode.NONE, gameManager.placementCode(new Dice(3, Color.GREEN), 0, 0));
+        assertEquals(MoveCode.NONE, gameManager.placementCode(dice, 4, 0));
+
+        gameManager.resendAvailablePositions("a");
+        verify(player.getUserObserver()).sendResponse(any(AvailablePositionsResponse.class));
+    }
+
+    @Test
+    void aSecondPlacementInTheTurnIsNotLegal() {
+        Whitebox.setInternalState(gameManager, "board", board);
+        Whitebox.setInternalState(gameManager, "currentRound", this.round);
+        Player player = gameManager.getPlayerList().get(0);
+        Dice dice = gameManager.getDraftedDice().get(0);
+        Boolean[][] availablePositions = player.getPatternCard().computeAvailablePositionsDraftedDice(gameManager.getDraftedDice()).get(dice.toString());
+        int code = MoveCode.NONE;
+        for (int row = 0; row < 4; row++) {
+            for (int column = 0; column < 5; column++) {
+                if (availablePositions[row][column])
+                    code = gameManager.placementCode(dice, row, column);
+            }
+        }
+        assertTrue(gameManager.isLegalMove("a", code));
+
+        ((AtomicBoolean) Whitebox.getInternalState(this.round, "placementMade")).set(true);
+
+        assertFalse(gameManager.isLegalMove("a", code));
+    }
+
+    @Test
+    void aSecondToolCardInTheTurnIsNotLegal() throws RemoteException {
+        Whitebox.setInternalState(gameManager, "board", board);
+        Whitebox.setInternalState(gameManager, "currentRound", this.round);
+        Player player = gameManager.getPlayerList().get(0);
+        Whitebox.setInternalState(player, "favorTokens", 4);
+        int code = gameManager.toolCardCode("GrozingPliers");
+
+        assertTrue(gameManager.isLegalMove("a", code));
+        assertFalse(gameManager.isLegalMove("b", code));
+        assertEquals(MoveCode.NONE, gameManager.toolCardCode("Unknown"));
+
+        Whitebox.setInternalState(gameManager, "toolCardAction", MoveCode.LENS_CUTTER);
+        assertFalse(gameManager.isLegalMove("a", code));
+
+        Whitebox.setInternalState(gameManager, "toolCardAction", MoveCode.NONE);
+        ((AtomicBoolean) Whitebox.getInternalState(this.round, "toolCardUsed")).set(true);
+        assertFalse(gameManager.isLegalMove("a", code));
+
+        gameManager.refuseToolCard("a");
+        verify(player.getUserObserver()).sendResponse(any(AvoidToolCardResponse.class));
+    }
+
+    @Test
+    void toolCardStepsAreLegalOnlyForTheCurrentPlayerAndTheToolCardInUse() {
+        Whitebox.setInternalState(gameManager, "board", board);
+        Whitebox.setInternalState(gameManager, "currentRound", this.round);
+        int code = gameManager.toolCardStepCode(ToolCardType.GROZING_PLIERS);
+
+        assertFalse(gameManager.isLegalMove("a", code));
+
+        Whitebox.setInternalState(gameManager, "toolCardAction", MoveCode.GROZING_PLIERS);
+        assertTrue(gameManager.isLegalMove("a", code));
+        assertFalse(gameManager.isLegalMove("b", code));
+        assertFalse(gameManager.isLegalMove("a", gameManager.toolCardStepCode(ToolCardType.LENS_CUTTER)));
+        assertEquals(MoveCode.NONE, gameManager.toolCardStepCode(ToolCardType.AVOID_USE));
+        assertEquals(MoveCode.toolCardStep(MoveCode.TAP_WHEEL), gameManager.toolCardStepCode(ToolCardType.TAP_WHEEL));
+    }
+
+    @Test
+    void makeMoveSendsViewDeltas() {
+        Whitebox.setInternalState(gameManager, "board", board);
+        PlayerBroadcaster playerBroadcaster = (PlayerBroadcaster) Whitebox.getInternalState(gameManager, "playerBroadcaster");
+        Player player = gameManager.getPlayerList().get(0);
+        Dice dice = gameManager.getDraftedDice().get(0);
+
+        assertTrue(gameManager.makeMove(player, dice, 0, 0));
+        assertTrue(gameManager.makeMove(player, gameManager.getDraftedDice().get(0), 0, 1));
+
+        ArgumentCaptor<Response> captor = ArgumentCaptor.forClass(Response.class);
+        verify(playerBroadcaster, times(2)).broadcastResponseToAll(captor.capture());
+        ViewDeltaNotification first = (ViewDeltaNotification) captor.getAllValues().get(0);
+        ViewDeltaNotification second = (ViewDeltaNotification) captor.getAllValues().get(1);
+        assertEquals(1, first.sequence);
+        assertEquals(2, second.sequence);
+        assertEquals(DeltaType.DRAFTED_DICE_REMOVED, first.deltas.get(0).getDeltaType());
+        assertEquals(DeltaType.DICE_PLACED, first.deltas.get(1).getDeltaType());
+        assertEquals("a", first.deltas.get(1).getUsername());
+        assertEquals(dice, first.deltas.get(1).getDice());
+        assertFalse(gameManager.getDraftedDice().contains(dice));
+    }
+
+    @Test
+    void makeMoveSendsTheScore() {
+        Whitebox.setInternalState(gameManager, "board", board);
+        PlayerBroadcaster playerBroadcaster = (PlayerBroadcaster) Whitebox.getInternalState(gameManager, "playerBroadcaster");
+        Player player = gameManager.getPlayerList().get(0);
+        player.setPrivateObjectiveCard(new PrivateObjectiveCard(Color.RED));
+        Dice dice = new Dice(4, Color.RED);
+        gameManager.getDraftedDice().add(dice);
+
+        assertTrue(gameManager.makeMove(player, dice, 0, 0));
+
+        ArgumentCaptor<ScoreNotification> ownerScore = ArgumentCaptor.forClass(ScoreNotification.class);
+        ArgumentCaptor<ScoreNotification> publicScore = ArgumentCaptor.forClass(ScoreNotification.class);
+        verify(playerBroadcaster).broadcastScore(eq("a"), ownerScore.capture(), publicScore.capture());
+        assertEquals(1, ownerScore.getValue().privateObjectivePoints);
+        assertEquals(-1, publicScore.getValue().privateObjectivePoints);
+        assertEquals(-19, ownerScore.getValue().emptyBoxesPenalty);
+        assertEquals(ownerScore.getValue().total, publicScore.getValue().total);
+        assertEquals(board.getPublicObjectiveCards().size(), ownerScore.getValue().publicObjectivePoints.size());
+
+        gameManager.assignPointsToPlayers();
+        assertEquals(ownerScore.getValue().total, player.getScore());
+    }
+
+    @Test
+    void sendViewSnapshot() throws RemoteException {
+        Whitebox.setInternalState(gameManager, "board", board);
+        Player player = gameManager.getPlayerList().get(1);
+
+        gameManager.sendViewSnapshot("b");
+
+        ArgumentCaptor<Response> captor = ArgumentCaptor.forClass(Response.class);
+        verify(player.getUserObserver()).sendResponse(captor.capture());
+        ViewSnapshotResponse snapshot = (ViewSnapshotResponse) captor.getValue();
+        assertEquals(0, snapshot.sequence);
+        assertEquals(4, snapshot.players.size());
+        assertEquals(board.getDraftedDice().size(), snapshot.draftedDice.size());
+    }
+
+    @Test
+    void movesHistorySendsOnlyNewMoves() throws RemoteException {
+        PlayerBroadcaster playerBroadcaster = (PlayerBroadcaster) Whitebox.getInternalState(gameManager, "playerBroadcaster");
+        MoveStatus first = new MoveStatus("a", "starts turn");
+        MoveStatus second = new MoveStatus("a", "placed Red2 in 0 - 0");
+        MoveStatus third = new MoveStatus("a", "Ended turn");
+
+        gameManager.addMoveToHistoryAndNotify(first);
+        gameManager.addMoveToHistoryAndNotify(second);
+        gameManager.addMoveToHistoryAndNotify(third);
+
+        verify(playerBroadcaster).updateMovesHistory(0, Collections.singletonList(first));
+        verify(playerBroadcaster).updateMovesHistory(2, Collections.singletonList(third));
+
+        gameManager.sendMovesHistory("c", 1);
+
+        ArgumentCaptor<Response> captor = ArgumentCaptor.forClass(Response.class);
+        verify(gameManager.getPlayerList().get(2).getUserObserver()).sendResponse(captor.capture());
+        MoveStatusNotification missingMoves = (MoveStatusNotification) captor.getValue();
+        assertEquals(1, missingMoves.firstSequence);
+        assertEquals(Arrays.asList(second, third), missingMoves.moveStatuses);
+    }
+
+    @Test
+    void turnsFollowTheMatchStateMachine() throws InterruptedException {
+        Whitebox.setInternalState(gameManager, "board", board);
+        Whitebox.setInternalState(gameManager, "matchState", MatchState.DRAFTING);
+
+        gameManager.draftDiceFromBoard();
+        waitForState(MatchState.WAITING_DICE_ACK);
+
+        for (int i = 0; i < gameManager.getPlayerList().size(); i++)
+            gameManager.receiveAck();
+        waitForState(MatchState.TURN);
+        assertEquals("a", gameManager.getCurrentRound().getCurrentPlayer().getPlayerUsername());
+        assertEquals(1, gameManager.getTurnInRound());
+
+        gameManager.endTurn("a");
+        waitForCurrentPlayer("b");
+        assertEquals(MatchState.TURN, gameManager.getMatchState());
+
+        // a second draft in the same round is ignored
+        gameManager.draftDiceFromBoard();
+        waitForCurrentPlayer("b");
+        assertEquals(MatchState.TURN, gameManager.getMatchState());
+    }
+
+    private void waitForState(MatchState matchState) throws InterruptedException {
+        for (int i = 0; i < 200 && gameManager.getMatchState() != matchState; i++)
+            Thread.sleep(10);
+        assertEquals(matchState, gameManager.getMatchState());
+    }
+
+    private void waitForCurrentPlayer(String username) throws InterruptedException {
+        for (int i = 0; i < 200 && !username.equals(gameManager.getCurrentRound().getCurrentPlayer().getPlayerUsername()); i++)
+            Thread.sleep(10);
+        assertEquals(username, gameManager.getCurrentRound().getCurrentPlayer().getPlayerUsername());
+    }
+
     @Test
     void endTurn() {
 
@@ -350,6 +552,58 @@ class GameManagerTest {
         assertTrue(atomicBoolean.get());
     }
 
+    @Test
+    void stopTurnRollsBackAnInterruptedToolCard() {
+        Whitebox.setInternalState(gameManager, "board", this.board);
+        Round roundMock = mock(Round.class);
+        Whitebox.setInternalState(gameManager, "currentRound", roundMock);
+        Player player = gameManager.getPlayerList().get(0);
+        when(roundMock.getCurrentPlayer()).thenReturn(player);
+        gameManager.getToolCardLock().set(true);
+
+        Dice dice = new Dice(2, Color.GREEN);
+        player.getPatternCard().getGrid().get(3).get(1).insertDice(dice);
+        Dice draftedDice = gameManager.getDraftedDice().get(0);
+        int faceUpValue = draftedDice.getFaceUpValue();
+        int favourTokens = player.getFavourTokens();
+
+        UndoLog toolCardLog = (UndoLog) Whitebox.getInternalState(gameManager, "toolCardLog");
+        toolCardLog.begin();
+        toolCardLog.recordFavourTokens(player);
+        player.decreaseFavorTokens(1);
+        gameManager.grindingStoneMove(draftedDice);
+        gameManager.lathekinMove(new Tuple(3, 1), new Tuple(3, 2), false);
+        assertSame(dice, player.getPatternCard().getGrid().get(3).get(2).getDice());
+        assertEquals(7 - faceUpValue, draftedDice.getFaceUpValue());
+
+        AtomicBoolean nextStepRun = new AtomicBoolean(false);
+        gameManager.awaitToolCardAction(() -> nextStepRun.set(!gameManager.getToolCardLock().get()));
+        gameManager.stopTurn();
+
+        assertTrue(nextStepRun.get());
+        assertFalse(gameManager.getToolCardLock().get());
+        assertFalse(toolCardLog.isOpen());
+        assertSame(dice, player.getPatternCard().getGrid().get(3).get(1).getDice());
+        assertNull(player.getPatternCard().getGrid().get(3).get(2).getDice());
+        assertEquals(faceUpValue, draftedDice.getFaceUpValue());
+        assertEquals(favourTokens, player.getFavourTokens());
+    }
+
+    @Test
+    void toolCardMoveRunsTheNextStepOfTheToolCard() {
+        Whitebox.setInternalState(gameManager, "board", this.board);
+        Whitebox.setInternalState(gameManager, "currentRound", this.round);
+        gameManager.getToolCardLock().set(true);
+
+        AtomicInteger stepsRun = new AtomicInteger(0);
+        gameManager.awaitToolCardAction(stepsRun::incrementAndGet);
+        gameManager.grindingStoneMove(board.getDraftedDice().get(0));
+        gameManager.grindingStoneMove(board.getDraftedDice().get(0));
+
+        assertEquals(1, stepsRun.get());
+        assertTrue(gameManager.getToolCardLock().get());
+    }
+
     @Test
     void useToolCard() throws InterruptedException {
         Round roundMock = mock(Round.class);
@@ -618,6 +872,25 @@ class GameManagerTest {
 
     }
 
+    @Test
+    void fluxRemoverRollbackPutsTheDiceBackInTheBagOnce() {
+        Whitebox.setInternalState(gameManager, "board", this.board);
+        Whitebox.setInternalState(gameManager, "currentRound", this.round);
+        gameManager.getToolCardLock().set(true);
+        List<Dice> diceBag = (List<Dice>) Whitebox.getInternalState(board, "diceBag");
+        int oldSize = diceBag.size();
+
+        UndoLog toolCardLog = (UndoLog) Whitebox.getInternalState(gameManager, "toolCardLog");
+        toolCardLog.begin();
+        gameManager.fluxRemoverMove(board.getDraftedDice().get(0));
+        gameManager.fluxRemoverMove();
+        assertEquals(oldSize, diceBag.size());
+
+        toolCardLog.rollback();
+
+        assertEquals(oldSize, diceBag.size());
+    }
+
     @Test
     void fluxRemoverMove() {
         Whitebox.setInternalState(gameManager, "board", this.board);
@@ -810,15 +1083,11 @@ class GameManagerTest {
         //First move
         gameManager.lathekinMove(new Tuple(3,1),new Tuple(3,2),false);
 
-        assertNotNull(lathekin.getOldGrid());
+        assertTrue(lathekin.isFirstMoveDone());
 
-        assertNotNull(round.getCurrentPlayer().getPatternCard().getGrid().get(3).get(1).getDice());
-        assertEquals(dice.toString(),round.getCurrentPlayer().getPatternCard().getGrid().get(3).get(1).getDice().toString());
-        assertNull(round.getCurrentPlayer().getPatternCard().getGrid().get(3).get(2).getDice());
-
-        assertNull(lathekin.getNewGrid().get(3).get(1).getDice());
-        assertNotNull(lathekin.getNewGrid().get(3).get(2).getDice());
-        assertEquals(dice.toString(),lathekin.getNewGrid().get(3).get(2).getDice().toString());
+        assertNull(round.getCurrentPlayer().getPatternCard().getGrid().get(3).get(1).getDice());
+        assertNotNull(round.getCurrentPlayer().getPatternCard().getGrid().get(3).get(2).getDice());
+        assertEquals(dice.toString(),round.getCurrentPlayer().getPatternCard().getGrid().get(3).get(2).getDice().toString());
 
 
         //Second move
@@ -854,8 +1123,9 @@ class GameManagerTest {
 
         gameManager.lathekinMove(new Tuple(3,1),new Tuple(3,2),true);
 
-        assertEquals(dice1.toString(),lathekin.getNewGrid().get(3).get(2).getDice().toString());
-        assertEquals(dice2.toString(),lathekin.getNewGrid().get(3).get(1).getDice().toString());
+        assertEquals(dice1.toString(),round.getCurrentPlayer().getPatternCard().getGrid().get(3).get(2).getDice().toString());
+        assertEquals(dice2.toString(),round.getCurrentPlayer().getPatternCard().getGrid().get(3).get(1).getDice().toString());
+        assertTrue(gameManager.getdoubleMove());
 
 
 
@@ -1018,8 +1288,24 @@ class GameManagerTest {
     }
 
     @Test
-    void notifyWinner() {
-
+    void notifyWinner() throws Exception {
+        gameManager.getPlayerList().forEach(player -> player.setScore(0));
+        gameManager.getPlayerList().get(0).setScore(10);
+        Round round = mock(Round.class);
+        when(round.getCurrentPlayer()).thenReturn(gameManager.getPlayerList().get(0));
+        Whitebox.setInternalState(gameManager, "currentRound", round);
+        MatchHost matchHost = mock(MatchHost.class);
+        Whitebox.setInternalState(gameManager, "matchHost", matchHost);
+        Player botSeat = gameManager.getPlayerList().get(3);
+        botSeat.seatBot(mock(BotPlayer.class));
+
+        Method notifyWinner = gameManager.getClass().getDeclaredMethod("notifyWinner");
+        notifyWinner.setAccessible(true);
+        notifyWinner.invoke(gameManager);
+
+        verify(matchHost, times(3)).updateRanking(any(User.class));
+        verify(matchHost, never()).updateRanking(botSeat.getUser());
+        assertEquals(0, botSeat.getUser().getNoOfWins() + botSeat.getUser().getNoOfLose());
     }
 
     @Test
@@ -1174,4 +1460,30 @@ class GameManagerTest {
         assertEquals(winner, player4);
     }
 
-}
\ No newline at end of file
+    @Test
+    void botTakesTheSeatOfADisconnectedPlayer() throws Exception {
+        Whitebox.setInternalState(gameManager, "board", board);
+        Method checkUserConnection = gameManager.getClass().getDeclaredMethod("checkUserConnection", Set.class);
+        checkUserConnection.setAccessible(true);
+        Set<Player> disconnectedPlayers = (Set<Player>) Whitebox.getInternalState(gameManager, "disconnectedPlayers");
+        Player player = gameManager.getPlayerList().get(1);
+
+        player.getUser().setActive(false);
+        checkUserConnection.invoke(gameManager, disconnectedPlayers);
+        assertTrue(disconnectedPlayers.contains(player));
+        assertFalse(player.hasSubstitute());
+
+        disconnectedPlayers.clear();
+        gameManager.setBotSubstitutes(true);
+        checkUserConnection.invoke(gameManager, disconnectedPlayers);
+        assertTrue(disconnectedPlayers.contains(player));
+        assertTrue(player.hasSubstitute());
+        assertTrue(player.getUserObserver() instanceof BotPlayer);
+
+        player.getUser().setActive(true);
+        player.getUser().setReady(true);
+        checkUserConnection.invoke(gameManager, disconnectedPlayers);
+        assertFalse(disconnectedPlayers.contains(player));
+        assertFalse(player.hasSubstitute());
+    }
+}
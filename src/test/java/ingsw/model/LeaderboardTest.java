@@ -0,0 +1,119 @@
+package ingsw.model;
+
+import ingsw.utilities.TripleString;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LeaderboardTest {
+    private Leaderboard leaderboard;
+
+    @BeforeEach
+    void setUp() {
+        leaderboard = new Leaderboard();
+    }
+
+    @Test
+    void usersWithTheSameVictoriesShareThePosition() {
+        leaderboard.update("a", 0);
+        leaderboard.update("b", 3);
+        leaderboard.update("c", 1);
+        leaderboard.update("d", 3);
+
+        assertEquals(1, leaderboard.getPosition("b"));
+        assertEquals(1, leaderboard.getPosition("d"));
+        assertEquals(2, leaderboard.getPosition("c"));
+        assertEquals(3, leaderboard.getPosition("a"));
+        assertEquals(0, leaderboard.getPosition("e"));
+
+        List<TripleString> page = leaderboard.getPage(0, 10);
+        assertEquals(4, page.size());
+        assertRow(page.get(0), "1", "b", "3");
+        assertRow(page.get(1), "1", "d", "3");
+        assertRow(page.get(2), "2", "c", "1");
+        assertRow(page.get(3), "3", "a", "0");
+    }
+
+    @Test
+    void updateMovesTheUser() {
+        leaderboard.update("a", 0);
+        leaderboard.update("b", 0);
+        leaderboard.update("a", 1);
+
+        assertEquals(1, leaderboard.getPosition("a"));
+        assertEquals(2, leaderboard.getPosition("b"));
+
+        leaderboard.update("b", 1);
+        assertEquals(1, leaderboard.getPosition("b"));
+        assertRow(leaderboard.getPage(0, 1).get(0), "1", "a", "1");
+        assertEquals(2, leaderboard.size());
+    }
+
+    @Test
+    void addKeepsTheUsersAlreadyRanked() {
+        User user = new User("a");
+        leaderboard.update("a", 2);
+        leaderboard.add(user);
+
+        assertTrue(leaderboard.contains("a"));
+        assertRow(leaderboard.getPage(0, 1).get(0), "1", "a", "2");
+    }
+
+    @Test
+    void rankingOfASingleUser() {
+        leaderboard.update("a", 3);
+        leaderboard.update("b", 1);
+        leaderboard.update("c", 1);
+
+        assertRow(leaderboard.getRanking("c"), "2", "c", "1");
+        assertRow(leaderboard.getRanking("a"), "1", "a", "3");
+        assertNull(leaderboard.getRanking("d"));
+    }
+
+    @Test
+    void pagesMatchTheSortedRanking() {
+        Random random = new Random(7);
+        Map<String, Integer> wins = new LinkedHashMap<>();
+        for (int i = 0; i < 2000; i++) {
+            String username = "user" + random.nextInt(300);
+            int noOfWins = random.nextInt(25);
+            wins.put(username, noOfWins);
+            leaderboard.update(username, noOfWins);
+        }
+
+        List<String> expected = new ArrayList<>(wins.keySet());
+        expected.sort((user1, user2) -> Integer.compare(wins.get(user2), wins.get(user1)));
+        List<TripleString> ranking = leaderboard.getPage(0, Integer.MAX_VALUE);
+        assertEquals(expected.size(), ranking.size());
+        for (int i = 0; i < expected.size(); i++) {
+            String username = ranking.get(i).getSecondField();
+            assertEquals(wins.get(expected.get(i)), wins.get(username));
+            assertEquals(String.valueOf(wins.get(username)), ranking.get(i).getThirdField());
+            assertEquals(String.valueOf(leaderboard.getPosition(username)), ranking.get(i).getFirstField());
+            long distinctAbove = wins.values().stream().filter(w -> w > wins.get(username)).distinct().count();
+            assertEquals(distinctAbove + 1, leaderboard.getPosition(username));
+        }
+
+        for (int offset = 0; offset < ranking.size(); offset += 37) {
+            List<TripleString> page = leaderboard.getPage(offset, 20);
+            assertEquals(Math.min(20, ranking.size() - offset), page.size());
+            for (int i = 0; i < page.size(); i++) {
+                assertEquals(ranking.get(offset + i).getSecondField(), page.get(i).getSecondField());
+            }
+        }
+        assertTrue(leaderboard.getPage(ranking.size(), 10).isEmpty());
+    }
+
+    private static void assertRow(TripleString row, String position, String username, String noOfWins) {
+        assertEquals(position, row.getFirstField());
+        assertEquals(username, row.getSecondField());
+        assertEquals(noOfWins, row.getThirdField());
+    }
+}
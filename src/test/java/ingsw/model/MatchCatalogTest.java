@@ -0,0 +1,66 @@
+package ingsw.model;
+
+import ingsw.utilities.MatchSummary;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MatchCatalogTest {
+    private MatchCatalog catalog;
+
+    @BeforeEach
+    void setUp() {
+        catalog = new MatchCatalog();
+        for (int i = 1; i <= 10; i++) {
+            List<String> players = i % 2 == 0 ? Arrays.asList("a", "b") : Arrays.asList("a", "c");
+            catalog.add(new MatchSummary("match " + i, players, i * 1000L, "a", i));
+        }
+    }
+
+    @Test
+    void pagesStartFromTheLastMatch() {
+        List<MatchSummary> page = catalog.getPage(null, 0, 0, 0, 4);
+        assertEquals(Arrays.asList("match 10", "match 9", "match 8", "match 7"), ids(page));
+
+        page = catalog.getPage(null, 0, 0, 8, 4);
+        assertEquals(Arrays.asList("match 2", "match 1"), ids(page));
+        assertTrue(catalog.getPage(null, 0, 0, 10, 4).isEmpty());
+        assertEquals(10, catalog.count(null, 0, 0));
+    }
+
+    @Test
+    void matchesAreFilteredByPlayerAndDate() {
+        assertEquals(Arrays.asList("match 10", "match 8", "match 6"), ids(catalog.getPage("b", 0, 0, 0, 3)));
+        assertEquals(5, catalog.count("c", 0, 0));
+        assertEquals(0, catalog.count("d", 0, 0));
+
+        assertEquals(Arrays.asList("match 5", "match 4", "match 3"), ids(catalog.getPage(null, 3000, 5000, 0, 10)));
+        assertEquals(3, catalog.count(null, 3000, 5000));
+        assertEquals(Arrays.asList("match 5", "match 3"), ids(catalog.getPage("c", 3000, 5000, 0, 10)));
+        assertEquals(2, catalog.count("b", 7000, 0));
+    }
+
+    @Test
+    void matchesAreOrderedByEndTime() {
+        catalog.add(new MatchSummary("late", Arrays.asList("d"), 11000L, null, 0));
+        catalog.add(new MatchSummary("early", Arrays.asList("d"), 500L, null, 0));
+        catalog.add(new MatchSummary("early", Arrays.asList("d"), 20000L, null, 0));
+
+        assertEquals(12, catalog.size());
+        assertEquals("late", catalog.getPage(null, 0, 0, 0, 1).get(0).getMatchId());
+        assertEquals(Arrays.asList("late", "early"), ids(catalog.getPage("d", 0, 0, 0, 5)));
+        assertEquals(500L, catalog.get("early").getEndTime());
+    }
+
+    private static List<String> ids(List<MatchSummary> page) {
+        List<String> ids = new ArrayList<>();
+        for (MatchSummary matchSummary : page)
+            ids.add(matchSummary.getMatchId());
+        return ids;
+    }
+}
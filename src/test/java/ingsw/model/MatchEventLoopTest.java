@@ -0,0 +1,74 @@
+package ingsw.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MatchEventLoopTest {
+
+    @Test
+    void eventsRunInOrder() throws InterruptedException {
+        MatchEventLoop matchEventLoop = new MatchEventLoop();
+        List<Integer> processed = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch done = new CountDownLatch(1);
+
+        for (int i = 0; i < 200; i++) {
+            int event = i;
+            matchEventLoop.execute(() -> processed.add(event));
+        }
+        matchEventLoop.execute(done::countDown);
+
+        assertTrue(done.await(2, TimeUnit.SECONDS));
+        for (int i = 0; i < 200; i++)
+            assertEquals(i, (int) processed.get(i));
+        assertEquals(0, matchEventLoop.getPendingEvents());
+    }
+
+    @Test
+    void eventsNeverRunConcurrently() throws InterruptedException {
+        ExecutorService pool = Executors.newFixedThreadPool(4);
+        MatchEventLoop matchEventLoop = new MatchEventLoop(pool);
+        AtomicInteger running = new AtomicInteger(0);
+        AtomicInteger overlaps = new AtomicInteger(0);
+        CountDownLatch done = new CountDownLatch(400);
+
+        Runnable event = () -> {
+            if (running.incrementAndGet() > 1)
+                overlaps.incrementAndGet();
+            running.decrementAndGet();
+            done.countDown();
+        };
+        for (int i = 0; i < 4; i++) {
+            pool.execute(() -> {
+                for (int j = 0; j < 100; j++)
+                    matchEventLoop.execute(event);
+            });
+        }
+
+        assertTrue(done.await(2, TimeUnit.SECONDS));
+        assertEquals(0, overlaps.get());
+        pool.shutdown();
+    }
+
+    @Test
+    void failingEventDoesNotStopTheLoop() throws InterruptedException {
+        MatchEventLoop matchEventLoop = new MatchEventLoop(Runnable::run);
+        CountDownLatch done = new CountDownLatch(1);
+
+        matchEventLoop.execute(() -> {
+            throw new IllegalStateException("event failed");
+        });
+        matchEventLoop.execute(done::countDown);
+
+        assertTrue(done.await(1, TimeUnit.SECONDS));
+    }
+}
@@ -0,0 +1,140 @@
+package ingsw.model;
+
+import ingsw.utilities.MatchSummary;
+import ingsw.utilities.MoveStatus;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MatchJournalTest {
+    private File journalFile;
+    private MatchJournal matchJournal;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        journalFile = File.createTempFile("journal", ".bin");
+        matchJournal = new MatchJournal(journalFile, MatchJournal.FsyncPolicy.NEVER);
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        matchJournal.close();
+        journalFile.delete();
+    }
+
+    @Test
+    void readMovesInPages() throws IOException {
+        String matchId = matchJournal.startMatch("match", Arrays.asList("a", "b"));
+        for (int i = 0; i < 7; i++)
+            matchJournal.appendMove(matchId, new MoveStatus(i % 2 == 0 ? "a" : "b", "move " + i));
+
+        assertEquals(7, matchJournal.getNoOfMoves(matchId));
+        List<MoveStatus> page = matchJournal.readMoves(matchId, 0, 5);
+        assertEquals(5, page.size());
+        assertEquals("a", page.get(0).getUsername());
+        assertEquals("move 4", page.get(4).getMove());
+
+        page = matchJournal.readMoves(matchId, 5, 5);
+        assertEquals(2, page.size());
+        assertEquals("b", page.get(0).getUsername());
+        assertEquals("move 6", page.get(1).getMove());
+
+        assertTrue(matchJournal.readMoves(matchId, 7, 5).isEmpty());
+        assertTrue(matchJournal.readMoves("unknown", 0, 5).isEmpty());
+    }
+
+    @Test
+    void seedSurvivesReopening() throws IOException {
+        String matchId = matchJournal.startMatch("match", Arrays.asList("a", "b"));
+        matchJournal.recordSeed(matchId, -42L);
+        matchJournal.appendMove(matchId, new MoveStatus("a", "Drafted dice"));
+        assertEquals(Long.valueOf(-42L), matchJournal.getSeed(matchId));
+
+        matchJournal.close();
+        matchJournal = new MatchJournal(journalFile, MatchJournal.FsyncPolicy.NEVER);
+        assertEquals(Long.valueOf(-42L), matchJournal.getSeed(matchId));
+        assertEquals(1, matchJournal.getNoOfMoves(matchId));
+        assertNull(matchJournal.getSeed("unknown"));
+    }
+
+    @Test
+    void onlyEndedMatchesAreFinished() throws IOException {
+        String firstMatch = matchJournal.startMatch("match", Arrays.asList("a", "b"));
+        String secondMatch = matchJournal.startMatch("match", Arrays.asList("a", "b"));
+        assertNotEquals(firstMatch, secondMatch);
+        assertTrue(matchJournal.getFinishedMatches().isEmpty());
+
+        matchJournal.endMatch(secondMatch);
+
+        assertEquals(Arrays.asList(secondMatch), matchJournal.getFinishedMatches());
+        assertThrows(IllegalStateException.class, () -> matchJournal.appendMove(secondMatch, new MoveStatus("a", "move")));
+    }
+
+    @Test
+    void historySurvivesReopening() throws IOException {
+        String endedMatch = matchJournal.startMatch("ended", Arrays.asList("a", "b"));
+        matchJournal.appendMove(endedMatch, new MoveStatus("a", "placed"));
+        matchJournal.endMatch(endedMatch);
+        String crashedMatch = matchJournal.startMatch("crashed", Arrays.asList("c", "d"));
+        matchJournal.appendMove(crashedMatch, new MoveStatus("c", "drafted"));
+        matchJournal.appendMove(crashedMatch, new MoveStatus("d", "placed"));
+        matchJournal.close();
+
+        matchJournal = new MatchJournal(journalFile, MatchJournal.FsyncPolicy.NEVER);
+
+        assertEquals(Arrays.asList(endedMatch, crashedMatch), matchJournal.getFinishedMatches());
+        assertEquals(Arrays.asList("c", "d"), matchJournal.getPlayers(crashedMatch));
+        assertEquals(2, matchJournal.getNoOfMoves(crashedMatch));
+        assertEquals("placed", matchJournal.readMoves(crashedMatch, 1, 1).get(0).getMove());
+    }
+
+    @Test
+    void tornRecordIsCutAway() throws IOException {
+        String matchId = matchJournal.startMatch("match", Arrays.asList("a", "b"));
+        matchJournal.appendMove(matchId, new MoveStatus("a", "placed"));
+        long completeLength = journalFile.length();
+        matchJournal.appendMove(matchId, new MoveStatus("b", "placed"));
+        matchJournal.close();
+
+        try (RandomAccessFile file = new RandomAccessFile(journalFile, "rw")) {
+            file.setLength(file.length() - 3);
+        }
+        matchJournal = new MatchJournal(journalFile, MatchJournal.FsyncPolicy.NEVER);
+
+        assertEquals(completeLength, journalFile.length());
+        assertEquals(1, matchJournal.getNoOfMoves(matchId));
+        matchJournal.appendMove(matchId, new MoveStatus("b", "drafted"));
+        assertEquals("drafted", matchJournal.readMoves(matchId, 1, 1).get(0).getMove());
+    }
+
+    @Test
+    void finishedMatchesAreInTheCatalog() throws IOException {
+        String endedMatch = matchJournal.startMatch("ended", Arrays.asList("a", "b"));
+        matchJournal.appendMove(endedMatch, new MoveStatus("a", "placed"));
+        matchJournal.endMatch(endedMatch, "b");
+        String liveMatch = matchJournal.startMatch("live", Arrays.asList("c", "d"));
+
+        MatchSummary summary = matchJournal.getCatalog().get(endedMatch);
+        assertEquals("b", summary.getWinner());
+        assertEquals(1, summary.getNoOfMoves());
+        assertTrue(summary.getEndTime() > 0);
+        assertNull(matchJournal.getCatalog().get(liveMatch));
+        matchJournal.close();
+
+        matchJournal = new MatchJournal(journalFile, MatchJournal.FsyncPolicy.NEVER);
+        MatchCatalog catalog = matchJournal.getCatalog();
+        assertEquals(2, catalog.size());
+        assertEquals("b", catalog.get(endedMatch).getWinner());
+        assertEquals(summary.getEndTime(), catalog.get(endedMatch).getEndTime());
+        assertEquals(Arrays.asList("a", "b"), catalog.get(endedMatch).getPlayers());
+        assertEquals(1, catalog.count("d", 0, 0));
+    }
+}
@@ -0,0 +1,41 @@
+package ingsw.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MatchRandomTest {
+
+    @Test
+    void sameSeedSameSequence() {
+        MatchRandom first = new MatchRandom(123);
+        MatchRandom second = new MatchRandom(123);
+        List<Integer> firstList = new ArrayList<>(Arrays.asList(1, 2, 3, 4, 5, 6, 7, 8, 9, 10));
+        List<Integer> secondList = new LinkedList<>(firstList);
+
+        first.shuffle(firstList);
+        second.shuffle(secondList);
+
+        assertEquals(firstList, secondList);
+        assertEquals(123, first.getSeed());
+        for (int i = 0; i < 100; i++) {
+            int value = first.rollDice();
+            assertEquals(value, second.rollDice());
+            assertTrue(value >= 1 && value <= 6);
+        }
+    }
+
+    @Test
+    void shuffleKeepsTheElements() {
+        List<Integer> list = new ArrayList<>(Arrays.asList(1, 2, 3, 4, 5));
+        new MatchRandom(MatchRandom.newSeed()).shuffle(list);
+
+        assertEquals(5, list.size());
+        assertTrue(list.containsAll(Arrays.asList(1, 2, 3, 4, 5)));
+    }
+}
@@ -0,0 +1,120 @@
+package ingsw.model;
+
+import ingsw.controller.Controller;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class MatchRegistryTest {
+    private MatchRegistry matchRegistry;
+
+    @BeforeEach
+    void setUp() {
+        matchRegistry = new MatchRegistry(3);
+    }
+
+    private Controller match(String matchName, String... usernames) {
+        Controller controller = mock(Controller.class);
+        when(controller.getMatchName()).thenReturn(matchName);
+        List<Player> players = new ArrayList<>();
+        for (String username : usernames)
+            players.add(new Player(new User(username)));
+        when(controller.getPlayerList()).thenReturn(players);
+        return controller;
+    }
+
+    @Test
+    void shardsArePowerOfTwo() {
+        assertEquals(4, matchRegistry.getNoOfShards());
+        assertEquals(1, new MatchRegistry(0).getNoOfShards());
+        assertEquals(8, new MatchRegistry(8).getNoOfShards());
+    }
+
+    @Test
+    void mapOperations() {
+        Controller first = match("First");
+        Controller second = match("Second");
+
+        assertNull(matchRegistry.putIfAbsent("First", first));
+        assertSame(first, matchRegistry.putIfAbsent("First", second));
+        matchRegistry.put("Second", second);
+
+        assertEquals(2, matchRegistry.size());
+        assertSame(first, matchRegistry.get("First"));
+        assertTrue(matchRegistry.containsKey("Second"));
+        assertFalse(matchRegistry.containsKey("Third"));
+        assertNull(matchRegistry.get(null));
+        assertEquals(new HashSet<>(Arrays.asList(first, second)), new HashSet<>(matchRegistry.values()));
+
+        assertFalse(matchRegistry.remove("First", second));
+        assertTrue(matchRegistry.remove("First", first));
+        assertSame(second, matchRegistry.remove("Second"));
+        assertTrue(matchRegistry.isEmpty());
+    }
+
+    @Test
+    void iterationAcrossShards() {
+        for (int i = 0; i < 100; i++)
+            matchRegistry.put("Match" + i, match("Match" + i));
+
+        Set<String> names = new HashSet<>();
+        for (Map.Entry<String, Controller> entry : matchRegistry.entrySet())
+            names.add(entry.getKey());
+
+        assertEquals(100, names.size());
+        assertThrows(NoSuchElementException.class, () -> new MatchRegistry(2).entrySet().iterator().next());
+    }
+
+    @Test
+    void findMatchOf() {
+        Controller controller = match("Match", "a", "b");
+        matchRegistry.put("Match", controller);
+        matchRegistry.put("Other", match("Other", "c"));
+
+        assertSame(controller, matchRegistry.findMatchOf("b"));
+        assertNull(matchRegistry.findMatchOf("d"));
+    }
+
+    @Test
+    void tasksOfAMatchRunInOrder() throws InterruptedException {
+        List<Integer> order = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch done = new CountDownLatch(50);
+        for (int i = 0; i < 50; i++) {
+            int task = i;
+            matchRegistry.execute("Match", () -> {
+                order.add(task);
+                done.countDown();
+            });
+        }
+
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        for (int i = 0; i < 50; i++)
+            assertEquals(i, (int) order.get(i));
+    }
+
+    @Test
+    void concurrentCreation() throws InterruptedException {
+        ExecutorService executorService = Executors.newFixedThreadPool(8);
+        Controller[] winners = new Controller[200];
+        CountDownLatch done = new CountDownLatch(200);
+        for (int i = 0; i < 200; i++) {
+            int attempt = i;
+            executorService.execute(() -> {
+                Controller controller = match("Match" + attempt % 20);
+                if (matchRegistry.putIfAbsent("Match" + attempt % 20, controller) == null)
+                    winners[attempt] = controller;
+                done.countDown();
+            });
+        }
+
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        executorService.shutdown();
+        assertEquals(20, matchRegistry.size());
+        assertEquals(20, Arrays.stream(winners).filter(Objects::nonNull).count());
+    }
+}
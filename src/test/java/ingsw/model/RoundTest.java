@@ -37,11 +37,6 @@ class RoundTest {
 
             }
 
-            @Override
-            public void activatePinger() {
-
-            }
-
             @Override
             public void receiveNotification(Notification notification) throws RemoteException {
 
@@ -116,6 +111,22 @@ class RoundTest {
 
 
 
+    }
+
+    @Test
+    void onlyOnePlacementPerTurn() {
+        Dice dice = new Dice(Color.BLUE);
+        when(gameManager.makeMove(player, dice, 0, 0)).thenReturn(true);
+        Whitebox.setInternalState(round, "gameManager", gameManager);
+        Whitebox.setInternalState(round, "player", player);
+
+        round.makeMove(dice, 0, 0);
+        round.makeMove(dice, 0, 0);
+
+        verify(gameManager, times(1)).makeMove(player, dice, 0, 0);
+        assertTrue(round.isPlacementMade());
+        assertFalse(round.isToolCardUsed());
+        assertEquals(1, round.getNoOfMoves());
     }
 
     @Test
@@ -159,6 +170,7 @@ class RoundTest {
         hasMadeMoveDone = (AtomicBoolean) Whitebox.getInternalState(round,"hasMadeAMove");
 
         assertTrue(hasMadeMoveDone.get());
+        assertTrue(round.isToolCardUsed());
     }
 
 
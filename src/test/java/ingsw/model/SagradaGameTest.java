@@ -1,6 +1,7 @@
 package ingsw.model;
 
 import ingsw.controller.Controller;
+import ingsw.controller.network.commands.BundleDataResponse;
 import ingsw.controller.network.commands.CreateMatchResponse;
 import ingsw.controller.network.rmi.RMIUserObserver;
 import ingsw.controller.network.socket.ClientHandler;
@@ -10,12 +11,14 @@ import ingsw.utilities.TripleString;
 import ingsw.utilities.UserBroadcaster;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mockito;
 import org.mockito.internal.util.reflection.Whitebox;
 
 import java.lang.reflect.Field;
 import java.rmi.RemoteException;
 import java.util.*;
+import java.util.function.Function;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -72,6 +75,8 @@ class SagradaGameTest {
         assertTrue(sagradaGame.connectedUsers.get("First").isActive());
         assertFalse(sagradaGame.connectedUsers.get("First").isReady());
         assertThrows(InvalidUsernameException.class, () -> sagradaGame.loginUser("First", clientHandler));
+        assertThrows(InvalidUsernameException.class, () -> sagradaGame.loginUser(Controller.BOT_USERNAME_PREFIX + 1, clientHandler));
+        assertFalse(sagradaGame.connectedUsers.containsKey(Controller.BOT_USERNAME_PREFIX + 1));
         //TODO testa chiamata a metodo privato
     }
 
@@ -158,6 +163,12 @@ class SagradaGameTest {
         sagradaGame.connectedUsers.put("Third", third);
         sagradaGame.connectedUsers.put("Fifth", fifth);
         sagradaGame.connectedUsers.put("Fourth", fourth);
+        Leaderboard leaderboard = (Leaderboard) Whitebox.getInternalState(sagradaGame, "leaderboard");
+        leaderboard.add(first);
+        leaderboard.add(second);
+        leaderboard.add(third);
+        leaderboard.add(fifth);
+        leaderboard.add(fourth);
         expectedList.add(new TripleString("1", "First", "2"));
         expectedList.add(new TripleString("2", "Second", "1"));
         expectedList.add(new TripleString("3", "Third", "0"));
@@ -241,11 +252,26 @@ class SagradaGameTest {
         Whitebox.setInternalState(sagradaGame, "userBroadcaster", userBroadcaster);
         sagradaGame.broadcastUsersConnected("First");
         verify(userBroadcaster).broadcastResponseToAll(0);
-        verify(userBroadcaster).broadcastResponseToAll(new ArrayList<>());
+        verify(userBroadcaster).broadcastRankingToAll(any(Function.class));
     }
 
     @Test
-    void sendBundleDataTest() throws RemoteException {
+    void sendBundleDataTest() throws RemoteException, InvalidUsernameException {
+        for (int i = 0; i < 25; i++)
+            sagradaGame.loginUser("User" + i, mock(RMIUserObserver.class));
 
+        sagradaGame.sendBundleData("User0");
+        sagradaGame.sendBundleData("User24");
+
+        ArgumentCaptor<BundleDataResponse> topUser = ArgumentCaptor.forClass(BundleDataResponse.class);
+        verify(sagradaGame.connectedUsers.get("User0").getUserObserver(), atLeastOnce()).sendResponse(topUser.capture());
+        assertEquals(20, topUser.getValue().rankings.size());
+        assertEquals("User0", topUser.getValue().rankings.get(0).getSecondField());
+
+        ArgumentCaptor<BundleDataResponse> lastUser = ArgumentCaptor.forClass(BundleDataResponse.class);
+        verify(sagradaGame.connectedUsers.get("User24").getUserObserver(), atLeastOnce()).sendResponse(lastUser.capture());
+        assertEquals(21, lastUser.getValue().rankings.size());
+        assertEquals("User24", lastUser.getValue().rankings.get(20).getSecondField());
+        assertEquals("1", lastUser.getValue().rankings.get(20).getFirstField());
     }
 }
\ No newline at end of file
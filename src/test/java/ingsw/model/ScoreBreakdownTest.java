@@ -0,0 +1,69 @@
+package ingsw.model;
+
+import ingsw.model.cards.patterncard.Box;
+import ingsw.model.cards.patterncard.ViaLux;
+import ingsw.model.cards.privateoc.PrivateObjectiveCard;
+import ingsw.model.cards.publicoc.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ScoreBreakdownTest {
+    private static final Color[] COLORS = {Color.RED, Color.GREEN, Color.PURPLE, Color.BLUE, Color.YELLOW};
+
+    private List<PublicObjectiveCard> publicObjectiveCards;
+    private List<List<Box>> grid;
+    private ScoreBreakdown scoreBreakdown;
+
+    @BeforeEach
+    void setUp() {
+        publicObjectiveCards = Arrays.asList(new ColorDiagonals(), new RowColorVariety(), new ShadeVariety());
+        grid = new ViaLux().getGrid();
+        scoreBreakdown = new ScoreBreakdown(publicObjectiveCards, new PrivateObjectiveCard(Color.RED));
+    }
+
+    @Test
+    void everyPlacementKeepsTheScoreOfTheWholeGrid() {
+        for (int row = 0; row < 4; row++) {
+            for (int column = 0; column < 5; column++) {
+                grid.get(row).get(column).insertDice(new Dice((row * 2 + column) % 6 + 1, COLORS[(row + column * 3) % 5]));
+                assertTrue(scoreBreakdown.updateCell(grid, row, column));
+                assertSameScore();
+            }
+        }
+        assertEquals(0, scoreBreakdown.getEmptyBoxesPenalty());
+    }
+
+    @Test
+    void movedAndRemovedDiceAreTakenBack() {
+        grid.get(0).get(0).insertDice(new Dice(2, Color.RED));
+        grid.get(1).get(1).insertDice(new Dice(5, Color.RED));
+        scoreBreakdown.updateGrid(grid);
+        assertEquals(2, scoreBreakdown.getPrivateObjectivePoints());
+        assertFalse(scoreBreakdown.updateGrid(grid));
+
+        grid.get(2).get(2).insertDice(grid.get(1).get(1).getDice());
+        grid.get(1).get(1).removeDice();
+        grid.get(0).get(0).removeDice();
+        assertTrue(scoreBreakdown.updateGrid(grid));
+
+        assertEquals(1, scoreBreakdown.getPrivateObjectivePoints());
+        assertEquals(-19, scoreBreakdown.getEmptyBoxesPenalty());
+        assertSameScore();
+    }
+
+    private void assertSameScore() {
+        GridScore gridScore = GridScore.of(grid);
+        int total = -gridScore.getNoOfEmptyBoxes();
+        for (PublicObjectiveCard publicObjectiveCard : publicObjectiveCards) {
+            assertEquals(publicObjectiveCard.getScore(gridScore), (int) scoreBreakdown.getPublicObjectivePoints().get(publicObjectiveCard.getName()));
+            total += publicObjectiveCard.getScore(gridScore);
+        }
+        assertEquals(total, scoreBreakdown.getTotal());
+        assertEquals(new PrivateObjectiveCard(Color.RED).check(grid), scoreBreakdown.getPrivateObjectivePoints());
+    }
+}
@@ -0,0 +1,121 @@
+package ingsw.model;
+
+import ingsw.model.cards.patterncard.Box;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class UndoLogTest {
+    private UndoLog undoLog;
+    private Box box;
+    private Dice dice;
+
+    @BeforeEach
+    void setUp() {
+        undoLog = new UndoLog();
+        box = new Box(Color.BLANK);
+        dice = new Dice(3, Color.RED);
+    }
+
+    @Test
+    void rollbackUndoesTheChangesFromTheLast() {
+        List<Dice> list = new ArrayList<>(Collections.singletonList(dice));
+        undoLog.begin();
+
+        undoLog.recordBox(box);
+        box.insertDice(dice);
+        undoLog.recordFaceUpValue(dice);
+        dice.setFaceUpValue(6);
+        undoLog.recordBox(box);
+        box.removeDice();
+        undoLog.recordList(list);
+        list.clear();
+
+        assertTrue(undoLog.rollback());
+        assertNull(box.getDice());
+        assertEquals(3, dice.getFaceUpValue());
+        assertEquals(Collections.singletonList(dice), list);
+        assertFalse(undoLog.isOpen());
+        assertFalse(undoLog.rollback());
+    }
+
+    @Test
+    void draftedDiceAndFavourTokensAreRestored() {
+        Board board = mock(Board.class);
+        List<Dice> draftedDice = new ArrayList<>(Arrays.asList(dice, new Dice(1, Color.BLUE)));
+        when(board.getDraftedDice()).thenReturn(draftedDice);
+        Player player = new Player(new User("a"));
+        int favourTokens = player.getFavourTokens();
+        undoLog.begin();
+
+        undoLog.recordFavourTokens(player);
+        player.decreaseFavorTokens(2);
+        undoLog.recordDraftedDice(board);
+        draftedDice.remove(dice);
+
+        undoLog.rollback();
+        assertEquals(favourTokens, player.getFavourTokens());
+        assertEquals(2, draftedDice.size());
+        verify(board).setDraftedDice(draftedDice);
+    }
+
+    @Test
+    void commitKeepsTheChanges() {
+        undoLog.begin();
+        undoLog.recordBox(box);
+        box.insertDice(dice);
+
+        undoLog.commit();
+        assertFalse(undoLog.isOpen());
+        assertFalse(undoLog.rollback());
+        assertSame(dice, box.getDice());
+    }
+
+    @Test
+    void commitAfterRollbackKeepsTheRestoredState() {
+        undoLog.begin();
+        undoLog.recordBox(box);
+        box.insertDice(dice);
+
+        assertTrue(undoLog.rollback());
+        undoLog.commit();
+
+        assertFalse(undoLog.isOpen());
+        assertFalse(undoLog.rollback());
+        assertNull(box.getDice());
+    }
+
+    @Test
+    void aTransactionCanBeCommittedByAnotherThread() throws InterruptedException {
+        undoLog.begin();
+        undoLog.recordBox(box);
+        box.insertDice(dice);
+
+        Thread other = new Thread(undoLog::commit);
+        other.start();
+        other.join();
+
+        assertFalse(undoLog.isOpen());
+        assertFalse(undoLog.rollback());
+        assertSame(dice, box.getDice());
+    }
+
+    @Test
+    void nothingIsRecordedOutsideATransaction() {
+        undoLog.recordBox(box);
+        box.insertDice(dice);
+        undoLog.recordFaceUpValue(dice);
+        dice.setFaceUpValue(5);
+
+        assertFalse(undoLog.rollback());
+        assertSame(dice, box.getDice());
+        assertEquals(5, dice.getFaceUpValue());
+    }
+}
@@ -0,0 +1,124 @@
+package ingsw.model;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UserStatsStoreTest {
+    private File storeFile;
+    private UserStatsStore store;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        storeFile = File.createTempFile("userstats", ".log");
+        store = new UserStatsStore(storeFile);
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        store.close();
+        storeFile.delete();
+    }
+
+    @Test
+    void lastRecordOfAUserSurvivesReopening() throws IOException {
+        User a = new User("a");
+        User b = new User("b");
+        a.incrementNoOfWins();
+        b.incrementNoOfLose();
+        store.write(Arrays.asList(a, b));
+        a.incrementNoOfWins();
+        store.write(Collections.singletonList(a));
+        assertEquals(3, store.getNoOfRecords());
+
+        store.close();
+        store = new UserStatsStore(storeFile);
+        Map<String, User> users = store.getUsers();
+        assertEquals(2, users.size());
+        assertEquals(2, users.get("a").getNoOfWins());
+        assertEquals(1, users.get("b").getNoOfLose());
+        assertFalse(users.get("a").isActive());
+        assertEquals(3, store.getNoOfRecords());
+    }
+
+    @Test
+    void tornRecordIsCutAway() throws IOException {
+        User a = new User("a");
+        store.write(Collections.singletonList(a));
+        long size = storeFile.length();
+        a.incrementNoOfWins();
+        store.write(Collections.singletonList(a));
+        store.close();
+
+        try (RandomAccessFile file = new RandomAccessFile(storeFile, "rw")) {
+            file.setLength(file.length() - 3);
+        }
+
+        store = new UserStatsStore(storeFile);
+        assertEquals(0, store.getUsers().get("a").getNoOfWins());
+        assertEquals(size, storeFile.length());
+    }
+
+    @Test
+    void compactionKeepsOnlyTheLastRecords() throws IOException {
+        User a = new User("a");
+        User b = new User("b");
+        for (int i = 0; i < 100; i++) {
+            a.incrementNoOfWins();
+            b.incrementNoOfLose();
+            store.write(Arrays.asList(a, b));
+        }
+        assertTrue(store.getNoOfRecords() < 64);
+
+        store.compact();
+        assertEquals(2, store.getNoOfRecords());
+        store.close();
+
+        store = new UserStatsStore(storeFile);
+        assertEquals(2, store.getNoOfRecords());
+        assertEquals(100, store.getUsers().get("a").getNoOfWins());
+        assertEquals(100, store.getUsers().get("b").getNoOfLose());
+    }
+
+    @Test
+    void recordsTooLongKeepTheLastMatches() throws IOException {
+        User a = new User("a");
+        char[] name = new char[100];
+        for (int i = 0; i < 20000; i++) {
+            Arrays.fill(name, (char) ('a' + i % 26));
+            a.getMatchesPlayed().add(i + new String(name));
+        }
+        store.write(Arrays.asList(a, new User("b")));
+
+        store.close();
+        store = new UserStatsStore(storeFile);
+        Map<String, User> users = store.getUsers();
+        assertTrue(users.containsKey("b"));
+        List<String> matchesPlayed = users.get("a").getMatchesPlayed();
+        assertTrue(matchesPlayed.size() > 0 && matchesPlayed.size() < 20000);
+        assertEquals(a.getMatchesPlayed().get(19999), matchesPlayed.get(matchesPlayed.size() - 1));
+        assertEquals(20000, a.getMatchesPlayed().size());
+    }
+
+    @Test
+    void interruptedCompactionIsDiscarded() throws IOException {
+        store.write(Collections.singletonList(new User("a")));
+        store.close();
+        File compactionFile = new File(storeFile.getPath() + ".compact");
+        assertTrue(compactionFile.createNewFile());
+
+        store = new UserStatsStore(storeFile);
+        assertFalse(compactionFile.exists());
+        assertTrue(store.getUsers().containsKey("a"));
+    }
+}
@@ -0,0 +1,64 @@
+package ingsw.model.bot;
+
+import ingsw.model.GameManager;
+import ingsw.model.MatchEventLoop;
+import ingsw.model.MatchHost;
+import ingsw.model.MatchState;
+import ingsw.model.Player;
+import ingsw.model.User;
+import ingsw.utilities.ControllerTimer;
+import ingsw.utilities.VirtualClock;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+class BotPlayerTest {
+
+    @Test
+    void botsPlayAWholeMatch() throws InterruptedException {
+        VirtualClock clock = new VirtualClock();
+        Queue<Runnable> tasks = new ConcurrentLinkedQueue<>();
+        ForkJoinPool pool = new ForkJoinPool(2);
+
+        List<Player> players = new ArrayList<>();
+        List<BotPlayer> botPlayers = new ArrayList<>();
+        for (int i = 0; i < 2; i++) {
+            User user = new User("bot" + i);
+            BotPlayer botPlayer = new BotPlayer(user.getUsername(), new MoveSearch(TimeUnit.MILLISECONDS.toNanos(2), pool, i), tasks::add);
+            user.attachUserObserver(botPlayer);
+            players.add(new Player(user));
+            botPlayers.add(botPlayer);
+        }
+
+        GameManager gameManager = new GameManager(players, 60, mock(MatchHost.class), new ControllerTimer(clock), 3, new MatchEventLoop(tasks::add));
+        for (int i = 0; i < players.size(); i++) {
+            botPlayers.get(i).join(gameManager, players.get(i));
+        }
+        gameManager.waitForEveryPatternCard(gameManager.pickPatternCards());
+
+        while (gameManager.getMatchState() != MatchState.ENDED && clock.currentTimeMillis() < TimeUnit.HOURS.toMillis(1)) {
+            Runnable task = tasks.poll();
+            if (task != null) {
+                task.run();
+            } else {
+                // a tool card runs on its own thread, its answers are given a moment to arrive
+                Thread.sleep(1);
+                if (tasks.isEmpty() && !clock.advance())
+                    break;
+            }
+        }
+
+        assertEquals(MatchState.ENDED, gameManager.getMatchState());
+        for (Player player : players) {
+            assertTrue(player.getPatternCard().getNoOfDice() > 10);
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package ingsw.model.bot;
+
+import ingsw.model.Color;
+import ingsw.model.Dice;
+import ingsw.model.cards.patterncard.Box;
+import ingsw.model.cards.patterncard.PatternCard;
+import ingsw.model.cards.publicoc.PublicObjectiveCard;
+import ingsw.model.cards.publicoc.RowColorVariety;
+import ingsw.model.cards.toolcards.GrozingPliers;
+import ingsw.model.cards.toolcards.ToolCard;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MoveSearchTest {
+    private PatternCard patternCard;
+    private MoveSearch moveSearch;
+
+    @BeforeEach
+    void setUp() {
+        List<List<Box>> grid = new ArrayList<>();
+        for (int row = 0; row < 4; row++) {
+            List<Box> boxes = new ArrayList<>();
+            for (int column = 0; column < 5; column++) {
+                boxes.add(new Box(Color.BLANK));
+            }
+            grid.add(boxes);
+        }
+        patternCard = new PatternCard("Blank", 3) {
+        };
+        patternCard.setGrid(grid);
+        grid.get(0).get(0).insertDice(new Dice(1, Color.BLUE));
+        grid.get(0).get(1).insertDice(new Dice(2, Color.GREEN));
+        grid.get(0).get(2).insertDice(new Dice(3, Color.RED));
+        grid.get(0).get(3).insertDice(new Dice(4, Color.PURPLE));
+
+        moveSearch = new MoveSearch(TimeUnit.MILLISECONDS.toNanos(20), new ForkJoinPool(2), 1);
+    }
+
+    @Test
+    void completesTheRowOfDifferentColors() {
+        List<Dice> draftedDice = Arrays.asList(new Dice(5, Color.BLUE), new Dice(5, Color.YELLOW));
+        List<PublicObjectiveCard> publicObjectiveCards = Collections.singletonList(new RowColorVariety());
+
+        BotMove move = moveSearch.chooseMove(patternCard, draftedDice, publicObjectiveCards, Color.RED, 3, null, 0);
+
+        assertEquals(Color.YELLOW, move.getColor());
+        assertEquals(5, move.getValue());
+        assertEquals(0, move.getRowIndex());
+        assertEquals(4, move.getColumnIndex());
+        assertNull(move.getToolCardName());
+        assertNull(patternCard.getGrid().get(0).get(4).getDice());
+    }
+
+    @Test
+    void noDiceNoMove() {
+        assertNull(moveSearch.chooseMove(patternCard, Collections.emptyList(), Collections.emptyList(), Color.RED, 3, null, 10));
+    }
+
+    @Test
+    void toolCardMovesOnlyWithEnoughTokens() {
+        List<Dice> draftedDice = Collections.singletonList(new Dice(5, Color.YELLOW));
+        List<ToolCard> toolCards = Collections.singletonList(new GrozingPliers());
+
+        for (BotMove move : MoveSearch.generateMoves(patternCard.createPlacementState(), draftedDice, 0, toolCards))
+            assertNull(move.getToolCardName());
+
+        List<BotMove> moves = MoveSearch.generateMoves(patternCard.createPlacementState(), draftedDice, 1, toolCards);
+        assertTrue(moves.stream().anyMatch(move -> "GrozingPliers".equals(move.getToolCardName()) && move.getValue() == 6));
+        assertTrue(moves.stream().anyMatch(move -> "GrozingPliers".equals(move.getToolCardName()) && move.getValue() == 4));
+        assertTrue(moves.stream().noneMatch(move -> move.getRowIndex() == 0 && move.getColumnIndex() < 4));
+    }
+
+    @Test
+    void decisionStaysWithinTheBudget() {
+        List<Dice> draftedDice = Arrays.asList(new Dice(5, Color.BLUE), new Dice(5, Color.YELLOW), new Dice(1, Color.RED));
+        long start = System.nanoTime();
+
+        assertNotNull(moveSearch.chooseMove(patternCard, draftedDice, Collections.singletonList(new RowColorVariety()),
+                Color.RED, 3, null, 15));
+
+        assertTrue(System.nanoTime() - start < TimeUnit.MILLISECONDS.toNanos(20 * 4 + 200));
+    }
+
+    @Test
+    void choosesAPatternCard() {
+        int chosen = moveSearch.choosePatternCard(Arrays.asList(patternCard, patternCard), Color.RED);
+
+        assertTrue(chosen == 0 || chosen == 1);
+        assertEquals(17, MoveSearch.futurePlacements(2, 1));
+        assertEquals(0, MoveSearch.futurePlacements(10, 2));
+    }
+}
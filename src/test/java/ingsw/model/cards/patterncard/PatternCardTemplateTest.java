@@ -0,0 +1,70 @@
+package ingsw.model.cards.patterncard;
+
+import ingsw.model.Color;
+import ingsw.model.Dice;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PatternCardTemplateTest {
+
+    @Test
+    void templateIsSharedAndGridsAreNot() {
+        PatternCard first = PatternCardCatalog.create("Batllo");
+        PatternCard second = new Batllo();
+
+        assertSame(PatternCardCatalog.getTemplate("Batllo"), PatternCardCatalog.getTemplate(second.getName()));
+        assertNotSame(first.getGrid(), second.getGrid());
+
+        first.getGrid().get(0).get(0).insertDice(new Dice(3, Color.RED));
+        assertNull(second.getGrid().get(0).get(0).getDice());
+        assertTrue(PatternCardCatalog.create("Batllo").isGridEmpty());
+    }
+
+    @Test
+    void templateKeepsTheConstraints() {
+        PatternCardTemplate template = PatternCardCatalog.getTemplate("Batllo");
+
+        assertEquals("Batllo", template.getName());
+        assertEquals(5, template.getDifficulty());
+        assertEquals(6, template.getValue(0, 2));
+        assertNull(template.getColor(0, 2));
+        assertEquals(Color.BLUE, template.getColor(1, 2));
+        assertEquals(0, template.getValue(1, 2));
+        assertThrows(IllegalArgumentException.class, () -> PatternCardCatalog.getTemplate("Unknown"));
+    }
+
+    @Test
+    void firstPlacementMasksMatchTheGrid() {
+        for (PatternCard patternCard : PatternCardCatalog.createAll()) {
+            PatternCardTemplate template = PatternCardCatalog.getTemplate(patternCard.getName());
+            PlacementEngine engine = new PlacementEngine(patternCard.getGrid());
+            engine.loadDice();
+            for (Color color : Color.values()) {
+                if (color == Color.BLANK)
+                    continue;
+                for (int value = 1; value <= 6; value++) {
+                    assertEquals(engine.availableCells(color, value, true, true, true, false, 0),
+                            template.getFirstPlacementMask(color, value), patternCard.getName() + " " + color + value);
+                }
+            }
+        }
+    }
+
+    @Test
+    void sharedEngineMatchesTheGridEngine() {
+        PatternCard patternCard = new Virtus();
+        patternCard.getGrid().get(0).get(0).insertDice(new Dice(4, Color.GREEN));
+        PlacementEngine sharedEngine = new PlacementEngine(patternCard.getGrid(), PatternCardCatalog.getTemplate("Virtus"));
+        PlacementEngine gridEngine = new PlacementEngine(patternCard.getGrid());
+        sharedEngine.loadDice();
+        gridEngine.loadDice();
+
+        for (int value = 1; value <= 6; value++) {
+            assertEquals(gridEngine.availableCells(Color.YELLOW, value, true, true, true, false, 0),
+                    sharedEngine.availableCells(Color.YELLOW, value, true, true, true, false, 0));
+            assertEquals(gridEngine.availableCells(Color.PURPLE, value, false, true, true, false, 0),
+                    sharedEngine.availableCells(Color.PURPLE, value, false, true, true, false, 0));
+        }
+    }
+}
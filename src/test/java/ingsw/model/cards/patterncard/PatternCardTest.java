@@ -1216,4 +1216,38 @@ class PatternCardTest {
 
         assertEquals(16, patternCard.getNoOfEmptyBoxes());
     }
-}
\ No newline at end of file
+
+    @Test
+    void placementStateIsReusedAndReloaded() {
+        patternCard = new RipplesOfLight();
+        PlacementState placementState = patternCard.getPlacementState();
+        placementState.place(PlacementState.cell(0, 0), Color.BLUE, 5);
+        patternCard.getGrid().get(0).get(1).insertDice(new Dice(2, Color.RED));
+
+        assertSame(placementState, patternCard.getPlacementState());
+        assertEquals(1 << PlacementState.cell(0, 1), placementState.getOccupied());
+
+        patternCard.setGrid(new ArrayList<>(patternCard.getGrid()));
+        assertNotSame(placementState, patternCard.getPlacementState());
+    }
+
+    @Test
+    void placementStateLeavesTheGridAlone() {
+        patternCard = new RipplesOfLight();
+        patternCard.getGrid().get(0).get(0).insertDice(new Dice(5, Color.BLUE));
+        PlacementState placementState = patternCard.createPlacementState();
+        int cell = PlacementState.cell(1, 1);
+
+        assertEquals(1, placementState.getOccupied());
+        assertNotEquals(0, placementState.availableCells(Color.RED, 2) & (1 << cell));
+
+        placementState.place(cell, Color.RED, 2);
+        assertEquals(0, placementState.availableCells(Color.RED, 3) & (1 << PlacementState.cell(1, 2)));
+        assertNull(patternCard.getGrid().get(1).get(1).getDice());
+
+        placementState.lift(cell);
+        assertEquals(1, placementState.getOccupied());
+        assertEquals(1, PlacementState.row(cell));
+        assertEquals(1, PlacementState.column(cell));
+    }
+}
@@ -0,0 +1,92 @@
+package ingsw.model.cards.patterncard;
+
+import ingsw.model.Color;
+import ingsw.model.Dice;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PlacementEngineTest {
+
+    private PatternCard patternCard;
+    private PlacementEngine engine;
+
+    @BeforeEach
+    void setUp() {
+        patternCard = new Batllo();
+        engine = new PlacementEngine(patternCard.getGrid());
+    }
+
+    @Test
+    void expandOrthogonal() {
+        assertEquals(bit(0, 1) | bit(1, 0), PlacementEngine.expandOrthogonal(bit(0, 0)));
+        assertEquals(bit(0, 3) | bit(1, 4), PlacementEngine.expandOrthogonal(bit(0, 4)));
+        assertEquals(bit(1, 2) | bit(3, 2) | bit(2, 1) | bit(2, 3), PlacementEngine.expandOrthogonal(bit(2, 2)));
+    }
+
+    @Test
+    void expandAround() {
+        assertEquals(bit(0, 1) | bit(1, 0) | bit(1, 1), PlacementEngine.expandAround(bit(0, 0)));
+        assertEquals(bit(2, 3) | bit(2, 4) | bit(3, 3), PlacementEngine.expandAround(bit(3, 4)));
+        assertEquals(8, Integer.bitCount(PlacementEngine.expandAround(bit(1, 2))));
+        assertEquals(0, PlacementEngine.expandAround(bit(1, 2)) & bit(1, 2));
+    }
+
+    @Test
+    void availableCellsEmptyGrid() {
+        engine.loadDice();
+        int mask = engine.availableCells(Color.RED, 4, true, true, true, false, 0);
+
+        assertEquals(bit(0, 0) | bit(0, 1) | bit(0, 3) | bit(0, 4) | bit(1, 0) | bit(1, 4) | bit(3, 1) | bit(3, 2), mask);
+    }
+
+    @Test
+    void liftAndRestore() {
+        patternCard.getGrid().get(0).get(0).insertDice(new Dice(6, Color.BLUE));
+        engine.loadDice();
+        int occupied = engine.getOccupied();
+
+        engine.lift(PlacementEngine.cell(0, 0));
+        assertFalse(engine.isOccupied(PlacementEngine.cell(0, 0)));
+        assertEquals(0, engine.getOccupied());
+
+        engine.restore(PlacementEngine.cell(0, 0));
+        assertEquals(occupied, engine.getOccupied());
+        assertNotNull(patternCard.getGrid().get(0).get(0).getDice());
+    }
+
+    @Test
+    void availableCellsRespectsNeighbours() {
+        patternCard.getGrid().get(0).get(0).insertDice(new Dice(6, Color.BLUE));
+        engine.loadDice();
+
+        int blue = engine.availableCells(Color.BLUE, 2, false, false, true, false, 0);
+        int red = engine.availableCells(Color.RED, 2, false, false, true, false, 0);
+
+        assertEquals(bit(1, 1), blue);
+        assertEquals(bit(0, 1) | bit(1, 0) | bit(1, 1), red);
+    }
+
+    @Test
+    void toBooleanGrid() {
+        Boolean[][] booleanGrid = PlacementEngine.toBooleanGrid(bit(2, 3));
+
+        for (int i = 0; i < 4; i++) {
+            for (int j = 0; j < 5; j++) {
+                assertEquals(i == 2 && j == 3, booleanGrid[i][j]);
+            }
+        }
+    }
+
+    @Test
+    void engineIsRebuiltForNewGrid() {
+        assertTrue(engine.isBuiltFor(patternCard.getGrid()));
+        patternCard.setGrid(new Batllo().getGrid());
+        assertFalse(engine.isBuiltFor(patternCard.getGrid()));
+    }
+
+    private static int bit(int row, int column) {
+        return 1 << PlacementEngine.cell(row, column);
+    }
+}
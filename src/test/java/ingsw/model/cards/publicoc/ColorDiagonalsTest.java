@@ -161,6 +161,34 @@ class ColorDiagonalsTest {
         assertEquals(4,colorDiagonals.check(gridSeven));
     }
 
+    /**
+     * Only the dice diagonally adjacent to a dice of the same color count: the two red dice in the last
+     * rows. The recursive walk used before GridScore counted 4 dice in this grid.
+     */
+    @Test
+    void onlyDiceInADiagonalAreCounted() {
+        List<List<Box>> grid = new ArrayList<>(4);
+        for (int i = 0; i < 4; i++) {
+            grid.add(new ArrayList<>(5));
+            for (int j = 0; j < 5; j++)
+                grid.get(i).add(j, new Box(Color.BLANK));
+        }
+        grid.get(0).get(0).insertDice(new Dice(1, Color.BLUE));
+        grid.get(0).get(1).insertDice(new Dice(2, Color.BLUE));
+        grid.get(0).get(2).insertDice(new Dice(3, Color.RED));
+        grid.get(1).get(1).insertDice(new Dice(4, Color.GREEN));
+        grid.get(1).get(2).insertDice(new Dice(5, Color.RED));
+        grid.get(2).get(0).insertDice(new Dice(6, Color.BLUE));
+        grid.get(2).get(2).insertDice(new Dice(1, Color.RED));
+        grid.get(3).get(1).insertDice(new Dice(2, Color.GREEN));
+        grid.get(3).get(2).insertDice(new Dice(3, Color.RED));
+        grid.get(3).get(3).insertDice(new Dice(4, Color.RED));
+        grid.get(3).get(4).insertDice(new Dice(5, Color.BLUE));
+
+        assertEquals(2, colorDiagonals.check(grid));
+        assertEquals(10, colorDiagonals.getScore(grid));
+    }
+
     @Test
     void getScoreTest() {
         assertEquals(40,colorDiagonals.getScore(gridOne));
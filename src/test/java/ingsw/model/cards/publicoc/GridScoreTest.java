@@ -0,0 +1,55 @@
+package ingsw.model.cards.publicoc;
+
+import ingsw.model.Color;
+import ingsw.model.Dice;
+import ingsw.model.cards.patterncard.Batllo;
+import ingsw.model.cards.patterncard.Box;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GridScoreTest {
+    private static final Color[] COLORS = {Color.RED, Color.GREEN, Color.PURPLE, Color.BLUE, Color.YELLOW};
+
+    private List<List<Box>> grid;
+
+    @BeforeEach
+    void setUp() {
+        grid = new Batllo().getGrid();
+        for (int row = 0; row < 4; row++) {
+            for (int column = 0; column < 5; column++) {
+                if (row < 3 || column < 2)
+                    grid.get(row).get(column).insertDice(new Dice((row + column) % 6 + 1, COLORS[(row + 2 * column) % 5]));
+            }
+        }
+    }
+
+    @Test
+    void counters() {
+        GridScore gridScore = GridScore.of(grid);
+
+        assertEquals(3, gridScore.getNoOfEmptyBoxes());
+        assertEquals(4, gridScore.getNoOfDice(Color.RED));
+        assertEquals(0, gridScore.getNoOfDice(Color.BLANK));
+        assertEquals(2, gridScore.getNoOfDice(1));
+        assertEquals(4, gridScore.getNoOfDice(5));
+    }
+
+    @Test
+    void everyCardScoresFromTheSamePass() {
+        GridScore gridScore = GridScore.of(grid);
+        PublicObjectiveCard[] publicObjectiveCards = {new ColorDiagonals(), new ColorVariety(), new ColumnColorVariety(),
+                new ColumnShadeVariety(), new DeepShades(), new LightShades(), new MediumShades(), new RowColorVariety(),
+                new RowShadeVariety(), new ShadeVariety()};
+        int[] expectedChecks = {0, 3, 2, 2, 2, 2, 3, 3, 3, 2};
+
+        for (int i = 0; i < publicObjectiveCards.length; i++) {
+            assertEquals(expectedChecks[i], publicObjectiveCards[i].check(gridScore), publicObjectiveCards[i].getName());
+            assertEquals(publicObjectiveCards[i].check(grid), publicObjectiveCards[i].check(gridScore));
+            assertEquals(publicObjectiveCards[i].getPoints() * expectedChecks[i], publicObjectiveCards[i].getScore(gridScore));
+        }
+    }
+}
@@ -72,7 +72,10 @@ class CopperFoilBurnisherTest {
         when(playerMock.getPatternCard()).thenReturn(patternCardMock);
         when(gameManagerMock.getToolCardLock()).thenReturn(toolCardLock);
         when(patternCardMock.getNoOfDice()).thenReturn(3);
-        doNothing().when(copperFoilBurnisherSpy).waitForToolCardAction(gameManagerMock);
+        doAnswer(invocation -> {
+            ((Runnable) invocation.getArguments()[1]).run();
+            return null;
+        }).when(copperFoilBurnisherSpy).waitForToolCardAction(eq(gameManagerMock), any(Runnable.class));
 
         toolCardLock.set(true);
 
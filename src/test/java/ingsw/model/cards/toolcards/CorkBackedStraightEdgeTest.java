@@ -46,7 +46,10 @@ class CorkBackedStraightEdgeTest {
         when(playerMock.getUserObserver()).thenReturn(userObserverMock);
         when(playerMock.getPatternCard()).thenReturn(patternCardMock);
         when(gameManagerMock.getToolCardLock()).thenReturn(toolCardLock);
-        doNothing().when(corkBackedStraightEdgeSpy).waitForToolCardAction(gameManagerMock);
+        doAnswer(invocation -> {
+            ((Runnable) invocation.getArguments()[1]).run();
+            return null;
+        }).when(corkBackedStraightEdgeSpy).waitForToolCardAction(eq(gameManagerMock), any(Runnable.class));
 
 
         toolCardLock.set(true);
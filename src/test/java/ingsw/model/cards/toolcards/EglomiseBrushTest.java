@@ -51,8 +51,11 @@ class EglomiseBrushTest {
         when(playerMock.getPatternCard()).thenReturn(patternCardMock);
         when(playerMock.getPlayerUsername()).thenReturn("username");
 
-        //Threads has not to go in wait
-        doNothing().when(eglomiseBrushSpy).waitForToolCardAction(gameManagerMock);
+        //The next step of the tool card runs at once
+        doAnswer(invocation -> {
+            ((Runnable) invocation.getArguments()[1]).run();
+            return null;
+        }).when(eglomiseBrushSpy).waitForToolCardAction(eq(gameManagerMock), any(Runnable.class));
 
         //execution method mock
         when(playerMock.getPatternCard().getNoOfDice()).thenReturn(2);
@@ -62,7 +65,7 @@ class EglomiseBrushTest {
 
         eglomiseBrushSpy.action(gameManagerMock);
 
-        verify(eglomiseBrushSpy, times(1)).waitForToolCardAction(gameManagerMock);
+        verify(eglomiseBrushSpy, times(1)).waitForToolCardAction(eq(gameManagerMock), any(Runnable.class));
         verify(gameManagerMock, times(1)).eglomiseBrushResponse();
         verify(gameManagerMock.getCurrentRound().getCurrentPlayer(), times(1)).getUserObserver();
         verify(gameManagerMock.getCurrentRound().getCurrentPlayer(), times(1)).decreaseFavorTokens(eglomiseBrushSpy.getPrice());
@@ -89,8 +92,11 @@ class EglomiseBrushTest {
         when(playerMock.getPatternCard()).thenReturn(patternCardMock);
         when(playerMock.getPlayerUsername()).thenReturn("username");
 
-        //Threads has not to go in wait
-        doNothing().when(eglomiseBrushSpy).waitForToolCardAction(gameManagerMock);
+        //The next step of the tool card runs at once
+        doAnswer(invocation -> {
+            ((Runnable) invocation.getArguments()[1]).run();
+            return null;
+        }).when(eglomiseBrushSpy).waitForToolCardAction(eq(gameManagerMock), any(Runnable.class));
 
 
         //execution method mock
@@ -101,7 +107,7 @@ class EglomiseBrushTest {
         toolcardLock.set(false);
 
         eglomiseBrushSpy.action(gameManagerMock);
-        verify(eglomiseBrushSpy, times(1)).waitForToolCardAction(gameManagerMock);
+        verify(eglomiseBrushSpy, times(1)).waitForToolCardAction(eq(gameManagerMock), any(Runnable.class));
         verify(gameManagerMock.getCurrentRound().getCurrentPlayer(), times(1)).getUserObserver();
 
     }
@@ -124,8 +130,11 @@ class EglomiseBrushTest {
         when(playerMock.getPatternCard()).thenReturn(patternCardMock);
         when(playerMock.getPlayerUsername()).thenReturn("username");
 
-        //Threads has not to go in wait
-        doNothing().when(eglomiseBrushSpy).waitForToolCardAction(gameManagerMock);
+        //The next step of the tool card runs at once
+        doAnswer(invocation -> {
+            ((Runnable) invocation.getArguments()[1]).run();
+            return null;
+        }).when(eglomiseBrushSpy).waitForToolCardAction(eq(gameManagerMock), any(Runnable.class));
 
         //execution method mock
         when(playerMock.getPatternCard().getNoOfDice()).thenReturn(0);
@@ -54,8 +54,11 @@ class FluxBrushTest {
         when(playerMock.getPatternCard()).thenReturn(patternCardMock);
         when(playerMock.getPlayerUsername()).thenReturn("username");
 
-        //Threads has not to go in wait
-        doNothing().when(fluxBrushSpy).waitForToolCardAction(gameManagerMock);
+        //The next step of the tool card runs at once
+        doAnswer(invocation -> {
+            ((Runnable) invocation.getArguments()[1]).run();
+            return null;
+        }).when(fluxBrushSpy).waitForToolCardAction(eq(gameManagerMock), any(Runnable.class));
 
         //Set if (gameManager.getToolcardLock().get()) return true, continue the toolcard method
         toolcardLock.set(true);
@@ -63,7 +66,7 @@ class FluxBrushTest {
         fluxBrushSpy.action(gameManagerMock);
 
         verify(gameManagerMock.getCurrentRound().getCurrentPlayer(), times(1)).getUserObserver();
-        verify(fluxBrushSpy, times(1)).waitForToolCardAction(gameManagerMock);
+        verify(fluxBrushSpy, times(1)).waitForToolCardAction(eq(gameManagerMock), any(Runnable.class));
         verify(gameManagerMock, times(1)).fluxBrushResponse();
         verify(gameManagerMock.getCurrentRound().getCurrentPlayer(), times(1)).decreaseFavorTokens(fluxBrushSpy.getPrice());
         verify(gameManagerMock.getCurrentRound(), times(1)).toolCardMoveDone();
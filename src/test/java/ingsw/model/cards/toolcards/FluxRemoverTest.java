@@ -54,8 +54,11 @@ class FluxRemoverTest {
         when(playerMock.getPatternCard()).thenReturn(patternCardMock);
         when(playerMock.getPlayerUsername()).thenReturn("username");
 
-        //Threads has not to go in wait
-        doNothing().when(fluxRemoverSpy).waitForToolCardAction(gameManagerMock);
+        //The next step of the tool card runs at once
+        doAnswer(invocation -> {
+            ((Runnable) invocation.getArguments()[1]).run();
+            return null;
+        }).when(fluxRemoverSpy).waitForToolCardAction(eq(gameManagerMock), any(Runnable.class));
 
         //Set if (gameManager.getToolcardLock().get()) return true, continue the toolcard method
         toolcardLock.set(true);
@@ -63,7 +66,7 @@ class FluxRemoverTest {
         fluxRemoverSpy.action(gameManagerMock);
 
         verify(gameManagerMock.getCurrentRound().getCurrentPlayer(), times(1)).getUserObserver();
-        verify(fluxRemoverSpy, times(1)).waitForToolCardAction(gameManagerMock);
+        verify(fluxRemoverSpy, times(1)).waitForToolCardAction(eq(gameManagerMock), any(Runnable.class));
         verify(gameManagerMock, times(1)).fluxRemoverResponse();
         verify(gameManagerMock.getCurrentRound().getCurrentPlayer(), times(1)).decreaseFavorTokens(fluxRemover.getPrice());
         verify(gameManagerMock.getCurrentRound(), times(1)).toolCardMoveDone();
@@ -88,8 +91,11 @@ class FluxRemoverTest {
         when(playerMock.getPatternCard()).thenReturn(patternCardMock);
         when(playerMock.getPlayerUsername()).thenReturn("username");
 
-        //Threads has not to go in wait
-        doNothing().when(fluxRemoverSpy).waitForToolCardAction(gameManagerMock);
+        //The next step of the tool card runs at once
+        doAnswer(invocation -> {
+            ((Runnable) invocation.getArguments()[1]).run();
+            return null;
+        }).when(fluxRemoverSpy).waitForToolCardAction(eq(gameManagerMock), any(Runnable.class));
 
         //Set if (gameManager.getToolcardLock().get()) return true, continue the toolcard method
         toolcardLock.set(false);
@@ -97,7 +103,7 @@ class FluxRemoverTest {
         fluxRemoverSpy.action(gameManagerMock);
 
         verify(gameManagerMock.getCurrentRound().getCurrentPlayer(), times(1)).getUserObserver();
-        verify(fluxRemoverSpy, times(1)).waitForToolCardAction(gameManagerMock);
+        verify(fluxRemoverSpy, times(1)).waitForToolCardAction(eq(gameManagerMock), any(Runnable.class));
         assertFalse(byteArrayOutputStream.toString().contains("end FluxRemover"));
     }
 
@@ -50,8 +50,11 @@ class GlazingHammerTest {
         when(playerMock.getPatternCard()).thenReturn(patternCardMock);
         when(playerMock.getPlayerUsername()).thenReturn("username");
 
-        //Threads has not to go in wait
-        doNothing().when(glazingHammerSpy).waitForToolCardAction(gameManagerMock);
+        //The next step of the tool card runs at once
+        doAnswer(invocation -> {
+            ((Runnable) invocation.getArguments()[1]).run();
+            return null;
+        }).when(glazingHammerSpy).waitForToolCardAction(eq(gameManagerMock), any(Runnable.class));
 
         //execute the normal toolcard method
         when(gameManagerMock.getTurnInRound()).thenReturn(2);
@@ -80,8 +83,11 @@ class GlazingHammerTest {
         when(playerMock.getPatternCard()).thenReturn(patternCardMock);
         when(playerMock.getPlayerUsername()).thenReturn("username");
 
-        //Threads has not to go in wait
-        doNothing().when(glazingHammerSpy).waitForToolCardAction(gameManagerMock);
+        //The next step of the tool card runs at once
+        doAnswer(invocation -> {
+            ((Runnable) invocation.getArguments()[1]).run();
+            return null;
+        }).when(glazingHammerSpy).waitForToolCardAction(eq(gameManagerMock), any(Runnable.class));
 
         //execute the avoid toolcard
         when(gameManagerMock.getTurnInRound()).thenReturn(1);
@@ -49,8 +49,11 @@ class GrindingStoneTest {
         when(playerMock.getPatternCard()).thenReturn(patternCardMock);
         when(playerMock.getPlayerUsername()).thenReturn("username");
 
-        //Threads has not to go in wait
-        doNothing().when(grindingStoneSpy).waitForToolCardAction(gameManagerMock);
+        //The next step of the tool card runs at once
+        doAnswer(invocation -> {
+            ((Runnable) invocation.getArguments()[1]).run();
+            return null;
+        }).when(grindingStoneSpy).waitForToolCardAction(eq(gameManagerMock), any(Runnable.class));
 
         //Set if (gameManager.getToolcardLock().get()) return true, continue the toolcard method
         toolcardLock.set(true);
@@ -58,7 +61,7 @@ class GrindingStoneTest {
         grindingStoneSpy.action(gameManagerMock);
 
         verify(gameManagerMock.getCurrentRound().getCurrentPlayer(), times(1)).getUserObserver();
-        verify(grindingStoneSpy, times(1)).waitForToolCardAction(gameManagerMock);
+        verify(grindingStoneSpy, times(1)).waitForToolCardAction(eq(gameManagerMock), any(Runnable.class));
         verify(gameManagerMock, times(1)).grindingStoneResponse();
         verify(gameManagerMock.getCurrentRound().getCurrentPlayer(), times(1)).decreaseFavorTokens(grindingStoneSpy.getPrice());
         verify(gameManagerMock.getCurrentRound(), times(1)).toolCardMoveDone();
@@ -82,8 +85,11 @@ class GrindingStoneTest {
         when(playerMock.getPatternCard()).thenReturn(patternCardMock);
         when(playerMock.getPlayerUsername()).thenReturn("username");
 
-        //Threads has not to go in wait
-        doNothing().when(grindingStoneSpy).waitForToolCardAction(gameManagerMock);
+        //The next step of the tool card runs at once
+        doAnswer(invocation -> {
+            ((Runnable) invocation.getArguments()[1]).run();
+            return null;
+        }).when(grindingStoneSpy).waitForToolCardAction(eq(gameManagerMock), any(Runnable.class));
 
         //Set if (gameManager.getToolcardLock().get()) return true, continue the toolcard method
         toolcardLock.set(false);
@@ -91,6 +97,6 @@ class GrindingStoneTest {
         grindingStoneSpy.action(gameManagerMock);
 
         verify(gameManagerMock.getCurrentRound().getCurrentPlayer(), times(1)).getUserObserver();
-        verify(grindingStoneSpy, times(1)).waitForToolCardAction(gameManagerMock);
+        verify(grindingStoneSpy, times(1)).waitForToolCardAction(eq(gameManagerMock), any(Runnable.class));
     }
 }
\ No newline at end of file
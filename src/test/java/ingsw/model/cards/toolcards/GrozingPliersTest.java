@@ -48,7 +48,10 @@ class GrozingPliersTest {
         when(roundMock.getCurrentPlayer()).thenReturn(playerMock);
         when(playerMock.getUserObserver()).thenReturn(userObserverMock);
         when(playerMock.getPatternCard()).thenReturn(patternCardMock);
-        doNothing().when(grozingPliersSpy).waitForToolCardAction(gameManagerMock);
+        doAnswer(invocation -> {
+            ((Runnable) invocation.getArguments()[1]).run();
+            return null;
+        }).when(grozingPliersSpy).waitForToolCardAction(eq(gameManagerMock), any(Runnable.class));
 
         when(gameManagerMock.getToolCardLock()).thenReturn(toolcardLock);
         when(gameManagerMock.getDraftedDice()).thenReturn(draftedDice);
@@ -62,7 +65,7 @@ class GrozingPliersTest {
         assertTrue(allOne);
         assertFalse(allSix);
 
-        verify(grozingPliersSpy, times(1)).waitForToolCardAction(gameManagerMock);
+        verify(grozingPliersSpy, times(1)).waitForToolCardAction(eq(gameManagerMock), any(Runnable.class));
         verify(gameManagerMock.getCurrentRound().getCurrentPlayer(), times(1)).getUserObserver();
     }
 
@@ -83,7 +86,10 @@ class GrozingPliersTest {
         when(roundMock.getCurrentPlayer()).thenReturn(playerMock);
         when(playerMock.getUserObserver()).thenReturn(userObserverMock);
         when(playerMock.getPatternCard()).thenReturn(patternCardMock);
-        doNothing().when(grozingPliersSpy).waitForToolCardAction(gameManagerMock);
+        doAnswer(invocation -> {
+            ((Runnable) invocation.getArguments()[1]).run();
+            return null;
+        }).when(grozingPliersSpy).waitForToolCardAction(eq(gameManagerMock), any(Runnable.class));
 
         when(gameManagerMock.getToolCardLock()).thenReturn(toolcardLock);
         when(gameManagerMock.getDraftedDice()).thenReturn(draftedDice);
@@ -97,7 +103,7 @@ class GrozingPliersTest {
         assertFalse(allOne);
         assertTrue(allSix);
 
-        verify(grozingPliersSpy, times(1)).waitForToolCardAction(gameManagerMock);
+        verify(grozingPliersSpy, times(1)).waitForToolCardAction(eq(gameManagerMock), any(Runnable.class));
         verify(gameManagerMock.getCurrentRound().getCurrentPlayer(), times(1)).getUserObserver();
     }
 
@@ -118,7 +124,10 @@ class GrozingPliersTest {
         when(roundMock.getCurrentPlayer()).thenReturn(playerMock);
         when(playerMock.getUserObserver()).thenReturn(userObserverMock);
         when(playerMock.getPatternCard()).thenReturn(patternCardMock);
-        doNothing().when(grozingPliersSpy).waitForToolCardAction(gameManagerMock);
+        doAnswer(invocation -> {
+            ((Runnable) invocation.getArguments()[1]).run();
+            return null;
+        }).when(grozingPliersSpy).waitForToolCardAction(eq(gameManagerMock), any(Runnable.class));
 
         when(gameManagerMock.getToolCardLock()).thenReturn(toolcardLock);
         when(gameManagerMock.getDraftedDice()).thenReturn(draftedDice);
@@ -132,7 +141,7 @@ class GrozingPliersTest {
         assertFalse(allOne);
         assertFalse(allSix);
 
-        verify(grozingPliersSpy, times(1)).waitForToolCardAction(gameManagerMock);
+        verify(grozingPliersSpy, times(1)).waitForToolCardAction(eq(gameManagerMock), any(Runnable.class));
         verify(gameManagerMock.getCurrentRound().getCurrentPlayer(), times(1)).getUserObserver();
         verify(gameManagerMock, times(1)).grozingPliersResponse();
         verify(gameManagerMock.getCurrentRound().getCurrentPlayer(), times(1)).decreaseFavorTokens(grozingPliersSpy.getPrice());
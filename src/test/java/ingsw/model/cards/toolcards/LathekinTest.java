@@ -89,7 +89,10 @@ class LathekinTest {
         when(playerMock.getUserObserver()).thenReturn(userObserverMock);
         when(playerMock.getPatternCard()).thenReturn(patternCardMock);
         when(playerMock.getPlayerUsername()).thenReturn("username");
-        doNothing().when(lathekinSpy).waitForToolCardAction(gameManagerMock);
+        doAnswer(invocation -> {
+            ((Runnable) invocation.getArguments()[1]).run();
+            return null;
+        }).when(lathekinSpy).waitForToolCardAction(eq(gameManagerMock), any(Runnable.class));
 
         //Set if (!gameManager.getToolcardLock().get()) return true, ends the toolcard method
         when(gameManagerMock.getToolCardLock()).thenReturn(new AtomicBoolean(false));
@@ -100,8 +103,8 @@ class LathekinTest {
 
         //UserObserver and waitForToolcardAction called only one time
         verify(gameManagerMock.getCurrentRound().getCurrentPlayer(), times(1)).getUserObserver();
-        verify(lathekinSpy, times(1)).waitForToolCardAction(gameManagerMock);
-        assertFalse(byteArrayOutputStream.toString().contains("thread is now awake 1"));
+        verify(lathekinSpy, times(1)).waitForToolCardAction(eq(gameManagerMock), any(Runnable.class));
+        assertFalse(byteArrayOutputStream.toString().contains("first move received"));
 
     }
 
@@ -123,7 +126,10 @@ class LathekinTest {
         when(playerMock.getUserObserver()).thenReturn(userObserverMock);
         when(playerMock.getPatternCard()).thenReturn(patternCardMock);
         when(playerMock.getPlayerUsername()).thenReturn("username");
-        doNothing().when(lathekinSpy).waitForToolCardAction(gameManagerMock);
+        doAnswer(invocation -> {
+            ((Runnable) invocation.getArguments()[1]).run();
+            return null;
+        }).when(lathekinSpy).waitForToolCardAction(eq(gameManagerMock), any(Runnable.class));
 
         //execution method mock
         when(playerMock.getPatternCard().getNoOfDice()).thenReturn(2);
@@ -140,13 +146,12 @@ class LathekinTest {
         lathekinSpy.action(gameManagerMock);
 
 
-        verify(lathekinSpy, times(1)).waitForToolCardAction(gameManagerMock);
+        verify(lathekinSpy, times(1)).waitForToolCardAction(eq(gameManagerMock), any(Runnable.class));
         verify(gameManagerMock.getCurrentRound().getCurrentPlayer(), times(1)).getUserObserver();
         verify(gameManagerMock.getCurrentRound().getCurrentPlayer(), times(1)).decreaseFavorTokens(lathekinSpy.getPrice());
         verify(gameManagerMock, times(1)).lathekinResponse();
         assertFalse(gameManagerMock.getToolCardLock().get());
-        assertNull(lathekinSpy.getNewGrid());
-        assertNull(lathekinSpy.getOldGrid());
+        assertFalse(lathekinSpy.isFirstMoveDone());
         assertTrue(byteArrayOutputStream.toString().contains("Double move done"));
         assertFalse(byteArrayOutputStream.toString().contains("end Lathekin"));
 
@@ -171,8 +176,11 @@ class LathekinTest {
         when(playerMock.getPatternCard()).thenReturn(patternCardMock);
         when(playerMock.getPlayerUsername()).thenReturn("username");
 
-        //Threads has not to go in wait
-        doNothing().when(lathekinSpy).waitForToolCardAction(gameManagerMock);
+        //The next step of the tool card runs at once
+        doAnswer(invocation -> {
+            ((Runnable) invocation.getArguments()[1]).run();
+            return null;
+        }).when(lathekinSpy).waitForToolCardAction(eq(gameManagerMock), any(Runnable.class));
 
         //execution method mock
         when(playerMock.getPatternCard().getNoOfDice()).thenReturn(2);
@@ -189,14 +197,13 @@ class LathekinTest {
         lathekinSpy.action(gameManagerMock);
 
 
-        verify(lathekinSpy, times(2)).waitForToolCardAction(gameManagerMock);
+        verify(lathekinSpy, times(2)).waitForToolCardAction(eq(gameManagerMock), any(Runnable.class));
         verify(gameManagerMock.getCurrentRound().getCurrentPlayer(), times(1)).getUserObserver();
         verify(gameManagerMock.getCurrentRound().getCurrentPlayer(), times(1)).decreaseFavorTokens(lathekinSpy.getPrice());
         verify(gameManagerMock, times(1)).lathekinResponse();
         verify(gameManagerMock.getCurrentRound(), times(1)).toolCardMoveDone();
         assertFalse(gameManagerMock.getToolCardLock().get());
-        assertNull(lathekinSpy.getNewGrid());
-        assertNull(lathekinSpy.getOldGrid());
+        assertFalse(lathekinSpy.isFirstMoveDone());
         assertTrue(byteArrayOutputStream.toString().contains("end Lathekin"));
     }
 }
\ No newline at end of file
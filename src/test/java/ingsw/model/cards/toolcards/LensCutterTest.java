@@ -73,7 +73,10 @@ class LensCutterTest {
         when(playerMock.getUserObserver()).thenReturn(userObserverMock);
         when(playerMock.getPatternCard()).thenReturn(patternCardMock);
         when(playerMock.getPlayerUsername()).thenReturn("username");
-        doNothing().when(lensCutterSpy).waitForToolCardAction(gameManagerMock);
+        doAnswer(invocation -> {
+            ((Runnable) invocation.getArguments()[1]).run();
+            return null;
+        }).when(lensCutterSpy).waitForToolCardAction(eq(gameManagerMock), any(Runnable.class));
 
         when(gameManagerMock.getNoOfCurrentRound()).thenReturn(2);
 
@@ -85,7 +88,7 @@ class LensCutterTest {
         //UserObserver and waitForToolcardAction called only one time
         verify(gameManagerMock.getCurrentRound().getCurrentPlayer(), times(1)).decreaseFavorTokens(lensCutterSpy.getPrice());
         verify(gameManagerMock, times(1)).lensCutterResponse();
-        verify(lensCutterSpy, times(1)).waitForToolCardAction(gameManagerMock);
+        verify(lensCutterSpy, times(1)).waitForToolCardAction(eq(gameManagerMock), any(Runnable.class));
         verify(gameManagerMock.getCurrentRound().getCurrentPlayer(), times(1)).getUserObserver();
         assertFalse(gameManagerMock.getToolCardLock().get());
     }
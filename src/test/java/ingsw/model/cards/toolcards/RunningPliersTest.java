@@ -75,7 +75,10 @@ class RunningPliersTest {
         when(playerMock.getUserObserver()).thenReturn(userObserverMock);
         when(playerMock.getPatternCard()).thenReturn(patternCardMock);
         when(playerMock.getPlayerUsername()).thenReturn("username");
-        doNothing().when(runningPliersSpy).waitForToolCardAction(gameManagerMock);
+        doAnswer(invocation -> {
+            ((Runnable) invocation.getArguments()[1]).run();
+            return null;
+        }).when(runningPliersSpy).waitForToolCardAction(eq(gameManagerMock), any(Runnable.class));
 
         when(gameManagerMock.getTurnInRound()).thenReturn(1);
         toolCardLock.set(true);
@@ -52,8 +52,11 @@ class TapWheelTest {
         when(playerMock.getPatternCard()).thenReturn(patternCardMock);
         when(playerMock.getPlayerUsername()).thenReturn("username");
 
-        //Threads has not to go in wait
-        doNothing().when(tapWheelSpy).waitForToolCardAction(gameManagerMock);
+        //The next step of the tool card runs at once
+        doAnswer(invocation -> {
+            ((Runnable) invocation.getArguments()[1]).run();
+            return null;
+        }).when(tapWheelSpy).waitForToolCardAction(eq(gameManagerMock), any(Runnable.class));
 
         //execution method mock
         when(playerMock.getPatternCard().isGridEmpty()).thenReturn(false);
@@ -77,7 +80,7 @@ class TapWheelTest {
         tapWheelSpy.action(gameManagerMock);
 
 
-        verify(tapWheelSpy, times(2)).waitForToolCardAction(gameManagerMock);
+        verify(tapWheelSpy, times(2)).waitForToolCardAction(eq(gameManagerMock), any(Runnable.class));
         verify(gameManagerMock.getCurrentRound().getCurrentPlayer(), times(1)).getUserObserver();
         verify(gameManagerMock.getCurrentRound().getCurrentPlayer(), times(1)).decreaseFavorTokens(tapWheelSpy.getPrice());
         assertFalse(gameManagerMock.getToolCardLock().get());
@@ -100,8 +103,11 @@ class TapWheelTest {
         when(playerMock.getPatternCard()).thenReturn(patternCardMock);
         when(playerMock.getPlayerUsername()).thenReturn("username");
 
-        //Threads has not to go in wait
-        doNothing().when(tapWheelSpy).waitForToolCardAction(gameManagerMock);
+        //The next step of the tool card runs at once
+        doAnswer(invocation -> {
+            ((Runnable) invocation.getArguments()[1]).run();
+            return null;
+        }).when(tapWheelSpy).waitForToolCardAction(eq(gameManagerMock), any(Runnable.class));
 
         //execution method mock
         when(playerMock.getPatternCard().isGridEmpty()).thenReturn(false);
@@ -148,8 +154,11 @@ class TapWheelTest {
         when(playerMock.getPatternCard()).thenReturn(patternCardMock);
         when(playerMock.getPlayerUsername()).thenReturn("username");
 
-        //Threads has not to go in wait
-        doNothing().when(tapWheelSpy).waitForToolCardAction(gameManagerMock);
+        //The next step of the tool card runs at once
+        doAnswer(invocation -> {
+            ((Runnable) invocation.getArguments()[1]).run();
+            return null;
+        }).when(tapWheelSpy).waitForToolCardAction(eq(gameManagerMock), any(Runnable.class));
 
         //execution method mock
         when(playerMock.getPatternCard().isGridEmpty()).thenReturn(false);
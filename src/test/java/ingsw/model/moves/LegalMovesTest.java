@@ -0,0 +1,145 @@
+package ingsw.model.moves;
+
+import ingsw.model.Color;
+import ingsw.model.Dice;
+import ingsw.model.cards.patterncard.Batllo;
+import ingsw.model.cards.patterncard.PatternCard;
+import ingsw.model.cards.patterncard.PlacementState;
+import ingsw.model.cards.toolcards.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LegalMovesTest {
+    private PatternCard patternCard;
+    private List<Dice> draftedDice;
+    private List<List<Dice>> roundTrack;
+    private List<ToolCard> toolCards;
+
+    @BeforeEach
+    void setUp() {
+        patternCard = new Batllo();
+        patternCard.getGrid().get(0).get(0).insertDice(new Dice(2, Color.BLUE));
+        patternCard.getGrid().get(1).get(1).insertDice(new Dice(5, Color.RED));
+        patternCard.getGrid().get(1).get(2).insertDice(new Dice(3, Color.GREEN));
+
+        draftedDice = new ArrayList<>(Arrays.asList(new Dice(4, Color.YELLOW), new Dice(1, Color.PURPLE),
+                new Dice(4, Color.YELLOW), new Dice(6, Color.BLUE)));
+        roundTrack = Collections.singletonList(Arrays.asList(new Dice(2, Color.GREEN), new Dice(6, Color.RED)));
+        toolCards = Arrays.asList(new CopperFoilBurnisher(), new CorkBackedStraightEdge(), new EglomiseBrush(),
+                new FluxBrush(), new FluxRemover(), new GlazingHammer(), new GrindingStone(), new GrozingPliers(),
+                new Lathekin(), new LensCutter(), new RunningPliers(), new TapWheel());
+    }
+
+    private Set<Integer> generate(LegalMoves legalMoves) {
+        int[] moves = new int[LegalMoves.MAX_MOVES];
+        int count = legalMoves.generate(moves);
+        Set<Integer> codes = new HashSet<>();
+        for (int i = 0; i < count; i++) {
+            assertTrue(codes.add(moves[i]), MoveCode.toString(moves[i]));
+        }
+        return codes;
+    }
+
+    @Test
+    void checkMatchesTheGeneratedMoves() {
+        LegalMoves legalMoves = new LegalMoves(patternCard.createPlacementState(), draftedDice, roundTrack, toolCards, 3, 1);
+        Set<Integer> codes = generate(legalMoves);
+
+        for (int action = 0; action < MoveCode.NO_OF_ACTIONS; action++) {
+            final int expectedAction = action;
+            assertTrue(action == MoveCode.GLAZING_HAMMER || codes.stream().anyMatch(code -> MoveCode.action(code) == expectedAction),
+                    MoveCode.toolCardName(action));
+        }
+        for (int code = 0; code < 1 << 19; code++) {
+            assertEquals(codes.contains(code), legalMoves.isLegal(code), MoveCode.toString(code));
+        }
+        assertFalse(legalMoves.isLegal(MoveCode.NONE));
+    }
+
+    @Test
+    void placementsMatchTheAvailablePositions() {
+        PlacementState state = patternCard.createPlacementState();
+        Map<String, Boolean[][]> availablePositions = patternCard.computeAvailablePositionsDraftedDice(draftedDice);
+        LegalMoves legalMoves = new LegalMoves(state, draftedDice, roundTrack, toolCards, 3, 1);
+
+        for (int index = 0; index < draftedDice.size(); index++) {
+            Dice dice = draftedDice.get(index);
+            for (int row = 0; row < 4; row++) {
+                for (int column = 0; column < 5; column++) {
+                    int code = MoveCode.placement(index, dice.getFaceUpValue(), PlacementState.cell(row, column));
+                    assertEquals(availablePositions.get(dice.toString())[row][column], legalMoves.isLegal(code));
+                }
+            }
+        }
+        assertFalse(legalMoves.isLegal(MoveCode.placement(0, 5, PlacementState.cell(3, 4))));
+        assertFalse(legalMoves.isLegal(MoveCode.placement(draftedDice.size(), 4, PlacementState.cell(3, 4))));
+    }
+
+    @Test
+    void toolCardsNeedTheFavourTokens() {
+        Set<Integer> codes = generate(new LegalMoves(patternCard.createPlacementState(), draftedDice, roundTrack, toolCards, 0, 1));
+
+        assertFalse(codes.isEmpty());
+        assertTrue(codes.stream().allMatch(code -> MoveCode.action(code) == MoveCode.PLACE));
+    }
+
+    @Test
+    void movesAlreadyMadeInTheTurnAreNotLegal() {
+        LegalMoves afterPlacement = new LegalMoves(patternCard.createPlacementState(), draftedDice, roundTrack, toolCards, 3, 1, true, false);
+        LegalMoves afterToolCard = new LegalMoves(patternCard.createPlacementState(), draftedDice, roundTrack, toolCards, 3, 1, false, true);
+        int placement = generate(new LegalMoves(patternCard.createPlacementState(), draftedDice, roundTrack, toolCards, 0, 1))
+                .iterator().next();
+        int lensCutter = MoveCode.of(MoveCode.LENS_CUTTER, 3, 0, 1);
+
+        assertFalse(afterPlacement.isLegal(placement));
+        assertTrue(afterPlacement.isLegal(lensCutter));
+        assertTrue(afterToolCard.isLegal(placement));
+        assertFalse(afterToolCard.isLegal(lensCutter));
+
+        assertTrue(generate(afterPlacement).stream().noneMatch(code -> MoveCode.action(code) == MoveCode.PLACE));
+        assertTrue(generate(afterToolCard).stream().allMatch(code -> MoveCode.action(code) == MoveCode.PLACE));
+        assertTrue(generate(new LegalMoves(patternCard.createPlacementState(), draftedDice, roundTrack, toolCards, 3, 1, true, true)).isEmpty());
+    }
+
+    @Test
+    void aToolCardIsStartedOnlyOnceInTheTurn() {
+        LegalMoves legalMoves = new LegalMoves(patternCard.createPlacementState(), draftedDice, roundTrack, toolCards, 3, 1);
+        LegalMoves afterToolCard = new LegalMoves(patternCard.createPlacementState(), draftedDice, roundTrack, toolCards, 3, 1, false, true);
+        LegalMoves withoutTokens = new LegalMoves(patternCard.createPlacementState(), draftedDice, roundTrack, toolCards, 0, 1);
+        int grozingPliers = MoveCode.toolCardStart(MoveCode.GROZING_PLIERS);
+
+        assertTrue(legalMoves.isLegal(grozingPliers));
+        assertTrue(legalMoves.isLegal(MoveCode.toolCardStart(MoveCode.RUNNING_PLIERS)));
+        assertFalse(legalMoves.isLegal(MoveCode.toolCardStart(MoveCode.GLAZING_HAMMER)));
+        assertFalse(afterToolCard.isLegal(grozingPliers));
+        assertFalse(withoutTokens.isLegal(grozingPliers));
+        assertFalse(legalMoves.isLegal(MoveCode.toolCardStep(MoveCode.GROZING_PLIERS)));
+        assertFalse(generate(legalMoves).contains(grozingPliers));
+    }
+
+    @Test
+    void toolCardsFollowTheirRules() {
+        LegalMoves firstTurn = new LegalMoves(patternCard.createPlacementState(), draftedDice, roundTrack, toolCards, 3, 1);
+        LegalMoves secondTurn = new LegalMoves(patternCard.createPlacementState(), draftedDice, roundTrack, toolCards, 3, 2);
+        int glazingHammer = MoveCode.of(MoveCode.GLAZING_HAMMER, 0, 0, 0);
+        int runningPliers = MoveCode.of(MoveCode.RUNNING_PLIERS, 0, 0, 0);
+
+        assertFalse(firstTurn.isLegal(glazingHammer));
+        assertTrue(secondTurn.isLegal(glazingHammer));
+        assertTrue(firstTurn.isLegal(runningPliers));
+        assertFalse(secondTurn.isLegal(runningPliers));
+
+        assertFalse(firstTurn.isLegal(MoveCode.of(MoveCode.GROZING_PLIERS, 1, 6, PlacementState.cell(0, 1))));
+        assertTrue(firstTurn.isLegal(MoveCode.of(MoveCode.LENS_CUTTER, 3, 0, 1)));
+        assertFalse(firstTurn.isLegal(MoveCode.of(MoveCode.LENS_CUTTER, 3, 0, 2)));
+
+        for (int code : generate(firstTurn)) {
+            if (MoveCode.action(code) == MoveCode.TAP_WHEEL)
+                assertNotEquals(Color.BLUE, patternCard.getGrid().get(MoveCode.source(code) / 5).get(MoveCode.source(code) % 5).getDice().getDiceColor());
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package ingsw.model.moves;
+
+import ingsw.model.cards.toolcards.*;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MoveCodeTest {
+
+    @Test
+    void fieldsAreDecoded() {
+        int code = MoveCode.of(MoveCode.LATHEKIN, 19, 6, 127);
+
+        assertEquals(MoveCode.LATHEKIN, MoveCode.action(code));
+        assertEquals(19, MoveCode.source(code));
+        assertEquals(6, MoveCode.value(code));
+        assertEquals(127, MoveCode.target(code));
+        assertEquals(MoveCode.of(MoveCode.PLACE, 2, 3, 4), MoveCode.placement(2, 3, 4));
+        assertTrue(MoveCode.placement(0, 0, 0) >= 0);
+    }
+
+    @Test
+    void fieldsOutOfRangeAreNotMoves() {
+        assertEquals(MoveCode.NONE, MoveCode.of(MoveCode.NO_OF_ACTIONS, 0, 0, 0));
+        assertEquals(MoveCode.NONE, MoveCode.of(MoveCode.PLACE, 32, 1, 0));
+        assertEquals(MoveCode.NONE, MoveCode.of(MoveCode.PLACE, 0, 8, 0));
+        assertEquals(MoveCode.NONE, MoveCode.of(MoveCode.PLACE, 0, 1, 128));
+        assertEquals(MoveCode.NONE, MoveCode.placement(-1, 1, 0));
+    }
+
+    @Test
+    void everyToolCardHasAnAction() {
+        ToolCard[] toolCards = {new CopperFoilBurnisher(), new CorkBackedStraightEdge(), new EglomiseBrush(),
+                new FluxBrush(), new FluxRemover(), new GlazingHammer(), new GrindingStone(), new GrozingPliers(),
+                new Lathekin(), new LensCutter(), new RunningPliers(), new TapWheel()};
+
+        for (ToolCard toolCard : toolCards) {
+            int action = MoveCode.actionOf(toolCard.getName());
+            assertNotEquals(MoveCode.NONE, action, toolCard.getName());
+            assertEquals(toolCard.getName(), MoveCode.toolCardName(action));
+        }
+        assertNull(MoveCode.toolCardName(MoveCode.PLACE));
+        assertEquals(MoveCode.NONE, MoveCode.actionOf("Unknown"));
+    }
+
+    @Test
+    void toolCardStartsAndStepsAreNotMoves() {
+        int start = MoveCode.toolCardStart(MoveCode.GROZING_PLIERS);
+        int step = MoveCode.toolCardStep(MoveCode.GROZING_PLIERS);
+
+        assertEquals(MoveCode.GROZING_PLIERS, MoveCode.action(start));
+        assertEquals(MoveCode.GROZING_PLIERS, MoveCode.action(step));
+        assertTrue(MoveCode.isToolCardStart(start));
+        assertFalse(MoveCode.isToolCardStep(start));
+        assertTrue(MoveCode.isToolCardStep(step));
+        assertFalse(MoveCode.isToolCardStart(MoveCode.of(MoveCode.GROZING_PLIERS, 0, 0, 0)));
+        assertEquals(MoveCode.NONE, MoveCode.toolCardStart(MoveCode.PLACE));
+        assertEquals(MoveCode.NONE, MoveCode.toolCardStep(MoveCode.NONE));
+        assertFalse(MoveCode.isToolCardStart(MoveCode.NONE));
+    }
+}
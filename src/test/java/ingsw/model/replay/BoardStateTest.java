@@ -0,0 +1,76 @@
+package ingsw.model.replay;
+
+import ingsw.model.Color;
+import ingsw.model.Dice;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BoardStateTest {
+
+    static BoardState state(int placedDice, int favourTokens, int[] draftedDice, int rounds) {
+        int[][] grids = new int[2][BoardState.CELLS];
+        for (int i = 0; i < placedDice; i++) {
+            grids[i % 2][i / 2] = BoardState.encode(new Dice(i % 6 + 1, Color.values()[i % 5]));
+        }
+        int[][] roundTrack = new int[rounds][];
+        for (int round = 0; round < rounds; round++) {
+            roundTrack[round] = new int[]{BoardState.encode(new Dice(round % 6 + 1, Color.BLUE))};
+        }
+        return new BoardState(new String[]{"a", "b"}, grids, new int[]{favourTokens, 3}, draftedDice, roundTrack);
+    }
+
+    @Test
+    void diceAreEncodedInOneInt() {
+        Dice dice = new Dice(4, Color.PURPLE);
+        Dice decoded = BoardState.decode(BoardState.encode(dice));
+        assertEquals(Color.PURPLE, decoded.getDiceColor());
+        assertEquals(4, decoded.getFaceUpValue());
+        assertNull(BoardState.decode(BoardState.encode(null)));
+    }
+
+    @Test
+    void applyingTheDiffGivesTheNextState() {
+        BoardState before = state(3, 4, new int[]{9, 10, 11}, 1);
+        BoardState after = state(4, 2, new int[]{9, 11}, 1);
+
+        BoardDelta delta = before.diff(after);
+        assertFalse(delta.isEmpty());
+        assertNull(delta.getRoundTrack());
+        assertEquals(1, delta.getCellChanges().length / 3);
+        assertEquals(after, before.apply(delta));
+        assertTrue(after.diff(after).isEmpty());
+    }
+
+    @Test
+    void stateAndDeltaSurviveTheJournalFormat() throws IOException {
+        BoardState before = state(5, 4, new int[]{9, 10}, 2);
+        BoardState after = state(6, 4, new int[]{10}, 3);
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream output = new DataOutputStream(bytes);
+        before.write(output);
+        before.diff(after).write(output);
+
+        DataInputStream input = new DataInputStream(new ByteArrayInputStream(bytes.toByteArray()));
+        BoardState read = BoardState.read(input);
+        assertEquals(before, read);
+        assertEquals(after, read.apply(BoardDelta.read(input)));
+        assertEquals(3, after.getRoundTrack().size());
+        assertEquals("a", read.getUsernames().get(0));
+    }
+
+    @Test
+    void statesWithDifferentPlayersCantBeDiffed() {
+        BoardState state = state(0, 4, new int[0], 0);
+        BoardState other = new BoardState(new String[]{"c"}, new int[1][BoardState.CELLS], new int[1], new int[0], new int[0][]);
+        assertFalse(state.hasSamePlayers(other));
+        assertThrows(IllegalArgumentException.class, () -> state.diff(other));
+    }
+}
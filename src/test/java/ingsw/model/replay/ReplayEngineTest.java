@@ -0,0 +1,69 @@
+package ingsw.model.replay;
+
+import ingsw.model.MatchJournal;
+import ingsw.utilities.MoveStatus;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReplayEngineTest {
+    private File journalFile;
+    private MatchJournal matchJournal;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        journalFile = File.createTempFile("journal", ".bin");
+        matchJournal = new MatchJournal(journalFile, MatchJournal.FsyncPolicy.NEVER);
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        matchJournal.close();
+        journalFile.delete();
+    }
+
+    @Test
+    void everyMoveIsRebuilt() throws IOException {
+        String matchId = matchJournal.startMatch("match", Arrays.asList("a", "b"));
+        ReplayRecorder recorder = new ReplayRecorder(matchJournal, matchId);
+        List<BoardState> states = new ArrayList<>();
+        for (int move = 0; move < 2 * ReplayRecorder.KEYFRAME_INTERVAL + 3; move++) {
+            matchJournal.appendMove(matchId, new MoveStatus(move % 2 == 0 ? "a" : "b", "move " + move));
+            // Every third move doesn't change the board
+            BoardState state = BoardStateTest.state(move - move / 3, 6 - move % 4, new int[]{9 + move % 5}, move / 10);
+            recorder.record(move, state);
+            states.add(state);
+        }
+
+        ReplayEngine replayEngine = new ReplayEngine(matchJournal);
+        for (int move = 0; move < states.size(); move++) {
+            assertEquals(states.get(move), replayEngine.materialize(matchId, move), "move " + move);
+        }
+        assertEquals(ReplayRecorder.KEYFRAME_INTERVAL, matchJournal.findKeyframe(matchId, ReplayRecorder.KEYFRAME_INTERVAL + 1));
+
+        matchJournal.close();
+        matchJournal = new MatchJournal(journalFile, MatchJournal.FsyncPolicy.NEVER);
+        assertEquals(states.get(20), new ReplayEngine(matchJournal).materialize(matchId, 20));
+    }
+
+    @Test
+    void nothingBeforeTheFirstKeyframe() throws IOException {
+        String matchId = matchJournal.startMatch("match", Arrays.asList("a", "b"));
+        matchJournal.appendMove(matchId, new MoveStatus("a", "move 0"));
+        matchJournal.appendMove(matchId, new MoveStatus("a", "move 1"));
+        new ReplayRecorder(matchJournal, matchId).record(1, BoardStateTest.state(1, 4, new int[0], 0));
+
+        ReplayEngine replayEngine = new ReplayEngine(matchJournal);
+        assertNull(replayEngine.materialize(matchId, 0));
+        assertNotNull(replayEngine.materialize(matchId, 1));
+        assertNull(replayEngine.materialize("unknown", 1));
+    }
+}
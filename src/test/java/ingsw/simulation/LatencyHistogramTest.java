@@ -0,0 +1,38 @@
+package ingsw.simulation;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LatencyHistogramTest {
+
+    @Test
+    void percentilesAreWithinTheBucketError() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (long nanos = 1; nanos <= 10000; nanos++) {
+            histogram.record(nanos * 1000);
+        }
+
+        assertEquals(10000, histogram.getCount());
+        assertEquals(10000000, histogram.getMax());
+        assertEquals(5000000, histogram.getPercentile(50), 5000000 / 16.0);
+        assertEquals(9900000, histogram.getPercentile(99), 9900000 / 16.0);
+        assertEquals(10000000, histogram.getPercentile(100), 10000000 / 16.0);
+    }
+
+    @Test
+    void histogramsAreMerged() {
+        LatencyHistogram first = new LatencyHistogram();
+        LatencyHistogram second = new LatencyHistogram();
+        first.record(3);
+        second.record(7);
+        second.record(-1);
+
+        first.add(second);
+
+        assertEquals(3, first.getCount());
+        assertEquals(7, first.getMax());
+        assertEquals(0, first.getPercentile(0));
+        assertEquals(7, first.getPercentile(100));
+    }
+}
@@ -0,0 +1,43 @@
+package ingsw.simulation;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MatchSimulatorTest {
+
+    @Test
+    void scriptedPlayersCompleteTheMatch() {
+        MatchSimulator matchSimulator = new MatchSimulator(2, 60, 1000, seed -> PlayerStrategy.firstAvailable());
+
+        MatchSimulator.MatchResult result = matchSimulator.runMatch(42);
+
+        assertFalse(result.isStalled());
+        assertEquals(2, result.getScores().size());
+        assertTrue(result.getVirtualMillis() > 0);
+        assertEquals(40, result.getTurnLatency().getCount());
+    }
+
+    @Test
+    void sameSeedPlaysTheSameMatch() {
+        MatchSimulator matchSimulator = new MatchSimulator(4);
+
+        MatchSimulator.MatchResult first = matchSimulator.runMatch(7);
+        MatchSimulator.MatchResult second = matchSimulator.runMatch(7);
+
+        assertFalse(first.isStalled());
+        assertEquals(first.getScores(), second.getScores());
+        assertEquals(first.getVirtualMillis(), second.getVirtualMillis());
+    }
+
+    @Test
+    void runReportsEveryMatch() throws InterruptedException {
+        SimulationReport report = new MatchSimulator(3).run(6, 2, 1);
+
+        assertEquals(6, report.getNoOfMatches());
+        assertEquals(0, report.getNoOfStalledMatches());
+        assertTrue(report.getMatchesPerSecond() > 0);
+        assertTrue(report.getTurnLatencyCount() > 0);
+        assertTrue(report.getTurnLatencyPercentile(50) <= report.getTurnLatencyPercentile(99));
+    }
+}
@@ -0,0 +1,65 @@
+package ingsw.utilities;
+
+import ingsw.controller.Controller;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class ControllerTimerTest {
+    private ControllerTimer controllerTimer;
+
+    @BeforeEach
+    void setUp() {
+        controllerTimer = new ControllerTimer();
+    }
+
+    @Test
+    void startLoginTimer() {
+        Controller controller = mock(Controller.class);
+        long expiredTimers = ControllerTimer.getExpiredTimers();
+
+        ControllerTimer.TimerHandle timerHandle = controllerTimer.startLoginTimer(0, controller);
+
+        verify(controller, timeout(2000)).launchMatch();
+        assertTrue(timerHandle.isDone());
+        assertFalse(timerHandle.cancel());
+        assertTrue(ControllerTimer.getExpiredTimers() > expiredTimers);
+    }
+
+    @Test
+    void cancelTimer() {
+        Controller controller = mock(Controller.class);
+        long cancelledTimers = ControllerTimer.getCancelledTimers();
+
+        ControllerTimer.TimerHandle timerHandle = controllerTimer.startLoginTimer(1, controller);
+        assertFalse(timerHandle.isDone());
+        assertTrue(ControllerTimer.getLiveTimers() >= 1);
+
+        controllerTimer.cancelTimer();
+
+        assertTrue(timerHandle.isDone());
+        assertTrue(ControllerTimer.getCancelledTimers() > cancelledTimers);
+        verify(controller, after(1500).never()).launchMatch();
+    }
+
+    @Test
+    void timersShareTheScheduler() {
+        Controller controller = mock(Controller.class);
+        int liveTimers = ControllerTimer.getLiveTimers();
+
+        ControllerTimer[] timers = new ControllerTimer[100];
+        for (int i = 0; i < timers.length; i++) {
+            timers[i] = new ControllerTimer();
+            timers[i].startLoginTimer(60, controller);
+        }
+
+        assertTrue(ControllerTimer.getLiveTimers() >= liveTimers + timers.length);
+        assertTrue(ControllerTimer.getTimerThreads() <= 4);
+
+        for (ControllerTimer timer : timers)
+            timer.cancelTimer();
+        verify(controller, never()).launchMatch();
+    }
+}
@@ -0,0 +1,130 @@
+package ingsw.utilities;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.rmi.RemoteException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class LivenessServiceTest {
+    private VirtualClock clock;
+    private LivenessService livenessService;
+    private List<String> events;
+
+    @BeforeEach
+    void setUp() {
+        clock = new VirtualClock();
+        livenessService = new LivenessService(clock, Runnable::run);
+        events = new ArrayList<>();
+        livenessService.addListener(new LivenessService.Listener() {
+            @Override
+            public void onConnect(String username) {
+                events.add("+" + username);
+            }
+
+            @Override
+            public void onDisconnect(String username) {
+                events.add("-" + username);
+            }
+        });
+    }
+
+    private void advanceTo(long millis) {
+        while (clock.currentTimeMillis() < millis && clock.advance()) {
+            // the wheel ticks until the given time
+        }
+    }
+
+    @Test
+    void silentSessionIsProbedAndThenExpires() throws RemoteException {
+        LivenessService.Session session = mock(LivenessService.Session.class);
+        livenessService.register("a", session);
+        assertEquals(1, livenessService.getSessions());
+
+        advanceTo(LivenessService.PROBE_AFTER_MILLIS);
+        verify(session, times(1)).probe();
+        verify(session, never()).expire();
+
+        advanceTo(LivenessService.PROBE_AFTER_MILLIS + LivenessService.EXPIRE_AFTER_MILLIS);
+        verify(session, times(1)).expire();
+        assertEquals(0, livenessService.getSessions());
+        assertEquals(2, events.size());
+        assertEquals("+a", events.get(0));
+        assertEquals("-a", events.get(1));
+
+        // An empty wheel stops ticking
+        assertFalse(clock.advance());
+    }
+
+    @Test
+    void sessionThatTalksIsNeverProbed() throws RemoteException {
+        LivenessService.Session session = mock(LivenessService.Session.class);
+        livenessService.register("a", session);
+
+        for (long time = 1000; time <= 30000; time += 1000) {
+            advanceTo(time);
+            livenessService.touch(session);
+        }
+        verify(session, never()).probe();
+        verify(session, never()).expire();
+        assertEquals(1, livenessService.getSessions());
+    }
+
+    @Test
+    void answeredProbeKeepsTheSession() throws RemoteException {
+        LivenessService.Session session = mock(LivenessService.Session.class);
+        doAnswer(invocation -> {
+            livenessService.touch(session);
+            return null;
+        }).when(session).probe();
+        livenessService.register("a", session);
+
+        advanceTo(20000);
+        verify(session, atLeast(3)).probe();
+        verify(session, never()).expire();
+        assertEquals(1, events.size());
+    }
+
+    @Test
+    void unreachableSessionExpiresAtOnce() throws RemoteException {
+        LivenessService.Session session = mock(LivenessService.Session.class);
+        doThrow(new RemoteException()).when(session).probe();
+        livenessService.register("a", session);
+
+        advanceTo(LivenessService.PROBE_AFTER_MILLIS);
+        verify(session, times(1)).expire();
+        assertEquals("-a", events.get(1));
+    }
+
+    @Test
+    void closedSessionIsNotProbed() throws RemoteException {
+        LivenessService.Session session = mock(LivenessService.Session.class);
+        livenessService.register("a", session);
+        livenessService.close(session);
+        livenessService.close(session);
+
+        advanceTo(10000);
+        verify(session, never()).probe();
+        verify(session, never()).expire();
+        assertEquals(2, events.size());
+        assertEquals("-a", events.get(1));
+    }
+
+    @Test
+    void newSessionReplacesTheOldOneOfTheSameUser() throws RemoteException {
+        LivenessService.Session oldSession = mock(LivenessService.Session.class);
+        LivenessService.Session newSession = mock(LivenessService.Session.class);
+        livenessService.register("a", oldSession);
+        livenessService.register("a", newSession);
+        assertEquals(1, livenessService.getSessions());
+
+        advanceTo(LivenessService.PROBE_AFTER_MILLIS + LivenessService.EXPIRE_AFTER_MILLIS);
+        verify(oldSession, never()).probe();
+        verify(oldSession, never()).expire();
+        verify(newSession, times(1)).expire();
+    }
+}
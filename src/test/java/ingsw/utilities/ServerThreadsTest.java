@@ -0,0 +1,71 @@
+package ingsw.utilities;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ServerThreadsTest {
+
+    @AfterEach
+    void tearDown() {
+        ServerThreads.setVirtualThreads(false);
+    }
+
+    @Test
+    void startRunsTheTask() throws InterruptedException {
+        CountDownLatch done = new CountDownLatch(1);
+        long startedThreads = ServerThreads.getStartedThreads();
+
+        Thread thread = ServerThreads.start("test-thread", done::countDown);
+
+        assertTrue(done.await(1, TimeUnit.SECONDS));
+        assertEquals("test-thread", thread.getName());
+        assertTrue(ServerThreads.getStartedThreads() > startedThreads);
+    }
+
+    @Test
+    void virtualThreadsOnlyWhenSupported() throws InterruptedException {
+        assertEquals(ServerThreads.isVirtualThreadsSupported(), ServerThreads.setVirtualThreads(true));
+        assertEquals(ServerThreads.isVirtualThreadsSupported(), ServerThreads.isVirtualThreads());
+
+        CountDownLatch done = new CountDownLatch(1);
+        Thread thread = ServerThreads.start("maybe-virtual", done::countDown);
+        assertTrue(done.await(1, TimeUnit.SECONDS));
+        assertEquals("maybe-virtual", thread.getName());
+
+        assertFalse(ServerThreads.setVirtualThreads(false));
+    }
+
+    @Test
+    void poolThreadsAreNamedDaemonPlatformThreads() {
+        ServerThreads.setVirtualThreads(true);
+        ThreadFactory threadFactory = ServerThreads.newPoolThreadFactory("test-pool");
+
+        Thread first = threadFactory.newThread(() -> { });
+        Thread second = threadFactory.newThread(() -> { });
+
+        assertEquals("test-pool-1", first.getName());
+        assertEquals("test-pool-2", second.getName());
+        assertTrue(first.isDaemon());
+        assertEquals(Thread.class, first.getClass());
+    }
+
+    @Test
+    void perTaskExecutorRunsEveryTask() throws InterruptedException {
+        ExecutorService executor = ServerThreads.newPerTaskExecutor("test-client");
+        CountDownLatch done = new CountDownLatch(10);
+
+        for (int i = 0; i < 10; i++)
+            executor.execute(done::countDown);
+
+        assertTrue(done.await(1, TimeUnit.SECONDS));
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(1, TimeUnit.SECONDS));
+    }
+}
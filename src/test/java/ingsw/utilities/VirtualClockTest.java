@@ -0,0 +1,59 @@
+package ingsw.utilities;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class VirtualClockTest {
+
+    @Test
+    void timersRunInOrderOfExpiration() {
+        VirtualClock clock = new VirtualClock();
+        List<String> ran = new ArrayList<>();
+        clock.schedule(() -> ran.add("late"), 3000);
+        clock.schedule(() -> ran.add("first"), 1000);
+        clock.schedule(() -> ran.add("second"), 1000);
+
+        assertTrue(clock.advance());
+        assertEquals(1000, clock.currentTimeMillis());
+        assertTrue(clock.advance());
+        assertTrue(clock.advance());
+        assertEquals(3000, clock.currentTimeMillis());
+        assertFalse(clock.advance());
+
+        assertEquals("first", ran.get(0));
+        assertEquals("second", ran.get(1));
+        assertEquals("late", ran.get(2));
+    }
+
+    @Test
+    void cancelledTimersAreSkipped() {
+        VirtualClock clock = new VirtualClock();
+        List<String> ran = new ArrayList<>();
+        ControllerTimer.TimerHandle cancelled = clock.schedule(() -> ran.add("cancelled"), 1000);
+        clock.schedule(() -> ran.add("kept"), 2000);
+        cancelled.cancel();
+
+        assertTrue(clock.advance());
+        assertEquals(2000, clock.currentTimeMillis());
+        assertEquals(1, ran.size());
+        assertEquals("kept", ran.get(0));
+        assertEquals(0, clock.getPendingTimers());
+    }
+
+    @Test
+    void controllerTimerUsesTheClock() {
+        VirtualClock clock = new VirtualClock();
+        ControllerTimer controllerTimer = new ControllerTimer(clock);
+        List<String> ran = new ArrayList<>();
+        controllerTimer.delay(() -> ran.add("delayed"), 500);
+
+        assertEquals(1, clock.getPendingTimers());
+        assertTrue(clock.advance());
+        assertEquals(500, clock.currentTimeMillis());
+        assertEquals(1, ran.size());
+    }
+}
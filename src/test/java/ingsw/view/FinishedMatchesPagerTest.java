@@ -0,0 +1,69 @@
+package ingsw.view;
+
+import ingsw.controller.network.NetworkType;
+import ingsw.controller.network.commands.FinishedMatchesRequest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class FinishedMatchesPagerTest {
+    private static final int PAGE_SIZE = FinishedMatchesRequest.PAGE_SIZE;
+
+    private NetworkType networkType;
+    private FinishedMatchesPager finishedMatchesPager;
+
+    @BeforeEach
+    void setUp() {
+        networkType = mock(NetworkType.class);
+        finishedMatchesPager = new FinishedMatchesPager(networkType);
+    }
+
+    @Test
+    void theSecondPageCanBeReached() {
+        finishedMatchesPager.requestFirstPage(null, null, null);
+        verify(networkType).requestFinishedMatches(null, 0, 0, 0);
+
+        finishedMatchesPager.update(0, 2 * PAGE_SIZE + 1);
+        assertFalse(finishedMatchesPager.hasPreviousPage());
+        assertTrue(finishedMatchesPager.hasNextPage());
+        assertEquals(3, finishedMatchesPager.getNoOfPages());
+
+        finishedMatchesPager.requestNextPage();
+        verify(networkType).requestFinishedMatches(null, 0, 0, PAGE_SIZE);
+
+        finishedMatchesPager.update(PAGE_SIZE, 2 * PAGE_SIZE + 1);
+        assertEquals(2, finishedMatchesPager.getPageNumber());
+        assertTrue(finishedMatchesPager.hasPreviousPage());
+
+        finishedMatchesPager.requestPreviousPage();
+        verify(networkType, times(2)).requestFinishedMatches(null, 0, 0, 0);
+    }
+
+    @Test
+    void theLastPageHasNoNextPage() {
+        finishedMatchesPager.update(PAGE_SIZE, 2 * PAGE_SIZE);
+
+        assertFalse(finishedMatchesPager.hasNextPage());
+        finishedMatchesPager.requestNextPage();
+        verify(networkType, never()).requestFinishedMatches(anyString(), anyLong(), anyLong(), anyInt());
+    }
+
+    @Test
+    void theFiltersAreKeptAcrossThePages() {
+        LocalDate day = LocalDate.of(2018, 6, 1);
+        long from = day.atStartOfDay(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        long to = day.plusDays(1).atStartOfDay(ZoneId.systemDefault()).toInstant().toEpochMilli() - 1;
+
+        finishedMatchesPager.requestFirstPage(" player ", day, day);
+        finishedMatchesPager.update(0, PAGE_SIZE + 1);
+        finishedMatchesPager.requestNextPage();
+
+        verify(networkType).requestFinishedMatches("player", from, to, 0);
+        verify(networkType).requestFinishedMatches("player", from, to, PAGE_SIZE);
+    }
+}